@@ -0,0 +1,117 @@
+package org.folio.marccat.benchmark;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The MARCXML corpus used by benchmarks.
+ * Records are loaded from the /marcxml/records.xml collection and are exposed in the same shape they have in the
+ * FULL_CACHE table, that is, one standalone XML document per record.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public final class MarcXmlCorpus {
+  private static final String COLLECTION = "/marcxml/records.xml";
+  private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
+  private static final Pattern RECORD = Pattern.compile("<record>.*?</record>", Pattern.DOTALL);
+  private static final String SUBFIELD_DELIMITER = "\u001f";
+
+  private static final List<String> RECORDS = Collections.unmodifiableList(load());
+
+  private MarcXmlCorpus() {
+  }
+
+  /**
+   * Returns the corpus records, as MARCXML strings.
+   *
+   * @return the corpus records, as MARCXML strings.
+   */
+  public static List<String> records() {
+    return RECORDS;
+  }
+
+  /**
+   * Returns the corpus records, as DOM documents.
+   *
+   * @return the corpus records, as DOM documents.
+   */
+  public static List<Document> documents() {
+    final List<Document> documents = new ArrayList<>(RECORDS.size());
+    for (final String record : RECORDS) {
+      documents.add(parse(record));
+    }
+    return documents;
+  }
+
+  /**
+   * Returns the content of all datafields in the corpus, encoded as StringText strings (i.e. subfields prefixed by
+   * the subfield delimiter and the subfield code).
+   *
+   * @return the content of all datafields in the corpus, encoded as StringText strings.
+   */
+  public static List<String> stringTexts() {
+    final List<String> result = new ArrayList<>();
+    for (final Document document : documents()) {
+      final NodeList datafields = document.getElementsByTagName("datafield");
+      for (int i = 0; i < datafields.getLength(); i++) {
+        final NodeList subfields = ((Element) datafields.item(i)).getElementsByTagName("subfield");
+        final StringBuilder builder = new StringBuilder();
+        for (int j = 0; j < subfields.getLength(); j++) {
+          final Element subfield = (Element) subfields.item(j);
+          builder
+            .append(SUBFIELD_DELIMITER)
+            .append(subfield.getAttribute("code"))
+            .append(subfield.getTextContent());
+        }
+        result.add(builder.toString());
+      }
+    }
+    return result;
+  }
+
+  private static Document parse(final String record) {
+    try {
+      return DocumentBuilderFactory
+        .newInstance()
+        .newDocumentBuilder()
+        .parse(new ByteArrayInputStream(record.getBytes(StandardCharsets.UTF_8)));
+    } catch (final Exception exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  private static List<String> load() {
+    try (final InputStream stream = MarcXmlCorpus.class.getResourceAsStream(COLLECTION)) {
+      final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+      final byte[] chunk = new byte[8192];
+      int read;
+      while ((read = stream.read(chunk)) != -1) {
+        buffer.write(chunk, 0, read);
+      }
+
+      final List<String> records = new ArrayList<>();
+      final Matcher matcher = RECORD.matcher(new String(buffer.toByteArray(), StandardCharsets.UTF_8));
+      while (matcher.find()) {
+        records.add(XML_DECLARATION + matcher.group());
+      }
+      return records;
+    } catch (final IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+}
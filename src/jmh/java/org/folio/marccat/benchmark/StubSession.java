@@ -0,0 +1,166 @@
+package org.folio.marccat.benchmark;
+
+import net.sf.hibernate.Query;
+import net.sf.hibernate.Session;
+import org.folio.marccat.dao.persistence.IndexList;
+
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Hibernate session stub which replaces the semantic registry (IndexList, S_BIB1_SMNTC and the sort form stored
+ * procedures) with canned, in-memory answers, so that the CCL compiler can be measured without a database.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public final class StubSession {
+  private static final Map<String, Object> SEMANTIC_ROW = new HashMap<>();
+
+  static {
+    SEMANTIC_ROW.put("atrbt_use_nbr", 4);
+    SEMANTIC_ROW.put("atrbt_rltn_nbr", 3);
+    SEMANTIC_ROW.put("atrbt_pstn_nbr", 3);
+    SEMANTIC_ROW.put("atrbt_strct_nbr", 2);
+    SEMANTIC_ROW.put("atrbt_trntn_nbr", 100);
+    SEMANTIC_ROW.put("atrbt_cmpns_nbr", 1);
+    SEMANTIC_ROW.put("db_rec_typ_cde", 1);
+    SEMANTIC_ROW.put("srt_form_skp_in_flng_cde", 0);
+    SEMANTIC_ROW.put("srt_form_fnctn_cde", 0);
+    SEMANTIC_ROW.put("srt_form_typ_cde", 0);
+    SEMANTIC_ROW.put("srt_form_sub_typ_cde", 2);
+    SEMANTIC_ROW.put("srt_form_main_typ_cde", 2);
+    SEMANTIC_ROW.put("qry_actn_cde", "W");
+    SEMANTIC_ROW.put("scdry_idx_cde", 0);
+    SEMANTIC_ROW.put("sql_slct", "ap.bib_itm_nbr");
+    SEMANTIC_ROW.put("sql_frm", "ttl_acs_pnt ap, ttl_hdg hdg");
+    SEMANTIC_ROW.put("sql_whr", "hdg.ttl_hdg_nbr = ap.ttl_hdg_nbr and hdg.ttl_srt_form like '%s%%'");
+    SEMANTIC_ROW.put("sql_jn", null);
+    SEMANTIC_ROW.put("sql_vw", "ap");
+    SEMANTIC_ROW.put("context_idx_cde", false);
+  }
+
+  private StubSession() {
+  }
+
+  /**
+   * Creates a new stub session.
+   *
+   * @return a new stub session.
+   */
+  public static Session newSession() {
+    final IndexList index = new IndexList();
+    index.setCodeLibriCatMades("LC");
+    final Connection connection = proxy(Connection.class, (method, args) -> {
+      switch (method) {
+        case "prepareStatement":
+          return semanticStatement();
+        case "prepareCall":
+          return sortFormProcedure();
+        default:
+          return null;
+      }
+    });
+
+    final Query query = query(Collections.singletonList(index));
+    return proxy(Session.class, (method, args) -> {
+      switch (method) {
+        case "find":
+          return Collections.singletonList(index);
+        case "createQuery":
+          return query;
+        case "connection":
+          return connection;
+        default:
+          return null;
+      }
+    });
+  }
+
+  private static Query query(final List<?> result) {
+    final Query[] self = new Query[1];
+    self[0] = proxy(Query.class, (method, args) -> "list".equals(method) ? result : self[0]);
+    return self[0];
+  }
+
+  private static PreparedStatement semanticStatement() {
+    final ResultSet rs = proxy(ResultSet.class, new Stub() {
+      private boolean consumed;
+
+      @Override
+      public Object answer(final String method, final Object[] args) {
+        if ("next".equals(method)) {
+          final boolean hasNext = !consumed;
+          consumed = true;
+          return hasNext;
+        }
+        return (args != null && args.length == 1) ? SEMANTIC_ROW.get(String.valueOf(args[0])) : null;
+      }
+    });
+    return proxy(PreparedStatement.class, (method, args) -> "executeQuery".equals(method) ? rs : null);
+  }
+
+  private static CallableStatement sortFormProcedure() {
+    final Object[] text = new Object[1];
+    return proxy(CallableStatement.class, (method, args) -> {
+      switch (method) {
+        case "setString":
+          text[0] = args[1];
+          return null;
+        case "getInt":
+          return 0;
+        case "getString":
+          return String.valueOf(text[0]).toUpperCase();
+        default:
+          return null;
+      }
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T proxy(final Class<T> type, final Stub stub) {
+    return (T) Proxy.newProxyInstance(
+      StubSession.class.getClassLoader(),
+      new Class[]{type},
+      (proxy, method, args) -> coerce(method.getReturnType(), stub.answer(method.getName(), args)));
+  }
+
+  private static Object coerce(final Class<?> type, final Object value) {
+    if (!type.isPrimitive() || type == void.class) {
+      return value;
+    }
+    if (type == boolean.class) {
+      return value != null && (Boolean) value;
+    }
+    final Number number = value instanceof Number ? (Number) value : 0;
+    if (type == int.class) {
+      return number.intValue();
+    } else if (type == short.class) {
+      return number.shortValue();
+    } else if (type == byte.class) {
+      return number.byteValue();
+    } else if (type == long.class) {
+      return number.longValue();
+    } else if (type == double.class) {
+      return number.doubleValue();
+    } else if (type == float.class) {
+      return number.floatValue();
+    }
+    return value;
+  }
+
+  /**
+   * Canned answer provider.
+   */
+  @FunctionalInterface
+  private interface Stub {
+    Object answer(String method, Object[] args);
+  }
+}
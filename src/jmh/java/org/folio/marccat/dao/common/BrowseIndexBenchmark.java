@@ -0,0 +1,159 @@
+package org.folio.marccat.dao.common;
+
+import org.folio.marccat.business.common.View;
+import org.folio.marccat.dao.persistence.NME_HDG;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the resolution of browse pages and suggestions on a {@link BrowseIndex} of synthetic headings, spread over
+ * 4 views, with some headings changed since the snapshot was built.
+ * Before measuring, it checks the pages and the suggestions against a linear scan of the headings.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BrowseIndexBenchmark {
+  private static final int PAGE_SIZE = 20;
+  private static final int SUGGESTIONS = 10;
+  private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ ";
+
+  @Param({"100000", "1000000"})
+  public int headings;
+
+  private final Random random = new Random(17);
+  private final List<String> sortForms = new ArrayList<>();
+  private final List<String> views = new ArrayList<>();
+  private final List<Integer> counts = new ArrayList<>();
+  private BrowseIndex index;
+
+  @Setup
+  public void setUp() throws IOException {
+    for (int i = 0; i < headings; i++) {
+      sortForms.add(sortForm());
+      views.add(View.makeSingleViewString(1 + random.nextInt(4)));
+      counts.add(random.nextInt(4) == 0 ? random.nextInt(10000) : random.nextInt(3));
+    }
+    final List<Integer> order = new ArrayList<>();
+    for (int i = 0; i < headings; i++) {
+      order.add(i);
+    }
+    order.sort((a, b) -> {
+      final int comparison = SortFormIndex.compare(SortFormIndex.encode(sortForms.get(a)), SortFormIndex.encode(sortForms.get(b)));
+      return comparison != 0 ? comparison : Integer.compare(a, b);
+    });
+
+    try (final SortFormIndex.Builder builder = new SortFormIndex.Builder()) {
+      for (final int heading : order) {
+        builder.add(sortForms.get(heading), heading, View.toViewMask(views.get(heading)), counts.get(heading));
+      }
+      index = new BrowseIndex(NME_HDG.class, builder.build());
+    }
+
+    final List<Object[]> rows = new ArrayList<>();
+    final Set<Integer> changed = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      final int heading = random.nextInt(headings);
+      sortForms.set(heading, sortForm());
+      counts.set(heading, random.nextInt(10000));
+      changed.add(heading);
+    }
+    changed.forEach(heading -> rows.add(new Object[]{sortForms.get(heading), heading, views.get(heading), counts.get(heading)}));
+    index.update(changed, rows);
+
+    for (int i = 0; i < 100; i++) {
+      final String term = sortForm();
+      final int view = random.nextInt(5);
+      if (!index.page(BrowsePageCache.Direction.NEXT, term, view, PAGE_SIZE).equals(scan(term, view))) {
+        throw new IllegalStateException("Browse index page differs from the scan of the headings: " + term);
+      }
+      final String prefix = term.substring(0, 1 + random.nextInt(2));
+      if (!index.suggest(prefix, view, SUGGESTIONS).equals(scanSuggestions(prefix, view))) {
+        throw new IllegalStateException("Browse index suggestions differ from the scan of the headings: " + prefix);
+      }
+    }
+  }
+
+  @Benchmark
+  public List<Integer> firstPage() {
+    return index.page(BrowsePageCache.Direction.FIRST, sortForm(), 1 + random.nextInt(4), PAGE_SIZE);
+  }
+
+  @Benchmark
+  public List<Integer> previousPage() {
+    return index.page(BrowsePageCache.Direction.PREVIOUS, sortForm(), 1 + random.nextInt(4), PAGE_SIZE);
+  }
+
+  @Benchmark
+  public List<Integer> suggestions() {
+    return index.suggest(sortForm().substring(0, 1 + random.nextInt(3)), 1 + random.nextInt(4), SUGGESTIONS);
+  }
+
+  /**
+   * Returns the next page by scanning all the headings.
+   */
+  private List<Integer> scan(final String term, final int view) {
+    final byte[] encoded = SortFormIndex.encode(term);
+    final List<Integer> page = new ArrayList<>();
+    final List<Integer> matching = new ArrayList<>();
+    for (int heading = 0; heading < headings; heading++) {
+      if (SortFormIndex.compare(SortFormIndex.encode(sortForms.get(heading)), encoded) > 0
+        && ((View.toViewMask(views.get(heading)) >>> view) & 1) != 0) {
+        matching.add(heading);
+      }
+    }
+    matching.sort((a, b) -> {
+      final int comparison = SortFormIndex.compare(SortFormIndex.encode(sortForms.get(a)), SortFormIndex.encode(sortForms.get(b)));
+      return comparison != 0 ? comparison : Integer.compare(a, b);
+    });
+    for (int i = 0; i < Math.min(PAGE_SIZE, matching.size()); i++) {
+      page.add(matching.get(i));
+    }
+    return page;
+  }
+
+  /**
+   * Returns the suggestions by scanning all the headings.
+   */
+  private List<Integer> scanSuggestions(final String prefix, final int view) {
+    final List<Integer> matching = new ArrayList<>();
+    for (int heading = 0; heading < headings; heading++) {
+      if (sortForms.get(heading).startsWith(prefix) && ((View.toViewMask(views.get(heading)) >>> view) & 1) != 0) {
+        matching.add(heading);
+      }
+    }
+    matching.sort((a, b) -> {
+      int comparison = Integer.compare(counts.get(b), counts.get(a));
+      if (comparison == 0) {
+        comparison = SortFormIndex.compare(SortFormIndex.encode(sortForms.get(a)), SortFormIndex.encode(sortForms.get(b)));
+      }
+      return comparison != 0 ? comparison : Integer.compare(a, b);
+    });
+    return new ArrayList<>(matching.subList(0, Math.min(SUGGESTIONS, matching.size())));
+  }
+
+  private String sortForm() {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0, length = 3 + random.nextInt(20); i < length; i++) {
+      builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+    }
+    return builder.toString();
+  }
+}
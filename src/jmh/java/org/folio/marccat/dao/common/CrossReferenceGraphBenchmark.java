@@ -0,0 +1,99 @@
+package org.folio.marccat.dao.common;
+
+import org.folio.marccat.business.common.View;
+import org.folio.marccat.dao.persistence.NME_REF;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cross-reference counts of a {@link CrossReferenceGraph} of synthetic references, spread over 4 views,
+ * with the references of some headings changed since the snapshot was built.
+ * Before measuring, it checks the counts and the expansions against a scan of the references.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CrossReferenceGraphBenchmark {
+  @Param({"100000", "1000000"})
+  public int references;
+
+  private final Random random = new Random(17);
+  private final List<int[]> rows = new ArrayList<>();
+  private int headings;
+  private CrossReferenceGraph graph;
+
+  @Setup
+  public void setUp() {
+    headings = references / 2;
+    final CrossReferenceGraph.Builder builder = new CrossReferenceGraph.Builder(NME_REF.class);
+    for (int i = 0; i < references; i++) {
+      final int[] row = row(random.nextInt(headings));
+      rows.add(row);
+      builder.add(row[0], row[1], row[2], View.toViewMask(View.makeSingleViewString(row[3])));
+    }
+    graph = builder.build();
+
+    final Set<Integer> changed = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      changed.add(random.nextInt(headings));
+    }
+    rows.removeIf(row -> changed.contains(row[0]));
+    final List<Object[]> current = new ArrayList<>();
+    for (final int source : changed) {
+      for (int i = random.nextInt(3); i > 0; i--) {
+        final int[] row = row(source);
+        rows.add(row);
+        current.add(new Object[]{row[0], row[1], row[2], View.makeSingleViewString(row[3])});
+      }
+    }
+    graph.update(changed, current);
+
+    for (int i = 0; i < 100; i++) {
+      final int source = random.nextInt(headings);
+      final int view = 1 + random.nextInt(4);
+      int count = 0;
+      final Set<Integer> targets = new HashSet<>();
+      for (final int[] row : rows) {
+        if (row[0] == source && row[3] == view) {
+          count++;
+          if (CrossReferenceExpansion.SEE.follows(row[2])) {
+            targets.add(row[1]);
+          }
+        }
+      }
+      if (graph.count(source, view) != count || !graph.targets(source, view, CrossReferenceExpansion.SEE).equals(targets)) {
+        throw new IllegalStateException("Cross-reference graph differs from the scan of the references: " + source);
+      }
+    }
+  }
+
+  @Benchmark
+  public int count() {
+    return graph.count(random.nextInt(headings), 1 + random.nextInt(4));
+  }
+
+  @Benchmark
+  public Set<Integer> targets() {
+    return graph.targets(random.nextInt(headings), 1 + random.nextInt(4), CrossReferenceExpansion.SEE_ALSO);
+  }
+
+  private int[] row(final int source) {
+    return new int[]{source, random.nextInt(headings), 1 + random.nextInt(5), 1 + random.nextInt(4)};
+  }
+}
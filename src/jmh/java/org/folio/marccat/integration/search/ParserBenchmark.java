@@ -0,0 +1,54 @@
+package org.folio.marccat.integration.search;
+
+import net.sf.hibernate.Session;
+import org.folio.marccat.benchmark.StubSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CCL tokenizer and parser benchmarks.
+ * The semantic registry is replaced by {@link StubSession}, so these numbers measure the compiler alone.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParserBenchmark {
+
+  @Param({
+    "TI \"annual report\"",
+    "AW library AND TI \"annual report\"",
+    "NA eco AND (TI rose OR TI \"name of the rose\") NOT SU monasteries",
+    "TI verdi N3 opera"
+  })
+  public String query;
+
+  private Session session;
+
+  @Setup
+  public void setUp() {
+    session = StubSession.newSession();
+  }
+
+  @Benchmark
+  public List<Token> tokenize() {
+    return new Tokenizer().tokenize(query).getTokens();
+  }
+
+  @Benchmark
+  public String parse() {
+    return new Parser(Locale.ENGLISH, 170, 1, session).parse(query);
+  }
+}
@@ -0,0 +1,45 @@
+package org.folio.marccat.search.domain;
+
+import org.folio.marccat.benchmark.MarcXmlCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of FULL_CACHE MARCXML into the record representations returned by the search APIs.
+ * Each invocation processes the whole corpus.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecordContentBenchmark {
+  private final List<String> records = MarcXmlCorpus.records();
+
+  @Benchmark
+  public void lightweightJsonRecord(final Blackhole blackhole) {
+    for (final String data : records) {
+      final LightweightJsonRecord record = new LightweightJsonRecord();
+      record.setContent("F", data);
+      blackhole.consume(record.getData());
+    }
+  }
+
+  @Benchmark
+  public void lightweightVerticalRecord(final Blackhole blackhole) {
+    for (final String data : records) {
+      final LightweightVerticalRecord record = new LightweightVerticalRecord();
+      record.setContent("F", data);
+      blackhole.consume(record.getData());
+    }
+  }
+}
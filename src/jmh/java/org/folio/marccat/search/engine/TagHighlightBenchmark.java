@@ -0,0 +1,59 @@
+package org.folio.marccat.search.engine;
+
+import org.folio.marccat.benchmark.MarcXmlCorpus;
+import org.folio.marccat.search.SearchResponse;
+import org.folio.marccat.search.domain.LightweightJsonRecord;
+import org.folio.marccat.search.domain.Record;
+import org.folio.marccat.search.engine.impl.LightweightModCatalogingSearchEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the tag highlighting applied to a search results page.
+ * The page contains the whole corpus, already converted in JSON.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TagHighlightBenchmark {
+
+  @Param({
+    "TI \"annual report\"",
+    "NA \"eco, umberto\" AND TI \"name of the rose\" AND LAN \"eng\""
+  })
+  public String query;
+
+  private final LightweightModCatalogingSearchEngine searchEngine = new LightweightModCatalogingSearchEngine(170, 1, null);
+  private SearchResponse response;
+
+  @Setup
+  public void setUp() {
+    final List<String> records = MarcXmlCorpus.records();
+    final Record[] page = new Record[records.size()];
+    for (int i = 0; i < page.length; i++) {
+      page[i] = new LightweightJsonRecord();
+      page[i].setContent("F", records.get(i));
+    }
+    response = new SearchResponse(1, query, new int[page.length]);
+    response.setRecordSet(page);
+  }
+
+  @Benchmark
+  public SearchResponse injectTagHighlight() {
+    searchEngine.injectTagHighlight(response, null, Locale.ENGLISH);
+    return response;
+  }
+}
@@ -0,0 +1,145 @@
+package org.folio.marccat.util;
+
+import org.folio.marccat.benchmark.MarcXmlCorpus;
+import org.folio.marccat.model.Subfield;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the two ways of producing the MARCXML of a record stored in the FULL_CACHE table: building a DOM
+ * document and serializing it through the identity transformer, or writing it with the {@link MarcXmlWriter}.
+ * Each invocation processes the whole corpus; allocations are reported by the gc profiler (gc.alloc.rate.norm).
+ * That the two outputs are the same is checked by MarcXmlWriterTest.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MarcXmlWriterBenchmark {
+  private final List<List<Field>> records = new ArrayList<>();
+
+  @Setup
+  public void setUp() throws Exception {
+    for (final Document document : MarcXmlCorpus.documents()) {
+      final List<Field> fields = new ArrayList<>();
+      final NodeList children = document.getDocumentElement().getChildNodes();
+      for (int i = 0; i < children.getLength(); i++) {
+        if (children.item(i).getNodeType() == Node.ELEMENT_NODE) {
+          fields.add(new Field((Element) children.item(i)));
+        }
+      }
+      records.add(fields);
+    }
+  }
+
+  @Benchmark
+  public void dom(final Blackhole blackhole) throws Exception {
+    for (final List<Field> record : records) {
+      blackhole.consume(dom(record));
+    }
+  }
+
+  @Benchmark
+  public void streaming(final Blackhole blackhole) {
+    for (final List<Field> record : records) {
+      blackhole.consume(streaming(record));
+    }
+  }
+
+  /**
+   * Same steps of CatalogItem#toExternalMarcSlim followed by XmlUtils#documentToString.
+   */
+  private static String dom(final List<Field> fields) throws Exception {
+    final Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+    final Element record = document.createElement("record");
+    for (final Field field : fields) {
+      final Element element = document.createElement(field.name);
+      if (field.subfields == null) {
+        if (field.tag != null) {
+          element.setAttribute("tag", field.tag);
+        }
+        element.appendChild(document.createTextNode(field.value));
+      } else {
+        element.setAttribute("tag", field.tag);
+        element.setAttribute("ind1", String.valueOf(field.ind1));
+        element.setAttribute("ind2", String.valueOf(field.ind2));
+        for (final Subfield subfield : field.subfields) {
+          final Element subfieldElement = document.createElement("subfield");
+          subfieldElement.setAttribute("code", subfield.getCode());
+          subfieldElement.appendChild(document.createTextNode(subfield.getContent()));
+          element.appendChild(subfieldElement);
+        }
+      }
+      record.appendChild(element);
+    }
+    document.appendChild(record);
+    return XmlUtils.documentToString(document);
+  }
+
+  /**
+   * Same steps of CatalogItem#toExternalMarcSlimString.
+   */
+  private static String streaming(final List<Field> fields) {
+    final MarcXmlWriter writer = new MarcXmlWriter().startRecord();
+    for (final Field field : fields) {
+      if (field.subfields != null) {
+        writer.dataField(field.tag, field.ind1, field.ind2, field.subfields);
+      } else if (field.tag != null) {
+        writer.controlField(field.tag, field.value);
+      } else {
+        writer.leader(field.value);
+      }
+    }
+    return writer.endRecord();
+  }
+
+  /**
+   * A leader, control field or data field of a corpus record.
+   */
+  private static final class Field {
+    private final String name;
+    private final String tag;
+    private final char ind1;
+    private final char ind2;
+    private final String value;
+    private final List<Subfield> subfields;
+
+    private Field(final Element element) {
+      this.name = element.getTagName();
+      this.tag = element.hasAttribute("tag") ? element.getAttribute("tag") : null;
+      if ("datafield".equals(name)) {
+        this.ind1 = element.getAttribute("ind1").charAt(0);
+        this.ind2 = element.getAttribute("ind2").charAt(0);
+        this.value = null;
+        this.subfields = new ArrayList<>();
+        final NodeList children = element.getElementsByTagName("subfield");
+        for (int i = 0; i < children.getLength(); i++) {
+          final Element subfield = (Element) children.item(i);
+          subfields.add(new Subfield(subfield.getAttribute("code"), subfield.getTextContent()));
+        }
+      } else {
+        this.ind1 = ' ';
+        this.ind2 = ' ';
+        this.value = element.getTextContent();
+        this.subfields = null;
+      }
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package org.folio.marccat.util;
+
+import org.folio.marccat.benchmark.MarcXmlCorpus;
+import org.folio.marccat.dao.persistence.BibliographicNoteTag;
+import org.folio.marccat.dao.persistence.NME_HDG;
+import org.folio.marccat.dao.persistence.NameAccessPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the serialization round trip of {@link F#deepCopy(Object)} with the {@link ObjectCopier}, on the tags
+ * and descriptors built from the datafields of the corpus (the objects copied by the view isolation and by the tag
+ * editing paths).
+ * That the two copies are the same, field by field, is checked by ObjectCopierTest.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ObjectCopierBenchmark {
+  private final List<Object> objects = new ArrayList<>();
+
+  @Setup
+  public void setUp() {
+    int headingNumber = 0;
+    for (final String field : MarcXmlCorpus.stringTexts()) {
+      final NME_HDG heading = new NME_HDG();
+      heading.setHeadingNumber(++headingNumber);
+      heading.setStringText(field);
+      heading.setUserViewString("1000000000000000");
+
+      final NameAccessPoint accessPoint = new NameAccessPoint(headingNumber);
+      accessPoint.setDescriptor(heading);
+      objects.add(accessPoint);
+
+      final BibliographicNoteTag note = new BibliographicNoteTag();
+      note.setStringText(new StringText(field));
+      objects.add(note);
+    }
+  }
+
+  @Benchmark
+  public void serialization(final Blackhole blackhole) {
+    for (final Object object : objects) {
+      blackhole.consume(F.deepCopy(object));
+    }
+  }
+
+  @Benchmark
+  public void structural(final Blackhole blackhole) {
+    for (final Object object : objects) {
+      blackhole.consume(ObjectCopier.deepCopy(object));
+    }
+  }
+}
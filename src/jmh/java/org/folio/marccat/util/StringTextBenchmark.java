@@ -0,0 +1,40 @@
+package org.folio.marccat.util;
+
+import org.folio.marccat.benchmark.MarcXmlCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link StringText} parsing and rendering of all the datafields in the corpus.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StringTextBenchmark {
+  private final List<String> fields = MarcXmlCorpus.stringTexts();
+
+  @Benchmark
+  public void parse(final Blackhole blackhole) {
+    for (final String field : fields) {
+      blackhole.consume(new StringText(field));
+    }
+  }
+
+  @Benchmark
+  public void parseAndDisplay(final Blackhole blackhole) {
+    for (final String field : fields) {
+      blackhole.consume(new StringText(field).toDisplayString());
+    }
+  }
+}
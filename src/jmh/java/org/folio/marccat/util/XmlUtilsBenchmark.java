@@ -0,0 +1,35 @@
+package org.folio.marccat.util;
+
+import org.folio.marccat.benchmark.MarcXmlCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.w3c.dom.Document;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the serialization of MARCXML DOM documents, as done when the FULL_CACHE table is updated.
+ * Each invocation processes the whole corpus.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class XmlUtilsBenchmark {
+  private final List<Document> documents = MarcXmlCorpus.documents();
+
+  @Benchmark
+  public void documentToString(final Blackhole blackhole) {
+    for (final Document document : documents) {
+      blackhole.consume(XmlUtils.documentToString(document));
+    }
+  }
+}
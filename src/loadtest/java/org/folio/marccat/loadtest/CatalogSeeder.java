@@ -0,0 +1,219 @@
+package org.folio.marccat.loadtest;
+
+import org.folio.marccat.config.Global;
+import org.folio.marccat.config.GlobalStorage;
+import org.folio.marccat.dao.persistence.AUT;
+import org.folio.marccat.dao.persistence.FULL_CACHE;
+import org.folio.marccat.dao.persistence.NME_HDG;
+import org.folio.marccat.dao.persistence.NameAccessPoint;
+import org.folio.marccat.dao.persistence.TTL_HDG;
+import org.folio.marccat.dao.persistence.TitleAccessPoint;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.folio.marccat.loadtest.MappedTableInsert.row;
+
+/**
+ * Seeds the embedded catalog with a synthetic but realistically shaped bibliographic collection.
+ * Each record has a title and a main entry; names are shared across records (about ten records per name, with a
+ * long tail) so that browse pages, document counts and authority counts behave like in a real catalog.
+ * Records belong to more than one view, like in a multi-library catalog: all records are in the default view 1, which
+ * the load driver queries, and fewer and fewer records are in the views 2 to {@link #VIEWS} (half, a tenth and a
+ * hundredth of them).
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+final class CatalogSeeder {
+  private static final String ALL_VIEWS = "1111000000000000";
+  private static final int VIEW = 1;
+
+  /**
+   * The number of views the records are spread on.
+   */
+  static final int VIEWS = 4;
+  private static final int SAMPLE_SIZE = 1000;
+
+  private static final String[] WORDS = {
+    "storia", "della", "letteratura", "italiana", "history", "of", "the", "roman", "empire", "introduction",
+    "to", "algorithms", "principles", "economics", "nome", "rosa", "divina", "commedia", "promessi", "sposi",
+    "annual", "report", "music", "opera", "theory", "practice", "modern", "medieval", "art", "science",
+    "philosophy", "nature", "language", "world", "war", "peace", "city", "life", "death", "time"};
+
+  private static final String[] SURNAMES = {
+    "Eco", "Manzoni", "Verdi", "Calvino", "Levi", "Moravia", "Pirandello", "Svevo", "Leopardi", "Dante",
+    "Smith", "Jones", "Brown", "Garcia", "Martin", "Bernard", "Muller", "Schmidt", "Rossi", "Bianchi"};
+
+  private static final String[] FORENAMES = {
+    "Umberto", "Alessandro", "Giuseppe", "Italo", "Primo", "Alberto", "Luigi", "Cesare", "Giacomo", "Maria",
+    "John", "Anne", "Robert", "Lucia", "Pierre", "Claire", "Hans", "Eva", "Paolo", "Giulia"};
+
+  private final Random random = new Random(42);
+  private final Random views = new Random(43);
+  private final List<String> titleSample = new ArrayList<>();
+  private final List<String> nameSample = new ArrayList<>();
+  private final List<Integer> authoritySample = new ArrayList<>();
+
+  /**
+   * Loads the given number of bibliographic records.
+   *
+   * @param connection the target connection.
+   * @param records    how many bibliographic records have to be created.
+   * @throws Exception in case of data access failure.
+   */
+  void seed(final Connection connection, final int records) throws Exception {
+    connection.setAutoCommit(false);
+    final int names = Math.max(1, records / 10);
+
+    try (final MappedTableInsert nameHeadings = new MappedTableInsert(Global.HCONFIGURATION, NME_HDG.class, connection);
+         final MappedTableInsert authorities = new MappedTableInsert(Global.HCONFIGURATION, AUT.class, connection)) {
+      for (int nameNumber = 1; nameNumber <= names; nameNumber++) {
+        final String name = name(nameNumber);
+        nameHeadings.add(row(
+          "NME_HDG_NBR", nameNumber,
+          "USR_VW_IND", ALL_VIEWS,
+          "NME_HDG_TYP_CDE", 2,
+          "HDG_AUT_CNT", 1,
+          "LANG_OF_ACS_PNT_CDE", "eng",
+          "NME_HDG_SRT_FORM", name.toUpperCase(),
+          "NME_HDG_STRNG_TXT", GlobalStorage.DOLLAR + "a" + name));
+        authorities.add(row(
+          "AUT_NBR", nameNumber,
+          "HDG_NBR", nameNumber,
+          "HDG_TYP_CDE", "NH"));
+        sample(nameSample, name, nameNumber);
+        sample(authoritySample, nameNumber, nameNumber);
+      }
+    }
+
+    try (final MappedTableInsert titleHeadings = new MappedTableInsert(Global.HCONFIGURATION, TTL_HDG.class, connection);
+         final MappedTableInsert titleAccessPoints = new MappedTableInsert(Global.HCONFIGURATION, TitleAccessPoint.class, connection);
+         final MappedTableInsert nameAccessPoints = new MappedTableInsert(Global.HCONFIGURATION, NameAccessPoint.class, connection);
+         final MappedTableInsert cache = new MappedTableInsert(Global.HCONFIGURATION, FULL_CACHE.class, connection)) {
+      for (int itemNumber = 1; itemNumber <= records; itemNumber++) {
+        final String title = title();
+        final int nameNumber = skewed(names);
+        final String userView = userView();
+
+        titleHeadings.add(row(
+          "TTL_HDG_NBR", itemNumber,
+          "USR_VW_IND", userView,
+          "LANG_OF_ACS_PNT_CDE", "eng",
+          "TTL_HDG_SRT_FORM", title.toUpperCase(),
+          "TTL_HDG_STRNG_TXT", GlobalStorage.DOLLAR + "a" + title));
+        titleAccessPoints.add(row(
+          "TTL_HDG_NBR", itemNumber,
+          "BIB_ITM_NBR", itemNumber,
+          "USR_VW_IND", userView,
+          "TTL_FNCTN_CDE", 245));
+        nameAccessPoints.add(row(
+          "NME_HDG_NBR", nameNumber,
+          "BIB_ITM_NBR", itemNumber,
+          "USR_VW_IND", userView,
+          "NME_FNCTN_CDE", 100));
+        cache.add(row(
+          "RECORD_ID", itemNumber,
+          "USER_VIEW", VIEW,
+          "RECORD_DATA", marcxml(itemNumber, title, name(nameNumber))));
+        sample(titleSample, title, itemNumber);
+      }
+    }
+    connection.commit();
+
+    try (final java.sql.Statement statement = connection.createStatement()) {
+      statement.execute("create index ttl_hdg_srt_form_idx on ttl_hdg (ttl_hdg_srt_form)");
+      statement.execute("create index nme_hdg_srt_form_idx on nme_hdg (nme_hdg_srt_form)");
+      statement.execute("analyze");
+    }
+    connection.commit();
+  }
+
+  /**
+   * Returns a sample of the loaded titles.
+   *
+   * @return a sample of the loaded titles.
+   */
+  List<String> getTitleSample() {
+    return titleSample;
+  }
+
+  /**
+   * Returns a sample of the loaded names.
+   *
+   * @return a sample of the loaded names.
+   */
+  List<String> getNameSample() {
+    return nameSample;
+  }
+
+  /**
+   * Returns a sample of the loaded authority numbers.
+   *
+   * @return a sample of the loaded authority numbers.
+   */
+  List<Integer> getAuthoritySample() {
+    return authoritySample;
+  }
+
+  private <T> void sample(final List<T> sample, final T value, final int seen) {
+    if (sample.size() < SAMPLE_SIZE) {
+      sample.add(value);
+    } else {
+      final int slot = random.nextInt(seen);
+      if (slot < SAMPLE_SIZE) {
+        sample.set(slot, value);
+      }
+    }
+  }
+
+  private String title() {
+    final int length = 2 + random.nextInt(5);
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < length; i++) {
+      final String word = WORDS[random.nextInt(WORDS.length)];
+      builder.append(i == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : " " + word);
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Picks the views of a record: always the view 1, then the views 2, 3 and 4 with a probability of 1/2, 1/10 and
+   * 1/100.
+   */
+  private String userView() {
+    return "1"
+      + (views.nextInt(2) == 0 ? "1" : "0")
+      + (views.nextInt(10) == 0 ? "1" : "0")
+      + (views.nextInt(100) == 0 ? "1" : "0")
+      + "000000000000";
+  }
+
+  private String name(final int nameNumber) {
+    return SURNAMES[nameNumber % SURNAMES.length] + ", "
+      + FORENAMES[(nameNumber / SURNAMES.length) % FORENAMES.length]
+      + " " + nameNumber;
+  }
+
+  /**
+   * Picks a name with a skewed distribution: a few names own many records, most own a handful.
+   */
+  private int skewed(final int names) {
+    final double u = random.nextDouble();
+    return 1 + (int) (names * u * u);
+  }
+
+  private String marcxml(final int itemNumber, final String title, final String name) {
+    return "<record xmlns=\"http://www.loc.gov/MARC21/slim\">"
+      + "<leader>00000nam a2200000 a 4500</leader>"
+      + "<controlfield tag=\"001\">" + itemNumber + "</controlfield>"
+      + "<controlfield tag=\"008\">180101s2018    it            000 0 ita d</controlfield>"
+      + "<datafield tag=\"100\" ind1=\"1\" ind2=\" \"><subfield code=\"a\">" + name + "</subfield></datafield>"
+      + "<datafield tag=\"245\" ind1=\"1\" ind2=\"0\"><subfield code=\"a\">" + title + "</subfield></datafield>"
+      + "<datafield tag=\"260\" ind1=\" \" ind2=\" \"><subfield code=\"a\">Milano</subfield>"
+      + "<subfield code=\"b\">Bompiani</subfield><subfield code=\"c\">2018</subfield></datafield>"
+      + "</record>";
+  }
+}
@@ -0,0 +1,90 @@
+package org.folio.marccat.loadtest;
+
+import net.sf.hibernate.tool.hbm2ddl.SchemaExport;
+import org.folio.marccat.config.Global;
+import ru.yandex.qatools.embed.postgresql.EmbeddedPostgres;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import static ru.yandex.qatools.embed.postgresql.distribution.Version.Main.V10;
+
+/**
+ * An embedded PostgreSQL instance hosting a throwaway catalog.
+ * The schema is generated from the Hibernate mappings (the same ones the module uses at runtime); the few objects
+ * which are not mapped (the search semantic table and the sort form procedures) come from loadtest/registry.sql.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+final class EmbeddedCatalog implements AutoCloseable {
+  private static final String DATABASE = "marccat";
+  private static final String USER = "marccat";
+  private static final String PASSWORD = "marccat";
+
+  private final EmbeddedPostgres postgres = new EmbeddedPostgres(V10);
+  private String url;
+
+  /**
+   * Starts the embedded instance and creates the catalog schema.
+   *
+   * @return this instance.
+   * @throws Exception in case of startup failure.
+   */
+  EmbeddedCatalog start() throws Exception {
+    final String baseUrl = postgres.start("localhost", Integer.getInteger("loadtest.db.port", 5439), DATABASE, USER, PASSWORD);
+    url = baseUrl.substring(0, baseUrl.indexOf('?')) + "?currentSchema=amicus,olisuite,custom,public";
+
+    System.setProperty(LocalConfiguration.URL, url);
+    System.setProperty(LocalConfiguration.USER, USER);
+    System.setProperty(LocalConfiguration.PASSWORD, PASSWORD);
+
+    try (final Connection connection = connection(); final Statement statement = connection.createStatement()) {
+      statement.execute("create schema amicus");
+      statement.execute("create schema olisuite");
+      statement.execute("create schema custom");
+    }
+
+    final Properties properties = new Properties();
+    properties.setProperty("hibernate.dialect", "net.sf.hibernate.dialect.PostgreSQLDialect");
+    properties.setProperty("hibernate.connection.driver_class", "org.postgresql.Driver");
+    properties.setProperty("hibernate.connection.url", url);
+    properties.setProperty("hibernate.connection.username", USER);
+    properties.setProperty("hibernate.connection.password", PASSWORD);
+    new SchemaExport(Global.HCONFIGURATION, properties).create(false, true);
+
+    try (final Connection connection = connection(); final Statement statement = connection.createStatement()) {
+      statement.execute(script("/loadtest/registry.sql"));
+    }
+    return this;
+  }
+
+  /**
+   * Returns a new connection to the embedded catalog.
+   *
+   * @return a new connection to the embedded catalog.
+   * @throws SQLException in case of connection failure.
+   */
+  Connection connection() throws SQLException {
+    return DriverManager.getConnection(url, USER, PASSWORD);
+  }
+
+  private String script(final String name) throws Exception {
+    try (final BufferedReader reader = new BufferedReader(
+      new InputStreamReader(EmbeddedCatalog.class.getResourceAsStream(name), StandardCharsets.UTF_8))) {
+      return reader.lines().collect(Collectors.joining("\n"));
+    }
+  }
+
+  @Override
+  public void close() {
+    postgres.stop();
+  }
+}
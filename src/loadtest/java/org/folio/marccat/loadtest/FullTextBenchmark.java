@@ -0,0 +1,148 @@
+package org.folio.marccat.loadtest;
+
+import org.folio.marccat.dao.common.FullTextIndex;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares the word search predicates on the seeded title sort forms: the LIKE pattern of the word search semantic
+ * entries against the text search query (tsquery) matched through the full-text GIN index.
+ * For each kind of term (a whole word, a phrase, a right truncated word and a partial word without truncation) it
+ * runs the same sampled terms both ways and prints the p50 / p99 latency and the rows matched by each predicate: the
+ * rows differ where the word matching differs, e.g. a partial word is matched by LIKE but not by the text search
+ * query, which only matches whole words unless the term is right truncated.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+final class FullTextBenchmark {
+  private static final String TABLE = "ttl_hdg";
+  private static final String COLUMN = "ttl_hdg_srt_form";
+
+  private final Map<String, List<String[]>> terms = new LinkedHashMap<>();
+
+  /**
+   * Builds a new benchmark on the terms picked from the given titles.
+   *
+   * @param titles  the titles sample of the seeded catalog.
+   * @param samples how many terms of each kind are measured.
+   */
+  FullTextBenchmark(final List<String> titles, final int samples) {
+    final Random random = new Random(7);
+    final List<String[]> words = new ArrayList<>();
+    final List<String[]> phrases = new ArrayList<>();
+    final List<String[]> truncated = new ArrayList<>();
+    final List<String[]> partial = new ArrayList<>();
+    for (int i = 0; i < samples; i++) {
+      final String[] title = titles.get(random.nextInt(titles.size())).toUpperCase(Locale.ROOT).split(" ");
+      final int position = random.nextInt(title.length);
+      final String word = title[position];
+      final String stem = word.substring(0, Math.max(1, word.length() - 2));
+      words.add(new String[]{"%" + word + "%", word.toLowerCase(Locale.ROOT)});
+      if (position + 1 < title.length) {
+        phrases.add(new String[]{
+          "%" + word + " " + title[position + 1] + "%",
+          word.toLowerCase(Locale.ROOT) + " <-> " + title[position + 1].toLowerCase(Locale.ROOT)});
+      }
+      truncated.add(new String[]{"%" + stem + "%", stem.toLowerCase(Locale.ROOT) + ":*"});
+      partial.add(new String[]{"%" + stem + "%", stem.toLowerCase(Locale.ROOT)});
+    }
+    terms.put("word", words);
+    terms.put("phrase", phrases);
+    terms.put("truncated word", truncated);
+    terms.put("partial word", partial);
+  }
+
+  /**
+   * Creates the full-text index on the title sort forms, runs the comparison and prints the report.
+   *
+   * @param connection a connection to the seeded catalog.
+   * @throws SQLException in case of data access failure.
+   */
+  void run(final Connection connection) throws SQLException {
+    connection.setAutoCommit(true);
+    try (final Statement statement = connection.createStatement()) {
+      statement.execute(FullTextIndex.of(COLUMN).ddl());
+      statement.execute("analyze " + TABLE);
+    }
+
+    final String like = "select count(*) from " + TABLE + " where " + COLUMN + " like ?";
+    final String tsquery = "select count(*) from " + TABLE + " where " + FullTextIndex.vectorOf(COLUMN)
+      + " @@ to_tsquery('" + FullTextIndex.CONFIGURATION + "', ?)";
+
+    System.out.println();
+    System.out.println(String.format("%-16s %8s %12s %12s %12s %12s %10s %10s %10s",
+      "term", "queries", "like p50", "like p99", "fts p50", "fts p99", "like rows", "fts rows", "differ"));
+    for (final Map.Entry<String, List<String[]>> kind : terms.entrySet()) {
+      // warm up both plans and the buffer cache, then measure
+      measure(connection, like, kind.getValue(), 0, new long[kind.getValue().size()]);
+      measure(connection, tsquery, kind.getValue(), 1, new long[kind.getValue().size()]);
+
+      final long[] likeLatencies = new long[kind.getValue().size()];
+      final long[] likeRows = measure(connection, like, kind.getValue(), 0, likeLatencies);
+      final long[] tsqueryLatencies = new long[kind.getValue().size()];
+      final long[] tsqueryRows = measure(connection, tsquery, kind.getValue(), 1, tsqueryLatencies);
+
+      int differ = 0;
+      for (int i = 0; i < likeRows.length; i++) {
+        if (likeRows[i] != tsqueryRows[i]) {
+          differ++;
+        }
+      }
+      System.out.println(String.format("%-16s %8d %12.2f %12.2f %12.2f %12.2f %10d %10d %10d",
+        kind.getKey(),
+        likeRows.length,
+        percentile(likeLatencies, 0.50),
+        percentile(likeLatencies, 0.99),
+        percentile(tsqueryLatencies, 0.50),
+        percentile(tsqueryLatencies, 0.99),
+        Arrays.stream(likeRows).sum(),
+        Arrays.stream(tsqueryRows).sum(),
+        differ));
+    }
+  }
+
+  /**
+   * Runs the given count query once per term and returns the counts, storing the latencies in the given array.
+   */
+  private long[] measure(
+    final Connection connection,
+    final String query,
+    final List<String[]> terms,
+    final int form,
+    final long[] latencies) throws SQLException {
+    final long[] rows = new long[terms.size()];
+    try (final PreparedStatement statement = connection.prepareStatement(query)) {
+      for (int i = 0; i < terms.size(); i++) {
+        statement.setString(1, terms.get(i)[form]);
+        final long start = System.nanoTime();
+        try (final ResultSet rs = statement.executeQuery()) {
+          rows[i] = rs.next() ? rs.getLong(1) : 0;
+        }
+        latencies[i] = System.nanoTime() - start;
+      }
+    }
+    return rows;
+  }
+
+  private double percentile(final long[] latencies, final double percentile) {
+    if (latencies.length == 0) {
+      return 0;
+    }
+    final long[] sorted = latencies.clone();
+    Arrays.sort(sorted);
+    final int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1);
+    return sorted[Math.max(0, index)] / 1_000_000d;
+  }
+}
@@ -0,0 +1,174 @@
+package org.folio.marccat.loadtest;
+
+import org.folio.marccat.config.Global;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Closed-loop HTTP load generator.
+ * A fixed number of workers repeatedly pick one of the module endpoints (with a realistic mix of searches, browses
+ * and counts) and record the latency of each call; at the end a per-endpoint p50 / p99 / throughput summary is printed.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+final class LoadDriver {
+  private static final String TENANT = "loadtest";
+
+  private final String baseUrl;
+  private final Map<String, Function<Random, String>> scenarios = new LinkedHashMap<>();
+  private final List<String> mix = new ArrayList<>();
+  private final Map<String, List<Long>> latencies = new LinkedHashMap<>();
+  private final Map<String, AtomicInteger> failures = new LinkedHashMap<>();
+
+  /**
+   * Builds a new driver against the given module instance.
+   *
+   * @param port    the HTTP port of the module.
+   * @param catalog the seeder which loaded the catalog (used for picking realistic terms).
+   */
+  LoadDriver(final int port, final CatalogSeeder catalog) {
+    this.baseUrl = "http://localhost:" + port + "/marccat";
+
+    scenario("search", 4, random ->
+      "/search?lang=eng&view=1&from=1&to=10&q=" + encode("TI " + words(pick(random, catalog.getTitleSample()), random)));
+    scenario("mergedSearch", 1, random ->
+      "/mergedSearch?lang=eng&from=1&to=10&q=" + encode("NA " + surname(pick(random, catalog.getNameSample())) + "?"));
+    scenario("browse", 2, random ->
+      "/browse?view=1&mainLibrary=170&pageSize=10&lang=eng&query=" + encode("NA " + surname(pick(random, catalog.getNameSample()))));
+    scenario("next-page", 1, random ->
+      "/next-page?view=1&mainLibrary=170&pageSize=10&lang=eng&query=" + encode("TI " + pick(random, catalog.getTitleSample())));
+    scenario("document-count-by-id", 2, random ->
+      "/document-count-by-id?view=1&id=" + pick(random, catalog.getAuthoritySample()));
+  }
+
+  /**
+   * Runs the given number of requests with the given concurrency and prints a summary report.
+   *
+   * @param concurrency how many concurrent clients.
+   * @param requests    how many requests in total.
+   * @param warmup      how many (not measured) warm up requests.
+   * @throws InterruptedException if the run is interrupted.
+   */
+  void run(final int concurrency, final int requests, final int warmup) throws InterruptedException {
+    execute(concurrency, warmup, false);
+    final long start = System.nanoTime();
+    execute(concurrency, requests, true);
+    report(System.nanoTime() - start);
+  }
+
+  private void execute(final int concurrency, final int requests, final boolean measure) throws InterruptedException {
+    final AtomicInteger remaining = new AtomicInteger(requests);
+    final ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+    for (int i = 0; i < concurrency; i++) {
+      final Random random = new Random(i);
+      workers.execute(() -> {
+        while (remaining.getAndDecrement() > 0) {
+          final String name = mix.get(random.nextInt(mix.size()));
+          final String path = scenarios.get(name).apply(random);
+          final long start = System.nanoTime();
+          final boolean succeeded = call(path);
+          final long elapsed = System.nanoTime() - start;
+          if (measure) {
+            latencies.get(name).add(elapsed);
+            if (!succeeded) {
+              failures.get(name).incrementAndGet();
+            }
+          }
+        }
+      });
+    }
+    workers.shutdown();
+    workers.awaitTermination(1, TimeUnit.DAYS);
+  }
+
+  private boolean call(final String path) {
+    try {
+      final HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+      connection.setRequestProperty(Global.OKAPI_TENANT_HEADER_NAME, TENANT);
+      final int status = connection.getResponseCode();
+      try (final InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+        if (body != null) {
+          final byte[] buffer = new byte[8192];
+          while (body.read(buffer) != -1) {
+            // drain the response so that the connection can be reused
+          }
+        }
+      }
+      return status < 400;
+    } catch (final Exception exception) {
+      return false;
+    }
+  }
+
+  private void report(final long elapsedNanos) {
+    final double seconds = elapsedNanos / 1_000_000_000d;
+    System.out.println();
+    System.out.println(String.format("%-22s %8s %8s %10s %10s %10s", "endpoint", "calls", "errors", "p50 (ms)", "p99 (ms)", "req/s"));
+    latencies.forEach((name, samples) -> {
+      final long[] sorted = samples.stream().mapToLong(Long::longValue).toArray();
+      Arrays.sort(sorted);
+      System.out.println(String.format("%-22s %8d %8d %10.2f %10.2f %10.1f",
+        name,
+        sorted.length,
+        failures.get(name).get(),
+        percentile(sorted, 0.50),
+        percentile(sorted, 0.99),
+        sorted.length / seconds));
+    });
+  }
+
+  private double percentile(final long[] sorted, final double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    final int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1);
+    return sorted[Math.max(0, index)] / 1_000_000d;
+  }
+
+  private void scenario(final String name, final int weight, final Function<Random, String> path) {
+    scenarios.put(name, path);
+    latencies.put(name, Collections.synchronizedList(new ArrayList<>()));
+    failures.put(name, new AtomicInteger());
+    for (int i = 0; i < weight; i++) {
+      mix.add(name);
+    }
+  }
+
+  private static <T> T pick(final Random random, final List<T> sample) {
+    return sample.get(random.nextInt(sample.size()));
+  }
+
+  private static String words(final String title, final Random random) {
+    final String[] words = title.split(" ");
+    return random.nextBoolean() ? title : words[0] + "?";
+  }
+
+  private static String surname(final String name) {
+    return name.substring(0, name.indexOf(','));
+  }
+
+  private static String encode(final String value) {
+    try {
+      return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+    } catch (final Exception exception) {
+      throw new IllegalArgumentException(exception);
+    }
+  }
+}
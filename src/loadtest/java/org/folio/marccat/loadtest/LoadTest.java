@@ -0,0 +1,88 @@
+package org.folio.marccat.loadtest;
+
+import org.folio.marccat.ModMarccat;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.Connection;
+
+/**
+ * Load test harness entry point.
+ * Starts an embedded PostgreSQL, creates and seeds a catalog of the requested size, boots the module against it and
+ * drives a mixed search / browse / count workload, reporting latency percentiles and throughput per endpoint.
+ * Before booting the module, it compares the LIKE and the full-text (tsquery) word search predicates on the seeded
+ * titles (see {@link FullTextBenchmark}) and the view predicate written with the view as a parameter and as a literal,
+ * served by the per-view partial indexes (see {@link ViewIndexBenchmark}).
+ *
+ * Tunables (system properties):
+ * <ul>
+ * <li>loadtest.records: how many bibliographic records are loaded (default 10000, up to about a million).</li>
+ * <li>loadtest.concurrency: how many concurrent clients (default 8).</li>
+ * <li>loadtest.requests: how many measured requests (default 5000).</li>
+ * <li>loadtest.warmup: how many warm up requests (default 500).</li>
+ * <li>loadtest.port: the HTTP port of the module (default 8089).</li>
+ * <li>loadtest.fullText: whether the LIKE / full-text comparison runs (default true).</li>
+ * <li>loadtest.fullText.samples: how many terms of each kind the comparison measures (default 200).</li>
+ * <li>loadtest.viewIndexes: whether the view predicates comparison runs (default true).</li>
+ * <li>loadtest.viewIndexes.samples: how many arguments of each query the comparison measures (default 200).</li>
+ * </ul>
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public class LoadTest {
+
+  /**
+   * Harness entry point.
+   *
+   * @param args the command line arguments, passed to the module.
+   * @throws Exception in case of failure.
+   */
+  public static void main(final String[] args) throws Exception {
+    final int records = Integer.getInteger("loadtest.records", 10000);
+    final int concurrency = Integer.getInteger("loadtest.concurrency", 8);
+    final int requests = Integer.getInteger("loadtest.requests", 5000);
+    final int warmup = Integer.getInteger("loadtest.warmup", 500);
+    final int port = Integer.getInteger("loadtest.port", 8089);
+    final boolean fullText = Boolean.parseBoolean(System.getProperty("loadtest.fullText", "true"));
+    final int fullTextSamples = Integer.getInteger("loadtest.fullText.samples", 200);
+    final boolean viewIndexes = Boolean.parseBoolean(System.getProperty("loadtest.viewIndexes", "true"));
+    final int viewIndexesSamples = Integer.getInteger("loadtest.viewIndexes.samples", 200);
+
+    try (final EmbeddedCatalog catalog = new EmbeddedCatalog().start()) {
+      final CatalogSeeder seeder = new CatalogSeeder();
+      final long start = System.currentTimeMillis();
+      try (final Connection connection = catalog.connection()) {
+        seeder.seed(connection, records);
+      }
+      System.out.println(String.format("Loaded %d records in %d ms", records, System.currentTimeMillis() - start));
+
+      if (fullText) {
+        try (final Connection connection = catalog.connection()) {
+          new FullTextBenchmark(seeder.getTitleSample(), fullTextSamples).run(connection);
+        }
+      }
+
+      if (viewIndexes) {
+        try (final Connection connection = catalog.connection()) {
+          new ViewIndexBenchmark(
+            seeder.getTitleSample(),
+            seeder.getAuthoritySample(),
+            records,
+            CatalogSeeder.VIEWS,
+            viewIndexesSamples).run(connection);
+        }
+      }
+
+      final ConfigurableApplicationContext module = SpringApplication.run(
+        ModMarccat.class,
+        "--spring.profiles.active=test",
+        "--server.port=" + port);
+      try {
+        new LoadDriver(port, seeder).run(concurrency, requests, warmup);
+      } finally {
+        module.close();
+      }
+    }
+  }
+}
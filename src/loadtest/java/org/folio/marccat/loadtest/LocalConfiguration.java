@@ -0,0 +1,45 @@
+package org.folio.marccat.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.folio.marccat.integration.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration facade used by the load test harness.
+ * Replaces the mod-configuration lookup with the coordinates of the embedded PostgreSQL instance, which are passed
+ * in by {@link LoadTest} as system properties.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+@Component
+@Profile({"test"})
+public class LocalConfiguration implements Configuration {
+  static final String URL = "loadtest.jdbc.url";
+  static final String USER = "loadtest.jdbc.user";
+  static final String PASSWORD = "loadtest.jdbc.password";
+
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  @Override
+  public ObjectNode attributes(final String tenant, final boolean withDatasource, final String... configurationSets) {
+    final ObjectNode result = mapper.createObjectNode();
+    final ArrayNode configs = result.putArray("configs");
+    if (withDatasource) {
+      datasource(configs, "url", System.getProperty(URL));
+      datasource(configs, "user", System.getProperty(USER));
+      datasource(configs, "password", System.getProperty(PASSWORD));
+    }
+    return result;
+  }
+
+  private void datasource(final ArrayNode configs, final String code, final String value) {
+    configs.addObject()
+      .put("configName", "datasource")
+      .put("code", code)
+      .put("value", value);
+  }
+}
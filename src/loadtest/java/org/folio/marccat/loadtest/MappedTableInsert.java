@@ -0,0 +1,134 @@
+package org.folio.marccat.loadtest;
+
+import net.sf.hibernate.cfg.Configuration;
+import net.sf.hibernate.mapping.Column;
+import net.sf.hibernate.mapping.PersistentClass;
+import net.sf.hibernate.mapping.Table;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A batched JDBC insert built from the Hibernate mapping of a persistent class.
+ * Every mapped column gets a type-compatible default value (so that loading the row back through Hibernate never
+ * finds a null where a primitive is expected); callers override only the columns they care about.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+final class MappedTableInsert implements AutoCloseable {
+  private static final int BATCH_SIZE = 1000;
+
+  private final List<String> columns = new ArrayList<>();
+  private final List<Object> defaults = new ArrayList<>();
+  private final PreparedStatement statement;
+  private int pending;
+
+  /**
+   * Builds a new insert for the table mapped by the given class.
+   *
+   * @param configuration the Hibernate configuration.
+   * @param mappedClass   the persistent class.
+   * @param connection    the target connection.
+   * @throws SQLException in case of data access failure.
+   */
+  MappedTableInsert(final Configuration configuration, final Class mappedClass, final Connection connection) throws SQLException {
+    final PersistentClass mapping = configuration.getClassMapping(mappedClass);
+    final Table table = mapping.getTable();
+    final Iterator iterator = table.getColumnIterator();
+    while (iterator.hasNext()) {
+      final Column column = (Column) iterator.next();
+      columns.add(column.getName().toUpperCase());
+      defaults.add(defaultValue(column.getType().getReturnedClass()));
+    }
+
+    final StringBuilder sql = new StringBuilder("insert into ")
+      .append(table.getSchema() != null ? table.getSchema() + "." : "")
+      .append(table.getName())
+      .append(" (")
+      .append(String.join(", ", columns))
+      .append(") values (");
+    for (int i = 0; i < columns.size(); i++) {
+      sql.append(i == 0 ? "?" : ", ?");
+    }
+    statement = connection.prepareStatement(sql.append(")").toString());
+  }
+
+  /**
+   * Adds a new row to the current batch.
+   *
+   * @param values the column values, by (case insensitive) column name. Missing columns get their default value.
+   * @throws SQLException in case of data access failure.
+   */
+  void add(final Map<String, Object> values) throws SQLException {
+    for (int i = 0; i < columns.size(); i++) {
+      final String column = columns.get(i);
+      statement.setObject(i + 1, values.containsKey(column) ? values.get(column) : defaults.get(i));
+    }
+    statement.addBatch();
+    if (++pending == BATCH_SIZE) {
+      flush();
+    }
+  }
+
+  /**
+   * Shortcut for building a row.
+   *
+   * @param keyValues column names and values, in pairs.
+   * @return the row.
+   */
+  static Map<String, Object> row(final Object... keyValues) {
+    final Map<String, Object> row = new HashMap<>();
+    for (int i = 0; i < keyValues.length; i += 2) {
+      row.put(String.valueOf(keyValues[i]).toUpperCase(), keyValues[i + 1]);
+    }
+    return row;
+  }
+
+  private void flush() throws SQLException {
+    if (pending > 0) {
+      statement.executeBatch();
+      pending = 0;
+    }
+  }
+
+  @Override
+  public void close() throws SQLException {
+    try {
+      flush();
+    } finally {
+      statement.close();
+    }
+  }
+
+  private static Object defaultValue(final Class type) {
+    if (type == String.class) {
+      return " ";
+    } else if (type == char.class || type == Character.class) {
+      return " ";
+    } else if (type == boolean.class || type == Boolean.class) {
+      return false;
+    } else if (type == int.class || type == Integer.class
+      || type == short.class || type == Short.class
+      || type == long.class || type == Long.class
+      || type == byte.class || type == Byte.class) {
+      return 0;
+    } else if (type == float.class || type == Float.class
+      || type == double.class || type == Double.class
+      || type == BigDecimal.class) {
+      return BigDecimal.ZERO;
+    } else if (Date.class.isAssignableFrom(type)) {
+      return new Timestamp(System.currentTimeMillis());
+    }
+    return null;
+  }
+}
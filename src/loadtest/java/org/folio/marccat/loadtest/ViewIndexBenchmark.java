@@ -0,0 +1,189 @@
+package org.folio.marccat.loadtest;
+
+import org.folio.marccat.dao.AbstractDAO;
+import org.folio.marccat.dao.common.ViewIndex;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares the two ways of writing the view predicate on the seeded multi-view catalog: the view bound as a
+ * parameter of substr(usr_vw_ind, ?, 1), which is how the queries were written before and which one prepared
+ * statement serves for all the views, against the view written as a literal (see {@link AbstractDAO#inView}), which
+ * the planner matches with the per-view partial indexes (see {@link ViewIndex}).
+ * For each kind of query (a title browse page, the title access points of a record and the document count of a name)
+ * and for each view it runs the same sampled arguments both ways and prints the p50 / p99 latency, and whether the
+ * plan of the literal predicate uses the partial index of the view.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+final class ViewIndexBenchmark {
+  private static final ViewIndex[] INDEXES = {ViewIndex.TITLE_SORT_FORM, ViewIndex.TITLE_ACCESS_POINT, ViewIndex.NAME_USAGE};
+
+  private final Map<String, Query> queries = new LinkedHashMap<>();
+  private final int views;
+
+  /**
+   * Builds a new benchmark on the arguments picked from the seeded catalog.
+   *
+   * @param titles  the titles sample of the seeded catalog.
+   * @param names   the name heading numbers sample of the seeded catalog.
+   * @param records the number of seeded records.
+   * @param views   the number of views the records are spread on.
+   * @param samples how many arguments of each query are measured.
+   */
+  ViewIndexBenchmark(final List<String> titles, final List<Integer> names, final int records, final int views, final int samples) {
+    final Random random = new Random(11);
+    final List<Object> browseTerms = new ArrayList<>();
+    final List<Object> items = new ArrayList<>();
+    final List<Object> headings = new ArrayList<>();
+    for (int i = 0; i < samples; i++) {
+      browseTerms.add(titles.get(random.nextInt(titles.size())).toUpperCase(Locale.ROOT));
+      items.add(1 + random.nextInt(records));
+      headings.add(names.get(random.nextInt(names.size())));
+    }
+    queries.put("title browse", new Query(
+      "select ttl_hdg_nbr from ttl_hdg where ttl_hdg_srt_form >= ? and %s order by ttl_hdg_srt_form limit 10",
+      ViewIndex.TITLE_SORT_FORM,
+      browseTerms));
+    queries.put("access points", new Query(
+      "select ttl_hdg_nbr from ttl_acs_pnt where bib_itm_nbr = ? and %s",
+      ViewIndex.TITLE_ACCESS_POINT,
+      items));
+    queries.put("document count", new Query(
+      "select count(distinct bib_itm_nbr) from nme_acs_pnt where nme_hdg_nbr = ? and %s",
+      ViewIndex.NAME_USAGE,
+      headings));
+    this.views = views;
+  }
+
+  /**
+   * Creates the partial indexes of the seeded views, runs the comparison and prints the report.
+   *
+   * @param connection a connection to the seeded catalog.
+   * @throws SQLException in case of data access failure.
+   */
+  void run(final Connection connection) throws SQLException {
+    connection.setAutoCommit(true);
+    try (final Statement statement = connection.createStatement()) {
+      for (int view = 1; view <= views; view++) {
+        for (final ViewIndex index : INDEXES) {
+          statement.execute(index.ddlOf(view));
+        }
+      }
+      statement.execute("analyze");
+    }
+
+    System.out.println();
+    System.out.println(String.format("%-16s %5s %8s %12s %12s %12s %12s %14s",
+      "query", "view", "queries", "substr p50", "substr p99", "literal p50", "literal p99", "partial index"));
+    for (final Map.Entry<String, Query> query : queries.entrySet()) {
+      final Query benchmark = query.getValue();
+      final String parameter = String.format(benchmark.sql, "substr(usr_vw_ind, ?, 1) = '1'");
+
+      // warm up the parameterized statement on all the views, so that the driver and the server reuse its plan
+      for (int view = 1; view <= views; view++) {
+        measure(connection, parameter, benchmark.arguments, view, new long[benchmark.arguments.size()]);
+      }
+      for (int view = 1; view <= views; view++) {
+        final String literal = String.format(benchmark.sql, AbstractDAO.inView("usr_vw_ind", view));
+        measure(connection, literal, benchmark.arguments, 0, new long[benchmark.arguments.size()]);
+
+        final long[] parameterLatencies = new long[benchmark.arguments.size()];
+        measure(connection, parameter, benchmark.arguments, view, parameterLatencies);
+        final long[] literalLatencies = new long[benchmark.arguments.size()];
+        measure(connection, literal, benchmark.arguments, 0, literalLatencies);
+
+        System.out.println(String.format("%-16s %5d %8d %12.2f %12.2f %12.2f %12.2f %14s",
+          query.getKey(),
+          view,
+          benchmark.arguments.size(),
+          percentile(parameterLatencies, 0.50),
+          percentile(parameterLatencies, 0.99),
+          percentile(literalLatencies, 0.50),
+          percentile(literalLatencies, 0.99),
+          usesIndex(connection, literal, benchmark.arguments.get(0), benchmark.index.nameOf(view)) ? "yes" : "no"));
+      }
+    }
+  }
+
+  /**
+   * Runs the given query once per argument, storing the latencies in the given array.
+   * If the view is greater than 0 it is bound as the second parameter of the query.
+   */
+  private void measure(
+    final Connection connection,
+    final String query,
+    final List<Object> arguments,
+    final int view,
+    final long[] latencies) throws SQLException {
+    try (final PreparedStatement statement = connection.prepareStatement(query)) {
+      for (int i = 0; i < arguments.size(); i++) {
+        statement.setObject(1, arguments.get(i));
+        if (view > 0) {
+          statement.setInt(2, view);
+        }
+        final long start = System.nanoTime();
+        try (final ResultSet rs = statement.executeQuery()) {
+          while (rs.next()) {
+            rs.getObject(1);
+          }
+        }
+        latencies[i] = System.nanoTime() - start;
+      }
+    }
+  }
+
+  /**
+   * Returns true if the plan of the given query, with the given argument, uses the given index.
+   */
+  private boolean usesIndex(final Connection connection, final String query, final Object argument, final String index) throws SQLException {
+    try (final PreparedStatement statement = connection.prepareStatement("explain " + query)) {
+      statement.setObject(1, argument);
+      try (final ResultSet rs = statement.executeQuery()) {
+        while (rs.next()) {
+          if (rs.getString(1).contains(index)) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  private double percentile(final long[] latencies, final double percentile) {
+    if (latencies.length == 0) {
+      return 0;
+    }
+    final long[] sorted = latencies.clone();
+    Arrays.sort(sorted);
+    final int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1);
+    return sorted[Math.max(0, index)] / 1_000_000d;
+  }
+
+  /**
+   * A measured query: its SQL, with a placeholder for the view predicate, the index serving it and its arguments.
+   */
+  private static final class Query {
+    private final String sql;
+    private final ViewIndex index;
+    private final List<Object> arguments;
+
+    private Query(final String sql, final ViewIndex index, final List<Object> arguments) {
+      this.sql = sql;
+      this.index = index;
+      this.arguments = arguments;
+    }
+  }
+}
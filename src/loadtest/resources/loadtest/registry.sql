@@ -0,0 +1,74 @@
+-- Objects required by the search / browse pipeline which are not part of the Hibernate mappings.
+-- Loaded by the load test harness after the mapped schema has been generated.
+
+alter table olisuite.idx_list alter column idx_list_abrvt_cde type char(9);
+
+create table amicus.s_bib1_smntc (
+  atrbt_use_nbr             integer not null,
+  atrbt_rltn_nbr            integer not null,
+  atrbt_pstn_nbr            integer not null,
+  atrbt_strct_nbr           integer not null,
+  atrbt_trntn_nbr           integer not null,
+  atrbt_cmpns_nbr           integer not null,
+  db_rec_typ_cde            smallint not null,
+  srt_form_skp_in_flng_cde  smallint default 0,
+  srt_form_fnctn_cde        smallint default 0,
+  srt_form_typ_cde          smallint default 0,
+  srt_form_sub_typ_cde      smallint default 0,
+  srt_form_main_typ_cde     smallint default 0,
+  qry_actn_cde              varchar(8),
+  scdry_idx_cde             smallint default 0,
+  sql_slct                  varchar(512),
+  sql_frm                   varchar(512),
+  sql_whr                   varchar(1024),
+  sql_jn                    varchar(512),
+  sql_vw                    varchar(32),
+  context_idx_cde           boolean default false
+);
+
+-- Sort form stand-ins: the production package normalizes diacritics and punctuation; upper-casing keeps the
+-- cost of a round trip while producing keys consistent with the seeded headings.
+create schema pack_sortform;
+
+create function pack_sortform.sf_preprocess(
+  txt varchar, buf_size integer, main_type integer, sub_type integer, nts_type integer, name_sub_type integer,
+  skip_in_filing integer, out rc integer, out res varchar) as $$
+begin
+  rc := 0;
+  res := txt;
+end;
+$$ language plpgsql immutable;
+
+create function pack_sortform.sf_buildsrtfrm(
+  txt varchar, buf_size integer, main_type integer, sub_type integer, nts_type integer, name_sub_type integer,
+  skip_in_filing integer, out rc integer, out res varchar) as $$
+begin
+  rc := 0;
+  res := upper(substr(txt, skip_in_filing + 1));
+end;
+$$ language plpgsql immutable;
+
+-- Indexes: TI (title, use 4) and NA (name, use 1003), both searchable and browsable.
+insert into olisuite.idx_list
+  (idx_list_key_nbr, idx_list_typ_cde, langid, idx_list_abrvt_cde, idx_list_nme, idx_list_lc_mad_cde,
+   atrbt_use_nbr, atrbt_rltn_nbr, atrbt_pstn_nbr, atrbt_strct_nbr, atrbt_trntn_nbr, atrbt_cmpns_nbr,
+   idx_srt_main_typ_cde, idx_srt_form_sub_typ_cde, idx_srt_form_typ_cde, idx_srt_form_fnctn_cde, idx_srt_skp_flng_cde)
+values
+  (7, 'P0', 'eng', 'TI', 'Title', 'LC', 4, 3, 1, 1, 100, 1, 3, 0, 0, 0, 0),
+  (2, 'P0', 'eng', 'NA', 'Name', 'LC', 1003, 3, 1, 1, 100, 1, 2, 0, 0, 0, 0),
+  (7, 'P0', 'ita', 'TI', 'Titolo', 'LC', 4, 3, 1, 1, 100, 1, 3, 0, 0, 0, 0),
+  (2, 'P0', 'ita', 'NA', 'Nome', 'LC', 1003, 3, 1, 1, 100, 1, 2, 0, 0, 0, 0);
+
+-- Semantic entries: exact (truncation 100) and right truncated (truncation 1) searches, bibliographic records.
+insert into amicus.s_bib1_smntc
+  (atrbt_use_nbr, atrbt_rltn_nbr, atrbt_pstn_nbr, atrbt_strct_nbr, atrbt_trntn_nbr, atrbt_cmpns_nbr, db_rec_typ_cde,
+   srt_form_main_typ_cde, qry_actn_cde, sql_slct, sql_frm, sql_whr, sql_jn, sql_vw)
+values
+  (4, 3, 1, 1, 100, 1, 1, 3, 'T', 'apf.bib_itm_nbr', 'ttl_acs_pnt apf, ttl_hdg hdg',
+   'hdg.ttl_hdg_srt_form = ''%s''', 'apf.ttl_hdg_nbr = hdg.ttl_hdg_nbr and ', 'apf'),
+  (4, 3, 1, 1, 1, 1, 1, 3, 'T', 'apf.bib_itm_nbr', 'ttl_acs_pnt apf, ttl_hdg hdg',
+   'hdg.ttl_hdg_srt_form like ''%s%%''', 'apf.ttl_hdg_nbr = hdg.ttl_hdg_nbr and ', 'apf'),
+  (1003, 3, 1, 1, 100, 1, 1, 2, 'T', 'apf.bib_itm_nbr', 'nme_acs_pnt apf, nme_hdg hdg',
+   'hdg.nme_hdg_srt_form = ''%s''', 'apf.nme_hdg_nbr = hdg.nme_hdg_nbr and ', 'apf'),
+  (1003, 3, 1, 1, 1, 1, 1, 2, 'T', 'apf.bib_itm_nbr', 'nme_acs_pnt apf, nme_hdg hdg',
+   'hdg.nme_hdg_srt_form like ''%s%%''', 'apf.nme_hdg_nbr = hdg.nme_hdg_nbr and ', 'apf');
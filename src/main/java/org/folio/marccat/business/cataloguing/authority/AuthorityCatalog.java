@@ -17,6 +17,7 @@ import org.folio.marccat.shared.CorrelationValues;
 
 import java.util.*;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * @author paulm
@@ -32,15 +33,15 @@ public class AuthorityCatalog extends Catalog {
   protected static AbstractMapBackedFactory fixedFieldFactory;
   protected static AbstractMapBackedFactory tagFactory;
   private static Log logger = LogFactory.getLog(AuthorityCatalog.class);
-  private static Map daoByAutType = new HashMap();
+  private static Map<String, DAODescriptor> daoByAutType = new HashMap<>();
   private static Map<Integer, String> autTypeByDescriptorType = new HashMap<>();
-  private static Map headingTagByAutType = new HashMap();
+  private static Map<String, Supplier<AuthorityHeadingTag>> headingTagByAutType = new HashMap<>();
 
   static {
-    daoByAutType.put("NH", NameDescriptorDAO.class);
-    daoByAutType.put("TH", TitleDescriptorDAO.class);
-    daoByAutType.put("SH", SubjectDescriptorDAO.class);
-    daoByAutType.put("MH", NameTitleDescriptorDAO.class);
+    daoByAutType.put("NH", new NameDescriptorDAO());
+    daoByAutType.put("TH", new TitleDescriptorDAO());
+    daoByAutType.put("SH", new SubjectDescriptorDAO());
+    daoByAutType.put("MH", new NameTitleDescriptorDAO());
   }
 
   static {
@@ -54,10 +55,10 @@ public class AuthorityCatalog extends Catalog {
   }
 
   static {
-    headingTagByAutType.put("NH", AuthorityNameHeadingTag.class);
-    headingTagByAutType.put("TH", AuthorityTitleHeadingTag.class);
-    headingTagByAutType.put("SH", AuthoritySubjectHeadingTag.class);
-    headingTagByAutType.put("MH", AuthorityNameTitleHeadingTag.class);
+    headingTagByAutType.put("NH", AuthorityNameHeadingTag::new);
+    headingTagByAutType.put("TH", AuthorityTitleHeadingTag::new);
+    headingTagByAutType.put("SH", AuthoritySubjectHeadingTag::new);
+    headingTagByAutType.put("MH", AuthorityNameTitleHeadingTag::new);
   }
 
   static {
@@ -73,27 +74,22 @@ public class AuthorityCatalog extends Catalog {
   }
 
   public static AuthorityHeadingTag createHeadingTagByType(String type) {
-    AuthorityHeadingTag result = null;
-    try {
-      result =
-        (AuthorityHeadingTag) ((Class) headingTagByAutType.get(type))
-          .newInstance();
-    } catch (InstantiationException e) {
-      throw new RuntimeException("Could not create object");
-    } catch (IllegalAccessException e) {
+    final Supplier<AuthorityHeadingTag> constructor = headingTagByAutType.get(type);
+    if (constructor == null) {
       throw new RuntimeException("Could not create object");
     }
-    return result;
+    return constructor.get();
   }
 
+  /**
+   * Returns the DAO of the given heading type. DAOs are stateless, so the same instance is shared by all callers.
+   *
+   * @param type the heading type.
+   * @return the DAO of the given heading type.
+   */
   public static DAODescriptor getDaoByType(String type) {
-    DAODescriptor result = null;
-    try {
-      result =
-        (DAODescriptor) ((Class) daoByAutType.get(type)).newInstance();
-    } catch (InstantiationException e) {
-      throw new RuntimeException("Could not create object");
-    } catch (IllegalAccessException e) {
+    final DAODescriptor result = daoByAutType.get(type);
+    if (result == null) {
       throw new RuntimeException("Could not create object");
     }
     return result;
@@ -32,7 +32,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
-import static org.folio.marccat.util.F.deepCopy;
+import static org.folio.marccat.util.ObjectCopier.deepCopy;
 
 /**
  * Publisher Tag differs from other access points in that multiple publisher access
@@ -655,7 +655,7 @@ public class PublisherTag extends VariableField implements PersistentObjectWithV
     List newTags = new ArrayList();
     PublisherAccessPoint anApf = null;
     List accessPointsApp = new ArrayList();
-    PublisherTag aTag = (PublisherTag) deepCopy(this);
+    PublisherTag aTag = deepCopy(this);
     for (int i = 0; i < getAccessPoints().size(); i++) {
       anApf = (PublisherAccessPoint) getAccessPoints().get(i);
       Descriptor d = anApf.getDescriptor();
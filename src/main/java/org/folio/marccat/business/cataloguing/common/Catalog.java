@@ -215,5 +215,17 @@ public abstract class Catalog {
     getCatalogDao().unlock(itemNumber, getLockingEntityType(), username, session);
   }
 
+  public void lock(final List<Integer> itemNumbers, final String userName, final String uuid, final Session session) throws DataAccessException, RecordInUseException {
+    getCatalogDao().lock(itemNumbers, getLockingEntityType(), userName, uuid, session);
+  }
+
+  public void renewLocks(final List<Integer> itemNumbers, final String userName, final String uuid, final Session session) throws DataAccessException, RecordInUseException {
+    getCatalogDao().renewLocks(itemNumbers, getLockingEntityType(), userName, uuid, session);
+  }
+
+  public void unlock(final List<Integer> itemNumbers, final String username, final Session session) throws DataAccessException {
+    getCatalogDao().unlock(itemNumbers, getLockingEntityType(), username, session);
+  }
+
   abstract public String getLockingEntityType();
 }
@@ -5,14 +5,19 @@ import net.sf.hibernate.HibernateException;
 import net.sf.hibernate.Session;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.folio.marccat.business.cataloguing.bibliographic.FixedField;
+import org.folio.marccat.business.cataloguing.bibliographic.VariableField;
 import org.folio.marccat.business.common.PersistenceState;
 import org.folio.marccat.dao.AbstractDAO;
 import org.folio.marccat.dao.persistence.CorrelationKey;
+import org.folio.marccat.dao.persistence.Leader;
 import org.folio.marccat.dao.persistence.T_SINGLE;
 import org.folio.marccat.exception.DataAccessException;
 import org.folio.marccat.exception.ValidationException;
+import org.folio.marccat.model.Subfield;
 import org.folio.marccat.shared.CorrelationValues;
 import org.folio.marccat.shared.Validation;
+import org.folio.marccat.util.MarcXmlWriter;
 import org.folio.marccat.util.StringText;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -24,7 +29,7 @@ import java.io.Serializable;
 import java.sql.SQLException;
 import java.util.List;
 
-import static org.folio.marccat.util.F.deepCopy;
+import static org.folio.marccat.util.ObjectCopier.deepCopy;
 
 public abstract class Tag implements Serializable, Cloneable, TagInterface {
 
@@ -160,73 +165,81 @@ public abstract class Tag implements Serializable, Cloneable, TagInterface {
   }
 
   /**
-   * 2018 Paul Search Engine Java Adds this tag to the XML record with
-   * punctuation for MARC export
+   * Adds this tag to the XML record for MARC export.
+   * The element is the same written by {@link #toExternalMarcSlim(MarcXmlWriter)}.
    *
-   * @param xmlDocument
-   * @return
+   * @param xmlDocument the MARCXML document.
+   * @return the MARCXML element of this tag.
    */
   public Element toExternalMarcSlim(Document xmlDocument) {
-    return toXmlElement(xmlDocument, true);
+    final CorrelationKey marcEncoding = getMarcEncoding();
+    final Element field;
+    if (this instanceof Leader) {
+      field = xmlDocument.createElement("leader");
+      field.appendChild(xmlDocument.createTextNode(((FixedField) this).getDisplayString()));
+    } else if (isFixedField()) {
+      field = xmlDocument.createElement("controlfield");
+      field.setAttribute("tag", marcEncoding.getMarcTag());
+      field.appendChild(xmlDocument.createTextNode(((FixedField) this).getDisplayString()));
+    } else {
+      field = xmlDocument.createElement("datafield");
+      field.setAttribute("tag", marcEncoding.getMarcTag());
+      field.setAttribute("ind1", String.valueOf(marcEncoding.getMarcFirstIndicator()));
+      field.setAttribute("ind2", String.valueOf(marcEncoding.getMarcSecondIndicator()));
+      for (final Subfield subfield : getExternalMarcSubfields()) {
+        final Element subfieldElement = xmlDocument.createElement("subfield");
+        subfieldElement.setAttribute("code", subfield.getCode());
+        subfieldElement.appendChild(xmlDocument.createTextNode(subfield.getContent()));
+        field.appendChild(subfieldElement);
+      }
+    }
+    return field;
   }
 
-  // 2018 Paul Search Engine Java
-  public StringText addPunctuation() {
-    // overridden in subclasses -- default implementation does nothing
-    return null;
+  /**
+   * Writes this tag in the given MARCXML record for MARC export, without building any DOM node.
+   *
+   * @param writer the MARCXML writer.
+   */
+  public void toExternalMarcSlim(final MarcXmlWriter writer) {
+    final CorrelationKey marcEncoding = getMarcEncoding();
+    if (this instanceof Leader) {
+      writer.leader(((FixedField) this).getDisplayString());
+    } else if (isFixedField()) {
+      writer.controlField(marcEncoding.getMarcTag(), ((FixedField) this).getDisplayString());
+    } else {
+      writer.dataField(
+        marcEncoding.getMarcTag(),
+        marcEncoding.getMarcFirstIndicator(),
+        marcEncoding.getMarcSecondIndicator(),
+        getExternalMarcSubfields());
+    }
   }
 
-  // 2018 Paul Search Engine Java
-  private Element toXmlElement(Document xmlDocument, boolean withPunctuation) {
-		/*CorrelationKey marcEncoding = null;
-		try {
-			marcEncoding = getMarcEncoding();
-		} catch (Exception exception) {
-			logger.warn("Invalid tag found in Tag.toXmlElement");
-			return xmlDocument.createElement("error");
-		}
-
-		String marcTag = marcEncoding.getMarcTag();
-		String marcFirstIndicator = new String(""
-				+ marcEncoding.getMarcFirstIndicator());
-		String marcSecondIndicator = new String(""
-				+ marcEncoding.getMarcSecondIndicator());
+  /**
+   * Returns the subfields of this (variable) tag for MARC export, that is with punctuation.
+   * If punctuation can't be added, the raw string text is exported.
+   *
+   * @return the subfields of this tag for MARC export.
+   */
+  @SuppressWarnings("unchecked")
+  private List<Subfield> getExternalMarcSubfields() {
+    StringText text;
+    try {
+      text = addPunctuation();
+    } catch (Exception e) {
+      logger.warn("ErrorCollection adding punctuation, using original text", e);
+      text = null;
+    }
+    if (text == null) {
+      text = ((VariableField) this).getStringText();
+    }
+    return (List<Subfield>) text.getSubfieldList();
+  }
 
-		Element field = null;
-		if (isFixedField()) {
-			field = xmlDocument.createElement("controlfield");
-		} else {
-			field = xmlDocument.createElement("datafield");
-		}
-		field.setAttribute("tag", marcTag);
-		if (isFixedField()) {
-			Node text = xmlDocument.createTextNode(((FixedField) this)
-					.getDisplayString());
-			field.appendChild(text);
-		} else {
-			field.setAttribute("ind1", marcFirstIndicator);
-			field.setAttribute("ind2", marcSecondIndicator);
-			StringText st;
-			if (withPunctuation) {
-				try {
-					st = addPunctuation();
-				} catch (Exception e) {
-					// if addPunctuation fails, we want to proceed using the raw
-					// string text
-					logger.warn(
-							"ErrorCollection adding punctuation, using original text", e);
-					st = ((VariableField) this).getStringText();
-				}
-			} else {
-				st = ((VariableField) this).getStringText();
-			}
-			for (Iterator subfieldIterator = st.getSubfieldList().iterator(); subfieldIterator
-					.hasNext();) {
-				Subfield subfield = (Subfield) subfieldIterator.next();
-				field.appendChild(subfield.toXmlElement(xmlDocument));
-			}
-		}
-		return field;*/
+  // 2018 Paul Search Engine Java
+  public StringText addPunctuation() {
+    // overridden in subclasses -- default implementation does nothing
     return null;
   }
 
@@ -1,6 +1,12 @@
 package org.folio.marccat.business.common;
 
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import static java.util.Optional.ofNullable;
 
@@ -40,19 +46,46 @@ public abstract class AbstractMapBackedFactory {
   protected abstract Object getInstance(Integer key);
 
   /**
-   * Instantiates a new object beloging to the given type.
+   * Returns a supplier of new objects belonging to the given type.
+   * The supplier is a lambda generated around the no-arg constructor, so creating an object costs as much as a plain
+   * "new"; if the constructor cannot be bound that way (e.g. the type isn't public) the supplier invokes a method
+   * handle.
    *
    * @param type the object / instance type.
-   * @return a new object beloging to the given type.
+   * @return a supplier of new objects belonging to the given type.
    */
-  protected Object newInstance(final Class type) {
-    return ofNullable(type).map(clazz -> {
+  @SuppressWarnings("unchecked")
+  public static Supplier<Object> supplierOf(final Class type) {
+    if (type == null) {
+      throw new RuntimeException("Unable to create a valid instance of " + type);
+    }
+
+    final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    try {
+      final MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class));
+      return (Supplier<Object>) LambdaMetafactory.metafactory(
+        lookup,
+        "get",
+        MethodType.methodType(Supplier.class),
+        MethodType.methodType(Object.class),
+        constructor,
+        MethodType.methodType(type)).getTarget().invokeExact();
+    } catch (final Throwable notBindable) {
       try {
-        return clazz.newInstance();
+        final Constructor<?> declared = type.getDeclaredConstructor();
+        declared.setAccessible(true);
+        final MethodHandle constructor = lookup.unreflectConstructor(declared);
+        return () -> {
+          try {
+            return constructor.invoke();
+          } catch (final Throwable exception) {
+            throw new RuntimeException(exception);
+          }
+        };
       } catch (final Exception exception) {
-        throw new RuntimeException(exception);
+        throw new RuntimeException("Unable to create a valid instance of " + type, exception);
       }
-    }).orElseThrow(() -> new RuntimeException("Unable to create a valid instance of " + type));
+    }
   }
 
   /**
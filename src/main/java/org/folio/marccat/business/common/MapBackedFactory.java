@@ -2,34 +2,39 @@ package org.folio.marccat.business.common;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
- * Default implementation of {@link AbstractMapBackedFactory}.
+ * Default implementation of {@link AbstractMapBackedFactory}: each call creates a new product.
+ * Constructors are bound once, when entries are added, so creating a product doesn't use reflection.
  *
  * @author paulm
  * @since 1.0
  */
 public class MapBackedFactory extends AbstractMapBackedFactory {
 
-  private Map<Integer, Class> map = new HashMap<>();
+  private Map<Integer, Supplier<Object>> map = new HashMap<>();
+  private Map<Class, Supplier<Object>> suppliers = new HashMap<>();
 
   @Override
   public void put(final Integer key, final Class clazz) {
-    map.put(key, clazz);
+    map.put(key, suppliers.computeIfAbsent(clazz, AbstractMapBackedFactory::supplierOf));
   }
 
   @Override
   public void put(Map<Integer, Class> entries) {
-    map.putAll(entries);
+    entries.forEach(this::put);
   }
 
   @Override
   protected Object getInstance(final Integer key) {
-    return newInstance(map.get(key));
+    final Supplier<Object> supplier = map.get(key);
+    return supplier != null ? supplier.get() : null;
   }
 
   @Override
   public void clear() {
     map.clear();
+    suppliers.clear();
   }
 }
@@ -19,7 +19,7 @@ public class MapBackedSingletonFactory extends AbstractMapBackedFactory {
 
   @Override
   public void put(final Integer key, final Class clazz) {
-    map.put(key, singletons.computeIfAbsent(clazz, k -> newInstance(k)));
+    map.put(key, singletons.computeIfAbsent(clazz, k -> supplierOf(k).get()));
   }
 
   @Override
@@ -82,5 +82,21 @@ public class View {
     return (short) (1 + userViewString.indexOf("1"));
   }
 
+  /**
+   * Converts a view string in a bit mask: bit n is set if the string belongs to view n,
+   * bit 0 ({@link #ANY}) is always set.
+   *
+   * @param userViewString -- the view string
+   */
+  static public int toViewMask(String userViewString) {
+    int mask = 1;
+    for (int i = 0; userViewString != null && i < Math.min(16, userViewString.length()); i++) {
+      if (userViewString.charAt(i) == '1') {
+        mask |= 1 << (i + 1);
+      }
+    }
+    return mask;
+  }
+
 
 }
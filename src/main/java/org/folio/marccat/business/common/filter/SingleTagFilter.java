@@ -5,16 +5,18 @@ import org.folio.marccat.exception.DataAccessException;
 import org.folio.marccat.exception.MarcCorrelationException;
 
 public class SingleTagFilter implements TagFilter {
-  private Tag sourceTag;
+  private final String marcTag;
 
   public SingleTagFilter(Tag sourceTag) {
+    this(sourceTag.getMarcEncoding().getMarcTag());
+  }
+
+  public SingleTagFilter(String marcTag) {
     super();
-    this.sourceTag = sourceTag;
+    this.marcTag = marcTag;
   }
 
   public boolean accept(Tag tag, Object optionalCondition) throws DataAccessException {
-    return
-      sourceTag.getMarcEncoding().getMarcTag()
-        .equals(tag.getMarcEncoding().getMarcTag());
+    return marcTag.equals(tag.getMarcEncoding().getMarcTag());
   }
 }
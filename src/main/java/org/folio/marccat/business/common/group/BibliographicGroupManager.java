@@ -23,7 +23,12 @@ public class BibliographicGroupManager extends MarcGroupManager implements Filte
    */
   private static final TagFilter NO_TAG_FILTER = new NoTagFilter();
 
-  private static BibliographicGroupManager instance = null;
+  private static final BibliographicGroupManager INSTANCE = new BibliographicGroupManager();
+
+  /**
+   * Filtri precalcolati per ciascun numero di tag (da 000 a 999).
+   */
+  private final TagFilter[] filtersByTag = new TagFilter[TAG_COUNT];
 
   public BibliographicGroupManager() {
     super();
@@ -47,24 +52,37 @@ public class BibliographicGroupManager extends MarcGroupManager implements Filte
     } catch (RESyntaxException e) {
       logger.error("BibliographicGroupManager not properly initialized", e);
     }
+
+    for (int tagNumber = 0; tagNumber < TAG_COUNT; tagNumber++) {
+      final String marcTag = marcTag(tagNumber);
+      filtersByTag[tagNumber] = newFilter(marcTag, getGroup(marcTag));
+    }
   }
 
-  @Deprecated
+  /**
+   * Returns the shared instance: groups and filters are read-only, so it can be used by several threads.
+   *
+   * @return the shared instance.
+   */
   public static BibliographicGroupManager getInstance() {
-    if (instance == null) {
-      instance = new BibliographicGroupManager();
-    }
-    return instance;
+    return INSTANCE;
   }
 
   /* (non-Javadoc)
    * @see FilterManager#getFilter(Tag)
    */
   public TagFilter getFilter(Tag tag) throws DataAccessException {
-    TagGroup group = getGroup(tag);
+    final String marcTag = tag.getMarcEncoding().getMarcTag();
+    final int tagNumber = tagNumber(marcTag);
+    return tagNumber >= 0
+      ? filtersByTag[tagNumber]
+      : newFilter(marcTag, getGroup(marcTag));
+  }
+
+  private static TagFilter newFilter(final String marcTag, final TagGroup group) {
     if (group == null) return NO_TAG_FILTER;
     else if (group.isCanSort() && group.isSingleSort()) {
-      return new SingleTagFilter(tag);
+      return new SingleTagFilter(marcTag);
     } else if (group.isCanSort() && !group.isSingleSort()) {
       return new GroupTagFilter(group);
     } else return NO_TAG_FILTER;
@@ -4,28 +4,88 @@ import org.folio.marccat.business.cataloguing.common.Tag;
 import org.folio.marccat.exception.DataAccessException;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
+/**
+ * Group manager which assigns each tag to the first group containing it.
+ * Since MARC tags are three digits, the group of each tag number from 000 to 999 is computed when groups are added;
+ * afterwards classifying a tag is an array lookup, and the manager can be shared across threads as long as no other
+ * group is added.
+ */
 public class MarcGroupManager implements GroupManager {
 
-  private List groupList = new ArrayList/*<TagGroup>*/();
+  /**
+   * The number of MARC tag numbers (000 to 999).
+   */
+  public static final int TAG_COUNT = 1000;
+
+  private final List<TagGroup> groupList = new ArrayList<>();
+  private final TagGroup[] groupsByTag = new TagGroup[TAG_COUNT];
 
   public MarcGroupManager() {
     super();
   }
 
+  /**
+   * Returns the number of the given MARC tag.
+   *
+   * @param marcTag the MARC tag.
+   * @return the number of the given MARC tag, -1 if it is not made of three digits.
+   */
+  public static int tagNumber(final String marcTag) {
+    if (marcTag == null || marcTag.length() != 3) {
+      return -1;
+    }
+
+    int tagNumber = 0;
+    for (int i = 0; i < 3; i++) {
+      final char digit = marcTag.charAt(i);
+      if (digit < '0' || digit > '9') {
+        return -1;
+      }
+      tagNumber = tagNumber * 10 + (digit - '0');
+    }
+    return tagNumber;
+  }
+
+  /**
+   * Returns the MARC tag of the given number.
+   *
+   * @param tagNumber the tag number, from 0 to 999.
+   * @return the MARC tag of the given number (e.g. "020").
+   */
+  public static String marcTag(final int tagNumber) {
+    return new String(new char[]{
+      (char) ('0' + tagNumber / 100),
+      (char) ('0' + tagNumber / 10 % 10),
+      (char) ('0' + tagNumber % 10)});
+  }
+
   public void add(TagGroup group) {
     groupList.add(group);
+    for (int tagNumber = 0; tagNumber < TAG_COUNT; tagNumber++) {
+      if (groupsByTag[tagNumber] == null && group.contains(marcTag(tagNumber))) {
+        groupsByTag[tagNumber] = group;
+      }
+    }
   }
 
   public TagGroup getGroup(Tag tag) throws DataAccessException {
-    Iterator it = groupList.iterator();
-    while (it.hasNext()) {
-      TagGroup group = (TagGroup) it.next();
-      if (group.contains(tag)) return group;
+    return getGroup(tag.getMarcEncoding().getMarcTag());
+  }
+
+  /**
+   * Returns the group of the given MARC tag.
+   *
+   * @param marcTag the MARC tag.
+   * @return the group of the given MARC tag, null if the tag doesn't belong to any group.
+   */
+  public TagGroup getGroup(final String marcTag) {
+    final int tagNumber = tagNumber(marcTag);
+    if (tagNumber >= 0) {
+      return groupsByTag[tagNumber];
     }
-    return null;
+    return groupList.stream().filter(group -> group.contains(marcTag)).findFirst().orElse(null);
   }
 
   public boolean isSameGroup(Tag tag1, Tag tag2) throws DataAccessException {
@@ -5,24 +5,36 @@ import org.apache.regexp.RESyntaxException;
 import org.folio.marccat.business.cataloguing.common.Tag;
 import org.folio.marccat.exception.DataAccessException;
 
-
+/**
+ * A group of tags whose numbers match a regular expression.
+ * The expression is evaluated once for each tag number from 000 to 999, when the group is built, so that membership
+ * is a table lookup. Since {@link RE} is not thread-safe, tags which are not three digits long are matched while
+ * holding the expression lock.
+ */
 public class RegExpGroup extends MarcTagGroup {
-  private RE regexp;
+  private final RE regexp;
+  private final boolean[] members = new boolean[MarcGroupManager.TAG_COUNT];
 
   public RegExpGroup(boolean canSort, boolean singleSort, String pattern) throws RESyntaxException {
     super(canSort, singleSort);
     regexp = new RE(pattern);
+    for (int tagNumber = 0; tagNumber < members.length; tagNumber++) {
+      members[tagNumber] = regexp.match(MarcGroupManager.marcTag(tagNumber));
+    }
   }
 
-  public static void main(String[] args) {
-    String pattern = "^52[0124] ";
-    RE regexp = new RE(pattern);
-
-    System.out.println("Value: " + regexp.match("520 "));
+  public boolean contains(Tag t) throws DataAccessException {
+    return contains(t.getMarcEncoding().getMarcTag());
   }
 
-  public boolean contains(Tag t) throws DataAccessException {
-    return regexp.match(t.getMarcEncoding().getMarcTag());
+  public boolean contains(final String marcTag) {
+    final int tagNumber = MarcGroupManager.tagNumber(marcTag);
+    if (tagNumber >= 0) {
+      return members[tagNumber];
+    }
+    synchronized (regexp) {
+      return marcTag != null && regexp.match(marcTag);
+    }
   }
 
 }
@@ -6,6 +6,14 @@ import org.folio.marccat.exception.DataAccessException;
 public interface TagGroup {
   boolean contains(Tag tag) throws DataAccessException;
 
+  /**
+   * Returns true if the given MARC tag belongs to this group.
+   *
+   * @param marcTag the MARC tag (e.g. "245").
+   * @return true if the given MARC tag belongs to this group.
+   */
+  boolean contains(String marcTag);
+
   boolean isCanSort();
 
   boolean isSingleSort();
@@ -4,6 +4,7 @@ import net.sf.hibernate.cfg.Configuration;
 
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Global constants.
@@ -26,11 +27,47 @@ public abstract class Global {
   public final static String SUBFIELD_DELIMITER_FOR_VIEW = "\\$";
   public static String SUBFIELD_DELIMITER = "\u001f";
   public static Configuration HCONFIGURATION = new Configuration();
+  public static final boolean SQL_DIAGNOSTICS_ENABLED = Boolean.getBoolean("marccat.sql.diagnostics");
+  public static final long SQL_SLOW_QUERY_THRESHOLD = Long.getLong("marccat.sql.slowQueryThreshold", 500L);
+  public static final int KEY_BLOCK_SIZE = Integer.getInteger("marccat.keys.blockSize", 20);
+  public static final boolean HEADING_CACHE_ENABLED = Boolean.parseBoolean(System.getProperty("marccat.cache.headings", "true"));
+  public static final long HEADING_CACHE_TTL = Long.getLong("marccat.cache.headings.ttl", 60L);
+  public static final List<String> TENANTS = Arrays.stream(System.getProperty("marccat.tenants", "").split(","))
+    .map(String::trim).filter(tenant -> !tenant.isEmpty()).collect(Collectors.toList());
+  public static final boolean FULL_CACHE_ASYNC = Boolean.getBoolean("marccat.fullCache.async");
+  public static final int FULL_CACHE_MAX_ATTEMPTS = Integer.getInteger("marccat.fullCache.maxAttempts", 5);
+  public static final int FULL_CACHE_WORKERS = Integer.getInteger("marccat.fullCache.workers", 2);
+  public static final int FULL_CACHE_BATCH_SIZE = Integer.getInteger("marccat.fullCache.batchSize", 50);
+  public static final long FULL_CACHE_POLL_INTERVAL = Long.getLong("marccat.fullCache.pollInterval", 1000L);
+  public static final int FULL_CACHE_LEASE = Integer.getInteger("marccat.fullCache.lease", 300);
+  public static final int FULL_CACHE_REBUILD_CHUNK = Integer.getInteger("marccat.fullCache.rebuild.chunk", 200);
+  public static final long FULL_CACHE_REBUILD_REPORT_INTERVAL = Long.getLong("marccat.fullCache.rebuild.reportInterval", 30L);
+  public static final int LOCK_LEASE = Integer.getInteger("marccat.lock.lease", 900);
+  public static final long LOCK_SWEEP_INTERVAL = Long.getLong("marccat.lock.sweepInterval", 300L);
+  public static final long HEADING_USAGE_RECONCILE_INTERVAL = Long.getLong("marccat.headingUsage.reconcileInterval", 86400L);
+  public static final List<Integer> INDEXED_VIEWS = Arrays.stream(System.getProperty("marccat.viewIndexes.views", "1").split(","))
+    .map(String::trim).filter(view -> !view.isEmpty()).map(Integer::valueOf).collect(Collectors.toList());
+  public static final boolean BROWSE_INDEX_ENABLED = Boolean.getBoolean("marccat.browseIndex.enabled");
+  public static final long BROWSE_INDEX_REBUILD_INTERVAL = Long.getLong("marccat.browseIndex.rebuildInterval", 3600L);
+  public static final int MAX_SUGGESTIONS = Integer.getInteger("marccat.suggestions.max", 50);
+  public static final boolean SUGGESTION_INDEX_ENABLED =
+    Boolean.parseBoolean(System.getProperty("marccat.suggestions.index.enabled", "true"));
+  public static final boolean CROSS_REFERENCE_GRAPH_ENABLED = Boolean.getBoolean("marccat.crossReferenceGraph.enabled");
+  public static final long CROSS_REFERENCE_GRAPH_REBUILD_INTERVAL = Long.getLong("marccat.crossReferenceGraph.rebuildInterval", 3600L);
+  public static final int MAX_EXPANDED_HEADINGS = Integer.getInteger("marccat.search.maxExpandedHeadings", 20);
+  public static final boolean FULL_TEXT_SEARCH_ENABLED = Boolean.getBoolean("marccat.search.fullText.enabled");
+  public static final boolean SEARCH_REORDER_ENABLED = Boolean.getBoolean("marccat.search.reorder.enabled");
+  public static final int TERM_STATISTICS_SAMPLE = Integer.getInteger("marccat.search.termStatistics.sample", 10000);
+  public static final int SEARCH_PROBE_THRESHOLD = Integer.getInteger("marccat.search.probeThreshold", 500);
+  public static final int SEARCH_BATCH_PARALLELISM = Integer.getInteger("marccat.search.batch.parallelism", 4);
+  public static final int SEARCH_BATCH_MAX_QUERIES = Integer.getInteger("marccat.search.batch.maxQueries", 100);
 
   static {
     HCONFIGURATION.setProperty("hibernate.dialect", "net.sf.hibernate.dialect.PostgreSQLDialect");
     HCONFIGURATION.setProperty("dialect", "net.sf.hibernate.dialect.PostgreSQLDialect");
     HCONFIGURATION.setProperty("show_sql", System.getProperty("show.sql", "false"));
+    HCONFIGURATION.setProperty("hibernate.cache.provider_class", "org.folio.marccat.dao.common.TenantCacheProvider");
+    HCONFIGURATION.setProperty("hibernate.cache.use_query_cache", System.getProperty("marccat.cache.queries", "true"));
     try {
       HCONFIGURATION.configure("/hibernate.cfg.xml");
     } catch (final Throwable failure) {
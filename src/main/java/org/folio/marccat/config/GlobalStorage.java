@@ -1,10 +1,13 @@
 package org.folio.marccat.config;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.folio.marccat.business.common.AbstractMapBackedFactory;
 import org.folio.marccat.dao.ClassificationDescriptorDAO;
 import org.folio.marccat.dao.ControlNumberDescriptorDAO;
+import org.folio.marccat.dao.DAODescriptor;
 import org.folio.marccat.dao.NameDescriptorDAO;
 import org.folio.marccat.dao.NameTitleNameDescriptorDAO;
 import org.folio.marccat.dao.NameTitleTitleDescriptorDAO;
@@ -172,6 +175,12 @@ public class GlobalStorage {
 	    }
 	  };
 
+	  /**
+	   * The DAO of each browse index, created once from {@link #DAO_CLASS_MAP}.
+	   * DAOs are stateless, so indexes sharing the same DAO class share the same instance.
+	   */
+	  public final static Map <String, DAODescriptor> DAO_MAP = Collections.unmodifiableMap(daoInstances(DAO_CLASS_MAP));
+
 	  public final static Map <String, String> FILTER_MAP = new HashMap <String, String> ( ) {
 		    {
 		      put ("2P0", "");
@@ -231,4 +240,12 @@ public class GlobalStorage {
 		      put ("373P0", " and hdg.sourceCode = 4 ");
 		    }
 		  };
+
+  private static Map<String, DAODescriptor> daoInstances(final Map<String, Class> classes) {
+    final Map<Class, DAODescriptor> instances = new HashMap<>();
+    final Map<String, DAODescriptor> daos = new HashMap<>();
+    classes.forEach((key, clazz) ->
+      daos.put(key, instances.computeIfAbsent(clazz, type -> (DAODescriptor) AbstractMapBackedFactory.supplierOf(type).get())));
+    return daos;
+  }
 }
@@ -0,0 +1,34 @@
+package org.folio.marccat.config;
+
+import org.folio.marccat.integration.SqlStatistics;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Opens and closes the SQL accounting scope around each HTTP request.
+ *
+ * @author cchiama
+ * @since 1.0
+ * @see SqlStatistics
+ */
+@Component
+public class SqlDiagnosticsFilter extends OncePerRequestFilter {
+  @Override
+  protected void doFilterInternal(
+    final HttpServletRequest request,
+    final HttpServletResponse response,
+    final FilterChain chain) throws ServletException, IOException {
+    SqlStatistics.begin();
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      SqlStatistics.end();
+    }
+  }
+}
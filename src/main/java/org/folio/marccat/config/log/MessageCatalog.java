@@ -16,6 +16,33 @@ public interface MessageCatalog {
   String _00021_UNABLE_TO_PARSE_RECORD_DATA = "<" + MODULE_NAME + "-00021> : Invalid XML record data %s";
   String _00023_SE_REQRES = "<" + MODULE_NAME + "-00023> : CCL => \"%s\", %s matches.";
   String _00024_XSLT_FAILURE = "<" + MODULE_NAME + "-00024> : XSLT failure. Please check the stacktrace below for further details.";
+  String _00025_SE_SLOW_QUERY = "<" + MODULE_NAME + "-00025> : Slow query (%d ms). CCL => \"%s\" became \"%s\"";
+  String _00026_CODE_TABLES_REFRESHED = "<" + MODULE_NAME + "-00026> : Code tables of tenant %s have been discarded and will be reloaded on demand.";
+  String _00027_CODE_TABLE_LOADED = "<" + MODULE_NAME + "-00027> : Code table %s (%d entries) loaded for tenant %s.";
+  String _00028_CACHE_REGION_CREATED = "<" + MODULE_NAME + "-00028> : Cache region %s created (max %d entries).";
+  String _00029_SESSION_FACTORY_CREATED = "<" + MODULE_NAME + "-00029> : Session factory for tenant %s created.";
+  String _00030_KEY_BLOCK_RESERVED = "<" + MODULE_NAME + "-00030> : Reserved a block of %d numbers in %s (key %s, tenant %s).";
+  String _00031_FULL_CACHE_REBUILD_FAILURE = "<" + MODULE_NAME + "-00031> : Unable to rebuild FULL_CACHE of record %d (view %d, tenant %s), attempt %d of %d. It will be retried once its lease expires, up to the last attempt.";
+  String _00032_FULL_CACHE_QUEUE_FAILURE = "<" + MODULE_NAME + "-00032> : Unable to drain the FULL_CACHE queue of tenant %s.";
+  String _00033_FULL_CACHE_REBUILD_PROGRESS = "<" + MODULE_NAME + "-00033> : FULL_CACHE rebuild (tenant %s, view %d): %d records, %d records/s, %d of %d partitions completed.";
+  String _00034_FULL_CACHE_REBUILD_ABORTED = "<" + MODULE_NAME + "-00034> : FULL_CACHE rebuild of tenant %s aborted. It can be resumed from the last checkpoint.";
+  String _00035_STYLESHEET_COMPILED = "<" + MODULE_NAME + "-00035> : Stylesheet %s compiled.";
+  String _00036_LOCKS_SWEPT = "<" + MODULE_NAME + "-00036> : %d expired locks removed (tenant %s).";
+  String _00037_LOCK_SWEEP_FAILURE = "<" + MODULE_NAME + "-00037> : Unable to remove the expired locks of tenant %s.";
+  String _00038_HEADING_USAGE_RECONCILED = "<" + MODULE_NAME + "-00038> : %s heading usage counters reconciled: %d counters (tenant %s).";
+  String _00039_HEADING_USAGE_RECONCILE_FAILURE = "<" + MODULE_NAME + "-00039> : Unable to reconcile the heading usage counters of tenant %s.";
+  String _00040_BROWSE_INDEX_BUILT = "<" + MODULE_NAME + "-00040> : Browse index %s built: %d headings (tenant %s).";
+  String _00041_BROWSE_INDEX_UNORDERED = "<" + MODULE_NAME + "-00041> : Browse index %s not built: the database doesn't order sort forms by their binary value (tenant %s).";
+  String _00042_BROWSE_INDEX_FAILURE = "<" + MODULE_NAME + "-00042> : Unable to build the browse indexes of tenant %s.";
+  String _00043_CROSS_REFERENCE_GRAPH_BUILT = "<" + MODULE_NAME + "-00043> : Cross-reference graph %s built: %d references (tenant %s).";
+  String _00044_CROSS_REFERENCE_GRAPH_FAILURE = "<" + MODULE_NAME + "-00044> : Unable to build the cross-reference graphs of tenant %s.";
+  String _00045_SEARCH_BATCH_QUERY_FAILURE = "<" + MODULE_NAME + "-00045> : Query %d of a search batch failed. CCL => \"%s\"";
+  String _00046_SCHEMA_MIGRATED = "<" + MODULE_NAME + "-00046> : Schema migrations applied (tenant %s).";
+  String _00047_TENANT_CONFIGURATION_FAILURE = "<" + MODULE_NAME + "-00047> : Unable to load the configuration of tenant %s.";
+  String _00048_SCHEMA_MIGRATION_FAILURE = "<" + MODULE_NAME + "-00048> : Unable to apply the schema migrations (tenant %s).";
+  String _00049_DEEP_COPY_FALLBACK = "<" + MODULE_NAME + "-00049> : %s can't be copied field by field: the objects containing it are copied through serialization.";
+  String _00050_VIEW_INDEXES_CREATED = "<" + MODULE_NAME + "-00050> : Partial indexes of view %d ready: %d indexes (tenant %s).";
+  String _00051_VIEW_INDEXES_FAILURE = "<" + MODULE_NAME + "-00051> : Unable to create the partial indexes of view %d (tenant %s).";
   String _00119_DAO_CLASS_MAP_NOT_FOUND = "<" + MODULE_NAME + "-00119> : Unable to retrieve the class by key. Key %s.";
 
 }
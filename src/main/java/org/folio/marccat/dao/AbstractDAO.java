@@ -2,22 +2,27 @@ package org.folio.marccat.dao;
 
 import net.sf.hibernate.HibernateException;
 import net.sf.hibernate.LockMode;
+import net.sf.hibernate.Query;
 import net.sf.hibernate.Session;
 import net.sf.hibernate.Transaction;
 import net.sf.hibernate.type.Type;
 import org.folio.marccat.business.common.Persistence;
 import org.folio.marccat.business.common.PersistentObjectWithView;
 import org.folio.marccat.business.common.View;
+import org.folio.marccat.config.Global;
 import org.folio.marccat.dao.common.HibernateUtil;
-import org.folio.marccat.dao.persistence.S_LCK_TBL;
+import org.folio.marccat.dao.common.ViewIndex;
 import org.folio.marccat.exception.DataAccessException;
 import org.folio.marccat.exception.RecordInUseException;
 
 import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import static org.folio.marccat.util.F.deepCopy;
+import static org.folio.marccat.util.ObjectCopier.deepCopy;
 
 //TODO remove extends from HibernateUtil
 public class AbstractDAO extends HibernateUtil {
@@ -36,6 +41,19 @@ public class AbstractDAO extends HibernateUtil {
     return View.makeSingleViewString(cataloguingView);
   }
 
+  /**
+   * Returns the predicate selecting the rows belonging to the given view, for queries (HQL or SQL) filtering by view.
+   * The view is written as a literal and not bound as a parameter: that's what allows the planner to match the
+   * predicate with the per-view partial indexes (see {@link ViewIndex}).
+   *
+   * @param userViewString the view string property or column (e.g. "hdg.key.userViewString" or "usr_vw_ind").
+   * @param view           the view (1 indexing).
+   * @return the predicate selecting the rows belonging to the given view.
+   */
+  public static String inView(final String userViewString, final int view) {
+    return "substr(" + userViewString + ", " + view + ", 1) = '1'";
+  }
+
   public Transaction getTransaction(final Session session) throws HibernateException {
     return session.beginTransaction();
   }
@@ -119,9 +137,12 @@ public class AbstractDAO extends HibernateUtil {
   /**
    * Execute rollback transaction in case of exception.
    *
-   * @param transaction the current hibernate transaction.
+   * @param transaction the current hibernate transaction, null if it hasn't been started.
    */
   public void cleanUp(final Transaction transaction) {
+    if (transaction == null) {
+      return;
+    }
     try {
       transaction.rollback();
     } catch (HibernateException ignore) {
@@ -154,8 +175,8 @@ public class AbstractDAO extends HibernateUtil {
     final String myView = makeSingleViewString(userView);
 
     if (p.getUserViewString().compareTo(myView) != 0) {
-      final PersistentObjectWithView pObjectOriginalView = (PersistentObjectWithView) deepCopy(p);
-      final PersistentObjectWithView pObjectWithMyView = (PersistentObjectWithView) deepCopy(p);
+      final PersistentObjectWithView pObjectOriginalView = deepCopy(p);
+      final PersistentObjectWithView pObjectWithMyView = deepCopy(p);
 
       final Transaction transaction = getTransaction(session);
 
@@ -198,6 +219,49 @@ public class AbstractDAO extends HibernateUtil {
     }
   }
 
+  /**
+   * Executes the given query through the query cache.
+   * Results are cached in the tenant regions and invalidated as soon as one of the queried tables is written
+   * through Hibernate, in this JVM; use it only for reference tables, which aren't written by other instances or
+   * through plain JDBC.
+   *
+   * @param session the hibernate session.
+   * @param query   the query string.
+   * @param values  an array of values to be bound to the "?" placeholders.
+   * @param types   an array of Hibernate types of the values.
+   * @return the query result.
+   * @throws HibernateException in case of hibernate exception.
+   */
+  public List findCacheable(final Session session, final String query, final Object[] values, final Type[] types) throws HibernateException {
+    return createQuery(session, query, values, types).setCacheable(true).list();
+  }
+
+  /**
+   * Executes the given query through the given region of the query cache, if any.
+   * Used for the tables written while cataloguing (e.g. the headings), whose region keeps the results only for a
+   * short time (see {@link org.folio.marccat.dao.common.TenantCacheProvider#HEADING_QUERY_REGION}).
+   *
+   * @param session     the hibernate session.
+   * @param query       the query string.
+   * @param values      an array of values to be bound to the "?" placeholders.
+   * @param types       an array of Hibernate types of the values.
+   * @param cacheRegion the query cache region the results are read from (and put in), null if they aren't cached.
+   * @return the query result.
+   * @throws HibernateException in case of hibernate exception.
+   */
+  public List findCacheable(final Session session, final String query, final Object[] values, final Type[] types, final String cacheRegion) throws HibernateException {
+    final Query q = createQuery(session, query, values, types);
+    return (cacheRegion != null ? q.setCacheable(true).setCacheRegion(cacheRegion) : q).list();
+  }
+
+  private Query createQuery(final Session session, final String query, final Object[] values, final Type[] types) throws HibernateException {
+    final Query q = session.createQuery(query);
+    for (int i = 0; i < values.length; i++) {
+      q.setParameter(i, values[i], types[i]);
+    }
+    return q;
+  }
+
   /**
    * Convenience method for session.get
    *
@@ -231,6 +295,8 @@ public class AbstractDAO extends HibernateUtil {
 
   /**
    * Lock record or heading for username and uuid.
+   * The lock is a lease: it expires after {@link Global#LOCK_LEASE} seconds unless it is acquired again, so locks
+   * left by abandoned sessions time out by themselves.
    *
    * @param key        -- the item key number.
    * @param entityType -- the type of entity.
@@ -241,28 +307,93 @@ public class AbstractDAO extends HibernateUtil {
    * @throws RecordInUseException in case of record in use exception.
    */
   public void lock(final int key, final String entityType, final String userName, final String uuid, final Session session) throws DataAccessException, RecordInUseException {
-    try {
+    lock(Collections.singletonList(key), entityType, userName, uuid, session);
+  }
 
-      S_LCK_TBL myLock = new S_LCK_TBL(key, entityType);
-      S_LCK_TBL existingLock = (S_LCK_TBL) get(session, S_LCK_TBL.class, myLock);
-
-      if (existingLock != null) {
-        if (!existingLock.getDbSession().trim().equals(uuid.trim()) && !existingLock.getUserName().trim().equals(userName.trim()))
-          throw new RecordInUseException();
-        else if (existingLock.getDbSession().trim().equals(uuid.trim()) && existingLock.getUserName().trim().equals(userName.trim()))
-          return;
-        else if (!existingLock.getDbSession().trim().equals(uuid.trim()) && existingLock.getUserName().trim().equals(userName.trim())) { //sessione appesa/vecchia
-          existingLock.markDeleted();
-          persistByStatus(existingLock, session);
+  /**
+   * Locks a set of records or headings for username and uuid: either all of them are locked or none is.
+   * Each lock is acquired with a single upsert, which succeeds if the record is not locked, if it is locked by the
+   * same user (e.g. from an older session, whose lock is taken over) or if the lease of the current lock is expired.
+   * Locks without a lease (i.e. written before leases were introduced) never expire: they are held until released.
+   * Acquiring a lock again renews its lease.
+   *
+   * @param keys       -- the item key numbers.
+   * @param entityType -- the type of entity.
+   * @param userName   -- the user name.
+   * @param uuid       -- the generated front-end uuid for locking.
+   * @param session    -- the current hibernate session id.
+   * @throws DataAccessException  in case of hibernate exception.
+   * @throws RecordInUseException in case at least one record is locked by another user.
+   */
+  public void lock(final List<Integer> keys, final String entityType, final String userName, final String uuid, final Session session) throws DataAccessException, RecordInUseException {
+    Transaction transaction = null;
+    try {
+      transaction = getTransaction(session);
+      try (final PreparedStatement statement = session.connection().prepareStatement(
+        "insert into s_lck_tbl (tbl_key_nbr, tbl_nme_typ_cde, sesn_id_nbr, usr_nme, lse_expry_dte) "
+          + "values (?, ?, ?, ?, now() + ? * interval '1 second') "
+          + "on conflict (tbl_key_nbr, tbl_nme_typ_cde) do update set "
+          + "sesn_id_nbr = excluded.sesn_id_nbr, usr_nme = excluded.usr_nme, lse_expry_dte = excluded.lse_expry_dte "
+          + "where trim(s_lck_tbl.usr_nme) = trim(excluded.usr_nme) or s_lck_tbl.lse_expry_dte < now()")) {
+        for (final int key : keys) {
+          statement.setInt(1, key);
+          statement.setString(2, entityType);
+          statement.setString(3, uuid.trim());
+          statement.setString(4, userName.trim());
+          statement.setInt(5, Global.LOCK_LEASE);
+          statement.addBatch();
+        }
+        for (final int count : statement.executeBatch()) {
+          if (count == 0) {
+            cleanUp(transaction);
+            throw new RecordInUseException();
+          }
         }
       }
+      transaction.commit();
+    } catch (HibernateException | SQLException e) {
+      cleanUp(transaction);
+      throw new DataAccessException(e);
+    }
+  }
 
-      myLock.setDbSession(uuid);
-      myLock.setUserName(userName);
-      myLock.markNew();
-      persistByStatus(myLock, session);
-
-    } catch (HibernateException e) {
+  /**
+   * Renews the lease of a set of locks held by the given user and front-end session, e.g. while the records are
+   * being edited: either all of them are renewed or none is.
+   *
+   * @param keys       -- the item key numbers.
+   * @param entityType -- the type of entity.
+   * @param userName   -- the user name.
+   * @param uuid       -- the generated front-end uuid for locking.
+   * @param session    -- the current hibernate session id.
+   * @throws DataAccessException  in case of hibernate exception.
+   * @throws RecordInUseException in case at least one lock is not held by the given user and session anymore.
+   */
+  public void renewLocks(final List<Integer> keys, final String entityType, final String userName, final String uuid, final Session session) throws DataAccessException, RecordInUseException {
+    Transaction transaction = null;
+    try {
+      transaction = getTransaction(session);
+      try (final PreparedStatement statement = session.connection().prepareStatement(
+        "update s_lck_tbl set lse_expry_dte = now() + ? * interval '1 second' "
+          + "where tbl_key_nbr = ? and tbl_nme_typ_cde = ? and trim(usr_nme) = ? and trim(sesn_id_nbr) = ?")) {
+        for (final int key : keys) {
+          statement.setInt(1, Global.LOCK_LEASE);
+          statement.setInt(2, key);
+          statement.setString(3, entityType);
+          statement.setString(4, userName.trim());
+          statement.setString(5, uuid.trim());
+          statement.addBatch();
+        }
+        for (final int count : statement.executeBatch()) {
+          if (count == 0) {
+            cleanUp(transaction);
+            throw new RecordInUseException();
+          }
+        }
+      }
+      transaction.commit();
+    } catch (HibernateException | SQLException e) {
+      cleanUp(transaction);
       throw new DataAccessException(e);
     }
   }
@@ -277,15 +408,59 @@ public class AbstractDAO extends HibernateUtil {
    * @throws DataAccessException in case of hibernate exception.
    */
   public void unlock(final int key, final String entityType, final String userName, final Session session) throws DataAccessException {
+    unlock(Collections.singletonList(key), entityType, userName, session);
+  }
+
+  /**
+   * Unlocks a set of records or headings. Locks held by other users are left untouched.
+   *
+   * @param keys       -- the item key numbers.
+   * @param entityType -- the type of entity.
+   * @param userName   -- the user name.
+   * @param session    -- the current hibernate session id.
+   * @throws DataAccessException in case of hibernate exception.
+   */
+  public void unlock(final List<Integer> keys, final String entityType, final String userName, final Session session) throws DataAccessException {
+    Transaction transaction = null;
     try {
-      S_LCK_TBL myLock = new S_LCK_TBL(key, entityType);
-      S_LCK_TBL existingLock = (S_LCK_TBL) get(session, S_LCK_TBL.class, myLock);
+      transaction = getTransaction(session);
+      try (final PreparedStatement statement = session.connection().prepareStatement(
+        "delete from s_lck_tbl where tbl_key_nbr = ? and tbl_nme_typ_cde = ? and trim(usr_nme) = ?")) {
+        for (final int key : keys) {
+          statement.setInt(1, key);
+          statement.setString(2, entityType);
+          statement.setString(3, userName.trim());
+          statement.addBatch();
+        }
+        statement.executeBatch();
+      }
+      transaction.commit();
+    } catch (HibernateException | SQLException e) {
+      cleanUp(transaction);
+      throw new DataAccessException(e);
+    }
+  }
 
-      if (existingLock != null && existingLock.getUserName().trim().equals(userName.trim())) {
-        existingLock.markDeleted();
-        persistByStatus(existingLock, session);
+  /**
+   * Removes the locks whose lease is expired. Locks without a lease are left untouched.
+   *
+   * @param session -- the current hibernate session id.
+   * @return the number of removed locks.
+   * @throws DataAccessException in case of hibernate exception.
+   */
+  public int sweepLocks(final Session session) throws DataAccessException {
+    Transaction transaction = null;
+    try {
+      transaction = getTransaction(session);
+      final int removed;
+      try (final PreparedStatement statement = session.connection().prepareStatement(
+        "delete from s_lck_tbl where lse_expry_dte < now()")) {
+        removed = statement.executeUpdate();
       }
-    } catch (HibernateException e) {
+      transaction.commit();
+      return removed;
+    } catch (HibernateException | SQLException e) {
+      cleanUp(transaction);
       throw new DataAccessException(e);
     }
   }
@@ -4,6 +4,7 @@ import net.sf.hibernate.Hibernate;
 import net.sf.hibernate.HibernateException;
 import net.sf.hibernate.Session;
 import net.sf.hibernate.type.Type;
+import org.folio.marccat.dao.common.HeadingUsage;
 import org.folio.marccat.dao.persistence.AUT;
 import org.folio.marccat.exception.DataAccessException;
 import org.folio.marccat.exception.RecordNotFoundException;
@@ -18,6 +19,7 @@ import java.util.List;
  * @since 1.0
  */
 public class AutDAO extends AbstractDAO {
+  private static final HeadingUsageDAO HEADING_USAGE = new HeadingUsageDAO();
 
   /**
    * return a authority record
@@ -38,7 +40,8 @@ public class AutDAO extends AbstractDAO {
 
 
   /**
-   * returns the number of bibliographic records linked to an authority record
+   * returns the number of bibliographic records linked to an authority record, from the heading usage counters when
+   * the access point table has them and the counters table exists.
    *
    * @param headingNumber
    * @param searchingView
@@ -48,13 +51,17 @@ public class AutDAO extends AbstractDAO {
    * @throws HibernateException
    */
   public Integer getDocCountByAutNumber(final int headingNumber, final Class accessPoint, final Integer searchingView, final Session session) throws HibernateException {
+    final HeadingUsage usage = HeadingUsage.of(accessPoint);
+    if (usage != null && HEADING_USAGE.isAvailable(session)) {
+      return HEADING_USAGE.getCount(usage, headingNumber, searchingView, session);
+    }
+
     final List countDoc = session.find(" select count(distinct apf.bibItemNumber) from "
       + accessPoint.getName() + " as apf "
       + " where apf.headingNumber = ? and "
-      + " substr(apf.userViewString, ?, 1) = '1'", new Object[]{
-      headingNumber,
-      searchingView}, new Type[]{
-      Hibernate.INTEGER, Hibernate.INTEGER});
+      + inView("apf.userViewString", searchingView), new Object[]{
+      headingNumber}, new Type[]{
+      Hibernate.INTEGER});
     return (countDoc.size() > 0) ? (Integer) countDoc.get(0) : 0;
   }
 
@@ -14,7 +14,6 @@ import org.folio.marccat.business.controller.UserProfile;
 import org.folio.marccat.dao.persistence.*;
 import org.folio.marccat.exception.DataAccessException;
 import org.folio.marccat.exception.RecordNotFoundException;
-import org.folio.marccat.util.XmlUtils;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
@@ -76,7 +75,7 @@ public class AuthorityCatalogDAO extends CatalogDAO {
       cache.setItemNumber(item.getAmicusNumber());
       cache.setUserView(View.AUTHORITY);
     }
-    cache.setRecordData(XmlUtils.documentToString(item.toExternalMarcSlim()));
+    cache.setRecordData(item.toExternalMarcSlimString());
     persistByStatus(cache);
     cache.evict();
   }
@@ -12,6 +12,7 @@ import org.folio.marccat.business.cataloguing.common.Tag;
 import org.folio.marccat.business.common.PersistentObjectWithView;
 import org.folio.marccat.business.common.View;
 import org.folio.marccat.business.controller.UserProfile;
+import org.folio.marccat.config.Global;
 import org.folio.marccat.config.log.Log;
 import org.folio.marccat.config.log.MessageCatalog;
 import org.folio.marccat.dao.persistence.*;
@@ -19,15 +20,21 @@ import org.folio.marccat.exception.CacheUpdateException;
 import org.folio.marccat.exception.DataAccessException;
 import org.folio.marccat.exception.RecordNotFoundException;
 import org.folio.marccat.config.GlobalStorage;
-import org.folio.marccat.util.XmlUtils;
 
 import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.folio.marccat.util.F.isNotNullOrEmpty;
@@ -40,6 +47,7 @@ import static org.folio.marccat.util.F.isNotNullOrEmpty;
  */
 
 public class BibliographicCatalogDAO extends CatalogDAO {
+  private static final int BATCH_SIZE = 500;
   private Log logger = new Log(BibliographicCatalogDAO.class);
 
   public BibliographicCatalogDAO() {
@@ -58,6 +66,38 @@ public class BibliographicCatalogDAO extends CatalogDAO {
   public BibliographicItem getBibliographicItemByAmicusNumber(final int amicusNumber, final int userView, final Session session) throws HibernateException {
     BibliographicItem item = getBibliographicItemWithoutRelationships(amicusNumber, userView, session);
     item.getTags().addAll(getBibliographicRelationships(amicusNumber, userView, session));
+    return completeTags(item, session);
+  }
+
+  /**
+   * Gets the bibliographic items corresponding to the given bibliographic records.
+   * Unlike {@link #getBibliographicItemByAmicusNumber(int, int, Session)}, which issues a dozen of queries for each
+   * record, this method loads each tag family of all the records with a single query (bibItemNumber IN (...)) and
+   * then distributes the rows to the items in memory. The same way, the headings of the access points are loaded with
+   * a single query per heading table and attached to the access points in memory.
+   *
+   * @param amicusNumbers -- the amicus numbers of the items.
+   * @param userView      -- user view associated.
+   * @param session       -- the current session hibernate.
+   * @return the bibliographic items by amicus number, in the same order of the input list. Missing records are skipped.
+   * @throws HibernateException in case of hibernate exception.
+   */
+  public Map<Integer, BibliographicItem> getBibliographicItemsByAmicusNumbers(final List<Integer> amicusNumbers, final int userView, final Session session) throws HibernateException {
+    final Map<Integer, BibliographicItem> items = new LinkedHashMap<>();
+    for (int from = 0; from < amicusNumbers.size(); from += BATCH_SIZE) {
+      items.putAll(getBibliographicItems(amicusNumbers.subList(from, Math.min(amicusNumbers.size(), from + BATCH_SIZE)), userView, session));
+    }
+    return items;
+  }
+
+  /**
+   * Sets the tag implementation and the correlation key of each tag of the given item and sorts them.
+   *
+   * @param item    -- the bibliographic item.
+   * @param session -- the current session hibernate.
+   * @return the same item.
+   */
+  private BibliographicItem completeTags(final BibliographicItem item, final Session session) {
     item.getTags().forEach(tag -> {
       tag.setTagImpl(new BibliographicTagImpl());
       if (tag instanceof MaterialDescription) {
@@ -69,17 +109,243 @@ public class BibliographicCatalogDAO extends CatalogDAO {
     return item;
   }
 
+  /**
+   * Assembles (at most {@link #BATCH_SIZE}) bibliographic items with one query per tag family.
+   *
+   * @param amicusNumbers -- the amicus numbers of the items.
+   * @param userView      -- user view associated.
+   * @param session       -- the current session hibernate.
+   * @return the bibliographic items by amicus number.
+   * @throws HibernateException in case of hibernate exception.
+   */
+  @SuppressWarnings("unchecked")
+  private Map<Integer, BibliographicItem> getBibliographicItems(final List<Integer> amicusNumbers, final int userView, final Session session) throws HibernateException {
+    final Map<Integer, List<Object>> bibItems = findByItems("BIB_ITM", "amicusNumber", amicusNumbers, userView, null, session);
+    final Map<Integer, List<Object>> materials = findByItems("MaterialDescription", amicusNumbers, userView, session);
+    final Map<Integer, List<Object>> physicals = findByItems(PhysicalDescription.class.getName(), amicusNumbers, userView, session);
+    final Map<Integer, List<Object>> instruments = findByItems("NumberOfMusicalInstrumentsTag", amicusNumbers, userView, session);
+    final Map<Integer, List<Object>> notes = findFamilyByItems("notes", "BibliographicNote", "bibItemNumber", amicusNumbers, userView, null, session);
+    final Map<Integer, List<Object>> overflows = findFamilyByItems("notes", "BibliographicNoteOverflow", "bibItemNumber", amicusNumbers, userView, "t.noteOverflowNumber", session);
+    final Map<Integer, List<Object>> standardNotes = findFamilyByItems("notes", "StandardNoteAccessPoint", "bibItemNumber", amicusNumbers, userView, null, session);
+    final Map<Integer, List<Object>> classifications = findFamilyByItems("classification", ClassificationAccessPoint.class.getName(), "bibItemNumber", amicusNumbers, userView, null, session);
+    final Map<Integer, List<Object>> controlNumbers = findFamilyByItems("ControlNumberAccessPoint", ControlNumberAccessPoint.class.getName(), "bibItemNumber", amicusNumbers, userView, null, session);
+    final Map<Integer, List<Object>> names = findFamilyByItems("NameAccessPoint", NameAccessPoint.class.getName(), "bibItemNumber", amicusNumbers, userView, null, session);
+    final Map<Integer, List<Object>> titles = findFamilyByItems("TitleAccessPoint", TitleAccessPoint.class.getName(), "bibItemNumber", amicusNumbers, userView, null, session);
+    final Map<Integer, List<Object>> nameTitles = findFamilyByItems("NameTitleAccessPoint", NameTitleAccessPoint.class.getName(), "bibItemNumber", amicusNumbers, userView, null, session);
+    final Map<Integer, List<Object>> publishers = findFamilyByItems("PublisherTags", PublisherAccessPoint.class.getName(), "bibItemNumber", amicusNumbers, userView, null, session);
+    final Map<Integer, List<Object>> subjects = findFamilyByItems("SubjectAccessPoint", SubjectAccessPoint.class.getName(), "bibItemNumber", amicusNumbers, userView, null, session);
+    final Map<Integer, List<Object>> relationships = findByItems("BibliographicRelationship", amicusNumbers, userView, session);
+    final Map<Class, Map<Integer, Descriptor>> headings = findHeadingsByAccessPoints(
+      Arrays.asList(classifications, controlNumbers, names, titles, nameTitles, publishers, subjects), userView, session);
+    final Map<Integer, List<Object>> models = new HashMap<>();
+    for (final Object[] row : (List<Object[]>) session.createQuery(
+      "select itm.item, itm from " + BibliographicModelItem.class.getName() + " as itm where itm.item in (:ids)")
+      .setParameterList("ids", amicusNumbers.stream().map(Integer::longValue).collect(Collectors.toList()))
+      .list()) {
+      models.computeIfAbsent(((Number) row[0]).intValue(), id -> new ArrayList<>()).add(row[1]);
+    }
+
+    final Map<Integer, BibliographicItem> items = new LinkedHashMap<>();
+    for (final Integer amicusNumber : amicusNumbers) {
+      final List<Object> bibItm = bibItems.get(amicusNumber);
+      if (bibItm == null) {
+        continue;
+      }
+
+      final BibliographicItem item = new BibliographicItem();
+      item.setBibItmData((BIB_ITM) isolateView((BIB_ITM) bibItm.get(0), userView, session));
+      item.setUserView(userView);
+      item.getTags().addAll(getHeaderFields(
+        item,
+        (List<MaterialDescription>) isolateViewForList(of(materials, amicusNumber), userView, session),
+        (List<PhysicalDescription>) isolateViewForList(of(physicals, amicusNumber), userView, session),
+        (List<NumberOfMusicalInstrumentsTag>) isolateViewForList(of(instruments, amicusNumber), userView, session)));
+
+      try {
+        final String language = item.getItemEntity().getLanguageOfCataloguing();
+        final List<BibliographicNoteOverflow> noteOverflows = of(overflows, amicusNumber);
+        final List<StandardNoteAccessPoint> noteStandards = of(standardNotes, amicusNumber);
+        for (final PersistentObjectWithView current : isolateViewForList(of(notes, amicusNumber), userView, session)) {
+          final BibliographicNote note = (BibliographicNote) current;
+          item.getTags().add(newBibliographicNoteTag(
+            note,
+            noteOverflows.stream().filter(overflow -> overflow.getNoteNbr() == note.getNoteNbr()).collect(Collectors.toList()),
+            noteStandards.stream().filter(standard -> standard.getNoteNbr() == note.getNoteNbr()).findFirst().orElse(null),
+            language,
+            session));
+        }
+      } catch (Exception e) {
+        logger.error("notes not loaded", e);
+      }
+
+      try {
+        item.getTags().addAll((List<ClassificationAccessPoint>) getAccessPointTags(of(classifications, amicusNumber), headings, userView, session));
+      } catch (Exception e) {
+        logger.error("classification not loaded");
+      }
+
+      try {
+        item.getTags().addAll((List<ControlNumberAccessPoint>) getAccessPointTags(of(controlNumbers, amicusNumber), headings, userView, session));
+      } catch (Exception e) {
+        logger.error("ControlNumberAccessPoint not loaded");
+      }
+
+      try {
+        item.getTags().addAll(((List<NameAccessPoint>) getAccessPointTags(of(names, amicusNumber), headings, userView, session))
+          .stream().filter(nameTag -> !nameTag.isPartOfNameTitle()).collect(Collectors.toList()));
+      } catch (Exception e) {
+        logger.error("NameAccessPoint not loaded");
+      }
+
+      try {
+        item.getTags().addAll(((List<TitleAccessPoint>) getAccessPointTags(of(titles, amicusNumber), headings, userView, session))
+          .stream().filter(titleTag -> !titleTag.isPartOfNameTitle()).collect(Collectors.toList()));
+      } catch (Exception e) {
+        logger.error("TitleAccessPoint not loaded");
+      }
+
+      try {
+        item.getTags().addAll((List<NameTitleAccessPoint>) getAccessPointTags(of(nameTitles, amicusNumber), headings, userView, session));
+      } catch (Exception e) {
+        logger.error("NameTitleAccessPoint not loaded");
+      }
+
+      try {
+        item.getTags().addAll(((List<PublisherAccessPoint>) getAccessPointTags(of(publishers, amicusNumber), headings, userView, session))
+          .stream().map(PublisherManager::new).collect(Collectors.toList()));
+      } catch (Exception e) {
+        logger.error("PublisherTags not loaded", e);
+      }
+
+      try {
+        item.getTags().addAll((List<SubjectAccessPoint>) getAccessPointTags(of(subjects, amicusNumber), headings, userView, session));
+      } catch (Exception e) {
+        logger.error("SubjectAccessPoint not loaded");
+      }
+
+      item.setModelItem((ModelItem) of(models, amicusNumber).stream().findFirst().orElse(null));
+
+      for (final PersistentObjectWithView current : isolateViewForList(of(relationships, amicusNumber), userView, session)) {
+        final BibliographicRelationshipTag relationshipTag = new BibliographicRelationshipTag((BibliographicRelationship) current, userView);
+        relationshipTag.markUnchanged();
+        item.getTags().add(relationshipTag);
+      }
+
+      items.put(amicusNumber, completeTags(item, session));
+    }
+    return items;
+  }
+
+  /**
+   * Loads the rows of the given entity which belong to the given items (and view), grouped by item.
+   *
+   * @param entity        -- the entity name.
+   * @param amicusNumbers -- the amicus numbers of the items.
+   * @param userView      -- the user view.
+   * @param session       -- the current session hibernate.
+   * @return the rows of the given entity, by amicus number.
+   * @throws HibernateException in case of hibernate exception.
+   */
+  private Map<Integer, List<Object>> findByItems(final String entity, final List<Integer> amicusNumbers, final int userView, final Session session) throws HibernateException {
+    return findByItems(entity, "bibItemNumber", amicusNumbers, userView, null, session);
+  }
+
+  /**
+   * Loads the rows of the given entity which belong to the given items (and view), grouped by item.
+   *
+   * @param entity        -- the entity name.
+   * @param itemProperty  -- the property holding the amicus number.
+   * @param amicusNumbers -- the amicus numbers of the items.
+   * @param userView      -- the user view.
+   * @param orderBy       -- the order by clause, null if the order doesn't matter.
+   * @param session       -- the current session hibernate.
+   * @return the rows of the given entity, by amicus number.
+   * @throws HibernateException in case of hibernate exception.
+   */
+  @SuppressWarnings("unchecked")
+  private Map<Integer, List<Object>> findByItems(
+    final String entity,
+    final String itemProperty,
+    final List<Integer> amicusNumbers,
+    final int userView,
+    final String orderBy,
+    final Session session) throws HibernateException {
+    final List<Object[]> rows = session.createQuery(
+      "select t." + itemProperty + ", t from " + entity + " as t "
+        + " where t." + itemProperty + " in (:ids) and " + inView("t.userViewString", userView)
+        + (orderBy != null ? " order by " + orderBy : ""))
+      .setParameterList("ids", amicusNumbers)
+      .list();
+
+    final Map<Integer, List<Object>> result = new HashMap<>();
+    rows.forEach(row -> result.computeIfAbsent(((Number) row[0]).intValue(), id -> new ArrayList<>()).add(row[1]));
+    return result;
+  }
+
+  /**
+   * Loads the rows of a tag family which belong to the given items (and view), grouped by item.
+   * Like the single record loader, a family which can't be loaded is logged and skipped, so that the other families
+   * of the items are still assembled.
+   *
+   * @param family        -- the tag family, for logging.
+   * @param entity        -- the entity name.
+   * @param itemProperty  -- the property holding the amicus number.
+   * @param amicusNumbers -- the amicus numbers of the items.
+   * @param userView      -- the user view.
+   * @param orderBy       -- the order by clause, null if the order doesn't matter.
+   * @param session       -- the current session hibernate.
+   * @return the rows of the given entity, by amicus number, an empty map if the family can't be loaded.
+   */
+  private Map<Integer, List<Object>> findFamilyByItems(
+    final String family,
+    final String entity,
+    final String itemProperty,
+    final List<Integer> amicusNumbers,
+    final int userView,
+    final String orderBy,
+    final Session session) {
+    try {
+      return findByItems(entity, itemProperty, amicusNumbers, userView, orderBy, session);
+    } catch (final HibernateException exception) {
+      logger.error(family + " not loaded", exception);
+      return Collections.emptyMap();
+    }
+  }
+
+  /**
+   * Casts the rows of the given item, which are grouped by {@link #findByItems(String, String, List, int, String, Session)}
+   * as plain objects, to the row type expected by the caller.
+   *
+   * @param rows         -- the rows, by amicus number.
+   * @param amicusNumber -- the amicus number of the item.
+   * @return the rows of the given item, an empty list if there are none.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> List<T> of(final Map<Integer, List<Object>> rows, final int amicusNumber) {
+    return (List<T>) rows.getOrDefault(amicusNumber, Collections.emptyList());
+  }
+
 
-  @Override
   /**
    * Save or update record in full_cache.
    */
+  @Override
   public void updateFullRecordCacheTable(final Session session, final CatalogItem item) throws HibernateException {
     updateFullRecordCacheTable(session, item, true);
   }
 
+  /**
+   * Save or update record in full_cache.
+   * Related records are rebuilt as well if requested: when the asynchronous maintenance is enabled they are enqueued
+   * instead (see {@link DAOFullCacheQueue}).
+   *
+   * @param session           -- the current session hibernate.
+   * @param item              -- the record.
+   * @param updateRelatedRecs -- true if related records must be rebuilt too.
+   * @throws HibernateException in case of hibernate exception.
+   */
   // 2018 Paul Search Engine Java
-  private void updateFullRecordCacheTable(final Session session, final CatalogItem item, final boolean updateRelatedRecs) throws HibernateException {
+  public void updateFullRecordCacheTable(final Session session, final CatalogItem item, final boolean updateRelatedRecs) throws HibernateException {
     FULL_CACHE cache;
     DAOFullCache dao = new DAOFullCache();
     try {
@@ -89,7 +355,7 @@ public class BibliographicCatalogDAO extends CatalogDAO {
       cache.setItemNumber(item.getAmicusNumber());
       cache.setUserView(item.getUserView());
     }
-    cache.setRecordData(XmlUtils.documentToString(item.toExternalMarcSlim()));
+    cache.setRecordData(item.toExternalMarcSlimString());
     cache.markChanged();
     persistByStatus(cache, session);
     session.evict(cache);
@@ -98,14 +364,37 @@ public class BibliographicCatalogDAO extends CatalogDAO {
       for (Object o : item.getTags()) {
         if (o instanceof BibliographicRelationshipTag) {
           BibliographicRelationshipTag t = (BibliographicRelationshipTag) o;
-          CatalogItem relItem = getBibliographicItemByAmicusNumber(t.getTargetBibItemNumber(), item.getUserView(), session);
-          updateFullRecordCacheTable(session, relItem, false);
+          if (Global.FULL_CACHE_ASYNC) {
+            if (t.getTargetBibItemNumber() > 0) {
+              new DAOFullCacheQueue().enqueue(session, t.getTargetBibItemNumber(), item.getUserView());
+            }
+          } else {
+            CatalogItem relItem = getBibliographicItemByAmicusNumber(t.getTargetBibItemNumber(), item.getUserView(), session);
+            updateFullRecordCacheTable(session, relItem, false);
+          }
         }
       }
     }
 
   }
 
+  /**
+   * Enqueues the rebuild of the given record and of its related records in full_cache.
+   *
+   * @param session -- the current session hibernate.
+   * @param item    -- the record.
+   * @throws HibernateException in case of hibernate exception.
+   */
+  private void enqueueFullRecordCacheTable(final Session session, final CatalogItem item) throws HibernateException {
+    final DAOFullCacheQueue queue = new DAOFullCacheQueue();
+    queue.enqueue(session, item.getAmicusNumber(), item.getUserView());
+    for (Object o : item.getTags()) {
+      if (o instanceof BibliographicRelationshipTag && ((BibliographicRelationshipTag) o).getTargetBibItemNumber() > 0) {
+        queue.enqueue(session, ((BibliographicRelationshipTag) o).getTargetBibItemNumber(), item.getUserView());
+      }
+    }
+  }
+
   /**
    * Loads all tags for bibliographic item.
    *
@@ -190,6 +479,29 @@ public class BibliographicCatalogDAO extends CatalogDAO {
    * @throws HibernateException in case of hibernate exception.
    */
   private List<Tag> getHeaderFields(final BibliographicItem item, final int userView, final Session session) throws HibernateException {
+    final int amicusNumber = item.getAmicusNumber();
+    return getHeaderFields(
+      item,
+      getMaterialDescriptions(amicusNumber, userView, session),
+      getPhysicalDescriptions(amicusNumber, userView, session), //Fixme
+      getMusicalInstruments(amicusNumber, userView, session));
+  }
+
+  /**
+   * Gets all header tag fields, given the already loaded material descriptions, physical descriptions and musical
+   * instruments.
+   *
+   * @param item                 -- the bibliographic item.
+   * @param materialDescriptions -- the material description tags.
+   * @param physicalDescriptions -- the physical description tags.
+   * @param musicalInstruments   -- the musical instruments tags.
+   * @return list of tag containing headers.
+   */
+  private List<Tag> getHeaderFields(
+    final BibliographicItem item,
+    final List<MaterialDescription> materialDescriptions,
+    final List<PhysicalDescription> physicalDescriptions,
+    final List<NumberOfMusicalInstrumentsTag> musicalInstruments) {
 
     final BIB_ITM bibItemData = item.getBibItmData();
     final List<Tag> result = new ArrayList<>();
@@ -230,10 +542,9 @@ public class BibliographicCatalogDAO extends CatalogDAO {
       result.add(new TimePeriodOfContentTag());
     }
 
-    final int amicusNumber = item.getAmicusNumber();
-    result.addAll(getMaterialDescriptions(amicusNumber, userView, session));
-    result.addAll(getPhysicalDescriptions(amicusNumber, userView, session)); //Fixme
-    result.addAll(getMusicalInstruments(amicusNumber, userView, session));
+    result.addAll(materialDescriptions);
+    result.addAll(physicalDescriptions);
+    result.addAll(musicalInstruments);
 
     return result.stream().map(tag -> {
       if (tag instanceof PersistsViaItem)
@@ -257,9 +568,9 @@ public class BibliographicCatalogDAO extends CatalogDAO {
   private List<MaterialDescription> getMaterialDescriptions(final int amicusNumber, final int userView, final Session session) throws HibernateException {
 
     List<MaterialDescription> multiView = session.find("from MaterialDescription t "
-        + "where t.bibItemNumber = ? and substr(t.userViewString, ?, 1) = '1' ",
-      new Object[]{amicusNumber, userView},
-      new Type[]{Hibernate.INTEGER, Hibernate.INTEGER});
+        + "where t.bibItemNumber = ? and " + inView("t.userViewString", userView),
+      new Object[]{amicusNumber},
+      new Type[]{Hibernate.INTEGER});
 
     return (List<MaterialDescription>) isolateViewForList(multiView, userView, session);
   }
@@ -278,9 +589,9 @@ public class BibliographicCatalogDAO extends CatalogDAO {
 
     List<PhysicalDescription> multiView = session.find(
       "from org.folio.marccat.dao.persistence.PhysicalDescription t "
-        + "where t.bibItemNumber = ? and substr(t.userViewString, ?, 1) = '1' ",
-      new Object[]{amicusNumber, userView},
-      new Type[]{Hibernate.INTEGER, Hibernate.INTEGER});
+        + "where t.bibItemNumber = ? and " + inView("t.userViewString", userView),
+      new Object[]{amicusNumber},
+      new Type[]{Hibernate.INTEGER});
 
     return (List<PhysicalDescription>) isolateViewForList(multiView, userView, session);
   }
@@ -298,9 +609,9 @@ public class BibliographicCatalogDAO extends CatalogDAO {
   private List<NumberOfMusicalInstrumentsTag> getMusicalInstruments(final int amicusNumber, final int userView, final Session session) throws HibernateException {
     List<NumberOfMusicalInstrumentsTag> multiView = session.find(
       "from NumberOfMusicalInstrumentsTag t "
-        + "where t.bibItemNumber = ? and substr(t.userViewString, ?, 1) = '1' ",
-      new Object[]{amicusNumber, userView},
-      new Type[]{Hibernate.INTEGER, Hibernate.INTEGER});
+        + "where t.bibItemNumber = ? and " + inView("t.userViewString", userView),
+      new Object[]{amicusNumber},
+      new Type[]{Hibernate.INTEGER});
 
     return (List<NumberOfMusicalInstrumentsTag>) isolateViewForList(multiView, userView, session);
   }
@@ -318,9 +629,9 @@ public class BibliographicCatalogDAO extends CatalogDAO {
   private List<BibliographicNoteTag> getBibliographicNotes(final int amicusNumber, final int userView, final String language, final Session session) throws HibernateException {
 
     List<BibliographicNote> multiView = session.find("from BibliographicNote t "
-        + "where t.bibItemNumber = ? and substr(t.userViewString, ?, 1) = '1'",
-      new Object[]{amicusNumber, userView},
-      new Type[]{Hibernate.INTEGER, Hibernate.INTEGER});
+        + "where t.bibItemNumber = ? and " + inView("t.userViewString", userView),
+      new Object[]{amicusNumber},
+      new Type[]{Hibernate.INTEGER});
 
     List<? extends PersistentObjectWithView> singleView = isolateViewForList(multiView, userView, session);
 
@@ -328,20 +639,11 @@ public class BibliographicCatalogDAO extends CatalogDAO {
       try {
         final BibliographicNote note = (BibliographicNote) current;
         final DAOBibliographicNotesOverflow daoOverflow = new DAOBibliographicNotesOverflow();
-        note.setOverflowList(daoOverflow.getBibNotesOverflowList(note.getBibItemNumber(), userView, note.getNoteNbr(), session));
-        final BibliographicNoteTag bibliographicNoteTag = new BibliographicNoteTag(note);
-        final BibliographicStandardNoteDAO dao = new BibliographicStandardNoteDAO();
-        bibliographicNoteTag.markUnchanged();
-        bibliographicNoteTag.setOverflowList(note.getOverflowList());
-        if (!language.equals("")) {
-          StandardNoteAccessPoint noteAcs = dao.getBibNoteStardard(amicusNumber, userView, note.getNoteNbr(), session);
-          bibliographicNoteTag.setNoteStandard(noteAcs);
-          if (noteAcs != null) {
-            bibliographicNoteTag.setValueElement(dao.getSTDDisplayString(noteAcs.getTypeCode(), language, session));
-          }
-          setBibliographicNoteContent(bibliographicNoteTag);
-        }
-        return bibliographicNoteTag;
+        final List<BibliographicNoteOverflow> overflowList = daoOverflow.getBibNotesOverflowList(note.getBibItemNumber(), userView, note.getNoteNbr(), session);
+        final StandardNoteAccessPoint noteAcs = !language.equals("")
+          ? new BibliographicStandardNoteDAO().getBibNoteStardard(amicusNumber, userView, note.getNoteNbr(), session)
+          : null;
+        return newBibliographicNoteTag(note, overflowList, noteAcs, language, session);
       } catch (HibernateException e) {
         throw new RuntimeException(e);
       }
@@ -349,6 +651,38 @@ public class BibliographicCatalogDAO extends CatalogDAO {
 
   }
 
+  /**
+   * Builds a bibliographic note tag.
+   *
+   * @param note         -- the bibliographic note.
+   * @param overflowList -- the overflow rows of the note.
+   * @param noteAcs      -- the standard note access point of the note, if any.
+   * @param language     -- the language of cataloguing.
+   * @param session      -- the current session hibernate.
+   * @return the bibliographic note tag.
+   * @throws HibernateException in case of hibernate exception.
+   */
+  private BibliographicNoteTag newBibliographicNoteTag(
+    final BibliographicNote note,
+    final List<BibliographicNoteOverflow> overflowList,
+    final StandardNoteAccessPoint noteAcs,
+    final String language,
+    final Session session) throws HibernateException {
+    note.setOverflowList(overflowList);
+    final BibliographicNoteTag bibliographicNoteTag = new BibliographicNoteTag(note);
+    final BibliographicStandardNoteDAO dao = new BibliographicStandardNoteDAO();
+    bibliographicNoteTag.markUnchanged();
+    bibliographicNoteTag.setOverflowList(note.getOverflowList());
+    if (!language.equals("")) {
+      bibliographicNoteTag.setNoteStandard(noteAcs);
+      if (noteAcs != null) {
+        bibliographicNoteTag.setValueElement(dao.getSTDDisplayString(noteAcs.getTypeCode(), language, session));
+      }
+      setBibliographicNoteContent(bibliographicNoteTag);
+    }
+    return bibliographicNoteTag;
+  }
+
   /**
    * Sets content for standard note type.
    *
@@ -382,9 +716,9 @@ public class BibliographicCatalogDAO extends CatalogDAO {
   @SuppressWarnings("unchecked")
   private List<BibliographicRelationshipTag> getBibliographicRelationships(final int amicusNumber, final int userView, final Session session) throws HibernateException, DataAccessException {
     List<BibliographicRelationship> multiView = session.find("from BibliographicRelationship t "
-        + "where t.bibItemNumber = ? and substr(t.userViewString, ?, 1) = '1'",
-      new Object[]{amicusNumber, userView},
-      new Type[]{Hibernate.INTEGER, Hibernate.INTEGER});
+        + "where t.bibItemNumber = ? and " + inView("t.userViewString", userView),
+      new Object[]{amicusNumber},
+      new Type[]{Hibernate.INTEGER});
 
     List<? extends PersistentObjectWithView> singleView = isolateViewForList(multiView, userView, session);
     return singleView.stream().map(current -> {
@@ -459,9 +793,9 @@ public class BibliographicCatalogDAO extends CatalogDAO {
   private List<? extends PersistentObjectWithView> getAccessPointTags(final Class clazz, final int amicusNumber, final int userView, final Session session) throws HibernateException {
 
     List<? extends PersistentObjectWithView> multiView = session.find("from " + clazz.getName() + " as t "
-        + " where t.bibItemNumber = ? and substr(t.userViewString, ?, 1) = '1'",
-      new Object[]{amicusNumber, userView},
-      new Type[]{Hibernate.INTEGER, Hibernate.INTEGER});
+        + " where t.bibItemNumber = ? and " + inView("t.userViewString", userView),
+      new Object[]{amicusNumber},
+      new Type[]{Hibernate.INTEGER});
 
     List<? extends PersistentObjectWithView> singleView = isolateViewForList(multiView, userView, session);
     loadHeadings(singleView, userView, session);
@@ -469,6 +803,146 @@ public class BibliographicCatalogDAO extends CatalogDAO {
     return singleView;
   }
 
+  /**
+   * Gets access point tags from already loaded (multi view) rows, attaching the already loaded headings.
+   *
+   * @param multiView -- the rows.
+   * @param headings  -- the headings of the batch, by heading class and heading number.
+   * @param userView  -- the user view
+   * @param session   -- the current session hibernate.
+   * @return list of access point tags.
+   * @throws HibernateException in case of hibernate exception.
+   */
+  private List<? extends PersistentObjectWithView> getAccessPointTags(
+    final List<? extends PersistentObjectWithView> multiView,
+    final Map<Class, Map<Integer, Descriptor>> headings,
+    final int userView,
+    final Session session) throws HibernateException {
+    final List<? extends PersistentObjectWithView> singleView = isolateViewForList(multiView, userView, session);
+    for (final PersistentObjectWithView current : singleView) {
+      final AccessPoint accessPoint = (AccessPoint) current;
+      if (accessPoint.getHeadingNumber() != null) {
+        final Descriptor descriptor = isolateHeading(
+          accessPoint.getDAODescriptor().getPersistentClass(), accessPoint.getHeadingNumber(), headings, userView, session);
+        if (descriptor == null) {
+          throw new DataAccessException(String.format(MessageCatalog._00016_NO_HEADING_FOUND, accessPoint.getHeadingNumber()));
+        }
+        accessPoint.setDescriptor(descriptor);
+      }
+    }
+    return singleView;
+  }
+
+  /**
+   * Loads the headings of the given access points (of all the items of a batch) with one query per heading table.
+   * Name / title headings are made of a name and a title heading, which are loaded along with the other ones.
+   *
+   * @param families -- the access points, by family and amicus number.
+   * @param userView -- the user view.
+   * @param session  -- the current session hibernate.
+   * @return the headings in the given view, by heading class and heading number.
+   * @throws HibernateException in case of hibernate exception.
+   */
+  private Map<Class, Map<Integer, Descriptor>> findHeadingsByAccessPoints(
+    final List<Map<Integer, List<Object>>> families,
+    final int userView,
+    final Session session) throws HibernateException {
+    final Map<Class, Set<Integer>> headingNumbers = new HashMap<>();
+    for (final Map<Integer, List<Object>> family : families) {
+      for (final List<Object> rows : family.values()) {
+        for (final Object row : rows) {
+          final AccessPoint accessPoint = (AccessPoint) row;
+          if (accessPoint.getHeadingNumber() != null) {
+            headingNumbers
+              .computeIfAbsent(accessPoint.getDAODescriptor().getPersistentClass(), headingClass -> new HashSet<>())
+              .add(accessPoint.getHeadingNumber());
+          }
+        }
+      }
+    }
+
+    final Map<Class, Map<Integer, Descriptor>> headings = new HashMap<>();
+    final Set<Integer> nameTitleNumbers = headingNumbers.remove(NME_TTL_HDG.class);
+    if (nameTitleNumbers != null) {
+      final Map<Integer, Descriptor> nameTitles = findHeadings(NME_TTL_HDG.class, nameTitleNumbers, userView, session);
+      for (final Descriptor descriptor : nameTitles.values()) {
+        final NME_TTL_HDG nameTitle = (NME_TTL_HDG) descriptor;
+        headingNumbers.computeIfAbsent(NME_HDG.class, headingClass -> new HashSet<>()).add(nameTitle.getNameHeadingNumber());
+        headingNumbers.computeIfAbsent(TTL_HDG.class, headingClass -> new HashSet<>()).add(nameTitle.getTitleHeadingNumber());
+      }
+      headings.put(NME_TTL_HDG.class, nameTitles);
+    }
+    for (final Map.Entry<Class, Set<Integer>> entry : headingNumbers.entrySet()) {
+      headings.put(entry.getKey(), findHeadings(entry.getKey(), entry.getValue(), userView, session));
+    }
+    return headings;
+  }
+
+  /**
+   * Loads the headings of the given heading table with the given numbers, in the given view.
+   *
+   * @param headingClass   -- the persistent class of the heading table.
+   * @param headingNumbers -- the heading numbers.
+   * @param userView       -- the user view.
+   * @param session        -- the current session hibernate.
+   * @return the headings, by heading number.
+   * @throws HibernateException in case of hibernate exception.
+   */
+  private Map<Integer, Descriptor> findHeadings(
+    final Class headingClass,
+    final Set<Integer> headingNumbers,
+    final int userView,
+    final Session session) throws HibernateException {
+    final Map<Integer, Descriptor> headings = new HashMap<>();
+    final List<Integer> numbers = new ArrayList<>(headingNumbers);
+    for (int from = 0; from < numbers.size(); from += BATCH_SIZE) {
+      for (final Object heading : session.createQuery("from " + headingClass.getName() + " as hdg "
+        + " where hdg.key.headingNumber in (:ids) and " + inView("hdg.key.userViewString", userView))
+        .setParameterList("ids", numbers.subList(from, Math.min(numbers.size(), from + BATCH_SIZE)))
+        .list()) {
+        headings.putIfAbsent(((Descriptor) heading).getKey().getHeadingNumber(), (Descriptor) heading);
+      }
+    }
+    return headings;
+  }
+
+  /**
+   * Returns the given heading, already loaded, isolated in the given view. The isolated heading replaces the loaded
+   * one, so that a heading shared by more access points is isolated once; the name and title headings of a name /
+   * title heading are isolated and attached too, as {@link NameTitleDescriptorDAO#load(int, int, Session)} does.
+   *
+   * @param headingClass  -- the persistent class of the heading table.
+   * @param headingNumber -- the heading number.
+   * @param headings      -- the headings of the batch, by heading class and heading number.
+   * @param userView      -- the user view.
+   * @param session       -- the current session hibernate.
+   * @return the heading isolated in the given view, null if it doesn't exist.
+   * @throws HibernateException in case of hibernate exception.
+   */
+  private Descriptor isolateHeading(
+    final Class headingClass,
+    final int headingNumber,
+    final Map<Class, Map<Integer, Descriptor>> headings,
+    final int userView,
+    final Session session) throws HibernateException {
+    final Map<Integer, Descriptor> loaded = headings.getOrDefault(headingClass, Collections.emptyMap());
+    final Descriptor heading = loaded.get(headingNumber);
+    if (heading == null) {
+      return null;
+    }
+
+    final Descriptor isolated = (Descriptor) isolateView(heading, userView, session);
+    if (isolated != heading) {
+      loaded.put(headingNumber, isolated);
+    }
+    if (isolated instanceof NME_TTL_HDG) {
+      final NME_TTL_HDG nameTitle = (NME_TTL_HDG) isolated;
+      nameTitle.setNameHeading((NME_HDG) isolateHeading(NME_HDG.class, nameTitle.getNameHeadingNumber(), headings, userView, session));
+      nameTitle.setTitleHeading((TTL_HDG) isolateHeading(TTL_HDG.class, nameTitle.getTitleHeadingNumber(), headings, userView, session));
+    }
+    return isolated;
+  }
+
   @Deprecated
   public List loadAccessPointTags(Class apfClass, int id, int userView) throws DataAccessException {
     return null;
@@ -551,8 +1025,14 @@ public class BibliographicCatalogDAO extends CatalogDAO {
     throws DataAccessException {
     try {
       updateItemDisplayCacheTable(item.getAmicusNumber().intValue(), item.getUserView(), session);
-      updateFullRecordCacheTable(session, item);
-    } catch (Exception e) {
+      if (Global.FULL_CACHE_ASYNC) {
+        enqueueFullRecordCacheTable(session, item);
+      } else {
+        updateFullRecordCacheTable(session, item);
+      }
+    } catch (final HibernateException exception) {
+      logger.error(MessageCatalog._00010_DATA_ACCESS_FAILURE, exception);
+      throw new DataAccessException(exception);
     }
   }
 
@@ -586,9 +1066,9 @@ public class BibliographicCatalogDAO extends CatalogDAO {
       List<PUBL_TAG> raw = session.find("from  PUBL_TAG as tag "
           + " where  "
           + " tag.publisherHeadingNumber=?"
-          + " and substr(tag.userViewString, ?, 1) = '1'",
-        new Object[]{source.getKey().getHeadingNumber(), cataloguingView},
-        new Type[]{Hibernate.INTEGER, Hibernate.INTEGER});
+          + " and " + inView("tag.userViewString", cataloguingView),
+        new Object[]{source.getKey().getHeadingNumber()},
+        new Type[]{Hibernate.INTEGER});
 
       List<PUBL_TAG> singleViewList = (List<PUBL_TAG>) isolateViewForList(raw, cataloguingView, session);
       singleViewList.forEach(anAPF -> {
@@ -30,14 +30,12 @@ public class BibliographicStandardNoteDAO extends AbstractDAO {
 
     List<StandardNoteAccessPoint> notesStandard = session.find("from StandardNoteAccessPoint t "
         + " where t.bibItemNumber = ? and "
-        + " substr(t.userViewString, ?, 1) = '1' and "
+        + " " + inView("t.userViewString", userView) + " and "
         + " t.noteNbr = ?",
       new Object[]{
         bibItemNumber,
-        userView,
         noteNumber},
       new Type[]{
-        Hibernate.INTEGER,
         Hibernate.INTEGER,
         Hibernate.INTEGER});
     return notesStandard.stream().filter(Objects::nonNull).findFirst().orElse(null);
@@ -23,6 +23,16 @@ import java.util.Objects;
  */
 public class ClassificationDescriptorDAO extends DAODescriptor {
 
+  /**
+   * Browse indexes aren't supported: classifications are browsed without isolating their view.
+   *
+   * @return false
+   */
+  @Override
+  public boolean supportsBrowseIndex() {
+    return false;
+  }
+
 
   /**
    * Gets the persistent class.
@@ -127,7 +137,7 @@ public class ClassificationDescriptorDAO extends DAODescriptor {
     throws HibernateException {
     String viewClause = "";
     if (searchingView != View.ANY)
-      viewClause = " and SUBSTR(hdg.key.userViewString, " + searchingView + ", 1) = '1' ";
+      viewClause = " and " + inView("hdg.key.userViewString", searchingView) + " ";
 
     final Query q = session.createQuery("from " + getPersistentClass().getName()
       + " as hdg where hdg.sortForm " + operator
@@ -0,0 +1,112 @@
+package org.folio.marccat.dao;
+
+import net.sf.hibernate.CallbackException;
+import net.sf.hibernate.Interceptor;
+import net.sf.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Session interceptor which chains other interceptors, since a session has only one.
+ * Notifications are passed to every interceptor, in order; when an interceptor has to decide something (e.g. whether
+ * an entity is unsaved) the first one giving an answer wins.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public class CompositeInterceptor implements Interceptor {
+  private final List<Interceptor> interceptors;
+
+  /**
+   * Builds a new interceptor chaining the given interceptors.
+   *
+   * @param interceptors the chained interceptors.
+   */
+  public CompositeInterceptor(final Interceptor... interceptors) {
+    this.interceptors = Arrays.asList(interceptors);
+  }
+
+  @Override
+  public boolean onLoad(final Object entity, final Serializable id, final Object[] state, final String[] propertyNames, final Type[] types) throws CallbackException {
+    boolean modified = false;
+    for (final Interceptor interceptor : interceptors) {
+      modified |= interceptor.onLoad(entity, id, state, propertyNames, types);
+    }
+    return modified;
+  }
+
+  @Override
+  public boolean onFlushDirty(final Object entity, final Serializable id, final Object[] currentState, final Object[] previousState, final String[] propertyNames, final Type[] types) throws CallbackException {
+    boolean modified = false;
+    for (final Interceptor interceptor : interceptors) {
+      modified |= interceptor.onFlushDirty(entity, id, currentState, previousState, propertyNames, types);
+    }
+    return modified;
+  }
+
+  @Override
+  public boolean onSave(final Object entity, final Serializable id, final Object[] state, final String[] propertyNames, final Type[] types) throws CallbackException {
+    boolean modified = false;
+    for (final Interceptor interceptor : interceptors) {
+      modified |= interceptor.onSave(entity, id, state, propertyNames, types);
+    }
+    return modified;
+  }
+
+  @Override
+  public void onDelete(final Object entity, final Serializable id, final Object[] state, final String[] propertyNames, final Type[] types) throws CallbackException {
+    for (final Interceptor interceptor : interceptors) {
+      interceptor.onDelete(entity, id, state, propertyNames, types);
+    }
+  }
+
+  @Override
+  public void preFlush(final Iterator entities) throws CallbackException {
+    for (final Interceptor interceptor : interceptors) {
+      interceptor.preFlush(entities);
+    }
+  }
+
+  @Override
+  public void postFlush(final Iterator entities) throws CallbackException {
+    for (final Interceptor interceptor : interceptors) {
+      interceptor.postFlush(entities);
+    }
+  }
+
+  @Override
+  public Boolean isUnsaved(final Object entity) {
+    for (final Interceptor interceptor : interceptors) {
+      final Boolean unsaved = interceptor.isUnsaved(entity);
+      if (unsaved != null) {
+        return unsaved;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public int[] findDirty(final Object entity, final Serializable id, final Object[] currentState, final Object[] previousState, final String[] propertyNames, final Type[] types) {
+    for (final Interceptor interceptor : interceptors) {
+      final int[] dirty = interceptor.findDirty(entity, id, currentState, previousState, propertyNames, types);
+      if (dirty != null) {
+        return dirty;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public Object instantiate(final Class clazz, final Serializable id) throws CallbackException {
+    for (final Interceptor interceptor : interceptors) {
+      final Object instance = interceptor.instantiate(clazz, id);
+      if (instance != null) {
+        return instance;
+      }
+    }
+    return null;
+  }
+}
@@ -10,7 +10,9 @@ import org.folio.marccat.business.common.View;
 import org.folio.marccat.dao.persistence.CNTL_NBR;
 import org.folio.marccat.dao.persistence.Descriptor;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -109,7 +111,8 @@ public class ControlNumberDescriptorDAO extends DAODescriptor {
   }
 
   /**
-   * Gets the doc count.
+   * Gets the doc count, adding the titles linked through the series ISSN to the usage counter. Without the counters
+   * table the count is read from the access point tables, which already includes those titles.
    *
    * @param descriptor    the descriptor
    * @param searchingView the searching view
@@ -117,24 +120,87 @@ public class ControlNumberDescriptorDAO extends DAODescriptor {
    * @return the count of the records
    * @throws HibernateException the hibernate exception
    */
+  @Override
   public int getDocCount(final Descriptor descriptor, final int searchingView, final Session session)
     throws HibernateException {
-    int count = 0;
-    String viewClause = "";
-    final CNTL_NBR controlNumber = (CNTL_NBR) descriptor;
-    if (controlNumber.getTypeCode() == 10) {
-      if (searchingView != View.ANY) {
-        viewClause = " and SUBSTR(title.userViewString, " + searchingView + ", 1) = '1' ";
+    final int count = super.getDocCount(descriptor, searchingView, session);
+    return HEADING_USAGE.isAvailable(session)
+      ? count + countSeriesIssnDocuments((CNTL_NBR) descriptor, searchingView, session)
+      : count;
+  }
+
+  /**
+   * Gets the doc counts of a page of control numbers, adding the titles linked through the series ISSN to the usage
+   * counters with one more query.
+   *
+   * @param descriptors   the descriptors
+   * @param searchingView the searching view
+   * @param session       the session
+   * @return the doc counts, by heading number
+   * @throws HibernateException the hibernate exception
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public Map<Integer, Integer> getDocCounts(final List<? extends Descriptor> descriptors, final int searchingView, final Session session)
+    throws HibernateException {
+    final Map<Integer, Integer> counts = super.getDocCounts(descriptors, searchingView, session);
+    if (!HEADING_USAGE.isAvailable(session)) {
+      return counts;
+    }
+
+    final List<Integer> seriesIssns = new ArrayList<>();
+    for (final Descriptor descriptor : descriptors) {
+      if (((CNTL_NBR) descriptor).getTypeCode() == 10) {
+        seriesIssns.add(descriptor.getHeadingNumber());
       }
-      final Query q = session.createQuery("select count(*) from TitleAccessPoint as title " +
-        " where title.seriesIssnHeadingNumber = :headingNumber " +
-        viewClause);
-      q.setInteger("headingNumber", descriptor.getHeadingNumber());
-      final List<Integer> countList = q.list();
-      count = countList.get(0);
     }
-    count += super.getDocCount(controlNumber, searchingView, session);
-    return count;
+    if (!seriesIssns.isEmpty()) {
+      final List<Object[]> rows = session.createQuery("select title.seriesIssnHeadingNumber, count(*) from TitleAccessPoint as title "
+        + " where title.seriesIssnHeadingNumber in (:headingNumbers) "
+        + (searchingView != View.ANY ? " and " + inView("title.userViewString", searchingView) : "")
+        + " group by title.seriesIssnHeadingNumber")
+        .setParameterList("headingNumbers", seriesIssns)
+        .list();
+      for (final Object[] row : rows) {
+        counts.merge((Integer) row[0], (Integer) row[1], Integer::sum);
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * Counts the records linked to the given control number, reading the access point tables.
+   *
+   * @param descriptor    the descriptor
+   * @param searchingView the searching view
+   * @param session       the session
+   * @return the count of the records
+   * @throws HibernateException the hibernate exception
+   */
+  @Override
+  protected int countDocuments(final Descriptor descriptor, final int searchingView, final Session session)
+    throws HibernateException {
+    return countSeriesIssnDocuments((CNTL_NBR) descriptor, searchingView, session)
+      + super.countDocuments(descriptor, searchingView, session);
+  }
+
+  @SuppressWarnings("unchecked")
+  private int countSeriesIssnDocuments(final CNTL_NBR controlNumber, final int searchingView, final Session session)
+    throws HibernateException {
+    if (controlNumber.getTypeCode() != 10) {
+      return 0;
+    }
+
+    String viewClause = "";
+    if (searchingView != View.ANY) {
+      viewClause = " and " + inView("title.userViewString", searchingView) + " ";
+    }
+    final Query q = session.createQuery("select count(*) from TitleAccessPoint as title " +
+      " where title.seriesIssnHeadingNumber = :headingNumber " +
+      viewClause);
+    q.setInteger("headingNumber", controlNumber.getHeadingNumber());
+    final List<Integer> countList = q.list();
+    return countList.get(0);
   }
 
 
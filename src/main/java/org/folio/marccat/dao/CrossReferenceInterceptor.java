@@ -0,0 +1,71 @@
+package org.folio.marccat.dao;
+
+import net.sf.hibernate.Interceptor;
+import net.sf.hibernate.type.Type;
+import org.folio.marccat.dao.common.CrossReferenceGraph;
+import org.folio.marccat.dao.persistence.REF;
+
+import java.io.Serializable;
+import java.util.Iterator;
+
+/**
+ * Session interceptor which notifies the cross-reference graphs of the cross-references saved, updated or deleted, so
+ * that the edges of their source heading are read again before the graph is used.
+ *
+ * @author cchiama
+ * @since 1.0
+ * @see CrossReferenceGraph
+ */
+public class CrossReferenceInterceptor implements Interceptor {
+
+  @Override
+  public boolean onSave(final Object entity, final Serializable id, final Object[] state, final String[] propertyNames, final Type[] types) {
+    touch(entity);
+    return false;
+  }
+
+  @Override
+  public boolean onFlushDirty(final Object entity, final Serializable id, final Object[] currentState, final Object[] previousState, final String[] propertyNames, final Type[] types) {
+    touch(entity);
+    return false;
+  }
+
+  @Override
+  public void onDelete(final Object entity, final Serializable id, final Object[] state, final String[] propertyNames, final Type[] types) {
+    touch(entity);
+  }
+
+  @Override
+  public boolean onLoad(final Object entity, final Serializable id, final Object[] state, final String[] propertyNames, final Type[] types) {
+    return false;
+  }
+
+  @Override
+  public void preFlush(final Iterator entities) {
+  }
+
+  @Override
+  public void postFlush(final Iterator entities) {
+  }
+
+  @Override
+  public Boolean isUnsaved(final Object entity) {
+    return null;
+  }
+
+  @Override
+  public int[] findDirty(final Object entity, final Serializable id, final Object[] currentState, final Object[] previousState, final String[] propertyNames, final Type[] types) {
+    return null;
+  }
+
+  @Override
+  public Object instantiate(final Class clazz, final Serializable id) {
+    return null;
+  }
+
+  private void touch(final Object entity) {
+    if (entity instanceof REF) {
+      CrossReferenceGraph.touch(entity.getClass(), ((REF) entity).getKey().getSource());
+    }
+  }
+}
@@ -20,15 +20,13 @@ public class DAOBibliographicNotesOverflow extends AbstractDAO {
     List<BibliographicNoteOverflow> notesOverflow = session.find(
       "from BibliographicNoteOverflow t "
         + " where t.bibItemNumber = ? and "
-        + " substr(t.userViewString, ?, 1) = '1' and "
+        + " " + inView("t.userViewString", userView) + " and "
         + " t.noteNbr = ?"
         + " order by t.noteOverflowNumber",
       new Object[]{
         bibItemNumber,
-        userView,
         noteNumber},
       new Type[]{
-        Hibernate.INTEGER,
         Hibernate.INTEGER,
         Hibernate.INTEGER});
 
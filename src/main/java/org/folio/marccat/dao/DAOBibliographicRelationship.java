@@ -34,13 +34,11 @@ public class DAOBibliographicRelationship extends AbstractDAO {
             + "BibliographicRelationship t "
             + " where t.bibItemNumber = ? and "
             + " t.targetBibItemNumber = ? and "
-            + " substr(t.userViewString, ?, 1) = '1'",
+            + " " + inView("t.userViewString", userView),
           new Object[]{
             new Integer(bibItemNumber),
-            new Integer(targetBibItemNumber),
-            new Integer(userView)},
+            new Integer(targetBibItemNumber)},
           new Type[]{
-            Hibernate.INTEGER,
             Hibernate.INTEGER,
             Hibernate.INTEGER});
       if (((Integer) l.get(0)).shortValue() > 0) {
@@ -59,13 +57,11 @@ public class DAOBibliographicRelationship extends AbstractDAO {
       List multiView =
         currentSession().find(
           "from BibliographicRelationship t "
-            + "where t.bibItemNumber = ? and t.targetBibItemNumber = ? and substr(t.userViewString,?,1) = '1'",
+            + "where t.bibItemNumber = ? and t.targetBibItemNumber = ? and " + inView("t.userViewString", userView),
           new Object[]{
             new Integer(bibItemNumber),
-            new Integer(targetBibItemNumber),
-            new Integer(userView)},
+            new Integer(targetBibItemNumber)},
           new Type[]{
-            Hibernate.INTEGER,
             Hibernate.INTEGER,
             Hibernate.INTEGER});
 
@@ -10,6 +10,8 @@ import org.folio.marccat.business.common.Defaults;
 import org.folio.marccat.config.Global;
 import org.folio.marccat.config.log.Log;
 import org.folio.marccat.config.log.MessageCatalog;
+import org.folio.marccat.dao.common.CodeTableIndex;
+import org.folio.marccat.dao.common.CodeTableRegistry;
 import org.folio.marccat.dao.common.TransactionalHibernateOperation;
 import org.folio.marccat.dao.persistence.*;
 import org.folio.marccat.exception.DataAccessException;
@@ -57,6 +59,13 @@ public class DAOCodeTable extends AbstractDAO {
    * it was so leave it for now
    */
   public String getLanguageOfIndexing(final int code, final Session session) throws HibernateException {
+    final CodeTableRegistry registry = CodeTableRegistry.current();
+    if (registry != null) {
+      final int languageIndexing = registry.index(session, T_LANG_OF_IDXG.class).sequenceOf(String.valueOf(code), 0);
+      final int language = registry.indexingLanguage(session, languageIndexing, languageIndexing);
+      return registry.index(session, T_LANG.class).codeOf(language, "und");
+    }
+
     String result = "und";
     List scriptingLanguage = null;
     int valueCode = 0;
@@ -91,6 +100,14 @@ public class DAOCodeTable extends AbstractDAO {
    * @throws HibernateException
    */
   public String getAccessPointLanguage(final int code, final Descriptor aDescriptor, final Session session) throws HibernateException {
+    final CodeTableRegistry registry = CodeTableRegistry.current();
+    if (registry != null) {
+      final Class accessPointLanguage = (aDescriptor instanceof SBJCT_HDG) ? T_LANG_OF_ACS_PNT_SBJCT.class : T_LANG_OF_ACS_PNT.class;
+      final int languageIndexing = registry.index(session, accessPointLanguage).sequenceOf(String.valueOf(code), 0);
+      final int language = registry.indexingLanguage(session, languageIndexing, languageIndexing);
+      return registry.index(session, T_LANG.class).codeOf(language, "und");
+    }
+
     String result = "und";
     List scriptingLanguage;
     int valueCode = 0;
@@ -137,6 +154,16 @@ public class DAOCodeTable extends AbstractDAO {
    */
   public List<Avp<String>> getList(final Session session, final Class c, final Locale locale) {
     try {
+      final CodeTableRegistry registry = CodeTableRegistry.current();
+      if (registry != null) {
+        return registry.index(session, c)
+          .list(locale.getISO3Language())
+          .stream()
+          .filter(entry -> !entry.isObsolete())
+          .map(entry -> (Avp<String>) new Avp(entry.getCode().trim(), entry.getLongText()))
+          .collect(toList());
+      }
+
       // NOTE: two steps are required because Hibernate doesn't use generics and the inference type
       // mechanism doesn't work.
       final List<CodeTable> codeTables = session.find(
@@ -318,6 +345,10 @@ public class DAOCodeTable extends AbstractDAO {
    * @throws DataAccessException
    */
   public String getLongText(final Session session, final char code, final Class c, final Locale locale) throws DataAccessException {
+    final CodeTableRegistry registry = CodeTableRegistry.current();
+    if (registry != null) {
+      return cachedLongText(registry, session, String.valueOf(code), c, locale);
+    }
     return ofNullable(load(session, c, code, locale))
       .map(CodeTable::getLongText)
       .orElse(Global.EMPTY_STRING);
@@ -332,6 +363,10 @@ public class DAOCodeTable extends AbstractDAO {
    * @throws DataAccessException
    */
   public String getLongText(final Session session, final int code, final Class c, final Locale locale) throws DataAccessException {
+    final CodeTableRegistry registry = CodeTableRegistry.current();
+    if (registry != null) {
+      return cachedLongText(registry, session, String.valueOf(code), c, locale);
+    }
     return ofNullable(load(session, c, code, locale))
       .map(CodeTable::getLongText)
       .orElse(Global.EMPTY_STRING);
@@ -346,11 +381,36 @@ public class DAOCodeTable extends AbstractDAO {
    * @throws DataAccessException
    */
   public String getLongText(final Session session, final String code, final Class c, final Locale locale) throws DataAccessException {
+    final CodeTableRegistry registry = CodeTableRegistry.current();
+    if (registry != null) {
+      return cachedLongText(registry, session, code, c, locale);
+    }
     return ofNullable(load(session, c, code, locale))
       .map(CodeTable::getLongText)
       .orElse(Global.EMPTY_STRING);
   }
 
+  /**
+   * Looks up the description of a code table entry in the tenant registry.
+   *
+   * @param registry the registry of the current tenant.
+   * @param session  the hibernate session, used only if the code table hasn't been loaded yet.
+   * @param code     the code, as string.
+   * @param c        the class of codeTable to get.
+   * @param locale   current locale used here as filter criterion.
+   * @return a string representing description of codeTable by code.
+   * @throws DataAccessException in case of data access failure.
+   */
+  private String cachedLongText(final CodeTableRegistry registry, final Session session, final String code, final Class c, final Locale locale) throws DataAccessException {
+    try {
+      return ofNullable(registry.index(session, c).get(code, locale.getISO3Language()))
+        .map(CodeTableIndex.Entry::getLongText)
+        .orElse(Global.EMPTY_STRING);
+    } catch (final HibernateException exception) {
+      throw new DataAccessException(exception);
+    }
+  }
+
   public String getTranslationString(long translationKey, Locale locale) throws DataAccessException {
     List l =
       find(
@@ -393,6 +453,10 @@ public class DAOCodeTable extends AbstractDAO {
           }
           persistByStatus(nextCodeTable);
         }
+        final CodeTableRegistry registry = CodeTableRegistry.current();
+        if (registry != null) {
+          registry.invalidate(items.get(0).getClass());
+        }
       }
     }.execute();
   }
@@ -71,15 +71,13 @@ public class DAOCrossReferences extends AbstractDAO {
           + " as ref "
           + " where ref.key.target = ? AND "
           + " ref.key.source = ? AND "
-          + " substr(ref.key.userViewString, ?, 1) = '1' AND "
+          + " " + inView("ref.key.userViewString", cataloguingView) + " AND "
           + " ref.key.type = ?",
         new Object[]{
           ref.getSource(),
           ref.getTarget(),
-          cataloguingView,
           reciprocalType},
         new Type[]{
-          Hibernate.INTEGER,
           Hibernate.INTEGER,
           Hibernate.INTEGER,
           Hibernate.INTEGER});
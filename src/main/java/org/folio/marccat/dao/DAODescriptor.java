@@ -3,7 +3,10 @@ package org.folio.marccat.dao;
 import net.sf.hibernate.Hibernate;
 import net.sf.hibernate.HibernateException;
 import net.sf.hibernate.Query;
+import net.sf.hibernate.ScrollableResults;
 import net.sf.hibernate.Session;
+import net.sf.hibernate.SessionFactory;
+import net.sf.hibernate.Transaction;
 import net.sf.hibernate.type.Type;
 import org.folio.marccat.business.cataloguing.authority.AuthorityCatalog;
 import org.folio.marccat.business.common.Persistence;
@@ -11,6 +14,18 @@ import org.folio.marccat.business.common.SortFormException;
 import org.folio.marccat.business.common.View;
 import org.folio.marccat.business.descriptor.SortFormParameters;
 import org.folio.marccat.business.searching.BrowseManager;
+import org.folio.marccat.config.Global;
+import org.folio.marccat.config.log.Log;
+import org.folio.marccat.config.log.MessageCatalog;
+import org.folio.marccat.dao.common.AfterCommit;
+import org.folio.marccat.dao.common.BrowseIndex;
+import org.folio.marccat.dao.common.BrowsePageCache;
+import org.folio.marccat.dao.common.CrossReferenceExpansion;
+import org.folio.marccat.dao.common.CrossReferenceGraph;
+import org.folio.marccat.dao.common.HeadingUsage;
+import org.folio.marccat.dao.common.SortFormIndex;
+import org.folio.marccat.dao.common.TenantCacheProvider;
+import org.folio.marccat.dao.common.ViewIndex;
 import org.folio.marccat.dao.persistence.*;
 import org.folio.marccat.exception.DataAccessException;
 import org.folio.marccat.exception.ReferentialIntegrityException;
@@ -19,11 +34,21 @@ import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntUnaryOperator;
 
-import static org.folio.marccat.util.F.deepCopy;
+import static org.folio.marccat.util.ObjectCopier.deepCopy;
 
 
 /**
@@ -37,6 +62,9 @@ import static org.folio.marccat.util.F.deepCopy;
  * @author carment
  */
 public abstract class DAODescriptor extends AbstractDAO {
+  private static final Log logger = new Log(DAODescriptor.class);
+  protected static final HeadingUsageDAO HEADING_USAGE = new HeadingUsageDAO();
+  private static final String HEADING_QUERIES = Global.HEADING_CACHE_ENABLED ? TenantCacheProvider.HEADING_QUERY_REGION : null;
 
 
   /**
@@ -71,6 +99,26 @@ public abstract class DAODescriptor extends AbstractDAO {
     return true;
   }
 
+  /**
+   * Indicates whether the indexes served by this DAO can be browsed through a {@link BrowseIndex}: that's the case
+   * when headings are browsed by their sortForm property, as {@link #getHeadingsBySortform} does (default true).
+   *
+   * @return true, if successful
+   */
+  public boolean supportsBrowseIndex() {
+    return true;
+  }
+
+  /**
+   * Gets the property holding the sort form the {@link BrowseIndex} of the indexes served by this DAO is built on,
+   * which is also the one type-ahead suggestions match (default sortForm, if browse indexes are supported).
+   *
+   * @return the sort form property, null if the indexes served by this DAO have no browse index.
+   */
+  public String getSortFormProperty() {
+    return supportsBrowseIndex() ? "sortForm" : null;
+  }
+
 
   /**
    * Calculates the sortform of a descriptor. The method is overloaded. The
@@ -224,14 +272,14 @@ public abstract class DAODescriptor extends AbstractDAO {
   public Descriptor load(final int headingNumber, final int cataloguingView,
                          final Class persistentClass, final Session session) throws HibernateException {
 
-    final List<Descriptor> descriptorList = session.find("from " + persistentClass.getName()
+    final List<Descriptor> descriptorList = findCacheable(session, "from " + persistentClass.getName()
         + " as hdg where hdg.key.headingNumber = ? "
-        + " AND substr(hdg.key.userViewString, ?, 1) = '1'",
+        + " AND " + inView("hdg.key.userViewString", cataloguingView),
       new Object[]{
-        headingNumber,
-        cataloguingView},
+        headingNumber},
       new Type[]{
-        Hibernate.INTEGER, Hibernate.INTEGER});
+        Hibernate.INTEGER},
+      HEADING_QUERIES);
 
     Descriptor descriptor = null;
     if (!descriptorList.isEmpty()) {
@@ -253,12 +301,13 @@ public abstract class DAODescriptor extends AbstractDAO {
   @SuppressWarnings("unchecked")
   public Descriptor load(final int headingNumber, final Class persistentClass, final Session session)
     throws HibernateException {
-    List<Descriptor> l = session.find("from " + persistentClass.getName()
+    List<Descriptor> l = findCacheable(session, "from " + persistentClass.getName()
         + " as hdg where hdg.key.headingNumber = ? ",
       new Object[]{
         headingNumber},
       new Type[]{
-        Hibernate.INTEGER});
+        Hibernate.INTEGER},
+      HEADING_QUERIES);
     Descriptor result = null;
     if (!l.isEmpty()) {
       result = l.get(0);
@@ -266,6 +315,18 @@ public abstract class DAODescriptor extends AbstractDAO {
     return result;
   }
 
+  /**
+   * Reads the results of the given heading query through the heading region of the query cache, if the headings are
+   * cached (see {@link Global#HEADING_CACHE_ENABLED}).
+   *
+   * @param query the heading query.
+   * @return the same query.
+   * @throws HibernateException in case of hibernate exception.
+   */
+  private static Query cacheable(final Query query) throws HibernateException {
+    return HEADING_QUERIES != null ? query.setCacheable(true).setCacheRegion(HEADING_QUERIES) : query;
+  }
+
   /**
    * Returns the first n rows having sortform > term.
    *
@@ -288,8 +349,7 @@ public abstract class DAODescriptor extends AbstractDAO {
       searchingView = 1;
     }
     if (searchingView != View.ANY) {
-      viewClause = " and SUBSTR(hdg.key.userViewString, " + searchingView
-        + ", 1) = '1' ";
+      viewClause = " and " + inView("hdg.key.userViewString", searchingView) + " ";
     }
     final Query q = session.createQuery(" select hdg from " + getPersistentClass().getName()
       + " as hdg where hdg.sortForm " + operator + " :term "
@@ -297,21 +357,356 @@ public abstract class DAODescriptor extends AbstractDAO {
       + direction);
     q.setString("term", term);
     q.setMaxResults(count);
+    cacheable(q);
     descriptorList = q.list();
     return (List<Descriptor>) isolateViewForList(descriptorList, searchingView, session);
 
   }
 
   /**
-   * Gets the document count.
+   * Builds the browse index of a heading index served by this DAO, reading the whole heading table in sort form
+   * order. Entries are weighted by the usage counters of the headings.
+   *
+   * @param filter  the filter of the heading index.
+   * @param session the session
+   * @return the browse index, null if the database doesn't order sort forms by their binary value.
+   * @throws HibernateException the hibernate exception
+   */
+  public BrowseIndex buildBrowseIndex(final String filter, final Session session) throws HibernateException {
+    final String sortForm = "hdg." + getSortFormProperty();
+    final Transaction transaction = getTransaction(session);
+    try (final SortFormIndex.Builder builder = new SortFormIndex.Builder()) {
+      final HeadingUsage usage = getHeadingUsage();
+      final IntUnaryOperator counts = usage != null ? HEADING_USAGE.getCounts(usage, View.ANY, session) : heading -> 0;
+      final ScrollableResults rows = session.createQuery("select " + sortForm + ", hdg.key.headingNumber, hdg.key.userViewString"
+        + " from " + getPersistentClass().getName() + " as hdg where " + sortForm + " is not null " + filter
+        + " order by " + sortForm + ", hdg.key.headingNumber").scroll();
+      try {
+        boolean ordered = true;
+        while (ordered && rows.next()) {
+          final int headingNumber = rows.getInteger(1);
+          ordered = builder.add(
+            rows.getString(0), headingNumber, View.toViewMask(rows.getString(2)), counts.applyAsInt(headingNumber));
+        }
+      } finally {
+        rows.close();
+      }
+      transaction.commit();
+
+      final SortFormIndex snapshot = builder.build();
+      return snapshot != null ? new BrowseIndex(getPersistentClass(), snapshot) : null;
+    } catch (final Exception exception) {
+      cleanUp(transaction);
+      throw new HibernateException(exception);
+    }
+  }
+
+  /**
+   * Reads again the headings changed since the browse index has been built or refreshed.
+   *
+   * @param index   the browse index.
+   * @param filter  the filter of the heading index.
+   * @param session the session
+   * @throws HibernateException the hibernate exception
+   */
+  @SuppressWarnings("unchecked")
+  public void refreshBrowseIndex(final BrowseIndex index, final String filter, final Session session)
+    throws HibernateException {
+    final Set<Integer> headingNumbers = index.pending();
+    if (headingNumbers.isEmpty()) {
+      return;
+    }
+    final String sortForm = "hdg." + getSortFormProperty();
+    final List<Object[]> rows = session.createQuery("select " + sortForm + ", hdg.key.headingNumber, hdg.key.userViewString"
+      + " from " + getPersistentClass().getName() + " as hdg where hdg.key.headingNumber in (:headingNumbers)"
+      + " and " + sortForm + " is not null " + filter)
+      .setParameterList("headingNumbers", headingNumbers)
+      .list();
+    final HeadingUsage usage = getHeadingUsage();
+    final Set<Integer> found = new HashSet<>();
+    rows.forEach(row -> found.add((Integer) row[1]));
+    final Map<Integer, Integer> counts = usage != null
+      ? HEADING_USAGE.getCounts(usage, found, View.ANY, session)
+      : Collections.emptyMap();
+    final List<Object[]> weighted = new ArrayList<>(rows.size());
+    for (final Object[] row : rows) {
+      weighted.add(new Object[]{row[0], row[1], row[2], counts.getOrDefault(row[1], 0)});
+    }
+    index.update(headingNumbers, weighted);
+  }
+
+  /**
+   * Loads the headings whose sort form starts with the given prefix, in sort form order: the suggestions made when
+   * the browse index of the heading index hasn't been built.
+   * The LIKE wildcards typed in the prefix are matched literally; headings aren't isolated in the searching view.
+   *
+   * @param prefix        the sort form of the typed prefix.
+   * @param filter        the filter of the heading index.
+   * @param searchingView the searching view
+   * @param count         the maximum number of headings.
+   * @param session       the session
+   * @return the headings starting with the given prefix.
+   * @throws HibernateException the hibernate exception
+   */
+  @SuppressWarnings("unchecked")
+  public List<Descriptor> getHeadingsBySortFormPrefix(final String prefix, final String filter, final int searchingView, final int count, final Session session)
+    throws HibernateException {
+    final String sortForm = "hdg." + getSortFormProperty();
+    return session.createQuery("from " + getPersistentClass().getName()
+      + " as hdg where " + sortForm + " like :prefix"
+      + (searchingView != View.ANY ? " and " + inView("hdg.key.userViewString", searchingView) : "")
+      + " " + filter
+      + " order by " + sortForm + ", hdg.key.headingNumber")
+      .setString("prefix", escapeLike(prefix) + "%")
+      .setMaxResults(count)
+      .list();
+  }
+
+  /**
+   * Loads the headings of a browse page, or the suggested headings, in the given order.
+   * Browse pages isolate the headings shared with other views in the searching view, as the other browse queries do;
+   * suggestions don't, so that they never write.
+   *
+   * @param headingNumbers the heading numbers, as returned by {@link BrowseIndex#page} or {@link BrowseIndex#suggest}.
+   * @param searchingView  the searching view
+   * @param isolate        true if the headings have to be isolated in the searching view.
+   * @param session        the session
+   * @return the headings in the given order, null if some of them no longer exists in the given view.
+   * @throws HibernateException the hibernate exception
+   */
+  @SuppressWarnings("unchecked")
+  public List<Descriptor> getHeadingsByNumbers(final List<Integer> headingNumbers, final int searchingView, final boolean isolate, final Session session)
+    throws HibernateException {
+    if (headingNumbers.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    final List<Descriptor> rows = cacheable(session.createQuery("from " + getPersistentClass().getName()
+      + " as hdg where hdg.key.headingNumber in (:headingNumbers)"
+      + (searchingView != View.ANY ? " and " + inView("hdg.key.userViewString", searchingView) : ""))
+      .setParameterList("headingNumbers", new HashSet<>(headingNumbers)))
+      .list();
+    final Map<Integer, Deque<Descriptor>> byNumber = new HashMap<>();
+    rows.forEach(row -> byNumber.computeIfAbsent(row.getKey().getHeadingNumber(), key -> new ArrayDeque<>()).add(row));
+
+    final List<Descriptor> descriptors = new ArrayList<>(headingNumbers.size());
+    for (final int headingNumber : headingNumbers) {
+      final Deque<Descriptor> candidates = byNumber.get(headingNumber);
+      if (candidates == null || candidates.isEmpty()) {
+        return null;
+      }
+      descriptors.add(candidates.poll());
+    }
+    return isolate ? (List<Descriptor>) isolateViewForList(descriptors, searchingView, session) : descriptors;
+  }
+
+  /**
+   * Escapes the LIKE wildcards (and the escape character itself, the backslash by default in PostgreSQL) of the given
+   * text, so that it is matched literally.
+   *
+   * @param text the text.
+   * @return the escaped text.
+   */
+  static String escapeLike(final String text) {
+    return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+
+  /**
+   * Gets the usage whose counters weight the entries of the browse index.
+   *
+   * @return the usage counted for the headings of this DAO, null if they have no counter.
+   * @throws HibernateException the hibernate exception
+   */
+  private HeadingUsage getHeadingUsage() throws HibernateException {
+    return HeadingUsage.of(newDescriptor().getAccessPointClass());
+  }
+
+  /**
+   * Gets the reference table linking the headings of this DAO to each other.
+   *
+   * @return the reference class, null if the headings of this DAO have no cross-references.
+   * @throws HibernateException the hibernate exception
+   */
+  public Class getReferenceClass() throws HibernateException {
+    return newDescriptor().getReferenceClass(getPersistentClass());
+  }
+
+  /**
+   * Builds the graph of the cross-references linking the headings of this DAO to each other, reading the whole
+   * reference table.
+   *
+   * @param session the session
+   * @return the graph, null if the headings of this DAO have no cross-references.
+   * @throws HibernateException the hibernate exception
+   */
+  public CrossReferenceGraph buildCrossReferenceGraph(final Session session) throws HibernateException {
+    final Class referenceClass = getReferenceClass();
+    if (referenceClass == null) {
+      return null;
+    }
+
+    final Transaction transaction = getTransaction(session);
+    try {
+      final CrossReferenceGraph.Builder builder = new CrossReferenceGraph.Builder(referenceClass);
+      final ScrollableResults rows = session.createQuery("select ref.key.source, ref.key.target, ref.key.type, ref.key.userViewString"
+        + " from " + referenceClass.getName() + " as ref").scroll();
+      try {
+        while (rows.next()) {
+          builder.add(rows.getInteger(0), rows.getInteger(1), rows.getInteger(2), View.toViewMask(rows.getString(3)));
+        }
+      } finally {
+        rows.close();
+      }
+      transaction.commit();
+      return builder.build();
+    } catch (final Exception exception) {
+      cleanUp(transaction);
+      throw new HibernateException(exception);
+    }
+  }
+
+  /**
+   * Reads again the cross-references leaving the headings changed since the graph has been built or refreshed.
+   *
+   * @param graph   the graph.
+   * @param session the session
+   * @throws HibernateException the hibernate exception
+   */
+  @SuppressWarnings("unchecked")
+  public void refreshCrossReferenceGraph(final CrossReferenceGraph graph, final Session session) throws HibernateException {
+    final Set<Integer> sources = graph.pending();
+    if (sources.isEmpty()) {
+      return;
+    }
+    graph.update(sources, session.createQuery("select ref.key.source, ref.key.target, ref.key.type, ref.key.userViewString"
+      + " from " + graph.getReferenceClass().getName() + " as ref where ref.key.source in (:sources)")
+      .setParameterList("sources", sources)
+      .list());
+  }
+
+  /**
+   * Returns the string texts of the headings a CCL search term is expanded to: the headings reached, through the
+   * reference types followed by the given expansion, from the headings whose sort form equals the sort form of the
+   * term. The headings matching the term aren't included.
+   *
+   * @param sortForm      the sort form of the term, as calculated by {@link #calculateSearchTerm}.
+   * @param filter        the filter of the heading index.
+   * @param searchingView the searching view
+   * @param expansion     the expansion.
+   * @param session       the session
+   * @return the string texts of the headings the term is expanded to, at most {@link Global#MAX_EXPANDED_HEADINGS}.
+   * @throws HibernateException the hibernate exception
+   */
+  @SuppressWarnings("unchecked")
+  public Set<String> getExpandedStringTexts(final String sortForm, final String filter, final int searchingView, final CrossReferenceExpansion expansion, final Session session)
+    throws HibernateException {
+    final Class referenceClass = getReferenceClass();
+    if (expansion == CrossReferenceExpansion.NONE || referenceClass == null || getSortFormProperty() == null) {
+      return Collections.emptySet();
+    }
+
+    final String viewClause = searchingView != View.ANY ? " and " + inView("hdg.key.userViewString", searchingView) : "";
+    final List<Integer> sources = cacheable(session.createQuery("select hdg.key.headingNumber from " + getPersistentClass().getName()
+      + " as hdg where hdg." + getSortFormProperty() + " = :sortForm" + viewClause + " " + filter)
+      .setString("sortForm", sortForm))
+      .list();
+    if (sources.isEmpty()) {
+      return Collections.emptySet();
+    }
+
+    final Set<Integer> targets = new HashSet<>();
+    final CrossReferenceGraph graph = CrossReferenceGraph.of(referenceClass);
+    if (graph != null) {
+      refreshCrossReferenceGraph(graph, session);
+      sources.forEach(source -> targets.addAll(graph.targets(source, searchingView, expansion)));
+    } else {
+      final List<Object[]> references = session.createQuery("select ref.key.target, ref.key.type from "
+        + referenceClass.getName() + " as ref where ref.key.source in (:sources)"
+        + (searchingView != View.ANY ? " and " + inView("ref.key.userViewString", searchingView) : ""))
+        .setParameterList("sources", new HashSet<>(sources))
+        .list();
+      references.stream()
+        .filter(reference -> expansion.follows(((Number) reference[1]).intValue()))
+        .forEach(reference -> targets.add((Integer) reference[0]));
+    }
+    targets.removeAll(sources);
+    if (targets.isEmpty()) {
+      return Collections.emptySet();
+    }
+
+    final List<Descriptor> headings = session.createQuery("from " + getPersistentClass().getName()
+      + " as hdg where hdg.key.headingNumber in (:targets)" + viewClause)
+      .setParameterList("targets", targets)
+      .setMaxResults(Global.MAX_EXPANDED_HEADINGS)
+      .list();
+    final Set<String> stringTexts = new LinkedHashSet<>();
+    headings.forEach(heading -> stringTexts.add(heading.getStringText()));
+    return stringTexts;
+  }
+
+  private Descriptor newDescriptor() throws HibernateException {
+    try {
+      return (Descriptor) getPersistentClass().newInstance();
+    } catch (final InstantiationException | IllegalAccessException exception) {
+      throw new HibernateException(exception);
+    }
+  }
+
+  /**
+   * Gets the document count, from the heading usage counters when the access point table has them and the counters
+   * table exists.
    *
    * @param d             the d
    * @param searchingView the searching view
    * @return the doc count
    * @throws DataAccessException the data access exception
    */
-  @SuppressWarnings("unchecked")
   public int getDocCount(final Descriptor d, final int searchingView, final Session session)
+    throws HibernateException {
+    final HeadingUsage usage = HeadingUsage.of(d.getAccessPointClass());
+    return usage != null && HEADING_USAGE.isAvailable(session)
+      ? HEADING_USAGE.getCount(usage, d.getKey().getHeadingNumber(), searchingView, session)
+      : countDocuments(d, searchingView, session);
+  }
+
+  /**
+   * Gets the document counts of a page of descriptors, all of the heading table of this DAO, with a couple of queries
+   * (see {@link HeadingUsageDAO#getCounts(HeadingUsage, java.util.Collection, int, Session)}) instead of one for
+   * each descriptor. Without the counters, each descriptor is counted as {@link #getDocCount} does.
+   *
+   * @param descriptors   the descriptors.
+   * @param searchingView the searching view
+   * @param session       the session
+   * @return the doc counts, by heading number
+   * @throws HibernateException the hibernate exception
+   */
+  public Map<Integer, Integer> getDocCounts(final List<? extends Descriptor> descriptors, final int searchingView, final Session session)
+    throws HibernateException {
+    final HeadingUsage usage = descriptors.isEmpty() ? null : HeadingUsage.of(descriptors.get(0).getAccessPointClass());
+    if (usage != null && HEADING_USAGE.isAvailable(session)) {
+      final Set<Integer> headingNumbers = new HashSet<>();
+      descriptors.forEach(descriptor -> headingNumbers.add(descriptor.getKey().getHeadingNumber()));
+      return HEADING_USAGE.getCounts(usage, headingNumbers, searchingView, session);
+    }
+
+    final Map<Integer, Integer> counts = new HashMap<>();
+    for (final Descriptor descriptor : descriptors) {
+      counts.put(descriptor.getKey().getHeadingNumber(), countDocuments(descriptor, searchingView, session));
+    }
+    return counts;
+  }
+
+  /**
+   * Counts the documents linked to the given descriptor, reading the access point table.
+   *
+   * @param d             the d
+   * @param searchingView the searching view
+   * @param session       the session
+   * @return the doc count
+   * @throws HibernateException the hibernate exception
+   */
+  @SuppressWarnings("unchecked")
+  protected int countDocuments(final Descriptor d, final int searchingView, final Session session)
     throws HibernateException {
     final List<Integer> counList;
     int result = 0;
@@ -330,12 +725,10 @@ public abstract class DAODescriptor extends AbstractDAO {
       counList = session.find(" select count(distinct apf.bibItemNumber) from "
           + d.getAccessPointClass().getName() + " as apf "
           + " where apf.headingNumber = ? and "
-          + " substr(apf.userViewString, ?, 1) = '1'",
+          + inView("apf.userViewString", searchingView),
         new Object[]{
-          d.getKey().getHeadingNumber(),
-          searchingView},
+          d.getKey().getHeadingNumber()},
         new Type[]{
-          Hibernate.INTEGER,
           Hibernate.INTEGER});
       if (counList.size() > 0) result = counList.get(0);
       return result;
@@ -367,11 +760,9 @@ public abstract class DAODescriptor extends AbstractDAO {
       documentList = session.find(" select apf.bibItemNumber from "
           + descriptor.getAccessPointClass().getName() + " as apf "
           + " where apf.headingNumber = ? and "
-          + " substr(apf.userViewString, ?, 1) = '1'", new Object[]{
-          descriptor.getKey().getHeadingNumber(),
-          searchingView},
+          + inView("apf.userViewString", searchingView), new Object[]{
+          descriptor.getKey().getHeadingNumber()},
         new Type[]{
-          Hibernate.INTEGER,
           Hibernate.INTEGER});
     }
     return documentList;
@@ -424,6 +815,34 @@ public abstract class DAODescriptor extends AbstractDAO {
     } else {
       persistByStatus(descriptor, session);
     }
+    headingChanged(descriptor, session);
+  }
+
+  /**
+   * Evicts the given heading from the second level cache, discards the browse pages of the heading table of this DAO
+   * and notifies its browse indexes that the heading has been written or deleted. All of this happens once the
+   * transaction in progress has been committed (see {@link AfterCommit}): before that, a concurrent browse could cache
+   * again a page without the change; the transaction itself is left to the caller.
+   * Pages and indexes are keyed by heading table, since DAOs serving different indexes (e.g. all names and personal
+   * names only) share the same table.
+   *
+   * @param descriptor the heading.
+   * @param session    the current session.
+   * @throws HibernateException in case of data access failure.
+   */
+  private void headingChanged(final Descriptor descriptor, final Session session) throws HibernateException {
+    final Class<?> headingClass = descriptor.getClass();
+    final DescriptorKey key = descriptor.getKey();
+    final SessionFactory factory = session.getSessionFactory();
+    AfterCommit.run(session, () -> {
+      try {
+        factory.evict(headingClass, key);
+      } catch (final HibernateException exception) {
+        logger.error(MessageCatalog._00010_DATA_ACCESS_FAILURE, exception);
+      }
+      BrowsePageCache.invalidate(getPersistentClass());
+      BrowseIndex.touch(getPersistentClass(), key.getHeadingNumber());
+    });
   }
 
   /**
@@ -487,9 +906,10 @@ public abstract class DAODescriptor extends AbstractDAO {
       return existing;
     } else {
       final Descriptor descriptor = load(headingNumber, onFileView, session);
-      final Descriptor newDescriptor = (Descriptor) deepCopy(descriptor);
+      final Descriptor newDescriptor = deepCopy(descriptor);
       newDescriptor.setUserViewString(View.makeSingleViewString(cataloguingView));
-      save(newDescriptor);
+      save(newDescriptor, session);
+      headingChanged(newDescriptor, session);
       return newDescriptor;
     }
   }
@@ -574,7 +994,7 @@ public abstract class DAODescriptor extends AbstractDAO {
       throw new IllegalArgumentException("I can only delete Descriptor objects");
     }
     final Descriptor descriptor = ((Descriptor) p);
-    if (getDocCount(descriptor, View.toIntView(descriptor.getUserViewString()), session) > 0) {
+    if (countDocuments(descriptor, View.toIntView(descriptor.getUserViewString()), session) > 0) {
       throw new ReferentialIntegrityException(descriptor.getAccessPointClass()
         .getName(), descriptor.getClass().getName());
     }
@@ -597,6 +1017,7 @@ public abstract class DAODescriptor extends AbstractDAO {
     }
 
     super.delete(p, session);
+    headingChanged(descriptor, session);
   }
 
   /**
@@ -636,14 +1057,17 @@ public abstract class DAODescriptor extends AbstractDAO {
     throws HibernateException {
     if (source.getReferenceClass(source.getClass()) == null)
       return 0;
+    final CrossReferenceGraph graph = CrossReferenceGraph.of(source.getReferenceClass(source.getClass()));
+    if (graph != null && cataloguingView > View.ANY && cataloguingView <= ViewIndex.VIEWS) {
+      refreshCrossReferenceGraph(graph, session);
+      return graph.count(source.getKey().getHeadingNumber(), cataloguingView);
+    }
     final List<Integer> countList = session.find("select count(*) from "
         + source.getReferenceClass(source.getClass()).getName()
         + " as ref where ref.key.source = ? and "
-        + " substr(ref.key.userViewString, ?, 1) = '1' ", new Object[]{
-        source.getKey().getHeadingNumber(),
-        cataloguingView},
+        + inView("ref.key.userViewString", cataloguingView), new Object[]{
+        source.getKey().getHeadingNumber()},
       new Type[]{
-        Hibernate.INTEGER,
         Hibernate.INTEGER});
 
     final Optional<Integer> firstElement = countList.stream().filter(Objects::nonNull).findFirst();
@@ -666,13 +1090,11 @@ public abstract class DAODescriptor extends AbstractDAO {
     return session.find("from "
         + source.getReferenceClass(source.getClass()).getName()
         + " as ref " + " where ref.key.source = ? "
-        + " AND substr(ref.key.userViewString, ?, 1) = '1' "
+        + " AND " + inView("ref.key.userViewString", cataloguingView)
         + " order by ref.key.target, ref.key.type",
       new Object[]{
-        source.getKey().getHeadingNumber(),
-        cataloguingView},
+        source.getKey().getHeadingNumber()},
       new Type[]{
-        Hibernate.INTEGER,
         Hibernate.INTEGER});
   }
 
@@ -736,14 +1158,12 @@ public abstract class DAODescriptor extends AbstractDAO {
           + source.getReferenceClass(target.getClass()).getName()
           + " as ref " + " where ref.key.source = ? AND "
           + " ref.key.target = ? AND "
-          + " substr(ref.key.userViewString, ?, 1) = '1' AND "
+          + " " + inView("ref.key.userViewString", cataloguingView) + " AND "
           + " ref.key.type = ?", new Object[]{
           source.getKey().getHeadingNumber(),
           target.getKey().getHeadingNumber(),
-          cataloguingView,
           referenceType},
         new Type[]{
-          Hibernate.INTEGER,
           Hibernate.INTEGER,
           Hibernate.INTEGER,
           Hibernate.SHORT});
@@ -804,16 +1224,14 @@ public abstract class DAODescriptor extends AbstractDAO {
           + source.getReferenceClass(source.getClass()).getName()
           + " as ref, " + source.getClass().getName() + " as hdg "
           + " where ref.key.source = ? "
-          + " AND substr(ref.key.userViewString, ?, 1) = '1' "
+          + " AND " + inView("ref.key.userViewString", cataloguingView) + " "
           + " AND ref.key.type=5 "
           + " AND ref.key.target=hdg.key.headingNumber "
           + " AND hdg.accessPointLanguage=? ",
         new Object[]{
           source.getKey().getHeadingNumber(),
-          cataloguingView,
           indexingLanguage}, new Type[]{
-          Hibernate.INTEGER, Hibernate.INTEGER,
-          Hibernate.SHORT});
+          Hibernate.INTEGER, Hibernate.SHORT});
 
     } else if (source instanceof NME_TTL_HDG) {
       refList = session.find("select ref from "
@@ -823,34 +1241,31 @@ public abstract class DAODescriptor extends AbstractDAO {
           + " where hdg.nameHeadingNumber = nme.key.headingNumber "
           + " and hdg.titleHeadingNumber = ttl.key.headingNumber "
           + " and ref.key.source = ? "
-          + " AND substr(ref.key.userViewString, ?, 1) = '1' "
+          + " AND " + inView("ref.key.userViewString", cataloguingView) + " "
           + " AND ref.key.type=5 "
           + " AND ref.key.target=hdg.key.headingNumber "
           + " AND nme.indexingLanguage=? "
           + " AND ttl.indexingLanguage=? ", new Object[]{
           source.getKey().getHeadingNumber(),
-          cataloguingView,
           indexingLanguage,
           indexingLanguage},
         new Type[]{
           Hibernate.INTEGER,
-          Hibernate.INTEGER, Hibernate.SHORT,
+          Hibernate.SHORT,
           Hibernate.SHORT});
     } else {
       refList = session.find("select ref from "
           + source.getReferenceClass(source.getClass()).getName()
           + " as ref, " + source.getClass().getName() + " as hdg "
           + " where ref.key.source = ? "
-          + " AND substr(ref.key.userViewString, ?, 1) = '1' "
+          + " AND " + inView("ref.key.userViewString", cataloguingView) + " "
           + " AND ref.key.type=5 "
           + " AND ref.key.target=hdg.key.headingNumber "
           + " AND hdg.accessPointLanguage=? ",
         new Object[]{
           source.getKey().getHeadingNumber(),
-          cataloguingView,
           indexingLanguage}, new Type[]{
           Hibernate.INTEGER,
-          Hibernate.INTEGER,
           Hibernate.SHORT});
 
     }
@@ -887,13 +1302,11 @@ public abstract class DAODescriptor extends AbstractDAO {
         + source.getReferenceClass(source.getClass()).getName()
         + " as ref, " + source.getClass().getName() + " as hdg "
         + " where ref.key.source = ? "
-        + " AND substr(ref.key.userViewString, ?, 1) = '1' "
+        + " AND " + inView("ref.key.userViewString", cataloguingView) + " "
         + " AND ref.key.target=hdg.key.headingNumber "
         + " AND ref.key.type=5 ", new Object[]{
-        source.getKey().getHeadingNumber(),
-        cataloguingView},
+        source.getKey().getHeadingNumber()},
       new Type[]{
-        Hibernate.INTEGER,
         Hibernate.INTEGER});
 
     if (secondList.size() == 1) {
@@ -902,17 +1315,15 @@ public abstract class DAODescriptor extends AbstractDAO {
           + source.getReferenceClass(source.getClass()).getName()
           + " as ref, " + source.getClass().getName() + " as hdg "
           + " where ref.key.source = ? "
-          + " AND substr(ref.key.userViewString, ?, 1) = '1' "
+          + " AND " + inView("ref.key.userViewString", cataloguingView) + " "
           + " AND ref.key.type=5 "
           + " AND ref.key.target=hdg.key.headingNumber "
           + " AND hdg.accessPointLanguage=? ",
 
         new Object[]{
           targetHeadingNumber,
-          cataloguingView,
           indexingLanguage},
         new Type[]{
-          Hibernate.INTEGER,
           Hibernate.INTEGER,
           Hibernate.SHORT});
       if (firstList.size() == 1) {
@@ -934,31 +1345,16 @@ public abstract class DAODescriptor extends AbstractDAO {
    * @throws DataAccessException the data access exception
    * @throws HibernateException  the hibernate exception
    */
-  @SuppressWarnings("unchecked")
   public int getDocCountNT(final Descriptor descriptor, final int searchingView, final Session session)
     throws DataAccessException, HibernateException {
-
-    int result = 0;
-    List<Integer> countList = null;
-    String viewClause = "";
-    if (searchingView != View.ANY) {
-      viewClause = " and substr(hdg.key.userViewString, " + searchingView + ", 1) = '1' ";
-    }
     if (descriptor instanceof NME_HDG) {
-      final Query q = session.createQuery(" select count(*) from  NME_TTL_HDG as hdg"
-        + " where hdg.nameHeadingNumber = " + descriptor.getKey().getHeadingNumber()
-        + viewClause);
-      countList = q.list();
-
+      return HEADING_USAGE.getCount(
+        HeadingUsage.NAME_IN_NAME_TITLE, descriptor.getKey().getHeadingNumber(), searchingView, session);
     } else if (descriptor instanceof TTL_HDG) {
-      final Query q = session.createQuery(" select count(*) from  NME_TTL_HDG as hdg"
-        + " where hdg.titleHeadingNumber = " + descriptor.getKey().getHeadingNumber()
-        + viewClause);
-      countList = q.list();
+      return HEADING_USAGE.getCount(
+        HeadingUsage.TITLE_IN_NAME_TITLE, descriptor.getKey().getHeadingNumber(), searchingView, session);
     }
-    if (countList != null && countList.size() > 0)
-      result = countList.get(0);
-    return result;
+    return 0;
   }
 
   /**
@@ -988,7 +1384,8 @@ public abstract class DAODescriptor extends AbstractDAO {
   }
 
   /**
-   * Load cross reference through a specific sql query.
+   * Load cross reference through a specific sql query, whose parameters are the source and target heading numbers
+   * and the reference type: the view predicate is written in the query through {@link #inView}.
    *
    * @param source          the source
    * @param target          the target
@@ -1008,10 +1405,8 @@ public abstract class DAODescriptor extends AbstractDAO {
         new Object[]{
           source.getKey().getHeadingNumber(),
           target.getKey().getHeadingNumber(),
-          cataloguingView,
           referenceType},
         new Type[]{
-          Hibernate.INTEGER,
           Hibernate.INTEGER,
           Hibernate.INTEGER,
           Hibernate.SHORT});
@@ -0,0 +1,176 @@
+package org.folio.marccat.dao;
+
+import net.sf.hibernate.HibernateException;
+import net.sf.hibernate.Session;
+import org.folio.marccat.dao.persistence.FULL_CACHE_QUEUE;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class representing the access to FULL_CACHE_QUEUE table, the durable queue of pending FULL_CACHE rebuilds.
+ * Entries are claimed with a lease, so several workers (also belonging to different module instances) can drain the
+ * queue concurrently; an entry whose lease expires (e.g. because the worker died) is claimed again.
+ * An entry claimed too many times without being served (e.g. because its record can't be rebuilt) is no longer
+ * claimed: it stays in the queue as a dead entry, until its record changes again.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public class DAOFullCacheQueue extends AbstractDAO {
+
+  /**
+   * Enqueues a rebuild of the given record.
+   * If a rebuild of the same record is already pending the two requests are coalesced; a dead entry is given a new
+   * chance.
+   *
+   * @param session    the current session.
+   * @param itemNumber the record identifier.
+   * @param userView   the record view.
+   * @throws HibernateException in case of data access failure.
+   */
+  public void enqueue(final Session session, final int itemNumber, final int userView) throws HibernateException {
+    try (final PreparedStatement statement = session.connection().prepareStatement(
+      "insert into full_cache_queue (record_id, user_view, changes, enqueued_at) values (?, ?, 1, now()) "
+        + "on conflict (record_id, user_view) do update set changes = full_cache_queue.changes + 1, attempts = 0")) {
+      statement.setInt(1, itemNumber);
+      statement.setInt(2, userView);
+      statement.executeUpdate();
+    } catch (final SQLException exception) {
+      throw new HibernateException(exception);
+    }
+  }
+
+  /**
+   * Claims (at most) the given number of entries, oldest first.
+   * Entries already claimed by someone else and whose lease isn't expired are skipped, as well as the dead ones.
+   *
+   * @param session      the current session.
+   * @param batchSize    the maximum number of entries to claim.
+   * @param leaseSeconds the lease duration, in seconds.
+   * @param maxAttempts  the number of claims after which an entry is dead.
+   * @return the claimed entries.
+   * @throws HibernateException in case of data access failure.
+   */
+  public List<FULL_CACHE_QUEUE> claim(final Session session, final int batchSize, final int leaseSeconds, final int maxAttempts) throws HibernateException {
+    try (final PreparedStatement statement = session.connection().prepareStatement(
+      "update full_cache_queue q set claimed_until = now() + ? * interval '1 second', attempts = q.attempts + 1 "
+        + "from (select record_id, user_view from full_cache_queue "
+        + "      where (claimed_until is null or claimed_until < now()) and attempts < ? "
+        + "      order by enqueued_at limit ? for update skip locked) c "
+        + "where q.record_id = c.record_id and q.user_view = c.user_view "
+        + "returning q.record_id, q.user_view, q.changes, q.enqueued_at, q.attempts")) {
+      statement.setInt(1, leaseSeconds);
+      statement.setInt(2, maxAttempts);
+      statement.setInt(3, batchSize);
+      final List<FULL_CACHE_QUEUE> entries = new ArrayList<>();
+      try (final ResultSet rs = statement.executeQuery()) {
+        while (rs.next()) {
+          entries.add(new FULL_CACHE_QUEUE(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getTimestamp(4), rs.getInt(5)));
+        }
+      }
+      return entries;
+    } catch (final SQLException exception) {
+      throw new HibernateException(exception);
+    }
+  }
+
+  /**
+   * Marks the given entry as served.
+   * If the record changed again after the entry has been claimed, the entry is released (instead of being removed)
+   * so that it will be served again.
+   *
+   * @param session the current session.
+   * @param entry   the claimed entry.
+   * @return true if the entry has been removed, false if it has been released.
+   * @throws HibernateException in case of data access failure.
+   */
+  public boolean complete(final Session session, final FULL_CACHE_QUEUE entry) throws HibernateException {
+    try (final PreparedStatement statement = session.connection().prepareStatement(
+      "delete from full_cache_queue where record_id = ? and user_view = ? and changes = ?")) {
+      statement.setInt(1, entry.getItemNumber());
+      statement.setInt(2, entry.getUserView());
+      statement.setInt(3, entry.getChanges());
+      if (statement.executeUpdate() > 0) {
+        return true;
+      }
+    } catch (final SQLException exception) {
+      throw new HibernateException(exception);
+    }
+    release(session, entry);
+    return false;
+  }
+
+  /**
+   * Removes the given entry, whatever happened to its record in the meantime (e.g. because the record doesn't exist
+   * anymore).
+   *
+   * @param session the current session.
+   * @param entry   the claimed entry.
+   * @throws HibernateException in case of data access failure.
+   */
+  public void remove(final Session session, final FULL_CACHE_QUEUE entry) throws HibernateException {
+    try (final PreparedStatement statement = session.connection().prepareStatement(
+      "delete from full_cache_queue where record_id = ? and user_view = ?")) {
+      statement.setInt(1, entry.getItemNumber());
+      statement.setInt(2, entry.getUserView());
+      statement.executeUpdate();
+    } catch (final SQLException exception) {
+      throw new HibernateException(exception);
+    }
+  }
+
+  /**
+   * Releases the given entry, making it immediately available to the next claim with a new set of attempts.
+   *
+   * @param session the current session.
+   * @param entry   the claimed entry.
+   * @throws HibernateException in case of data access failure.
+   */
+  public void release(final Session session, final FULL_CACHE_QUEUE entry) throws HibernateException {
+    try (final PreparedStatement statement = session.connection().prepareStatement(
+      "update full_cache_queue set claimed_until = null, attempts = 0 where record_id = ? and user_view = ?")) {
+      statement.setInt(1, entry.getItemNumber());
+      statement.setInt(2, entry.getUserView());
+      statement.executeUpdate();
+    } catch (final SQLException exception) {
+      throw new HibernateException(exception);
+    }
+  }
+
+  /**
+   * Returns the queue depth (i.e. the number of pending entries), lag (i.e. the age of the oldest pending entry, in
+   * milliseconds) and the number of dead entries (not included in the depth).
+   *
+   * @param session     the current session.
+   * @param maxAttempts the number of claims after which an entry is dead.
+   * @return the queue depth, lag and dead entries.
+   * @throws HibernateException in case of data access failure.
+   */
+  public Map<String, Long> statistics(final Session session, final int maxAttempts) throws HibernateException {
+    try (final PreparedStatement statement = session.connection().prepareStatement(
+      "select count(*) filter (where attempts < ?), min(enqueued_at) filter (where attempts < ?), now(), "
+        + "count(*) filter (where attempts >= ?) from full_cache_queue")) {
+      statement.setInt(1, maxAttempts);
+      statement.setInt(2, maxAttempts);
+      statement.setInt(3, maxAttempts);
+      try (final ResultSet rs = statement.executeQuery()) {
+        final Map<String, Long> statistics = new HashMap<>();
+        rs.next();
+        final Timestamp oldest = rs.getTimestamp(2);
+        statistics.put("depth", rs.getLong(1));
+        statistics.put("lag", oldest != null ? rs.getTimestamp(3).getTime() - oldest.getTime() : 0L);
+        statistics.put("dead", rs.getLong(4));
+        return statistics;
+      }
+    } catch (final SQLException exception) {
+      throw new HibernateException(exception);
+    }
+  }
+}
@@ -0,0 +1,198 @@
+package org.folio.marccat.dao;
+
+import net.sf.hibernate.HibernateException;
+import net.sf.hibernate.Session;
+import net.sf.hibernate.Transaction;
+import org.folio.marccat.business.common.View;
+import org.folio.marccat.dao.persistence.FULL_CACHE_REBUILD;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class representing the access to the tables involved in a full FULL_CACHE rebuild: the FULL_CACHE_REBUILD
+ * checkpoints, the record identifiers in BIB_ITM and FULL_CACHE itself (written with batch upserts).
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public class DAOFullCacheRebuild extends AbstractDAO {
+
+  /**
+   * Returns the checkpoints of the rebuild of the given view.
+   *
+   * @param session  the current session.
+   * @param userView the record view.
+   * @return the checkpoints of the rebuild of the given view, empty if no rebuild is in progress.
+   * @throws HibernateException in case of data access failure.
+   */
+  public List<FULL_CACHE_REBUILD> checkpoints(final Session session, final int userView) throws HibernateException {
+    try (final PreparedStatement statement = session.connection().prepareStatement(
+      "select partition_start, partition_end, last_record_id from full_cache_rebuild "
+        + "where user_view = ? order by partition_start")) {
+      statement.setInt(1, userView);
+      final List<FULL_CACHE_REBUILD> checkpoints = new ArrayList<>();
+      try (final ResultSet rs = statement.executeQuery()) {
+        while (rs.next()) {
+          checkpoints.add(new FULL_CACHE_REBUILD(userView, rs.getInt(1), rs.getInt(2), rs.getInt(3)));
+        }
+      }
+      return checkpoints;
+    } catch (final SQLException exception) {
+      throw new HibernateException(exception);
+    }
+  }
+
+  /**
+   * Splits the record identifiers of the given view in (at most) the given number of ranges and creates a checkpoint
+   * for each of them.
+   *
+   * @param session    the current session.
+   * @param userView   the record view.
+   * @param partitions the number of partitions.
+   * @return the new checkpoints.
+   * @throws HibernateException in case of data access failure.
+   */
+  public List<FULL_CACHE_REBUILD> plan(final Session session, final int userView, final int partitions) throws HibernateException {
+    final List<FULL_CACHE_REBUILD> checkpoints = new ArrayList<>();
+    final Transaction transaction = getTransaction(session);
+    try {
+      final Connection connection = session.connection();
+      int min = 0;
+      int max = 0;
+      try (final PreparedStatement statement = connection.prepareStatement(
+        "select min(bib_itm_nbr), max(bib_itm_nbr) from bib_itm where usr_vw_ind = ?")) {
+        statement.setString(1, View.makeSingleViewString(userView));
+        try (final ResultSet rs = statement.executeQuery()) {
+          if (rs.next()) {
+            min = rs.getInt(1);
+            max = rs.getInt(2);
+          }
+        }
+      }
+
+      if (max > 0) {
+        final long width = Math.max(1, ((long) max - min + 1) / Math.max(1, partitions) + 1);
+        try (final PreparedStatement statement = connection.prepareStatement(
+          "insert into full_cache_rebuild (user_view, partition_start, partition_end, last_record_id, updated_at) "
+            + "values (?, ?, ?, ?, now())")) {
+          for (long start = min - 1L; start < max; start += width) {
+            final FULL_CACHE_REBUILD checkpoint =
+              new FULL_CACHE_REBUILD(userView, (int) start, (int) Math.min(max, start + width), (int) start);
+            statement.setInt(1, userView);
+            statement.setInt(2, checkpoint.getPartitionStart());
+            statement.setInt(3, checkpoint.getPartitionEnd());
+            statement.setInt(4, checkpoint.getLastItemNumber());
+            statement.addBatch();
+            checkpoints.add(checkpoint);
+          }
+          statement.executeBatch();
+        }
+      }
+      transaction.commit();
+    } catch (final Exception exception) {
+      cleanUp(transaction);
+      throw new HibernateException(exception);
+    }
+    return checkpoints;
+  }
+
+  /**
+   * Returns the identifiers of the next records to be rebuilt in the given partition.
+   *
+   * @param session    the current session.
+   * @param checkpoint the partition checkpoint.
+   * @param limit      the maximum number of identifiers.
+   * @return the identifiers of the next records to be rebuilt, in ascending order.
+   * @throws HibernateException in case of data access failure.
+   */
+  public List<Integer> nextItemNumbers(final Session session, final FULL_CACHE_REBUILD checkpoint, final int limit) throws HibernateException {
+    try (final PreparedStatement statement = session.connection().prepareStatement(
+      "select bib_itm_nbr from bib_itm where usr_vw_ind = ? and bib_itm_nbr > ? and bib_itm_nbr <= ? "
+        + "order by bib_itm_nbr limit ?")) {
+      statement.setString(1, View.makeSingleViewString(checkpoint.getUserView()));
+      statement.setInt(2, checkpoint.getLastItemNumber());
+      statement.setInt(3, checkpoint.getPartitionEnd());
+      statement.setInt(4, limit);
+      final List<Integer> itemNumbers = new ArrayList<>(limit);
+      try (final ResultSet rs = statement.executeQuery()) {
+        while (rs.next()) {
+          itemNumbers.add(rs.getInt(1));
+        }
+      }
+      return itemNumbers;
+    } catch (final SQLException exception) {
+      throw new HibernateException(exception);
+    }
+  }
+
+  /**
+   * Writes the given records in FULL_CACHE and moves the partition checkpoint forward, within the same transaction.
+   *
+   * @param session        the current session.
+   * @param checkpoint     the partition checkpoint.
+   * @param records        the record data, by record identifier.
+   * @param lastItemNumber the highest record identifier processed (including the records which failed).
+   * @throws HibernateException in case of data access failure.
+   */
+  public void write(
+    final Session session,
+    final FULL_CACHE_REBUILD checkpoint,
+    final Map<Integer, String> records,
+    final int lastItemNumber) throws HibernateException {
+    final Transaction transaction = getTransaction(session);
+    try {
+      final Connection connection = session.connection();
+      try (final PreparedStatement statement = connection.prepareStatement(
+        "insert into full_cache (record_id, user_view, record_data) values (?, ?, ?) "
+          + "on conflict (record_id, user_view) do update set record_data = excluded.record_data")) {
+        for (final Map.Entry<Integer, String> record : records.entrySet()) {
+          statement.setInt(1, record.getKey());
+          statement.setInt(2, checkpoint.getUserView());
+          statement.setString(3, record.getValue());
+          statement.addBatch();
+        }
+        statement.executeBatch();
+      }
+
+      try (final PreparedStatement statement = connection.prepareStatement(
+        "update full_cache_rebuild set last_record_id = ?, updated_at = now() "
+          + "where user_view = ? and partition_start = ?")) {
+        statement.setInt(1, lastItemNumber);
+        statement.setInt(2, checkpoint.getUserView());
+        statement.setInt(3, checkpoint.getPartitionStart());
+        statement.executeUpdate();
+      }
+      transaction.commit();
+      checkpoint.setLastItemNumber(lastItemNumber);
+    } catch (final Exception exception) {
+      cleanUp(transaction);
+      throw new HibernateException(exception);
+    }
+  }
+
+  /**
+   * Removes the checkpoints of the given view.
+   *
+   * @param session  the current session.
+   * @param userView the record view.
+   * @throws HibernateException in case of data access failure.
+   */
+  public void clear(final Session session, final int userView) throws HibernateException {
+    final Transaction transaction = getTransaction(session);
+    try (final PreparedStatement statement = session.connection().prepareStatement(
+      "delete from full_cache_rebuild where user_view = ?")) {
+      statement.setInt(1, userView);
+      statement.executeUpdate();
+      transaction.commit();
+    } catch (final Exception exception) {
+      cleanUp(transaction);
+      throw new HibernateException(exception);
+    }
+  }
+}
@@ -9,7 +9,6 @@ import org.apache.commons.logging.LogFactory;
 import org.folio.marccat.business.codetable.Avp;
 import org.folio.marccat.business.codetable.IndexListElement;
 import org.folio.marccat.business.descriptor.SortFormParameters;
-import org.folio.marccat.dao.common.HibernateUtil;
 import org.folio.marccat.dao.persistence.IndexList;
 import org.folio.marccat.dao.persistence.IndexListKey;
 import org.folio.marccat.exception.DataAccessException;
@@ -25,7 +24,7 @@ import static java.util.stream.Collectors.toList;
  * @author carment
  * @since 1.0
  */
-public class DAOIndexList extends HibernateUtil {
+public class DAOIndexList extends AbstractDAO {
   private static final Log logger = LogFactory.getLog(DAOIndexList.class);
 
 
@@ -85,7 +84,8 @@ public class DAOIndexList extends HibernateUtil {
     SortFormParameters result = null;
     IndexListKey ilk = new IndexListKey(indexKey);
     List l =
-      session.find(
+      findCacheable(
+        session,
         "from IndexList as t where t.key.keyNumber = ? "
           + " and trim(t.key.typeCode) = ? "
           + " and t.codeLibriCatMades = 'LC'"
@@ -113,10 +113,17 @@ public class DAOIndexList extends HibernateUtil {
 
   public IndexList getIndexByLocalAbbreviation(final Session session, String s, Locale locale) throws DataAccessException {
 
-    List l = find(session, "from IndexList as a "
-      + "where lower(a.languageCode) = '" + s.toLowerCase() + "'"
-      + " and a.key.language = '" + locale.getISO3Language() + "'"
-      + " and a.codeLibriCatMades = 'LC'");
+    final List l;
+    try {
+      l = findCacheable(session, "from IndexList as a "
+          + "where lower(a.languageCode) = ?"
+          + " and a.key.language = ?"
+          + " and a.codeLibriCatMades = 'LC'",
+        new Object[]{s.toLowerCase(), locale.getISO3Language()},
+        new Type[]{Hibernate.STRING, Hibernate.STRING});
+    } catch (final HibernateException exception) {
+      throw new DataAccessException(exception);
+    }
     if (l.size() > 0) {
       return (IndexList) l.get(0);
     } else {
@@ -133,7 +140,7 @@ public class DAOIndexList extends HibernateUtil {
    */
   @SuppressWarnings("unchecked")
   public List<IndexListElement> getIndexByQuery(final String query, final Session session) throws HibernateException {
-    final List<IndexList> indexesList = session.find(query);
+    final List<IndexList> indexesList = session.createQuery(query).setCacheable(true).list();
     return indexesList.stream().map(index -> {
       return new IndexListElement(
         index.getLanguageCode(),
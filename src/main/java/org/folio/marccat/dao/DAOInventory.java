@@ -11,8 +11,11 @@ import net.sf.hibernate.Hibernate;
 import net.sf.hibernate.HibernateException;
 import net.sf.hibernate.LockMode;
 import net.sf.hibernate.Session;
+import net.sf.hibernate.Transaction;
 import net.sf.hibernate.type.Type;
-import org.folio.marccat.dao.common.TransactionalHibernateOperation;
+import org.folio.marccat.config.Global;
+import org.folio.marccat.dao.common.KeyBlockAllocator;
+import org.folio.marccat.dao.common.TenantContext;
 import org.folio.marccat.dao.persistence.Inventory;
 import org.folio.marccat.dao.persistence.S_INVTRY;
 import org.folio.marccat.exception.DataAccessException;
@@ -25,6 +28,7 @@ import java.util.List;
  * @since 1.0
  */
 public class DAOInventory extends AbstractDAO {
+  private static final KeyBlockAllocator ALLOCATOR = new KeyBlockAllocator("S_INVTRY", Global.KEY_BLOCK_SIZE);
 
 
   private boolean isSerial(Inventory item) throws DataAccessException {
@@ -119,25 +123,39 @@ public class DAOInventory extends AbstractDAO {
 		}*/
   }
 
-  public int getNextNumber(final int mainLibrary)
-    throws DataAccessException {
-    final S_INVTRY nextNumber =
-      (S_INVTRY) get(S_INVTRY.class,
-        new Integer(mainLibrary),
-        LockMode.UPGRADE);
-    int j = nextNumber.getNextNumber();
-    new TransactionalHibernateOperation() {
-      public void doInHibernateTransaction(Session s)
-        throws HibernateException {
-        int i = nextNumber.getNextNumber() + 1;
-        nextNumber.setNextNumber(i);
-        s.update(nextNumber);
-      }
-    }
-      .execute();
+  /**
+   * Returns the next inventory number of the given main library.
+   * Numbers are handed out from a block reserved in S_INVTRY (see {@link KeyBlockAllocator}); when no tenant is
+   * bound to the current thread the counter row is updated for each number.
+   *
+   * @param mainLibrary the main library identifier.
+   * @param session     the current session.
+   * @return the next inventory number.
+   * @throws HibernateException in case of data access failure.
+   */
+  public int getNextNumber(final int mainLibrary, final Session session) throws HibernateException {
+    final String tenant = TenantContext.current();
+    return tenant != null
+      ? ALLOCATOR.next(tenant, String.valueOf(mainLibrary), size -> reserve(mainLibrary, size, session))
+      : reserve(mainLibrary, 1, session);
+  }
 
-    return /*nextNumber.getNextNumber()*/j;
+  private int reserve(final int mainLibrary, final int size, final Session session) throws HibernateException {
+    final S_INVTRY nextNumber = (S_INVTRY) get(session, S_INVTRY.class, mainLibrary, LockMode.UPGRADE);
+    final int first = nextNumber.getNextNumber();
+
+    final Transaction transaction = getTransaction(session);
+    try {
+      nextNumber.setNextNumber(first + size);
+      session.update(nextNumber);
+      transaction.commit();
+    } catch (Exception e) {
+      cleanUp(transaction);
+      throw new HibernateException(e);
+    }
+    return first;
   }
 
 
+
 }
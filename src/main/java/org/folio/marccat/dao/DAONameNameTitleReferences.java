@@ -31,7 +31,7 @@ public class DAONameNameTitleReferences extends DAOCrossReferences {
           + " where ref.nameHeadingNumber = ? AND "
           + " ref.nameTitleHeadingNumber = ? AND "
           + " ref.sourceHeadingType = 'MH' AND "
-          + " substr(ref.userViewString, ?, 1) = '1' AND "
+          + " " + inView("ref.userViewString", cataloguingView) + " AND "
           + " ref.type = ?";
 
     } else {
@@ -40,7 +40,7 @@ public class DAONameNameTitleReferences extends DAOCrossReferences {
           + " where ref.nameTitleHeadingNumber = ? AND "
           + " ref.nameHeadingNumber = ? AND "
           + " ref.sourceHeadingType = 'NH' AND "
-          + " substr(ref.userViewString, ?, 1) = '1' AND "
+          + " " + inView("ref.userViewString", cataloguingView) + " AND "
           + " ref.type = ?";
     }
     List l =
@@ -49,10 +49,8 @@ public class DAONameNameTitleReferences extends DAOCrossReferences {
         new Object[]{
           ref.getSource(),
           ref.getTarget(),
-          cataloguingView,
           reciprocalType},
         new Type[]{
-          Hibernate.INTEGER,
           Hibernate.INTEGER,
           Hibernate.INTEGER,
           Hibernate.INTEGER});
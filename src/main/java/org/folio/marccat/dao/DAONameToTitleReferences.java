@@ -38,7 +38,7 @@ public class DAONameToTitleReferences extends DAOCrossReferences {
         "from NME_TO_TTL_REF as ref "
           + " where ref.nameHeadingNumber = ? AND "
           + " ref.titleHeadingNumber = ? AND "
-          + " substr(ref.userViewString, ?, 1) = '1' AND "
+          + " " + inView("ref.userViewString", cataloguingView) + " AND "
           + " ref.type = ?";
 
     } else {
@@ -46,7 +46,7 @@ public class DAONameToTitleReferences extends DAOCrossReferences {
         "from NME_NME_TTL_REF as ref "
           + " where ref.titleHeadingNumber = ? AND "
           + " ref.nameHeadingNumber = ? AND "
-          + " substr(ref.userViewString, ?, 1) = '1' AND "
+          + " " + inView("ref.userViewString", cataloguingView) + " AND "
           + " ref.type = ?";
     }
     List l =
@@ -55,10 +55,8 @@ public class DAONameToTitleReferences extends DAOCrossReferences {
         new Object[]{
           ref.getSource(),
           ref.getTarget(),
-          cataloguingView,
           reciprocalType},
         new Type[]{
-          Hibernate.INTEGER,
           Hibernate.INTEGER,
           Hibernate.INTEGER,
           Hibernate.INTEGER});
@@ -38,7 +38,7 @@ public class DAOTitleNameTitleReferences extends DAOCrossReferences {
           + " where ref.titleHeadingNumber = ? AND "
           + " ref.nameTitleHeadingNumber = ? AND "
           + " ref.sourceHeadingType = 'MH' AND "
-          + " substr(ref.userViewString, ?, 1) = '1' AND "
+          + " " + inView("ref.userViewString", cataloguingView) + " AND "
           + " ref.type = ?";
 
     } else {
@@ -47,7 +47,7 @@ public class DAOTitleNameTitleReferences extends DAOCrossReferences {
           + " where ref.nameTitleHeadingNumber = ? AND "
           + " ref.titleHeadingNumber = ? AND "
           + " ref.sourceHeadingType = 'TH' AND "
-          + " substr(ref.userViewString, ?, 1) = '1' AND "
+          + " " + inView("ref.userViewString", cataloguingView) + " AND "
           + " ref.type = ?";
     }
     List l =
@@ -56,10 +56,8 @@ public class DAOTitleNameTitleReferences extends DAOCrossReferences {
         new Object[]{
           ref.getSource(),
           ref.getTarget(),
-          cataloguingView,
           reciprocalType},
         new Type[]{
-          Hibernate.INTEGER,
           Hibernate.INTEGER,
           Hibernate.INTEGER,
           Hibernate.INTEGER});
@@ -0,0 +1,441 @@
+package org.folio.marccat.dao;
+
+import net.sf.hibernate.HibernateException;
+import net.sf.hibernate.Session;
+import net.sf.hibernate.Transaction;
+import org.folio.marccat.business.common.View;
+import org.folio.marccat.dao.common.HeadingUsage;
+import org.folio.marccat.dao.common.TenantContext;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Class representing the access to the heading usage counters (HDG_USG_CNT).
+ * A counter is read with a primary key lookup; a missing counter is computed from the usage table and stored, so
+ * counters fill up as headings are browsed. Counters are kept up to date by the {@link HeadingUsageInterceptor},
+ * which applies the variations caused by each flush, and rebuilt from scratch by {@link #reconcile}.
+ * Counters are grouped in chunks of {@link #CHUNK} consecutive heading numbers, each guarded by an advisory lock:
+ * sessions applying variations hold it shared, while a counter is being created or a chunk is being reconciled it is
+ * held exclusively, so that no variation committed in the meantime gets lost.
+ * When the counters table doesn't exist (i.e. the schema migrations couldn't be applied) counts are read from the
+ * usage tables.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public class HeadingUsageDAO extends AbstractDAO {
+  static final int VIEWS = 16;
+  static final int CHUNK = 1024;
+  private static final int LOCK_SPACE = 0x48550000;
+  private static final Set<String> AVAILABLE = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Returns true if the counters table exists in the database of the current tenant.
+   * Only the positive answer is cached, so that the counters are used as soon as the migrations succeed.
+   *
+   * @param connection the current connection.
+   * @return true if the counters table exists.
+   * @throws SQLException in case of data access failure.
+   */
+  static boolean isAvailable(final Connection connection) throws SQLException {
+    final String tenant = TenantContext.current();
+    if (tenant != null && AVAILABLE.contains(tenant)) {
+      return true;
+    }
+
+    try (final PreparedStatement statement = connection.prepareStatement("select to_regclass('hdg_usg_cnt') is not null");
+         final ResultSet rs = statement.executeQuery()) {
+      final boolean available = rs.next() && rs.getBoolean(1);
+      if (available && tenant != null) {
+        AVAILABLE.add(tenant);
+      }
+      return available;
+    }
+  }
+
+  /**
+   * Returns true if the counters table exists in the database of the current tenant.
+   *
+   * @param session the current session.
+   * @return true if the counters table exists.
+   * @throws HibernateException in case of data access failure.
+   */
+  public boolean isAvailable(final Session session) throws HibernateException {
+    try {
+      return isAvailable(session.connection());
+    } catch (final SQLException exception) {
+      throw new HibernateException(exception);
+    }
+  }
+
+  /**
+   * Returns the number of distinct owners (records or name/title headings) linked to the given heading.
+   * A missing counter is created holding the lock of its chunk exclusively, and read again once the lock is acquired,
+   * since another session may have created it in the meantime.
+   *
+   * @param usage         the usage table.
+   * @param headingNumber the heading number.
+   * @param view          the view, {@link View#ANY} for any view.
+   * @param session       the current session.
+   * @return the number of distinct owners linked to the given heading in the given view.
+   * @throws HibernateException in case of data access failure.
+   */
+  public int getCount(final HeadingUsage usage, final int headingNumber, final int view, final Session session) throws HibernateException {
+    try {
+      final Connection connection = session.connection();
+      if (view < View.ANY || view > VIEWS || !isAvailable(connection)) {
+        return countUsages(connection, usage, headingNumber, view);
+      }
+
+      final Integer stored = readCount(connection, usage, headingNumber, view);
+      if (stored != null) {
+        return stored;
+      }
+    } catch (final SQLException exception) {
+      throw new HibernateException(exception);
+    }
+
+    final Transaction transaction = getTransaction(session);
+    try {
+      final Connection connection = session.connection();
+      lockChunk(connection, usage, headingNumber / CHUNK, true);
+      Integer count = readCount(connection, usage, headingNumber, view);
+      if (count == null) {
+        count = countUsages(connection, usage, headingNumber, view);
+        try (final PreparedStatement statement = connection.prepareStatement(
+          "insert into hdg_usg_cnt (usg_typ_cde, hdg_nbr, usr_vw_nbr, doc_cnt) values (?, ?, ?, ?)")) {
+          statement.setString(1, usage.name());
+          statement.setInt(2, headingNumber);
+          statement.setInt(3, view);
+          statement.setInt(4, count);
+          statement.executeUpdate();
+        }
+      }
+      transaction.commit();
+      return count;
+    } catch (final Exception exception) {
+      cleanUp(transaction);
+      throw new HibernateException(exception);
+    }
+  }
+
+  /**
+   * Returns the number of distinct owners linked to each of the given headings, with at most two queries: the
+   * counters are read at once and the headings whose counter is missing are counted together from the usage table.
+   * Missing counters are not created here, since that requires the exclusive lock of their chunks: they are created
+   * by {@link #getCount} and {@link #reconcile}.
+   *
+   * @param usage          the usage table.
+   * @param headingNumbers the heading numbers.
+   * @param view           the view, {@link View#ANY} for any view.
+   * @param session        the current session.
+   * @return the number of distinct owners linked to each heading in the given view, by heading number.
+   * @throws HibernateException in case of data access failure.
+   */
+  public Map<Integer, Integer> getCounts(
+    final HeadingUsage usage,
+    final Collection<Integer> headingNumbers,
+    final int view,
+    final Session session) throws HibernateException {
+    final Map<Integer, Integer> counts = new HashMap<>();
+    if (headingNumbers.isEmpty()) {
+      return counts;
+    }
+
+    try {
+      final Connection connection = session.connection();
+      final Set<Integer> missing = new HashSet<>(headingNumbers);
+      if (view >= View.ANY && view <= VIEWS && isAvailable(connection)) {
+        try (final PreparedStatement statement = connection.prepareStatement(
+          "select hdg_nbr, doc_cnt from hdg_usg_cnt where usg_typ_cde = ? and usr_vw_nbr = ? and hdg_nbr in ("
+            + String.join(", ", Collections.nCopies(missing.size(), "?")) + ")")) {
+          statement.setString(1, usage.name());
+          statement.setInt(2, view);
+          int parameter = 3;
+          for (final int headingNumber : missing) {
+            statement.setInt(parameter++, headingNumber);
+          }
+          try (final ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+              counts.put(rs.getInt(1), rs.getInt(2));
+            }
+          }
+        }
+        missing.removeAll(counts.keySet());
+      }
+
+      if (!missing.isEmpty()) {
+        try (final PreparedStatement statement = connection.prepareStatement(
+          "select " + usage.getHeadingColumn() + ", count(distinct " + usage.getOwnerColumn() + ") from " + usage.getTable()
+            + " where " + usage.getHeadingColumn() + " in (" + String.join(", ", Collections.nCopies(missing.size(), "?")) + ")"
+            + (view != View.ANY ? " and " + inView("usr_vw_ind", view) : "")
+            + " group by " + usage.getHeadingColumn())) {
+          int parameter = 1;
+          for (final int headingNumber : missing) {
+            statement.setInt(parameter++, headingNumber);
+          }
+          try (final ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+              counts.put(rs.getInt(1), rs.getInt(2));
+            }
+          }
+        }
+        missing.forEach(headingNumber -> counts.putIfAbsent(headingNumber, 0));
+      }
+      return counts;
+    } catch (final SQLException exception) {
+      throw new HibernateException(exception);
+    }
+  }
+
+  /**
+   * Reads all the counters of the given usage in the given view, as they are: headings whose counter is missing
+   * count 0. Without the counters table, all the counts are computed from the usage table.
+   * Counters are kept in two sorted arrays, so that the counters of a whole heading table fit in memory.
+   *
+   * @param usage   the usage table.
+   * @param view    the view, {@link View#ANY} for any view.
+   * @param session the current session.
+   * @return the function returning the counter of a heading number.
+   * @throws HibernateException in case of data access failure.
+   */
+  public IntUnaryOperator getCounts(final HeadingUsage usage, final int view, final Session session) throws HibernateException {
+    int[] headings = new int[1024];
+    int[] counts = new int[1024];
+    int size = 0;
+    try {
+      final Connection connection = session.connection();
+      final boolean available = isAvailable(connection);
+      try (final PreparedStatement statement = connection.prepareStatement(available
+        ? "select hdg_nbr, doc_cnt from hdg_usg_cnt where usg_typ_cde = ? and usr_vw_nbr = ? order by hdg_nbr"
+        : "select " + usage.getHeadingColumn() + ", count(distinct " + usage.getOwnerColumn() + ") from " + usage.getTable()
+        + " where " + usage.getHeadingColumn() + " is not null"
+        + (view != View.ANY ? " and " + inView("usr_vw_ind", view) : "")
+        + " group by " + usage.getHeadingColumn() + " order by " + usage.getHeadingColumn())) {
+        if (available) {
+          statement.setString(1, usage.name());
+          statement.setInt(2, view);
+        }
+        statement.setFetchSize(10000);
+        try (final ResultSet rs = statement.executeQuery()) {
+          while (rs.next()) {
+            if (size == headings.length) {
+              headings = Arrays.copyOf(headings, size * 2);
+              counts = Arrays.copyOf(counts, size * 2);
+            }
+            headings[size] = rs.getInt(1);
+            counts[size++] = rs.getInt(2);
+          }
+        }
+      }
+    } catch (final SQLException exception) {
+      throw new HibernateException(exception);
+    }
+
+    final int[] headingNumbers = headings;
+    final int[] values = counts;
+    final int length = size;
+    return headingNumber -> {
+      final int position = Arrays.binarySearch(headingNumbers, 0, length, headingNumber);
+      return position >= 0 ? values[position] : 0;
+    };
+  }
+
+  /**
+   * Rebuilds all the counters of the given usage from the usage table, one chunk of heading numbers at time: each
+   * chunk is rebuilt in its own transaction, holding the lock of the chunk exclusively.
+   *
+   * @param usage   the usage table.
+   * @param session the current session.
+   * @return the number of counters written.
+   * @throws HibernateException in case of data access failure.
+   */
+  public int reconcile(final HeadingUsage usage, final Session session) throws HibernateException {
+    int written = 0;
+    int from = 0;
+    Integer headingNumber;
+    while ((headingNumber = nextHeading(usage, from, session)) != null) {
+      final int chunk = headingNumber / CHUNK;
+      final Transaction transaction = getTransaction(session);
+      try {
+        final Connection connection = session.connection();
+        lockChunk(connection, usage, chunk, true);
+        try (final PreparedStatement statement = connection.prepareStatement(
+          "delete from hdg_usg_cnt where usg_typ_cde = ? and hdg_nbr >= ? and hdg_nbr < ?")) {
+          statement.setString(1, usage.name());
+          statement.setInt(2, chunk * CHUNK);
+          statement.setInt(3, (chunk + 1) * CHUNK);
+          statement.executeUpdate();
+        }
+
+        try (final PreparedStatement statement = connection.prepareStatement(
+          "insert into hdg_usg_cnt (usg_typ_cde, hdg_nbr, usr_vw_nbr, doc_cnt) "
+            + "select ?, u." + usage.getHeadingColumn() + ", v.vw, count(distinct u." + usage.getOwnerColumn() + ") "
+            + "from " + usage.getTable() + " u "
+            + "join generate_series(0, " + VIEWS + ") as v(vw) on v.vw = 0 or substr(u.usr_vw_ind, v.vw, 1) = '1' "
+            + "where u." + usage.getHeadingColumn() + " >= ? and u." + usage.getHeadingColumn() + " < ? "
+            + "group by u." + usage.getHeadingColumn() + ", v.vw")) {
+          statement.setString(1, usage.name());
+          statement.setInt(2, chunk * CHUNK);
+          statement.setInt(3, (chunk + 1) * CHUNK);
+          written += statement.executeUpdate();
+        }
+        transaction.commit();
+      } catch (final Exception exception) {
+        cleanUp(transaction);
+        throw new HibernateException(exception);
+      }
+      from = (chunk + 1) * CHUNK;
+    }
+    return written;
+  }
+
+  /**
+   * Returns the first heading number, not less than the given one, having either usages or counters.
+   */
+  private Integer nextHeading(final HeadingUsage usage, final int from, final Session session) throws HibernateException {
+    try (final PreparedStatement statement = session.connection().prepareStatement(
+      "select least("
+        + "(select min(" + usage.getHeadingColumn() + ") from " + usage.getTable() + " where " + usage.getHeadingColumn() + " >= ?), "
+        + "(select min(hdg_nbr) from hdg_usg_cnt where usg_typ_cde = ? and hdg_nbr >= ?))")) {
+      statement.setInt(1, from);
+      statement.setString(2, usage.name());
+      statement.setInt(3, from);
+      try (final ResultSet rs = statement.executeQuery()) {
+        if (rs.next()) {
+          final int headingNumber = rs.getInt(1);
+          return rs.wasNull() ? null : headingNumber;
+        }
+        return null;
+      }
+    } catch (final SQLException exception) {
+      throw new HibernateException(exception);
+    }
+  }
+
+  /**
+   * Returns the views in which the given owner is linked to each heading, as bit masks: bit 0 is set for any view,
+   * bit n for view n.
+   *
+   * @param connection the current connection.
+   * @param usage      the usage table.
+   * @param owner      the owner (record or name/title heading number).
+   * @return the view masks of the given owner, by heading number.
+   * @throws SQLException in case of data access failure.
+   */
+  static Map<Integer, Integer> viewMasks(final Connection connection, final HeadingUsage usage, final int owner) throws SQLException {
+    final Map<Integer, Integer> masks = new HashMap<>();
+    try (final PreparedStatement statement = connection.prepareStatement(
+      "select " + usage.getHeadingColumn() + ", usr_vw_ind from " + usage.getTable()
+        + " where " + usage.getOwnerColumn() + " = ? and " + usage.getHeadingColumn() + " is not null")) {
+      statement.setInt(1, owner);
+      try (final ResultSet rs = statement.executeQuery()) {
+        while (rs.next()) {
+          masks.merge(rs.getInt(1), View.toViewMask(rs.getString(2)), (a, b) -> a | b);
+        }
+      }
+    }
+    return masks;
+  }
+
+  /**
+   * Applies to the counters the difference between the view masks of an owner before and after a change, holding
+   * the locks of the changed chunks shared until the end of the transaction.
+   *
+   * @param connection the current connection.
+   * @param usage      the usage table.
+   * @param before     the view masks before the change, by heading number.
+   * @param after      the view masks after the change, by heading number.
+   * @throws SQLException in case of data access failure.
+   */
+  static void applyVariations(
+    final Connection connection,
+    final HeadingUsage usage,
+    final Map<Integer, Integer> before,
+    final Map<Integer, Integer> after) throws SQLException {
+    final Set<Integer> headings = new HashSet<>(before.keySet());
+    headings.addAll(after.keySet());
+    headings.removeIf(heading -> before.getOrDefault(heading, 0).equals(after.getOrDefault(heading, 0)));
+    if (headings.isEmpty()) {
+      return;
+    }
+
+    final Set<Integer> chunks = new TreeSet<>();
+    headings.forEach(heading -> chunks.add(heading / CHUNK));
+    for (final int chunk : chunks) {
+      lockChunk(connection, usage, chunk, false);
+    }
+
+    try (final PreparedStatement statement = connection.prepareStatement(
+      "update hdg_usg_cnt set doc_cnt = doc_cnt + ? where usg_typ_cde = ? and hdg_nbr = ? and usr_vw_nbr = ?")) {
+      boolean pending = false;
+      for (final int heading : headings) {
+        final int was = before.getOrDefault(heading, 0);
+        final int is = after.getOrDefault(heading, 0);
+        for (int view = View.ANY; view <= VIEWS; view++) {
+          final int variation = ((is >>> view) & 1) - ((was >>> view) & 1);
+          if (variation != 0) {
+            statement.setInt(1, variation);
+            statement.setString(2, usage.name());
+            statement.setInt(3, heading);
+            statement.setInt(4, view);
+            statement.addBatch();
+            pending = true;
+          }
+        }
+      }
+      if (pending) {
+        statement.executeBatch();
+      }
+    }
+  }
+
+  private static Integer readCount(final Connection connection, final HeadingUsage usage, final int headingNumber, final int view) throws SQLException {
+    try (final PreparedStatement statement = connection.prepareStatement(
+      "select doc_cnt from hdg_usg_cnt where usg_typ_cde = ? and hdg_nbr = ? and usr_vw_nbr = ?")) {
+      statement.setString(1, usage.name());
+      statement.setInt(2, headingNumber);
+      statement.setInt(3, view);
+      try (final ResultSet rs = statement.executeQuery()) {
+        return rs.next() ? rs.getInt(1) : null;
+      }
+    }
+  }
+
+  /**
+   * Acquires the advisory lock of the given chunk of counters, until the end of the current transaction.
+   */
+  private static void lockChunk(final Connection connection, final HeadingUsage usage, final int chunk, final boolean exclusive) throws SQLException {
+    try (final PreparedStatement statement = connection.prepareStatement(
+      exclusive ? "select pg_advisory_xact_lock(?, ?)" : "select pg_advisory_xact_lock_shared(?, ?)")) {
+      statement.setInt(1, LOCK_SPACE + usage.ordinal());
+      statement.setInt(2, chunk);
+      statement.executeQuery().close();
+    }
+  }
+
+  private static int countUsages(final Connection connection, final HeadingUsage usage, final int headingNumber, final int view) throws SQLException {
+    try (final PreparedStatement statement = connection.prepareStatement(
+      "select count(distinct " + usage.getOwnerColumn() + ") from " + usage.getTable()
+        + " where " + usage.getHeadingColumn() + " = ?"
+        + (view != View.ANY ? " and " + inView("usr_vw_ind", view) : ""))) {
+      statement.setInt(1, headingNumber);
+      try (final ResultSet rs = statement.executeQuery()) {
+        return rs.next() ? rs.getInt(1) : 0;
+      }
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package org.folio.marccat.dao;
+
+import net.sf.hibernate.CallbackException;
+import net.sf.hibernate.Interceptor;
+import net.sf.hibernate.type.Type;
+import org.folio.marccat.dao.common.HeadingUsage;
+
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Session interceptor which keeps the heading usage counters up to date.
+ * When a row of a usage table (an access point, or a name/title heading) is saved, updated or deleted, the views in
+ * which its owner is linked to each heading are read, once per owner, before the flush; after the flush they are read
+ * again and the differences are applied to the counters, on the session connection and therefore in the same
+ * transaction of the change. Nothing is tracked when the counters table doesn't exist: counts are then read from
+ * the usage tables.
+ * There's one interceptor for each session.
+ *
+ * @author cchiama
+ * @since 1.0
+ * @see HeadingUsageDAO
+ */
+public class HeadingUsageInterceptor implements Interceptor {
+  private final Connection connection;
+  private final Map<HeadingUsage, Map<Integer, Map<Integer, Integer>>> before = new EnumMap<>(HeadingUsage.class);
+  private Boolean available;
+
+  /**
+   * Builds a new interceptor for a session opened on the given connection.
+   *
+   * @param connection the session connection.
+   */
+  public HeadingUsageInterceptor(final Connection connection) {
+    this.connection = connection;
+  }
+
+  @Override
+  public boolean onSave(final Object entity, final Serializable id, final Object[] state, final String[] propertyNames, final Type[] types) throws CallbackException {
+    touch(entity);
+    return false;
+  }
+
+  @Override
+  public boolean onFlushDirty(final Object entity, final Serializable id, final Object[] currentState, final Object[] previousState, final String[] propertyNames, final Type[] types) throws CallbackException {
+    touch(entity);
+    return false;
+  }
+
+  @Override
+  public void onDelete(final Object entity, final Serializable id, final Object[] state, final String[] propertyNames, final Type[] types) throws CallbackException {
+    touch(entity);
+  }
+
+  @Override
+  public void postFlush(final Iterator entities) throws CallbackException {
+    if (before.isEmpty()) {
+      return;
+    }
+
+    try {
+      for (final Map.Entry<HeadingUsage, Map<Integer, Map<Integer, Integer>>> usage : before.entrySet()) {
+        for (final Map.Entry<Integer, Map<Integer, Integer>> owner : usage.getValue().entrySet()) {
+          HeadingUsageDAO.applyVariations(
+            connection,
+            usage.getKey(),
+            owner.getValue(),
+            HeadingUsageDAO.viewMasks(connection, usage.getKey(), owner.getKey()));
+        }
+      }
+    } catch (final SQLException exception) {
+      throw new CallbackException(exception);
+    } finally {
+      before.clear();
+    }
+  }
+
+  @Override
+  public boolean onLoad(final Object entity, final Serializable id, final Object[] state, final String[] propertyNames, final Type[] types) {
+    return false;
+  }
+
+  @Override
+  public void preFlush(final Iterator entities) {
+  }
+
+  @Override
+  public Boolean isUnsaved(final Object entity) {
+    return null;
+  }
+
+  @Override
+  public int[] findDirty(final Object entity, final Serializable id, final Object[] currentState, final Object[] previousState, final String[] propertyNames, final Type[] types) {
+    return null;
+  }
+
+  @Override
+  public Object instantiate(final Class clazz, final Serializable id) {
+    return null;
+  }
+
+  /**
+   * Takes the snapshot of the owner of the given row, if the row belongs to a usage table and its owner hasn't been
+   * touched yet since the last flush.
+   */
+  private void touch(final Object entity) throws CallbackException {
+    for (final HeadingUsage usage : HeadingUsage.values()) {
+      if (usage.isRow(entity) && isAvailable()) {
+        final Map<Integer, Map<Integer, Integer>> owners = before.computeIfAbsent(usage, key -> new HashMap<>());
+        final int owner = usage.ownerOf(entity);
+        if (!owners.containsKey(owner)) {
+          try {
+            owners.put(owner, HeadingUsageDAO.viewMasks(connection, usage, owner));
+          } catch (final SQLException exception) {
+            throw new CallbackException(exception);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns true if the counters table exists, checking it once per session.
+   */
+  private boolean isAvailable() throws CallbackException {
+    if (available == null) {
+      try {
+        available = HeadingUsageDAO.isAvailable(connection);
+      } catch (final SQLException exception) {
+        throw new CallbackException(exception);
+      }
+    }
+    return available;
+  }
+}
@@ -56,12 +56,10 @@ public class NameDescriptorDAO extends DAODescriptor {
       "select count(*) from NME_NME_TTL_REF as ref "
         + " where ref.nameHeadingNumber = ? "
         + " and ref.sourceHeadingType = 'NH' "
-        + " and substr(ref.userViewString, ?, 1) = '1'",
+        + " and " + inView("ref.userViewString", cataloguingView),
       new Object[]{
-        source.getKey().getHeadingNumber(),
-        cataloguingView},
+        source.getKey().getHeadingNumber()},
       new Type[]{
-        Hibernate.INTEGER,
         Hibernate.INTEGER});
     count = count + countList.get(0);
     countList =
@@ -69,12 +67,10 @@ public class NameDescriptorDAO extends DAODescriptor {
         "select count(*) from NME_TO_TTL_REF as ref "
           + " where ref.nameHeadingNumber = ? "
           + " and ref.sourceHeadingType = 'NH' "
-          + " and substr(ref.userViewString, ?, 1) = '1'",
+          + " and " + inView("ref.userViewString", cataloguingView),
         new Object[]{
-          source.getKey().getHeadingNumber(),
-          cataloguingView},
+          source.getKey().getHeadingNumber()},
         new Type[]{
-          Hibernate.INTEGER,
           Hibernate.INTEGER});
     count = count + countList.get(0);
     return count;
@@ -100,25 +96,21 @@ public class NameDescriptorDAO extends DAODescriptor {
         "from NME_NME_TTL_REF as ref "
           + " where ref.nameHeadingNumber = ? "
           + " and ref.sourceHeadingType = 'NH' "
-          + " and substr(ref.userViewString, ?, 1) = '1'",
+          + " and " + inView("ref.userViewString", cataloguingView),
         new Object[]{
-          source.getKey().getHeadingNumber(),
-          cataloguingView},
+          source.getKey().getHeadingNumber()},
         new Type[]
-          {Hibernate.INTEGER,
-            Hibernate.INTEGER}));
+          {Hibernate.INTEGER}));
 
     refList.addAll(
       find(
         "from NME_TO_TTL_REF as ref "
           + " where ref.nameHeadingNumber = ? "
           + " and ref.sourceHeadingType = 'NH' "
-          + " and substr(ref.userViewString, ?, 1) = '1'",
+          + " and " + inView("ref.userViewString", cataloguingView),
         new Object[]{
-          source.getKey().getHeadingNumber(),
-          cataloguingView},
+          source.getKey().getHeadingNumber()},
         new Type[]{
-          Hibernate.INTEGER,
           Hibernate.INTEGER}));
     return refList;
   }
@@ -146,7 +138,7 @@ public class NameDescriptorDAO extends DAODescriptor {
       .append(" where ref.nameHeadingNumber = ? AND ")
       .append(" ref.titleHeadingNumber = ? AND ")
       .append(" ref.sourceHeadingType = 'NH' AND ")
-      .append(" substr(ref.userViewString, ?, 1) = '1' AND ")
+      .append(" ").append(inView("ref.userViewString", cataloguingView)).append(" AND ")
       .append(" ref.type = ?").toString();
 
     final String nameNameTitle = new StringBuilder()
@@ -154,8 +146,8 @@ public class NameDescriptorDAO extends DAODescriptor {
       .append(" where ref.nameHeadingNumber = ? AND ")
       .append(" ref.nameTitleHeadingNumber = ? AND ")
       .append(" ref.sourceHeadingType = 'NH' AND ")
-      .append(" substr(ref.userViewString, ?, 1) = '1' AND ")
-      .append(" ref.type = ").toString();
+      .append(" ").append(inView("ref.userViewString", cataloguingView)).append(" AND ")
+      .append(" ref.type = ?").toString();
 
     if (source.getClass() == target.getClass()) {
       return super.loadReference(source, target, referenceType, cataloguingView, session);
@@ -184,12 +176,10 @@ public class NameDescriptorDAO extends DAODescriptor {
       session.find(
         "select count(*) from NME_TTL_HDG as t where "
           + " t.nameHeadingNumber = ? and "
-          + " substr(t.key.userViewString, ?, 1) = '1'",
+          + " " + inView("t.key.userViewString", View.toIntView(nameHeading.getUserViewString())),
         new Object[]{
-          nameHeading.getKey().getHeadingNumber(),
-          View.toIntView(nameHeading.getUserViewString())},
+          nameHeading.getKey().getHeadingNumber()},
         new Type[]{
-          Hibernate.INTEGER,
           Hibernate.INTEGER});
     if (countList.get(0) > 0) {
       throw new ReferentialIntegrityException("NME_TTL_HDG", "NME_HDG");
@@ -105,23 +105,19 @@ public class NameTitleDescriptorDAO extends DAODescriptor {
     List<Integer> countList = session.find("select count(*) from NME_NME_TTL_REF as ref "
         + " where ref.nameTitleHeadingNumber = ? "
         + " and ref.sourceHeadingType = 'MH' "
-        + " and substr(ref.userViewString, ?, 1) = '1'",
+        + " and " + inView("ref.userViewString", cataloguingView),
       new Object[]{
-        source.getKey().getHeadingNumber(),
-        cataloguingView},
+        source.getKey().getHeadingNumber()},
       new Type[]{
-        Hibernate.INTEGER,
         Hibernate.INTEGER});
     count += countList.get(0);
 
     countList = session.find("select count(*) from TTL_NME_TTL_REF as ref "
         + " where ref.nameTitleHeadingNumber = ? "
         + " and ref.sourceHeadingType = 'MH' "
-        + " and substr(ref.userViewString, ?, 1) = '1'", new Object[]{
-        source.getKey().getHeadingNumber(),
-        cataloguingView},
+        + " and " + inView("ref.userViewString", cataloguingView), new Object[]{
+        source.getKey().getHeadingNumber()},
       new Type[]{
-        Hibernate.INTEGER,
         Hibernate.INTEGER});
 
     count += countList.get(0);
@@ -145,23 +141,19 @@ public class NameTitleDescriptorDAO extends DAODescriptor {
     refList.addAll(session.find("from NME_NME_TTL_REF as ref "
         + " where ref.nameTitleHeadingNumber = ? "
         + " and ref.sourceHeadingType = 'MH' "
-        + " and substr(ref.userViewString, ?, 1) = '1'",
+        + " and " + inView("ref.userViewString", cataloguingView),
       new Object[]{
-        source.getKey().getHeadingNumber(),
-        cataloguingView},
+        source.getKey().getHeadingNumber()},
       new Type[]{
-        Hibernate.INTEGER,
         Hibernate.INTEGER}));
 
     refList.addAll(session.find("from TTL_NME_TTL_REF as ref "
         + " where ref.nameTitleHeadingNumber = ? "
         + " and ref.sourceHeadingType = 'MH' "
-        + " and substr(ref.userViewString, ?, 1) = '1'",
+        + " and " + inView("ref.userViewString", cataloguingView),
       new Object[]{
-        source.getKey().getHeadingNumber(),
-        cataloguingView},
+        source.getKey().getHeadingNumber()},
       new Type[]{
-        Hibernate.INTEGER,
         Hibernate.INTEGER}));
     return refList;
   }
@@ -191,7 +183,7 @@ public class NameTitleDescriptorDAO extends DAODescriptor {
         + " where ref.nameTitleHeadingNumber = ? AND "
         + " ref.nameHeadingNumber = ? AND "
         + " ref.sourceHeadingType = 'MH' AND "
-        + " substr(ref.userViewString, ?, 1) = '1' AND "
+        + " " + inView("ref.userViewString", cataloguingView) + " AND "
         + " ref.type = ?";
       return loadReferenceByQuery(source, target, referenceType, cataloguingView, query, session);
     } else if (target.getClass() == TTL_HDG.class) {
@@ -199,7 +191,7 @@ public class NameTitleDescriptorDAO extends DAODescriptor {
         + " where ref.nameTitleHeadingNumber = ? AND "
         + " ref.titleHeadingNumber = ? AND "
         + " ref.sourceHeadingType = 'MH' AND "
-        + " substr(ref.userViewString, ?, 1) = '1' AND "
+        + " " + inView("ref.userViewString", cataloguingView) + " AND "
         + " ref.type = ?";
       return loadReferenceByQuery(source, target, referenceType, cataloguingView, query, session);
 
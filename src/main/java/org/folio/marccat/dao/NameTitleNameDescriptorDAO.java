@@ -19,6 +19,16 @@ import java.util.List;
  */
 public class NameTitleNameDescriptorDAO extends NameTitleDescriptorDAO {
 
+  /**
+   * Browse indexes aren't supported: name/title headings are browsed by the sort forms of their name and title.
+   *
+   * @return false
+   */
+  @Override
+  public boolean supportsBrowseIndex() {
+    return false;
+  }
+
   /**
    * Gets the headings by sort form.
    *
@@ -66,10 +76,9 @@ public class NameTitleNameDescriptorDAO extends NameTitleDescriptorDAO {
         + " where hdg.nameHeadingNumber = nme.key.headingNumber "
         + " and hdg.titleHeadingNumber = ttl.key.headingNumber "
         + " and nme.sortForm " + operator + " :name "
-        + " and SUBSTR(hdg.key.userViewString, :view, 1) = '1' " + filter
+        + " and " + inView("hdg.key.userViewString", searchingView) + " " + filter
         + " order by nme.sortForm " + direction + ", ttl.sortForm " + direction);
     q.setString("name", name);
-    q.setInteger("view", searchingView);
     q.setMaxResults(count);
     final List<NME_TTL_HDG> nameTitleHedingsList = getNameTitleHeadingsList(q.list());
     final List isolateHeadingList = isolateViewForList(nameTitleHedingsList, searchingView, session);
@@ -100,7 +109,7 @@ public class NameTitleNameDescriptorDAO extends NameTitleDescriptorDAO {
     title = parsedTerm[1].trim();
     List<NME_TTL_HDG> isolateHeadingList = null;
     if (searchingView != View.ANY) {
-      viewClause = " and SUBSTR(hdg.key.userViewString, " + searchingView + ", 1) = '1' ";
+      viewClause = " and " + inView("hdg.key.userViewString", searchingView) + " ";
     }
     if (operator.equals("<")) {
       Query q = session.createQuery(
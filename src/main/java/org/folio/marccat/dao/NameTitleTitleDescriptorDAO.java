@@ -17,6 +17,16 @@ import java.util.List;
  */
 public class NameTitleTitleDescriptorDAO extends NameTitleDescriptorDAO {
 
+  /**
+   * Browse indexes aren't supported: name/title headings are browsed by the sort forms of their name and title.
+   *
+   * @return false
+   */
+  @Override
+  public boolean supportsBrowseIndex() {
+    return false;
+  }
+
   /**
    * Gets the headings by sort form.
    *
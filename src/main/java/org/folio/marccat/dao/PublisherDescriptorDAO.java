@@ -20,6 +20,16 @@ import java.util.List;
  */
 public class PublisherDescriptorDAO extends DAODescriptor {
 
+  /**
+   * Browse indexes aren't supported: publishers are browsed by name and place sort forms.
+   *
+   * @return false
+   */
+  @Override
+  public boolean supportsBrowseIndex() {
+    return false;
+  }
+
   /**
    * Gets the persistent class.
    *
@@ -142,7 +152,7 @@ public class PublisherDescriptorDAO extends DAODescriptor {
    * @throws HibernateException the hibernate exception
    */
   @SuppressWarnings("unchecked")
-  public int getDocCount(final Descriptor descriptor, int searchingView, final Session session)
+  protected int countDocuments(final Descriptor descriptor, int searchingView, final Session session)
     throws HibernateException {
     if (searchingView == View.ANY) {
       List<Integer> countList =
@@ -161,12 +171,10 @@ public class PublisherDescriptorDAO extends DAODescriptor {
           "select count(*) from PublisherAccessPoint as a, PUBL_TAG as b "
             + " where a.headingNumber = b.publisherTagNumber "
             + " and b.publisherHeadingNumber = ? "
-            + " and substr(b.userViewString, ?, 1) = '1'",
+            + " and " + inView("b.userViewString", searchingView),
           new Object[]{
-            descriptor.getHeadingNumber(),
-            searchingView},
+            descriptor.getHeadingNumber()},
           new Type[]{
-            Hibernate.INTEGER,
             Hibernate.INTEGER});
       return countList.get(0);
     }
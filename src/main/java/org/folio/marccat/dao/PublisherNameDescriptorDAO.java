@@ -27,6 +27,17 @@ public class PublisherNameDescriptorDAO extends PublisherDescriptorDAO {
     return PUBL_HDG.class;
   }
 
+  /**
+   * Gets the sort form property: publishers are suggested by name, so their browse index is built on the name sort
+   * form, even if it isn't used to browse them.
+   *
+   * @return the name sort form property.
+   */
+  @Override
+  public String getSortFormProperty() {
+    return "nameSortForm";
+  }
+
   /**
    * Gets the headings by sortform.
    *
@@ -73,7 +84,7 @@ public class PublisherNameDescriptorDAO extends PublisherDescriptorDAO {
     List<Descriptor> publisherList = null;
 
     if (searchingView != View.ANY) {
-      viewClause = " and SUBSTR(hdg.key.userViewString, " + searchingView + ", 1) = '1' ";
+      viewClause = " and " + inView("hdg.key.userViewString", searchingView) + " ";
     }
 
     if (operator.equals("<")) {
@@ -152,7 +163,7 @@ public class PublisherNameDescriptorDAO extends PublisherDescriptorDAO {
     throws HibernateException {
     String viewClause = "";
     if (searchingView != View.ANY) {
-      viewClause = " and SUBSTR(hdg.key.userViewString, " + searchingView + ", 1) = '1' ";
+      viewClause = " and " + inView("hdg.key.userViewString", searchingView) + " ";
     }
     final Query q =
       session.createQuery(
@@ -29,6 +29,17 @@ public class PublisherPlaceDescriptorDAO extends PublisherDescriptorDAO {
     return PUBL_HDG.class;
   }
 
+  /**
+   * Gets the sort form property: publishers are suggested by place, so their browse index is built on the place sort
+   * form, even if it isn't used to browse them.
+   *
+   * @return the place sort form property.
+   */
+  @Override
+  public String getSortFormProperty() {
+    return "placeSortForm";
+  }
+
   /**
    * Gets the headings by sortform.
    *
@@ -75,14 +86,13 @@ public class PublisherPlaceDescriptorDAO extends PublisherDescriptorDAO {
           + " as hdg where hdg.placeSortForm "
           + operator
           + " :term  and "
-          + " SUBSTR(hdg.key.userViewString, :view, 1) = '1' "
+          + inView("hdg.key.userViewString", cataloguingView) + " "
           + filter
           + " order by hdg.placeSortForm "
           + direction
           + ", hdg.nameSortForm "
           + direction);
     q.setString("term", term);
-    q.setInteger("view", cataloguingView);
     q.setMaxResults(count);
     List<Descriptor> publisherList = q.list();
     publisherList = (List<Descriptor>) isolateViewForList(publisherList, cataloguingView, session);
@@ -113,7 +123,7 @@ public class PublisherPlaceDescriptorDAO extends PublisherDescriptorDAO {
     String viewClause = "";
 
     if (cataloguingView != View.ANY) {
-      viewClause = " and SUBSTR(hdg.key.userViewString, " + cataloguingView + ", 1) = '1' ";
+      viewClause = " and " + inView("hdg.key.userViewString", cataloguingView) + " ";
     }
     if (operator.equals("<")) {
       final Query q =
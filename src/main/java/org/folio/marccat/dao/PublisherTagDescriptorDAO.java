@@ -50,10 +50,10 @@ public class PublisherTagDescriptorDAO extends DAODescriptor {
     descriptor.setUserViewString(View.makeSingleViewString(cataloguingView));
     final List<PUBL_TAG> multiView = session.find("from PUBL_TAG as t "
         + " where t.publisherTagNumber = ? "
-        + " and substr(t.userViewString, ?, 1) = '1' "
+        + " and " + inView("t.userViewString", cataloguingView) + " "
         + " order by t.sequenceNumber ", new Object[]{
-        new Integer(headingNumber), new Integer(cataloguingView)},
-      new Type[]{Hibernate.INTEGER, Hibernate.INTEGER});
+        new Integer(headingNumber)},
+      new Type[]{Hibernate.INTEGER});
     final List<PUBL_TAG> singleView = (List<PUBL_TAG>) isolateViewForList(multiView, cataloguingView, session);
 
     singleView.forEach(publTag -> {
@@ -0,0 +1,56 @@
+package org.folio.marccat.dao;
+
+import org.folio.marccat.dao.common.SchemaMigration;
+import org.folio.marccat.dao.common.ViewIndex;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Class representing the application of the schema migrations to the tables of a tenant.
+ *
+ * @author cchiama
+ * @since 1.0
+ * @see SchemaMigration
+ * @see ViewIndex
+ */
+public class SchemaMigrationDAO {
+
+  /**
+   * Applies all the migrations on the given connection.
+   * Each statement is committed on its own, so a migration interrupted by a failure is simply completed by the next
+   * call.
+   *
+   * @param connection a connection to the tenant database.
+   * @throws SQLException in case of data access failure.
+   */
+  public void migrate(final Connection connection) throws SQLException {
+    final boolean autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(true);
+    try (final Statement statement = connection.createStatement()) {
+      for (final SchemaMigration migration : SchemaMigration.values()) {
+        for (final String ddl : migration.getStatements()) {
+          statement.execute(ddl);
+        }
+      }
+    } finally {
+      connection.setAutoCommit(autoCommit);
+    }
+  }
+
+  /**
+   * Creates the partial indexes of the given view which don't exist yet (see {@link ViewIndex}).
+   * Unlike the other migrations, the indexes depend on the views configured for the instance and their build takes
+   * as long as a scan of the indexed tables: it is meant to be run in background, after {@link #migrate(Connection)}.
+   *
+   * @param connection a connection to the tenant database.
+   * @param view       the view.
+   * @return the names of the indexes of the given view.
+   * @throws SQLException in case of data access failure.
+   */
+  public List<String> indexView(final Connection connection, final int view) throws SQLException {
+    return new ViewIndexDAO().createIndexes(view, connection);
+  }
+}
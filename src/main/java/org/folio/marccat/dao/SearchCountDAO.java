@@ -0,0 +1,91 @@
+package org.folio.marccat.dao;
+
+import net.sf.hibernate.HibernateException;
+import net.sf.hibernate.Session;
+import org.folio.marccat.dao.common.SearchFacet;
+import org.folio.marccat.search.SearchCounts;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the documents matching a compiled CCL query, in total and by facet, in a single grouped query: the matching
+ * documents are neither returned nor loaded.
+ *
+ * @author cchiama
+ * @since 1.0
+ * @see SearchFacet
+ */
+public class SearchCountDAO extends AbstractDAO {
+
+  /**
+   * Counts the documents selected by the given expression, in total and for each code of the given facets.
+   * Each facet is a grouping set of the same query, so the matching documents are read once whatever the number of
+   * facets; the display cache and the record are left joined, so that the documents missing from them still count in
+   * the total.
+   *
+   * @param counts     the counts to fill.
+   * @param expression the SQL expression selecting the matching documents (their number in the first column).
+   * @param view       the searching view, a bibliographic view if facets are requested.
+   * @param facets     the requested facets.
+   * @param session    the current session.
+   * @throws HibernateException in case of data access failure.
+   */
+  public void count(
+    final SearchCounts counts,
+    final String expression,
+    final int view,
+    final List<SearchFacet> facets,
+    final Session session) throws HibernateException {
+    try (final Statement statement = session.connection().createStatement();
+         final ResultSet rs = statement.executeQuery(query(expression, view, facets))) {
+      facets.forEach(facet -> counts.getFacets().put(facet, new LinkedHashMap<>()));
+      final int aggregated = (1 << facets.size()) - 1;
+      while (rs.next()) {
+        final int grouping = facets.isEmpty() ? aggregated : rs.getInt(facets.size() + 1);
+        final long count = rs.getLong(facets.size() + (facets.isEmpty() ? 1 : 2));
+        if (grouping == aggregated) {
+          counts.setTotal(count);
+          continue;
+        }
+        for (int i = 0; i < facets.size(); i++) {
+          final String code = rs.getString(i + 1);
+          if ((grouping & (1 << (facets.size() - 1 - i))) == 0 && code != null) {
+            counts.getFacets().get(facets.get(i)).put(code.trim(), count);
+          }
+        }
+      }
+    } catch (final SQLException exception) {
+      throw new HibernateException(exception);
+    }
+  }
+
+  private String query(final String expression, final int view, final List<SearchFacet> facets) {
+    if (facets.isEmpty()) {
+      return "select count(*) from (" + expression + ") hits(doc)";
+    }
+
+    final String columns = facets.stream().map(SearchFacet::getColumn).collect(Collectors.joining(", "));
+    final StringBuilder query = new StringBuilder("select ")
+      .append(columns).append(", grouping(").append(columns).append("), count(*)")
+      .append(" from (").append(expression).append(") hits(doc)");
+    if (facets.stream().anyMatch(SearchFacet::isCached)) {
+      query.append(" left join s_cache_bib_itm_dsply ").append(SearchFacet.CACHE_ALIAS)
+        .append(" on ").append(SearchFacet.CACHE_ALIAS).append(".bib_itm_nbr = hits.doc")
+        .append(" and ").append(SearchFacet.CACHE_ALIAS).append(".trstn_vw_nbr = ").append(view);
+    }
+    if (facets.stream().anyMatch(facet -> !facet.isCached())) {
+      query.append(" left join bib_itm ").append(SearchFacet.RECORD_ALIAS)
+        .append(" on ").append(SearchFacet.RECORD_ALIAS).append(".bib_itm_nbr = hits.doc")
+        .append(" and ").append(inView(SearchFacet.RECORD_ALIAS + ".usr_vw_ind", view));
+    }
+    query.append(" group by grouping sets ((), ")
+      .append(facets.stream().map(facet -> "(" + facet.getColumn() + ")").collect(Collectors.joining(", ")))
+      .append(")");
+    return query.toString();
+  }
+}
@@ -2,6 +2,8 @@ package org.folio.marccat.dao;
 
 import net.sf.hibernate.Session;
 import org.folio.marccat.config.log.Log;
+import org.folio.marccat.dao.common.TenantCacheProvider;
+import org.folio.marccat.dao.common.TenantContext;
 import org.folio.marccat.dao.persistence.S_BIB1_SMNTC;
 
 import java.sql.Connection;
@@ -30,6 +32,14 @@ public class SemanticDAO {
       structureNumber + "," + truncationNumber + "," + completenessNumber + "," +
       recordTypeCode + ")");
 
+    final String tenant = TenantContext.current();
+    final String cacheKey = useNumber + ":" + relationNumber + ":" + positionNumber + ":" + structureNumber + ":"
+      + truncationNumber + ":" + completenessNumber + ":" + recordTypeCode;
+    final S_BIB1_SMNTC cached = (S_BIB1_SMNTC) TenantCacheProvider.get(tenant, TenantCacheProvider.SEMANTIC_REGION, cacheKey);
+    if (cached != null) {
+      return cached;
+    }
+
     Connection connection = null;
     PreparedStatement selectStatement = null;
     ResultSet rs = null;
@@ -72,6 +82,7 @@ public class SemanticDAO {
         result.setJoinClause(rs.getString("sql_jn"));
         result.setViewClause(rs.getString("sql_vw"));
         result.setFullText(rs.getBoolean("context_idx_cde"));
+        TenantCacheProvider.put(tenant, TenantCacheProvider.SEMANTIC_REGION, cacheKey, result);
         return result;
       } else {
         return null;
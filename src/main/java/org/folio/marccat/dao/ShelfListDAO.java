@@ -26,6 +26,16 @@ import java.util.Optional;
  */
 public class ShelfListDAO extends DAODescriptor {
 
+  /**
+   * Browse indexes aren't supported: shelf lists are browsed within a main library.
+   *
+   * @return false
+   */
+  @Override
+  public boolean supportsBrowseIndex() {
+    return false;
+  }
+
   /**
    * Gets the persistent class.
    *
@@ -101,7 +111,7 @@ public class ShelfListDAO extends DAODescriptor {
    * @throws HibernateException the hibernate exception
    */
   @SuppressWarnings("unchecked")
-  public int getDocCount(final Descriptor d, final int cataloguingView, final Session session) throws HibernateException {
+  protected int countDocuments(final Descriptor d, final int cataloguingView, final Session session) throws HibernateException {
     List<Integer> countList = session.find(
       " select count(*) from "
         + d.getAccessPointClass().getName()
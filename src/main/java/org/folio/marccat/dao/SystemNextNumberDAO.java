@@ -4,6 +4,9 @@ import net.sf.hibernate.HibernateException;
 import net.sf.hibernate.LockMode;
 import net.sf.hibernate.Session;
 import net.sf.hibernate.Transaction;
+import org.folio.marccat.config.Global;
+import org.folio.marccat.dao.common.KeyBlockAllocator;
+import org.folio.marccat.dao.common.TenantContext;
 import org.folio.marccat.dao.persistence.S_NXT_NBR;
 import org.folio.marccat.exception.DataAccessException;
 
@@ -15,6 +18,7 @@ import org.folio.marccat.exception.DataAccessException;
  * @since 1.0
  */
 public class SystemNextNumberDAO extends AbstractDAO {
+  private static final KeyBlockAllocator ALLOCATOR = new KeyBlockAllocator("S_NXT_NBR", Global.KEY_BLOCK_SIZE);
 
 	/*@Deprecated
 	public int getNextNumber(final String keyFieldCodeValue) throws DataAccessException {
@@ -27,13 +31,31 @@ public class SystemNextNumberDAO extends AbstractDAO {
   }
 
   /**
-   * This method return the field updated nextNumber and save changes in the table.
+   * This method return the next number of the given key.
+   * Numbers are handed out from a block reserved in S_NXT_NBR (see {@link KeyBlockAllocator}); when no tenant is
+   * bound to the current thread the counter row is updated for each number, as it was before.
    *
    * @param keyFieldCodeValue -- key of the row to increase
    * @return the increased number.
    * @throws HibernateException in case of Hibernate exception.
    */
   public int getNextNumber(final String keyFieldCodeValue, final Session session) throws HibernateException {
+    final String tenant = TenantContext.current();
+    return tenant != null
+      ? ALLOCATOR.next(tenant, keyFieldCodeValue, size -> reserve(keyFieldCodeValue, size, session))
+      : reserve(keyFieldCodeValue, 1, session);
+  }
+
+  /**
+   * Advances the counter of the given key by the given size and save changes in the table.
+   *
+   * @param keyFieldCodeValue -- key of the row to increase
+   * @param size              -- the number of keys to reserve.
+   * @param session           -- the current session.
+   * @return the first reserved number.
+   * @throws HibernateException in case of Hibernate exception.
+   */
+  private int reserve(final String keyFieldCodeValue, final int size, final Session session) throws HibernateException {
 
     final S_NXT_NBR snn = (S_NXT_NBR) get(session, S_NXT_NBR.class, keyFieldCodeValue, LockMode.UPGRADE);
     final int nextNbr = snn.getKeyFieldNextNumber();
@@ -41,7 +63,7 @@ public class SystemNextNumberDAO extends AbstractDAO {
     final Transaction transaction = getTransaction(session);
     try {
 
-      int i = snn.getKeyFieldNextNumber() + 1;
+      int i = snn.getKeyFieldNextNumber() + size;
       snn.setKeyFieldNextNumber(i);
       session.update(snn);
       transaction.commit();
@@ -56,6 +78,7 @@ public class SystemNextNumberDAO extends AbstractDAO {
 
   /**
    * This method return the field updated previous number and save changes in the table.
+   * Note that this works on the counter row directly, so it doesn't take into account numbers reserved in memory.
    *
    * @param keyFieldCodeValue -- key of the row to decrease.
    * @return the decreased number.
@@ -0,0 +1,51 @@
+package org.folio.marccat.dao;
+
+import net.sf.hibernate.HibernateException;
+import net.sf.hibernate.Session;
+import org.folio.marccat.config.Global;
+import org.folio.marccat.dao.common.TenantCacheProvider;
+import org.folio.marccat.dao.common.TenantContext;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Estimated document frequencies of the CCL search terms, used to order the operands of AND chains from the most to
+ * the least selective.
+ * The frequency of a term is sampled by counting the documents its query returns, up to
+ * {@link Global#TERM_STATISTICS_SAMPLE}: a broad term stops at the sample size, so the estimate costs little more
+ * than reading that many access points. Estimates are kept in a tenant region of the cache provider
+ * ({@link TenantCacheProvider#TERM_STATISTICS_REGION}), whose expiration refreshes them periodically.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public class TermStatisticsDAO extends AbstractDAO {
+
+  /**
+   * Returns the estimated number of documents returned by the given term query.
+   *
+   * @param query   the SQL query of the term.
+   * @param session the current session.
+   * @return the estimated number of documents, at most {@link Global#TERM_STATISTICS_SAMPLE}.
+   * @throws HibernateException in case of data access failure.
+   */
+  public long estimate(final String query, final Session session) throws HibernateException {
+    final String tenant = TenantContext.current();
+    final Long cached = (Long) TenantCacheProvider.get(tenant, TenantCacheProvider.TERM_STATISTICS_REGION, query);
+    if (cached != null) {
+      return cached;
+    }
+
+    try (final Statement statement = session.connection().createStatement();
+         final ResultSet rs = statement.executeQuery(
+           "select count(*) from (" + query + " limit " + Global.TERM_STATISTICS_SAMPLE + ") sample")) {
+      final long result = rs.next() ? rs.getLong(1) : 0;
+      TenantCacheProvider.put(tenant, TenantCacheProvider.TERM_STATISTICS_REGION, query, result);
+      return result;
+    } catch (final SQLException exception) {
+      throw new HibernateException(exception);
+    }
+  }
+}
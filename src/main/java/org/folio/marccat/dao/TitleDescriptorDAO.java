@@ -59,12 +59,10 @@ public class TitleDescriptorDAO extends DAODescriptor {
         "select count(*) from TTL_NME_TTL_REF as ref "
           + " where ref.titleHeadingNumber = ? "
           + " and ref.sourceHeadingType = 'TH' "
-          + " and substr(ref.userViewString, ?, 1) = '1'",
+          + " and " + inView("ref.userViewString", cataloguingView),
         new Object[]{
-          source.getKey().getHeadingNumber(),
-          cataloguingView},
+          source.getKey().getHeadingNumber()},
         new Type[]{
-          Hibernate.INTEGER,
           Hibernate.INTEGER});
     count = count + countList.get(0);
     countList =
@@ -72,12 +70,10 @@ public class TitleDescriptorDAO extends DAODescriptor {
         "select count(*) from NME_TO_TTL_REF as ref "
           + " where ref.titleHeadingNumber = ? "
           + " and ref.sourceHeadingType = 'TH' "
-          + " and substr(ref.userViewString, ?, 1) = '1'",
+          + " and " + inView("ref.userViewString", cataloguingView),
         new Object[]{
-          source.getKey().getHeadingNumber(),
-          cataloguingView},
+          source.getKey().getHeadingNumber()},
         new Type[]{
-          Hibernate.INTEGER,
           Hibernate.INTEGER});
     count = count + countList.get(0);
     return count;
@@ -104,24 +100,20 @@ public class TitleDescriptorDAO extends DAODescriptor {
         "from TTL_NME_TTL_REF as ref "
           + " where ref.titleHeadingNumber = ? "
           + " and ref.sourceHeadingType = 'TH' "
-          + " and substr(ref.userViewString, ?, 1) = '1'",
+          + " and " + inView("ref.userViewString", cataloguingView),
         new Object[]{
-          source.getKey().getHeadingNumber(),
-          cataloguingView},
+          source.getKey().getHeadingNumber()},
         new Type[]{
-          Hibernate.INTEGER,
           Hibernate.INTEGER}));
     refList.addAll(
       session.find(
         "from NME_TO_TTL_REF as ref "
           + " where ref.titleHeadingNumber = ? "
           + " and ref.sourceHeadingType = 'TH' "
-          + " and substr(ref.userViewString, ?, 1) = '1'",
+          + " and " + inView("ref.userViewString", cataloguingView),
         new Object[]{
-          source.getKey().getHeadingNumber(),
-          cataloguingView},
+          source.getKey().getHeadingNumber()},
         new Type[]{
-          Hibernate.INTEGER,
           Hibernate.INTEGER}));
     return refList;
   }
@@ -148,7 +140,7 @@ public class TitleDescriptorDAO extends DAODescriptor {
         + " where ref.titleHeadingNumber = ? AND "
         + " ref.nameTitleHeadingNumber = ? AND "
         + " ref.sourceHeadingType = 'TH' AND "
-        + " substr(ref.key.userViewString, ?, 1) = '1' AND "
+        + " " + inView("ref.key.userViewString", cataloguingView) + " AND "
         + " ref.key.type = ?";
       return loadReferenceByQuery(source, target, referenceType, cataloguingView, query, session);
     }
@@ -171,11 +163,10 @@ public class TitleDescriptorDAO extends DAODescriptor {
       session.find(
         "select count(*) from NME_TTL_HDG as d where "
           + " d.nameHeadingNumber = ? and "
-          + " substr(d.key.userViewString, ?, 1) = '1'",
+          + " " + inView("d.key.userViewString", View.toIntView(title.getUserViewString())),
         new Object[]{
-          title.getKey().getHeadingNumber(),
-          new Integer(View.toIntView(title.getUserViewString()))},
-        new Type[]{Hibernate.INTEGER, Hibernate.INTEGER});
+          title.getKey().getHeadingNumber()},
+        new Type[]{Hibernate.INTEGER});
     if (countList.get(0) > 0) {
       throw new ReferentialIntegrityException("NME_TTL_HDG", "TTL_HDG");
     }
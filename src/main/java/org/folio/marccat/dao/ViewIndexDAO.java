@@ -0,0 +1,114 @@
+package org.folio.marccat.dao;
+
+import net.sf.hibernate.HibernateException;
+import net.sf.hibernate.Session;
+import org.folio.marccat.dao.common.FullTextIndex;
+import org.folio.marccat.dao.common.ViewIndex;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class representing the creation of the per-view partial indexes and of the full-text indexes, the migrations which
+ * make the view predicates and the word searches on the existing tables indexable.
+ *
+ * @author cchiama
+ * @since 1.0
+ * @see ViewIndex
+ * @see FullTextIndex
+ */
+public class ViewIndexDAO extends AbstractDAO {
+
+  /**
+   * Creates the partial indexes of the given view which don't exist yet.
+   * Indexes are built concurrently, so it can't run in a transaction: the statements are executed in auto commit
+   * mode, one at a time. An index left invalid by a previous failed build is dropped and built again.
+   *
+   * @param view    the view.
+   * @param session the current session.
+   * @return the names of the indexes of the given view.
+   * @throws HibernateException in case of data access failure.
+   */
+  public List<String> createIndexes(final int view, final Session session) throws HibernateException {
+    try {
+      return createIndexes(view, session.connection());
+    } catch (final SQLException exception) {
+      throw new HibernateException(exception);
+    }
+  }
+
+  /**
+   * Creates the partial indexes of the given view which don't exist yet, on the given connection.
+   * It is used by the schema migrations, which run before any session is opened.
+   *
+   * @param view       the view.
+   * @param connection a connection to the tenant database.
+   * @return the names of the indexes of the given view.
+   * @throws SQLException in case of data access failure.
+   */
+  public List<String> createIndexes(final int view, final Connection connection) throws SQLException {
+    if (view < 1 || view > ViewIndex.VIEWS) {
+      throw new IllegalArgumentException("view " + view + " cannot be indexed");
+    }
+
+    final Map<String, String> indexes = new LinkedHashMap<>();
+    for (final ViewIndex index : ViewIndex.values()) {
+      indexes.put(index.nameOf(view), index.ddlOf(view));
+    }
+    return create(indexes, connection);
+  }
+
+  /**
+   * Creates the full-text indexes on the heading sort forms which don't exist yet, in the same way as
+   * {@link #createIndexes(int, Session)}.
+   *
+   * @param session the current session.
+   * @return the names of the full-text indexes.
+   * @throws HibernateException in case of data access failure.
+   */
+  public List<String> createFullTextIndexes(final Session session) throws HibernateException {
+    final Map<String, String> indexes = new LinkedHashMap<>();
+    for (final FullTextIndex index : FullTextIndex.values()) {
+      indexes.put(index.getName(), index.ddl());
+    }
+    try {
+      return create(indexes, session.connection());
+    } catch (final SQLException exception) {
+      throw new HibernateException(exception);
+    }
+  }
+
+  private List<String> create(final Map<String, String> indexes, final Connection connection) throws SQLException {
+    final boolean autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(true);
+    try (final Statement statement = connection.createStatement()) {
+      for (final Map.Entry<String, String> index : indexes.entrySet()) {
+        if (isInvalid(connection, index.getKey())) {
+          statement.execute("drop index concurrently " + index.getKey());
+        }
+        statement.execute(index.getValue());
+      }
+      return new ArrayList<>(indexes.keySet());
+    } finally {
+      connection.setAutoCommit(autoCommit);
+    }
+  }
+
+  private boolean isInvalid(final Connection connection, final String name) throws SQLException {
+    try (final PreparedStatement statement = connection.prepareStatement(
+      "select 1 from pg_index i join pg_class c on c.oid = i.indexrelid "
+        + "where c.relname = ? and pg_catalog.pg_table_is_visible(c.oid) and not i.indisvalid")) {
+      statement.setString(1, name);
+      try (final ResultSet rs = statement.executeQuery()) {
+        return rs.next();
+      }
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package org.folio.marccat.dao.common;
+
+import net.sf.hibernate.HibernateException;
+import net.sf.hibernate.Session;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Actions enlisted with the transaction in progress on a session connection, run once it has been committed.
+ * Hibernate 2 has no hook on the completion of a transaction, so the connection of each request session is wrapped
+ * ({@link #enlistable(Connection)}): the actions are run after a successful commit (or after auto commit is turned
+ * on, which commits too) and discarded on rollback or close. DAOs use it for the side effects which must not be seen
+ * before the change is committed (e.g. the invalidation of the browse pages), without committing or rolling back the
+ * unit of work of their caller.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public final class AfterCommit {
+
+  private AfterCommit() {
+  }
+
+  /**
+   * Wraps the given connection, so that actions can be enlisted with its transactions.
+   *
+   * @param connection the connection of a session.
+   * @return the wrapped connection.
+   */
+  public static Connection enlistable(final Connection connection) {
+    return (Connection) Proxy.newProxyInstance(
+      Connection.class.getClassLoader(),
+      new Class[]{Connection.class},
+      new Enlister(connection));
+  }
+
+  /**
+   * Runs the given action once the transaction in progress on the session connection has been committed.
+   * Without a transaction in progress (auto commit mode), or if the connection can't enlist actions, the action is
+   * run immediately.
+   *
+   * @param session the current session.
+   * @param action  the action.
+   * @throws HibernateException in case of data access failure.
+   */
+  public static void run(final Session session, final Runnable action) throws HibernateException {
+    final Connection connection = session.connection();
+    if (Proxy.isProxyClass(connection.getClass()) && Proxy.getInvocationHandler(connection) instanceof Enlister) {
+      try {
+        ((Enlister) Proxy.getInvocationHandler(connection)).enlist(action);
+      } catch (final SQLException exception) {
+        throw new HibernateException(exception);
+      }
+    } else {
+      action.run();
+    }
+  }
+
+  /**
+   * Invocation handler holding the actions enlisted with the transaction in progress.
+   */
+  private static final class Enlister implements InvocationHandler {
+    private final Connection target;
+    private final List<Runnable> actions = new ArrayList<>();
+
+    private Enlister(final Connection target) {
+      this.target = target;
+    }
+
+    private void enlist(final Runnable action) throws SQLException {
+      if (target.getAutoCommit()) {
+        action.run();
+      } else {
+        actions.add(action);
+      }
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+      final String name = method.getName();
+      final boolean committing = "commit".equals(name)
+        || ("setAutoCommit".equals(name) && Boolean.TRUE.equals(args[0]) && !target.getAutoCommit());
+      final Object result;
+      try {
+        result = method.invoke(target, args);
+      } catch (final InvocationTargetException exception) {
+        if (committing) {
+          actions.clear();
+        }
+        throw exception.getCause();
+      }
+
+      if (committing) {
+        final List<Runnable> committed = new ArrayList<>(actions);
+        actions.clear();
+        committed.forEach(Runnable::run);
+      } else if ("rollback".equals(name) && (args == null || args.length == 0) || "close".equals(name)) {
+        actions.clear();
+      }
+      return result;
+    }
+  }
+}
@@ -0,0 +1,447 @@
+package org.folio.marccat.dao.common;
+
+import org.folio.marccat.business.common.View;
+import org.folio.marccat.dao.DAODescriptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process browse index of a heading index (e.g. names, or personal names only), for a tenant.
+ * It resolves the positions and the boundaries of the browse pages by binary search, so that only the headings of a
+ * page have to be loaded from the database; the same way, it resolves the suggestions for a prefix, ranked by the
+ * usage count of the headings.
+ * The index is an off heap {@link SortFormIndex} snapshot, built from the heading table, plus the changes made since
+ * then: the DAOs notify the headings they write, once committed ({@link #touch(Class, int)}), which are read again
+ * from the database before the next page is served ({@link DAODescriptor#refreshBrowseIndex}); their current rows are
+ * kept on heap and merged with the snapshot, which is replaced at the next rebuild.
+ *
+ * @author cchiama
+ * @since 1.0
+ * @see org.folio.marccat.integration.BrowseIndexMaintenance
+ */
+public final class BrowseIndex {
+  private static final Map<String, Map<String, BrowseIndex>> INDEXES = new ConcurrentHashMap<>();
+  private static final Comparator<Entry> HEAVIEST_FIRST =
+    Comparator.comparingInt((Entry entry) -> entry.weight).reversed().thenComparing(Comparator.naturalOrder());
+
+  private final Class<?> headingTable;
+  private final SortFormIndex snapshot;
+  private final TreeSet<Entry> added = new TreeSet<>();
+  private final Set<Integer> removed = new HashSet<>();
+  private final Set<Integer> pending = new HashSet<>();
+
+  /**
+   * Builds a new browse index.
+   *
+   * @param headingTable the persistent class of the heading table.
+   * @param snapshot     the sorted entries of the heading table.
+   */
+  public BrowseIndex(final Class<?> headingTable, final SortFormIndex snapshot) {
+    this.headingTable = headingTable;
+    this.snapshot = snapshot;
+  }
+
+  /**
+   * Returns the browse index of the given heading index, for the tenant bound to the current thread.
+   *
+   * @param indexKey the heading index key.
+   * @return the browse index, null if it hasn't been built.
+   */
+  public static BrowseIndex of(final String indexKey) {
+    final Map<String, BrowseIndex> indexes = INDEXES.get(TenantContext.current());
+    return indexes != null ? indexes.get(indexKey) : null;
+  }
+
+  /**
+   * Installs a new browse index for the tenant bound to the current thread, replacing the current one.
+   * The headings changed while the new index was being built are read again before it is used.
+   *
+   * @param indexKey the heading index key.
+   * @param index    the new browse index.
+   */
+  public static void install(final String indexKey, final BrowseIndex index) {
+    final BrowseIndex previous = INDEXES.computeIfAbsent(TenantContext.current(), tenant -> new ConcurrentHashMap<>())
+      .put(indexKey, index);
+    if (previous != null) {
+      synchronized (previous) {
+        index.touch(previous.removed);
+        index.touch(previous.pending);
+      }
+    }
+  }
+
+  /**
+   * Discards the browse index of the given heading index, for the tenant bound to the current thread: pages are
+   * read from the database until the index is built again.
+   *
+   * @param indexKey the heading index key.
+   */
+  public static void discard(final String indexKey) {
+    final Map<String, BrowseIndex> indexes = INDEXES.get(TenantContext.current());
+    if (indexes != null) {
+      indexes.remove(indexKey);
+    }
+  }
+
+  /**
+   * Notifies the browse indexes on the given heading table, for the tenant bound to the current thread, that a heading
+   * has been written or deleted.
+   *
+   * @param headingTable  the persistent class of the heading table.
+   * @param headingNumber the heading number.
+   */
+  public static void touch(final Class<?> headingTable, final int headingNumber) {
+    final Map<String, BrowseIndex> indexes = INDEXES.get(TenantContext.current());
+    if (indexes != null) {
+      indexes.values().stream()
+        .filter(index -> index.headingTable == headingTable)
+        .forEach(index -> index.touch(Collections.singleton(headingNumber)));
+    }
+  }
+
+  /**
+   * Returns the number of entries of the snapshot the index has been built from.
+   *
+   * @return the number of entries of the snapshot.
+   */
+  public int size() {
+    return snapshot.size();
+  }
+
+  /**
+   * Returns the headings changed since they have been read, to be read again.
+   *
+   * @return the numbers of the headings changed since they have been read.
+   */
+  public synchronized Set<Integer> pending() {
+    return new HashSet<>(pending);
+  }
+
+  /**
+   * Replaces the entries of the given headings with their current rows.
+   *
+   * @param headingNumbers the heading numbers read again.
+   * @param rows           the current rows of those headings, as (sort form, heading number, view string, usage
+   *                       count).
+   */
+  public synchronized void update(final Set<Integer> headingNumbers, final List<Object[]> rows) {
+    pending.removeAll(headingNumbers);
+    removed.addAll(headingNumbers);
+    added.removeIf(entry -> headingNumbers.contains(entry.headingNumber));
+    for (final Object[] row : rows) {
+      added.add(new Entry(
+        SortFormIndex.encode((String) row[0]), (Integer) row[1], View.toViewMask((String) row[2]), (Integer) row[3]));
+    }
+  }
+
+  /**
+   * Returns the headings of a browse page.
+   *
+   * @param direction the paging direction: {@link BrowsePageCache.Direction#FIRST} starts from the last heading
+   *                  preceding the term, {@link BrowsePageCache.Direction#NEXT} from the first heading following the
+   *                  term, {@link BrowsePageCache.Direction#PREVIOUS} goes backwards from the last heading preceding
+   *                  the term.
+   * @param sortForm  the sort form of the browse term.
+   * @param view      the view, {@link View#ANY} for any view.
+   * @param pageSize  the page size.
+   * @return the heading numbers of the page, in browse order (descending order for the previous page).
+   */
+  public synchronized List<Integer> page(
+    final BrowsePageCache.Direction direction,
+    final String sortForm,
+    final int view,
+    final int pageSize) {
+    byte[] term = SortFormIndex.encode(sortForm);
+    final Iterator<Entry> entries;
+    switch (direction) {
+      case FIRST:
+        final Iterator<Entry> preceding = visible(descending(term), view);
+        if (preceding.hasNext()) {
+          term = preceding.next().sortForm;
+        }
+        entries = visible(ascending(term, true), view);
+        break;
+      case NEXT:
+        entries = visible(ascending(term, false), view);
+        break;
+      default:
+        entries = visible(descending(term), view);
+    }
+
+    final List<Integer> headings = new ArrayList<>(pageSize);
+    while (headings.size() < pageSize && entries.hasNext()) {
+      headings.add(entries.next().headingNumber);
+    }
+    return headings;
+  }
+
+  /**
+   * Returns the headings whose sort form starts with the given prefix, the most used first.
+   *
+   * @param prefix the sort form of the typed prefix.
+   * @param view   the view, {@link View#ANY} for any view.
+   * @param limit  the maximum number of headings.
+   * @return the heading numbers, by descending usage count and then in browse order.
+   */
+  public synchronized List<Integer> suggest(final String prefix, final int view, final int limit) {
+    final byte[] encoded = SortFormIndex.encode(prefix);
+    final List<Entry> changed = new ArrayList<>();
+    for (final Entry entry : added.tailSet(new Entry(encoded, Integer.MIN_VALUE, 0, 0), true)) {
+      if (!startsWith(entry.sortForm, encoded)) {
+        break;
+      }
+      changed.add(entry);
+    }
+    changed.sort(HEAVIEST_FIRST);
+
+    final Iterator<Entry> entries = visible(new Merge(
+      heaviest(snapshot.lowerBound(encoded), snapshot.prefixUpperBound(encoded)),
+      changed.iterator(),
+      HEAVIEST_FIRST), view);
+    final List<Integer> headings = new ArrayList<>(limit);
+    while (headings.size() < limit && entries.hasNext()) {
+      headings.add(entries.next().headingNumber);
+    }
+    return headings;
+  }
+
+  private synchronized void touch(final Set<Integer> headingNumbers) {
+    pending.addAll(headingNumbers);
+  }
+
+  /**
+   * Iterates, in ascending order, the entries whose sort form follows (or equals, if inclusive) the given one.
+   */
+  private Iterator<Entry> ascending(final byte[] term, final boolean inclusive) {
+    final Entry from = new Entry(term, inclusive ? Integer.MIN_VALUE : Integer.MAX_VALUE, 0, 0);
+    return new Merge(
+      snapshot(inclusive ? snapshot.lowerBound(term) : snapshot.upperBound(term), 1),
+      added.tailSet(from, true).iterator(),
+      Comparator.naturalOrder());
+  }
+
+  /**
+   * Iterates, in descending order, the entries whose sort form precedes the given one.
+   */
+  private Iterator<Entry> descending(final byte[] term) {
+    final Entry to = new Entry(term, Integer.MIN_VALUE, 0, 0);
+    return new Merge(
+      snapshot(snapshot.lowerBound(term) - 1, -1),
+      added.headSet(to, false).descendingIterator(),
+      Comparator.reverseOrder());
+  }
+
+  /**
+   * Iterates the snapshot entries from the given position, skipping the headings read again since it was built.
+   */
+  private Iterator<Entry> snapshot(final int from, final int step) {
+    return new Iterator<Entry>() {
+      private int position = skip(from);
+
+      @Override
+      public boolean hasNext() {
+        return position >= 0 && position < snapshot.size();
+      }
+
+      @Override
+      public Entry next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        final Entry entry = entryAt(position);
+        position = skip(position + step);
+        return entry;
+      }
+
+      private int skip(int position) {
+        while (position >= 0 && position < snapshot.size() && removed.contains(snapshot.headingNumberAt(position))) {
+          position += step;
+        }
+        return position;
+      }
+    };
+  }
+
+  /**
+   * Iterates the snapshot entries in the given range of positions, the heaviest first, skipping the headings read
+   * again since it was built.
+   * Each range is split around its heaviest entry once that entry is returned, so only the ranges adjacent to the
+   * returned entries are searched.
+   */
+  private Iterator<Entry> heaviest(final int from, final int to) {
+    final PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> {
+      final int comparison = Integer.compare(snapshot.weightAt(b[2]), snapshot.weightAt(a[2]));
+      return comparison != 0 ? comparison : Integer.compare(a[2], b[2]);
+    });
+    return new Iterator<Entry>() {
+      private Entry next;
+
+      {
+        push(from, to);
+        next = advance();
+      }
+
+      @Override
+      public boolean hasNext() {
+        return next != null;
+      }
+
+      @Override
+      public Entry next() {
+        if (next == null) {
+          throw new NoSuchElementException();
+        }
+        final Entry entry = next;
+        next = advance();
+        return entry;
+      }
+
+      private Entry advance() {
+        while (!ranges.isEmpty()) {
+          final int[] range = ranges.poll();
+          push(range[0], range[2]);
+          push(range[2] + 1, range[1]);
+          if (!removed.contains(snapshot.headingNumberAt(range[2]))) {
+            return entryAt(range[2]);
+          }
+        }
+        return null;
+      }
+
+      private void push(final int from, final int to) {
+        final int position = snapshot.heaviestIn(from, to);
+        if (position >= 0) {
+          ranges.add(new int[]{from, to, position});
+        }
+      }
+    };
+  }
+
+  private Entry entryAt(final int position) {
+    return new Entry(
+      snapshot.sortFormAt(position),
+      snapshot.headingNumberAt(position),
+      snapshot.viewMaskAt(position),
+      snapshot.weightAt(position));
+  }
+
+  private static boolean startsWith(final byte[] sortForm, final byte[] prefix) {
+    if (sortForm.length < prefix.length) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length; i++) {
+      if (sortForm[i] != prefix[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Iterator<Entry> visible(final Iterator<Entry> entries, final int view) {
+    return new Iterator<Entry>() {
+      private Entry next = advance();
+
+      @Override
+      public boolean hasNext() {
+        return next != null;
+      }
+
+      @Override
+      public Entry next() {
+        if (next == null) {
+          throw new NoSuchElementException();
+        }
+        final Entry entry = next;
+        next = advance();
+        return entry;
+      }
+
+      private Entry advance() {
+        while (entries.hasNext()) {
+          final Entry entry = entries.next();
+          if (((entry.viewMask >>> view) & 1) != 0) {
+            return entry;
+          }
+        }
+        return null;
+      }
+    };
+  }
+
+  /**
+   * An entry of the browse index.
+   */
+  private static final class Entry implements Comparable<Entry> {
+    private final byte[] sortForm;
+    private final int headingNumber;
+    private final int viewMask;
+    private final int weight;
+
+    private Entry(final byte[] sortForm, final int headingNumber, final int viewMask, final int weight) {
+      this.sortForm = sortForm;
+      this.headingNumber = headingNumber;
+      this.viewMask = viewMask;
+      this.weight = weight;
+    }
+
+    @Override
+    public int compareTo(final Entry other) {
+      int comparison = SortFormIndex.compare(sortForm, other.sortForm);
+      if (comparison == 0) {
+        comparison = Integer.compare(headingNumber, other.headingNumber);
+      }
+      return comparison != 0 ? comparison : Integer.compare(viewMask, other.viewMask);
+    }
+  }
+
+  /**
+   * Merges two iterators sorted with the same order.
+   */
+  private static final class Merge implements Iterator<Entry> {
+    private final Iterator<Entry> left;
+    private final Iterator<Entry> right;
+    private final Comparator<Entry> order;
+    private Entry nextLeft;
+    private Entry nextRight;
+
+    private Merge(final Iterator<Entry> left, final Iterator<Entry> right, final Comparator<Entry> order) {
+      this.left = left;
+      this.right = right;
+      this.order = order;
+      this.nextLeft = left.hasNext() ? left.next() : null;
+      this.nextRight = right.hasNext() ? right.next() : null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return nextLeft != null || nextRight != null;
+    }
+
+    @Override
+    public Entry next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      final Entry entry;
+      if (nextRight == null || (nextLeft != null && order.compare(nextLeft, nextRight) <= 0)) {
+        entry = nextLeft;
+        nextLeft = left.hasNext() ? left.next() : null;
+      } else {
+        entry = nextRight;
+        nextRight = right.hasNext() ? right.next() : null;
+      }
+      return entry;
+    }
+  }
+}
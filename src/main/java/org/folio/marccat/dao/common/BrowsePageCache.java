@@ -0,0 +1,116 @@
+package org.folio.marccat.dao.common;
+
+import org.folio.marccat.dao.DAODescriptor;
+import org.folio.marccat.shared.MapHeading;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-tenant cache of browse pages.
+ * A page is identified by the index, the (normalized) sort form it starts from, the paging direction, view, main
+ * library, page size and language; it holds the headings already decorated with counts and code table labels.
+ * Size and expiration come from the {@link #REGION} entry in ehcache.xml. Each heading table has its own region
+ * (e.g. org.folio.marccat.browse#NME_HDG), so that when {@link DAODescriptor} has committed the write or the deletion
+ * of a heading all the pages of the indexes on that table are discarded at once, whichever DAO serves them, without
+ * going through the pages of the other tables; document and cross-reference counts changed by other writes are
+ * refreshed by expiration.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public final class BrowsePageCache {
+  public static final String REGION = "org.folio.marccat.browse";
+
+  /**
+   * The paging directions.
+   */
+  public enum Direction {
+    FIRST, NEXT, PREVIOUS
+  }
+
+  private static final char SEPARATOR = '\u0001';
+
+  private BrowsePageCache() {
+  }
+
+  /**
+   * Builds the key of a browse page.
+   *
+   * @param dao         the DAO serving the index.
+   * @param indexKey    the index key.
+   * @param sortForm    the normalized sort form the page starts from.
+   * @param direction   the paging direction.
+   * @param view        the cataloguing view.
+   * @param mainLibrary the main library.
+   * @param pageSize    the page size.
+   * @param lang        the language.
+   * @return the key of the browse page.
+   */
+  public static Key key(
+    final DAODescriptor dao,
+    final String indexKey,
+    final String sortForm,
+    final Direction direction,
+    final int view,
+    final int mainLibrary,
+    final int pageSize,
+    final String lang) {
+    return new Key(
+      region(dao.getPersistentClass()),
+      indexKey + SEPARATOR + sortForm + SEPARATOR + direction + SEPARATOR + view + SEPARATOR + mainLibrary + SEPARATOR
+        + pageSize + SEPARATOR + lang);
+  }
+
+  /**
+   * Returns the cached browse page with the given key, for the tenant bound to the current thread.
+   *
+   * @param key the page key.
+   * @return the cached browse page, null if it isn't cached.
+   */
+  @SuppressWarnings("unchecked")
+  public static List<MapHeading> get(final Key key) {
+    return (List<MapHeading>) TenantCacheProvider.get(TenantContext.current(), key.region, key.value);
+  }
+
+  /**
+   * Caches the given browse page, for the tenant bound to the current thread.
+   *
+   * @param key      the page key.
+   * @param headings the page headings.
+   * @return the (unmodifiable) cached page.
+   */
+  public static List<MapHeading> put(final Key key, final List<MapHeading> headings) {
+    final List<MapHeading> page = Collections.unmodifiableList(new ArrayList<>(headings));
+    TenantCacheProvider.put(TenantContext.current(), key.region, key.value, page);
+    return page;
+  }
+
+  /**
+   * Discards the cached pages of all the indexes on the given heading table, for the tenant bound to the current
+   * thread.
+   *
+   * @param headingTable the persistent class of the heading table.
+   */
+  public static void invalidate(final Class<?> headingTable) {
+    TenantCacheProvider.clear(TenantContext.current(), region(headingTable));
+  }
+
+  private static String region(final Class<?> headingTable) {
+    return REGION + TenantCacheProvider.QUALIFIER + headingTable.getSimpleName();
+  }
+
+  /**
+   * The key of a browse page: the region of its heading table and the key of the page in that region.
+   */
+  public static final class Key {
+    private final String region;
+    private final String value;
+
+    private Key(final String region, final String value) {
+      this.region = region;
+      this.value = value;
+    }
+  }
+}
@@ -0,0 +1,148 @@
+package org.folio.marccat.dao.common;
+
+import org.folio.marccat.dao.persistence.CodeTable;
+import org.folio.marccat.dao.persistence.T_SINGLE_LONGCHAR;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable in-memory image of a single code table.
+ * Entries are indexed by code and language; the per-language lists keep the code table order.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public final class CodeTableIndex {
+  private final Map<String, Map<String, Entry>> byCode;
+  private final Map<String, List<Entry>> byLanguage;
+  private final Map<Integer, Entry> bySequence;
+
+  /**
+   * Builds a new index from the given code table rows.
+   *
+   * @param rows the code table rows, ordered by code.
+   */
+  CodeTableIndex(final List<CodeTable> rows) {
+    final Map<String, Map<String, Entry>> codes = new HashMap<>();
+    final Map<String, List<Entry>> languages = new HashMap<>();
+    final Map<Integer, Entry> sequences = new HashMap<>();
+    for (final CodeTable row : rows) {
+      final Entry entry = new Entry(row);
+      codes.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).putIfAbsent(entry.getLanguage(), entry);
+      languages.computeIfAbsent(entry.getLanguage(), k -> new ArrayList<>()).add(entry);
+      sequences.putIfAbsent(entry.getSequence(), entry);
+    }
+    codes.replaceAll((code, entries) -> Collections.unmodifiableMap(entries));
+    languages.replaceAll((language, entries) -> Collections.unmodifiableList(entries));
+    this.byCode = Collections.unmodifiableMap(codes);
+    this.byLanguage = Collections.unmodifiableMap(languages);
+    this.bySequence = Collections.unmodifiableMap(sequences);
+  }
+
+  /**
+   * Returns the entry associated with the given code and language.
+   *
+   * @param code     the code.
+   * @param language the ISO3 language.
+   * @return the entry associated with the given code and language, null if it doesn't exist.
+   */
+  public Entry get(final String code, final String language) {
+    final Map<String, Entry> entries = byCode.get(key(code));
+    return entries != null ? entries.get(language) : null;
+  }
+
+  /**
+   * Returns the sequence of the first entry with the given code, regardless of the language.
+   *
+   * @param code         the code.
+   * @param defaultValue the value returned if the code doesn't exist.
+   * @return the sequence of the first entry with the given code.
+   */
+  public int sequenceOf(final String code, final int defaultValue) {
+    final Map<String, Entry> entries = byCode.get(key(code));
+    return (entries != null && !entries.isEmpty())
+      ? entries.values().iterator().next().getSequence()
+      : defaultValue;
+  }
+
+  /**
+   * Returns the code of the entry with the given sequence.
+   *
+   * @param sequence     the sequence.
+   * @param defaultValue the value returned if the sequence doesn't exist.
+   * @return the code of the entry with the given sequence.
+   */
+  public String codeOf(final int sequence, final String defaultValue) {
+    final Entry entry = bySequence.get(sequence);
+    return entry != null ? entry.getCode() : defaultValue;
+  }
+
+  /**
+   * Returns all entries in the given language, in code table order.
+   *
+   * @param language the ISO3 language.
+   * @return all entries in the given language.
+   */
+  public List<Entry> list(final String language) {
+    return byLanguage.getOrDefault(language, Collections.emptyList());
+  }
+
+  private static String key(final String code) {
+    return code != null ? code.trim() : "";
+  }
+
+  /**
+   * A single (detached and immutable) code table row.
+   */
+  public static final class Entry {
+    private final String code;
+    private final String key;
+    private final String language;
+    private final String shortText;
+    private final String longText;
+    private final int sequence;
+    private final char obsoleteIndicator;
+
+    private Entry(final CodeTable row) {
+      this.code = row instanceof T_SINGLE_LONGCHAR ? ((T_SINGLE_LONGCHAR) row).getCode() : row.getCodeString();
+      this.key = CodeTableIndex.key(row.getCodeString());
+      this.language = row.getLanguage();
+      this.shortText = row.getShortText();
+      this.longText = row.getLongText();
+      this.sequence = row.getSequence();
+      this.obsoleteIndicator = row.isObsoleteIndicator();
+    }
+
+    public String getCode() {
+      return code;
+    }
+
+    String getKey() {
+      return key;
+    }
+
+    public String getLanguage() {
+      return language;
+    }
+
+    public String getShortText() {
+      return shortText;
+    }
+
+    public String getLongText() {
+      return longText;
+    }
+
+    public int getSequence() {
+      return sequence;
+    }
+
+    public boolean isObsolete() {
+      return obsoleteIndicator != '0';
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package org.folio.marccat.dao.common;
+
+import net.sf.hibernate.HibernateException;
+import net.sf.hibernate.Session;
+import org.folio.marccat.config.log.Log;
+import org.folio.marccat.config.log.MessageCatalog;
+import org.folio.marccat.dao.persistence.CodeTable;
+import org.folio.marccat.dao.persistence.T_LANG_OF_IDXG_LANG;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-tenant registry of the code tables mapped in hibernate.cfg.xml.
+ * Code tables are small and (almost) static: each one is loaded the first time it is requested by a tenant and then
+ * served from an immutable {@link CodeTableIndex}, so that lookups done in tight loops (e.g. decorating browse
+ * headings) are hash lookups instead of queries.
+ * The tenant is the one bound to the current thread (see {@link TenantContext}); when no tenant is bound callers are
+ * expected to fall back to the database.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public final class CodeTableRegistry {
+  private static final Log logger = new Log(CodeTableRegistry.class);
+  private static final Map<String, CodeTableRegistry> TENANTS = new ConcurrentHashMap<>();
+
+  private final String tenant;
+  private final Map<Class, CodeTableIndex> indexes = new ConcurrentHashMap<>();
+  private volatile Map<Integer, Integer> indexingLanguages;
+
+  private CodeTableRegistry(final String tenant) {
+    this.tenant = tenant;
+  }
+
+  /**
+   * Returns the registry of the tenant bound to the current thread.
+   *
+   * @return the registry of the tenant bound to the current thread, null if no tenant is bound.
+   */
+  public static CodeTableRegistry current() {
+    final String tenant = TenantContext.current();
+    return tenant != null
+      ? TENANTS.computeIfAbsent(tenant, CodeTableRegistry::new)
+      : null;
+  }
+
+  /**
+   * Discards everything has been loaded for the given tenant: code tables will be reloaded on next access.
+   *
+   * @param tenant the tenant identifier.
+   */
+  public static void refresh(final String tenant) {
+    if (TENANTS.remove(tenant) != null) {
+      logger.info(MessageCatalog._00026_CODE_TABLES_REFRESHED, tenant);
+    }
+  }
+
+  /**
+   * Discards the given code table: it will be reloaded on next access.
+   *
+   * @param codeTable the code table class.
+   */
+  public void invalidate(final Class codeTable) {
+    indexes.remove(codeTable);
+  }
+
+  /**
+   * Returns the index of the given code table.
+   *
+   * @param session    the current session, used only if the code table hasn't been loaded yet.
+   * @param codeTable  the code table class.
+   * @return the index of the given code table.
+   * @throws HibernateException in case of data access failure.
+   */
+  @SuppressWarnings("unchecked")
+  public CodeTableIndex index(final Session session, final Class codeTable) throws HibernateException {
+    CodeTableIndex index = indexes.get(codeTable);
+    if (index == null) {
+      final List<CodeTable> rows = load(session, "from " + codeTable.getName() + " as ct order by ct.code");
+      index = new CodeTableIndex(rows);
+      final CodeTableIndex existing = indexes.putIfAbsent(codeTable, index);
+      if (existing != null) {
+        index = existing;
+      } else {
+        logger.debug(MessageCatalog._00027_CODE_TABLE_LOADED, codeTable.getSimpleName(), rows.size(), tenant);
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Returns the language associated with the given language of indexing (T_LANG_OF_IDXG_LANG).
+   *
+   * @param session          the current session, used only if the table hasn't been loaded yet.
+   * @param languageIndexing the language of indexing sequence.
+   * @param defaultValue     the value returned if there's no association.
+   * @return the language associated with the given language of indexing.
+   * @throws HibernateException in case of data access failure.
+   */
+  @SuppressWarnings("unchecked")
+  public int indexingLanguage(final Session session, final int languageIndexing, final int defaultValue) throws HibernateException {
+    Map<Integer, Integer> languages = indexingLanguages;
+    if (languages == null) {
+      final Map<Integer, Integer> loaded = new HashMap<>();
+      final List<T_LANG_OF_IDXG_LANG> rows = load(session, "from T_LANG_OF_IDXG_LANG as t");
+      rows.forEach(row -> loaded.put(row.getLanguageIndexing(), row.getLanguage()));
+      indexingLanguages = languages = Collections.unmodifiableMap(loaded);
+    }
+    return languages.getOrDefault(languageIndexing, defaultValue);
+  }
+
+  /**
+   * Loads the rows in a dedicated session (on the same connection) so that the caller session cache is not filled
+   * with code table entities.
+   */
+  private List load(final Session session, final String query) throws HibernateException {
+    final Session loader = session.getSessionFactory().openSession(session.connection());
+    try {
+      return loader.find(query);
+    } finally {
+      loader.close();
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package org.folio.marccat.dao.common;
+
+import org.folio.marccat.dao.persistence.ReferenceType;
+
+/**
+ * The cross-references a CCL search term may be expanded through: a term matching a heading also matches the
+ * headings the cross-references of that heading lead to.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public enum CrossReferenceExpansion {
+  /**
+   * The term isn't expanded.
+   */
+  NONE,
+
+  /**
+   * The term is expanded through see, seen from and equivalence references.
+   */
+  SEE,
+
+  /**
+   * The term is expanded through see, seen from, equivalence, see also and see also from references.
+   */
+  SEE_ALSO;
+
+  /**
+   * Returns true if the term is expanded through the given reference type.
+   *
+   * @param referenceType the reference type code.
+   * @return true if the term is expanded through the given reference type.
+   */
+  public boolean follows(final int referenceType) {
+    switch (this) {
+      case SEE:
+        return ReferenceType.isSee(referenceType)
+          || ReferenceType.isSeenFrom(referenceType)
+          || ReferenceType.isEquivalence(referenceType);
+      case SEE_ALSO:
+        return SEE.follows(referenceType)
+          || ReferenceType.isSeeAlso(referenceType)
+          || ReferenceType.isSeeAlsoFrom(referenceType);
+      default:
+        return false;
+    }
+  }
+}
@@ -0,0 +1,285 @@
+package org.folio.marccat.dao.common;
+
+import org.folio.marccat.business.common.View;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process graph of the cross-references of a reference table (e.g. NME_REF), for a tenant: for each source
+ * heading, the (target heading, reference type, views) edges leaving it.
+ * The graph is a snapshot, built from the reference table and kept in compact arrays sorted by source heading, plus
+ * the edges of the sources changed since then: cross-reference writes are notified ({@link #touch(Class, int)}) by
+ * the session interceptor, and the edges of the touched sources are read again from the database before the graph is
+ * used ({@link org.folio.marccat.dao.DAODescriptor#refreshCrossReferenceGraph}); they are kept on heap until the next
+ * rebuild.
+ *
+ * @author cchiama
+ * @since 1.0
+ * @see org.folio.marccat.integration.CrossReferenceGraphMaintenance
+ */
+public final class CrossReferenceGraph {
+  private static final Map<String, Map<Class<?>, CrossReferenceGraph>> GRAPHS = new ConcurrentHashMap<>();
+
+  private final Class<?> referenceClass;
+  private final int[] sources;
+  private final int[] offsets;
+  private final int[] targets;
+  private final short[] types;
+  private final int[] viewMasks;
+  private final Map<Integer, List<Edge>> changed = new HashMap<>();
+  private final Set<Integer> pending = new HashSet<>();
+
+  private CrossReferenceGraph(
+    final Class<?> referenceClass,
+    final int[] sources,
+    final int[] offsets,
+    final int[] targets,
+    final short[] types,
+    final int[] viewMasks) {
+    this.referenceClass = referenceClass;
+    this.sources = sources;
+    this.offsets = offsets;
+    this.targets = targets;
+    this.types = types;
+    this.viewMasks = viewMasks;
+  }
+
+  /**
+   * Returns the graph of the given reference table, for the tenant bound to the current thread.
+   *
+   * @param referenceClass the reference class.
+   * @return the graph, null if it hasn't been built.
+   */
+  public static CrossReferenceGraph of(final Class<?> referenceClass) {
+    final Map<Class<?>, CrossReferenceGraph> graphs = GRAPHS.get(TenantContext.current());
+    return graphs != null ? graphs.get(referenceClass) : null;
+  }
+
+  /**
+   * Installs a new graph for the tenant bound to the current thread, replacing the current one.
+   * The sources changed while the new graph was being built are read again before it is used.
+   *
+   * @param referenceClass the reference class.
+   * @param graph          the new graph.
+   */
+  public static void install(final Class<?> referenceClass, final CrossReferenceGraph graph) {
+    final CrossReferenceGraph previous = GRAPHS.computeIfAbsent(TenantContext.current(), tenant -> new ConcurrentHashMap<>())
+      .put(referenceClass, graph);
+    if (previous != null) {
+      synchronized (previous) {
+        graph.touch(previous.changed.keySet());
+        graph.touch(previous.pending);
+      }
+    }
+  }
+
+  /**
+   * Notifies the graph of the given reference table, for the tenant bound to the current thread, that a
+   * cross-reference leaving the given heading has been written or deleted.
+   *
+   * @param referenceClass the reference class.
+   * @param source         the source heading number.
+   */
+  public static void touch(final Class<?> referenceClass, final int source) {
+    final CrossReferenceGraph graph = of(referenceClass);
+    if (graph != null) {
+      graph.touch(Collections.singleton(source));
+    }
+  }
+
+  public Class<?> getReferenceClass() {
+    return referenceClass;
+  }
+
+  /**
+   * Returns the number of edges of the snapshot the graph has been built from.
+   *
+   * @return the number of edges of the snapshot.
+   */
+  public int size() {
+    return targets.length;
+  }
+
+  /**
+   * Returns the sources changed since they have been read, to be read again.
+   *
+   * @return the numbers of the source headings changed since they have been read.
+   */
+  public synchronized Set<Integer> pending() {
+    return new HashSet<>(pending);
+  }
+
+  /**
+   * Replaces the edges of the given sources with their current rows.
+   *
+   * @param sourceNumbers the source heading numbers read again.
+   * @param rows          the current rows of those sources, as (source, target, type, view string).
+   */
+  public synchronized void update(final Set<Integer> sourceNumbers, final List<Object[]> rows) {
+    pending.removeAll(sourceNumbers);
+    sourceNumbers.forEach(source -> changed.put(source, new ArrayList<>()));
+    for (final Object[] row : rows) {
+      changed.get((Integer) row[0]).add(new Edge((Integer) row[1], ((Number) row[2]).shortValue(), View.toViewMask((String) row[3])));
+    }
+  }
+
+  /**
+   * Returns the number of cross-references leaving the given heading in the given view.
+   *
+   * @param source the source heading number.
+   * @param view   the view.
+   * @return the number of cross-references leaving the given heading in the given view.
+   */
+  public synchronized int count(final int source, final int view) {
+    int count = 0;
+    for (final Edge edge : edges(source)) {
+      if (((edge.viewMask >>> view) & 1) != 0) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the headings the cross-references leaving the given heading in the given view lead to, through the
+   * reference types followed by the given expansion.
+   *
+   * @param source    the source heading number.
+   * @param view      the view, {@link View#ANY} for any view.
+   * @param expansion the expansion.
+   * @return the target heading numbers.
+   */
+  public synchronized Set<Integer> targets(final int source, final int view, final CrossReferenceExpansion expansion) {
+    final Set<Integer> result = new HashSet<>();
+    for (final Edge edge : edges(source)) {
+      if (((edge.viewMask >>> view) & 1) != 0 && expansion.follows(edge.type)) {
+        result.add(edge.target);
+      }
+    }
+    return result;
+  }
+
+  private synchronized void touch(final Set<Integer> sourceNumbers) {
+    pending.addAll(sourceNumbers);
+  }
+
+  private List<Edge> edges(final int source) {
+    final List<Edge> edges = changed.get(source);
+    if (edges != null) {
+      return edges;
+    }
+
+    final int position = Arrays.binarySearch(sources, source);
+    if (position < 0) {
+      return Collections.emptyList();
+    }
+    final List<Edge> result = new ArrayList<>(offsets[position + 1] - offsets[position]);
+    for (int edge = offsets[position]; edge < offsets[position + 1]; edge++) {
+      result.add(new Edge(targets[edge], types[edge], viewMasks[edge]));
+    }
+    return result;
+  }
+
+  /**
+   * An edge of the graph.
+   */
+  private static final class Edge {
+    private final int target;
+    private final short type;
+    private final int viewMask;
+
+    private Edge(final int target, final short type, final int viewMask) {
+      this.target = target;
+      this.type = type;
+      this.viewMask = viewMask;
+    }
+  }
+
+  /**
+   * Builds a graph from edges added in any order.
+   */
+  public static final class Builder {
+    private final Class<?> referenceClass;
+    private int[] sources = new int[1024];
+    private int[] targets = new int[1024];
+    private short[] types = new short[1024];
+    private int[] viewMasks = new int[1024];
+    private int size;
+
+    /**
+     * Builds a new builder.
+     *
+     * @param referenceClass the reference class.
+     */
+    public Builder(final Class<?> referenceClass) {
+      this.referenceClass = referenceClass;
+    }
+
+    /**
+     * Appends an edge.
+     *
+     * @param source   the source heading number.
+     * @param target   the target heading number.
+     * @param type     the reference type code.
+     * @param viewMask the views of the reference, as returned by {@link View#toViewMask(String)}.
+     */
+    public void add(final int source, final int target, final int type, final int viewMask) {
+      if (size == sources.length) {
+        sources = Arrays.copyOf(sources, size * 2);
+        targets = Arrays.copyOf(targets, size * 2);
+        types = Arrays.copyOf(types, size * 2);
+        viewMasks = Arrays.copyOf(viewMasks, size * 2);
+      }
+      sources[size] = source;
+      targets[size] = target;
+      types[size] = (short) type;
+      viewMasks[size++] = viewMask;
+    }
+
+    /**
+     * Sorts the edges by source heading and groups them.
+     *
+     * @return the graph.
+     */
+    public CrossReferenceGraph build() {
+      final long[] order = new long[size];
+      for (int edge = 0; edge < size; edge++) {
+        order[edge] = ((long) sources[edge] << 32) | edge;
+      }
+      Arrays.sort(order);
+
+      final int[] sortedTargets = new int[size];
+      final short[] sortedTypes = new short[size];
+      final int[] sortedViewMasks = new int[size];
+      final int[] distinctSources = new int[size];
+      final int[] offsets = new int[size + 1];
+      int distinct = 0;
+      for (int position = 0; position < size; position++) {
+        final int edge = (int) order[position];
+        if (distinct == 0 || distinctSources[distinct - 1] != sources[edge]) {
+          distinctSources[distinct] = sources[edge];
+          offsets[distinct++] = position;
+        }
+        sortedTargets[position] = targets[edge];
+        sortedTypes[position] = types[edge];
+        sortedViewMasks[position] = viewMasks[edge];
+      }
+      offsets[distinct] = size;
+      return new CrossReferenceGraph(
+        referenceClass,
+        Arrays.copyOf(distinctSources, distinct),
+        Arrays.copyOf(offsets, distinct + 1),
+        sortedTargets,
+        sortedTypes,
+        sortedViewMasks);
+    }
+  }
+}
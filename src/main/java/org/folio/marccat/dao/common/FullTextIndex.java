@@ -0,0 +1,89 @@
+package org.folio.marccat.dao.common;
+
+import java.util.Arrays;
+
+/**
+ * The full-text indexes on the heading sort forms, which serve the word searches (W, WW) of the CCL search engine.
+ * The words of a sort form are the lexemes of its text search vector (to_tsvector) in the simple configuration,
+ * which doesn't stem nor drop stop words: the index is an expression GIN index, so it needs no additional column and
+ * is maintained by the database on every heading write.
+ * Word searches are rewritten against these indexes only when enabled (see
+ * {@link org.folio.marccat.config.Global#FULL_TEXT_SEARCH_ENABLED}), after the indexes have been created; they then
+ * match whole words only (see the search FullTextQuery).
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public enum FullTextIndex {
+  NAME_SORT_FORM("nme_hdg", "nme_hdg_srt_form"),
+  TITLE_SORT_FORM("ttl_hdg", "ttl_hdg_srt_form"),
+  SUBJECT_SORT_FORM("sbjct_hdg", "sbjct_hdg_srt_form"),
+  THESAURUS_SORT_FORM("ths_hdg", "ths_hdg_srt_form"),
+  PUBLISHER_NAME_SORT_FORM("publ_hdg", "publ_hdg_srt_frm_nme"),
+  PUBLISHER_PLACE_SORT_FORM("publ_hdg", "publ_hdg_srt_frm_plce");
+
+  /**
+   * The text search configuration of the indexes and of the queries.
+   */
+  public static final String CONFIGURATION = "simple";
+
+  private final String table;
+  private final String column;
+
+  FullTextIndex(final String table, final String column) {
+    this.table = table;
+    this.column = column;
+  }
+
+  /**
+   * Returns the index on the given column.
+   *
+   * @param column the column, optionally qualified by its table or alias.
+   * @return the index on the given column, null if the column isn't indexed.
+   */
+  public static FullTextIndex of(final String column) {
+    final String name = column.substring(column.lastIndexOf('.') + 1).trim();
+    return Arrays.stream(values())
+      .filter(index -> index.column.equalsIgnoreCase(name))
+      .findFirst()
+      .orElse(null);
+  }
+
+  /**
+   * Returns the text search vector of the given column, written as the expression of the index, so that the
+   * planner can match them.
+   *
+   * @param column the column, optionally qualified by its table or alias.
+   * @return the text search vector of the given column.
+   */
+  public static String vectorOf(final String column) {
+    return "to_tsvector('" + CONFIGURATION + "', " + column + ")";
+  }
+
+  /**
+   * Returns the name of this index.
+   *
+   * @return the name of this index.
+   */
+  public String getName() {
+    return "fts_" + name().toLowerCase();
+  }
+
+  /**
+   * Returns the statement creating this index.
+   * The index is built concurrently, so it doesn't block the writes on the table, and only if it doesn't exist yet.
+   *
+   * @return the statement creating this index.
+   */
+  public String ddl() {
+    return "create index concurrently if not exists " + getName() + " on " + table + " using gin (" + vectorOf(column) + ")";
+  }
+
+  public String getTable() {
+    return table;
+  }
+
+  public String getColumn() {
+    return column;
+  }
+}
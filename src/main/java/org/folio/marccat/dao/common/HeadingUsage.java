@@ -0,0 +1,91 @@
+package org.folio.marccat.dao.common;
+
+import org.folio.marccat.business.cataloguing.bibliographic.BibliographicAccessPoint;
+import org.folio.marccat.dao.persistence.ClassificationAccessPoint;
+import org.folio.marccat.dao.persistence.ControlNumberAccessPoint;
+import org.folio.marccat.dao.persistence.NME_TTL_HDG;
+import org.folio.marccat.dao.persistence.NameAccessPoint;
+import org.folio.marccat.dao.persistence.NameTitleAccessPoint;
+import org.folio.marccat.dao.persistence.SubjectAccessPoint;
+import org.folio.marccat.dao.persistence.TitleAccessPoint;
+
+/**
+ * The heading usages having a counter in HDG_USG_CNT.
+ * A usage is a table whose rows link an owner (a bibliographic record, or a name/title heading) to a heading, in one
+ * or more views: the counter of a heading in a view is the number of distinct owners linked to that heading in that
+ * view (view {@link org.folio.marccat.business.common.View#ANY} counts the owners linked in any view).
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public enum HeadingUsage {
+  NAME(NameAccessPoint.class, "nme_acs_pnt", "bib_itm_nbr", "nme_hdg_nbr"),
+  TITLE(TitleAccessPoint.class, "ttl_acs_pnt", "bib_itm_nbr", "ttl_hdg_nbr"),
+  NAME_TITLE(NameTitleAccessPoint.class, "nme_ttl_acs_pnt", "bib_itm_nbr", "nme_ttl_hdg_nbr"),
+  SUBJECT(SubjectAccessPoint.class, "sbjct_acs_pnt", "bib_itm_nbr", "sbjct_hdg_nbr"),
+  CLASSIFICATION(ClassificationAccessPoint.class, "clstn_itm_acs_pnt", "bib_itm_nbr", "clstn_key_nbr"),
+  CONTROL_NUMBER(ControlNumberAccessPoint.class, "cntl_nbr_acs_pnt", "bib_itm_nbr", "cntl_key_nbr"),
+  NAME_IN_NAME_TITLE(NME_TTL_HDG.class, "nme_ttl_hdg", "nme_ttl_hdg_nbr", "nme_hdg_nbr"),
+  TITLE_IN_NAME_TITLE(NME_TTL_HDG.class, "nme_ttl_hdg", "nme_ttl_hdg_nbr", "ttl_hdg_nbr");
+
+  private final Class<?> entity;
+  private final String table;
+  private final String ownerColumn;
+  private final String headingColumn;
+
+  HeadingUsage(final Class<?> entity, final String table, final String ownerColumn, final String headingColumn) {
+    this.entity = entity;
+    this.table = table;
+    this.ownerColumn = ownerColumn;
+    this.headingColumn = headingColumn;
+  }
+
+  /**
+   * Returns the usage counted on the given access point table.
+   *
+   * @param accessPoint the access point class.
+   * @return the usage counted on the given access point table, null if there's no counter for it.
+   */
+  public static HeadingUsage of(final Class accessPoint) {
+    for (final HeadingUsage usage : values()) {
+      if (usage.entity == accessPoint) {
+        return usage;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns true if the given persistent object is a row of this usage table.
+   *
+   * @param persistentObject the persistent object.
+   * @return true if the given persistent object is a row of this usage table.
+   */
+  public boolean isRow(final Object persistentObject) {
+    return entity.isInstance(persistentObject);
+  }
+
+  /**
+   * Returns the owner of the given row of this usage table.
+   *
+   * @param row the row.
+   * @return the owner of the given row.
+   */
+  public int ownerOf(final Object row) {
+    return row instanceof NME_TTL_HDG
+      ? ((NME_TTL_HDG) row).getKey().getHeadingNumber()
+      : ((BibliographicAccessPoint) row).getBibItemNumber();
+  }
+
+  public String getTable() {
+    return table;
+  }
+
+  public String getOwnerColumn() {
+    return ownerColumn;
+  }
+
+  public String getHeadingColumn() {
+    return headingColumn;
+  }
+}
@@ -0,0 +1,115 @@
+package org.folio.marccat.dao.common;
+
+import net.sf.hibernate.HibernateException;
+import org.folio.marccat.config.log.Log;
+import org.folio.marccat.config.log.MessageCatalog;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hi/lo allocator for the numbers kept in the system counter tables (S_NXT_NBR, S_INVTRY).
+ * Instead of locking and updating the counter row for each new key, a whole block of numbers is reserved with a single
+ * (short) transaction and then handed out from memory. Since the reservation itself goes through the locked row,
+ * several module instances sharing the same database never get overlapping blocks.
+ * The price is that numbers reserved and not used before a shutdown are lost, so sequences may have gaps.
+ * Blocks are kept per tenant and per key type.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public final class KeyBlockAllocator {
+  private static final Log logger = new Log(KeyBlockAllocator.class);
+
+  private final String counter;
+  private final int blockSize;
+  private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+  /**
+   * Builds a new allocator for the given counter table.
+   *
+   * @param counter   the name of the counter table, used only for logging.
+   * @param blockSize the number of keys reserved with each database round trip.
+   */
+  public KeyBlockAllocator(final String counter, final int blockSize) {
+    this.counter = counter;
+    this.blockSize = Math.max(1, blockSize);
+  }
+
+  /**
+   * Returns the size of the blocks reserved by this allocator.
+   *
+   * @return the size of the blocks reserved by this allocator.
+   */
+  public int getBlockSize() {
+    return blockSize;
+  }
+
+  /**
+   * Returns the next number for the given tenant and key type.
+   * If the current block is exhausted a new one is reserved through the given reservation.
+   *
+   * @param tenant      the tenant identifier.
+   * @param key         the key type (i.e. the counter row identifier).
+   * @param reservation the callback which reserves a new block in the counter table.
+   * @return the next number for the given tenant and key type.
+   * @throws HibernateException in case the block reservation fails.
+   */
+  public int next(final String tenant, final String key, final Reservation reservation) throws HibernateException {
+    return blocks.computeIfAbsent(tenant + ":" + key, id -> new Block()).next(tenant, key, reservation);
+  }
+
+  /**
+   * Reserves a block of numbers in a counter table.
+   */
+  @FunctionalInterface
+  public interface Reservation {
+    /**
+     * Advances the counter by the given size.
+     *
+     * @param size the block size.
+     * @return the first number of the reserved block (i.e. the counter value before the update).
+     * @throws HibernateException in case of data access failure.
+     */
+    int reserve(int size) throws HibernateException;
+  }
+
+  /**
+   * A range of reserved numbers: the lower bound moves forward atomically, the upper bound is fixed.
+   */
+  private static final class Range {
+    private final AtomicInteger next;
+    private final int limit;
+
+    Range(final int first, final int size) {
+      this.next = new AtomicInteger(first);
+      this.limit = first + size;
+    }
+  }
+
+  /**
+   * The current block of a given tenant and key type.
+   * Numbers are handed out without locking; only the thread that finds the block exhausted reserves the next one.
+   */
+  private final class Block {
+    private volatile Range range = new Range(0, 0);
+
+    int next(final String tenant, final String key, final Reservation reservation) throws HibernateException {
+      while (true) {
+        final Range current = range;
+        final int number = current.next.getAndIncrement();
+        if (number < current.limit) {
+          return number;
+        }
+
+        synchronized (this) {
+          if (range == current) {
+            range = new Range(reservation.reserve(blockSize), blockSize);
+            logger.debug(MessageCatalog._00030_KEY_BLOCK_RESERVED, blockSize, counter, key, tenant);
+          }
+        }
+      }
+    }
+  }
+}
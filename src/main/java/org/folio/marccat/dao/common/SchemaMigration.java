@@ -0,0 +1,58 @@
+package org.folio.marccat.dao.common;
+
+/**
+ * The tables and columns added by the module to the tenant schema, for the features that keep their own state in the
+ * database (e.g. the FULL_CACHE maintenance queue, the FULL_CACHE rebuild checkpoints and the heading usage
+ * counters).
+ * Each migration is a list of statements which can be run again: objects are created only if they don't exist yet.
+ * Migrations are applied, in order, the first time a tenant is served (see
+ * {@link org.folio.marccat.dao.SchemaMigrationDAO}).
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public enum SchemaMigration {
+  FULL_CACHE_QUEUE(
+    "create table if not exists full_cache_queue ("
+      + "record_id integer not null, "
+      + "user_view integer not null, "
+      + "changes integer not null, "
+      + "enqueued_at timestamp not null, "
+      + "claimed_until timestamp, "
+      + "attempts integer not null default 0, "
+      + "primary key (record_id, user_view))",
+    "create index if not exists full_cache_queue_enqueued_at on full_cache_queue (enqueued_at)"),
+  FULL_CACHE_REBUILD(
+    "create table if not exists full_cache_rebuild ("
+      + "user_view integer not null, "
+      + "partition_start integer not null, "
+      + "partition_end integer not null, "
+      + "last_record_id integer not null, "
+      + "updated_at timestamp, "
+      + "primary key (user_view, partition_start))"),
+  LOCK_LEASE(
+    "alter table s_lck_tbl add column if not exists lse_expry_dte timestamp",
+    "create index if not exists s_lck_tbl_lse_expry_dte on s_lck_tbl (lse_expry_dte)"),
+  HEADING_USAGE(
+    "create table if not exists hdg_usg_cnt ("
+      + "usg_typ_cde varchar(32) not null, "
+      + "hdg_nbr integer not null, "
+      + "usr_vw_nbr integer not null, "
+      + "doc_cnt integer not null, "
+      + "primary key (usg_typ_cde, hdg_nbr, usr_vw_nbr))");
+
+  private final String[] statements;
+
+  SchemaMigration(final String... statements) {
+    this.statements = statements;
+  }
+
+  /**
+   * Returns the statements of this migration, in the order they have to be executed.
+   *
+   * @return the statements of this migration.
+   */
+  public String[] getStatements() {
+    return statements.clone();
+  }
+}
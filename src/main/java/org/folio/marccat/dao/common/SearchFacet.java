@@ -0,0 +1,51 @@
+package org.folio.marccat.dao.common;
+
+/**
+ * The facets the documents matching a search can be counted by, named after the CCL filters on the same codes.
+ * Language and material type are read from the display cache of the view (s_cache_bib_itm_dsply), the same columns
+ * the result sets are sorted by; the bibliographic level, which isn't in the display cache, from the record itself.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public enum SearchFacet {
+  LAN("c", "lang_of_ctlgg_cde"),
+  MAT("c", "itm_rec_typ_cde"),
+  BIB("b", "itm_bib_lvl_cde");
+
+  /**
+   * The alias of the display cache table in the count query.
+   */
+  public static final String CACHE_ALIAS = "c";
+
+  /**
+   * The alias of the record table in the count query.
+   */
+  public static final String RECORD_ALIAS = "b";
+
+  private final String alias;
+  private final String column;
+
+  SearchFacet(final String alias, final String column) {
+    this.alias = alias;
+    this.column = column;
+  }
+
+  /**
+   * Returns the qualified column holding the code of this facet, in the count query.
+   *
+   * @return the qualified column holding the code of this facet.
+   */
+  public String getColumn() {
+    return alias + "." + column;
+  }
+
+  /**
+   * Returns true if the code of this facet is read from the display cache.
+   *
+   * @return true if the code of this facet is read from the display cache, false if from the record.
+   */
+  public boolean isCached() {
+    return CACHE_ALIAS.equals(alias);
+  }
+}
@@ -0,0 +1,305 @@
+package org.folio.marccat.dao.common;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Immutable sorted array of (sort form, heading number, view mask, weight) entries, kept off heap in memory mapped
+ * files. Entries are ordered by the UTF-8 bytes of the sort form (unsigned) and then by heading number: the order of
+ * <code>order by sortForm, headingNumber</code> on a database using binary collation. Positions are found by binary
+ * search; the heaviest entry of a range of positions (e.g. the entries starting with a prefix) is found through a
+ * range maximum tree, so that the top entries of a range are found without scanning it.
+ * Each entry takes 20 bytes (offset and length of the sort form, heading number, view mask, weight) plus the sort
+ * form, and 8 bytes of the range maximum tree.
+ *
+ * @author cchiama
+ * @since 1.0
+ * @see BrowseIndex
+ */
+public final class SortFormIndex {
+  private static final int ENTRY_SIZE = 20;
+
+  private final ByteBuffer entries;
+  private final ByteBuffer sortForms;
+  private final ByteBuffer heaviest;
+  private final int size;
+
+  private SortFormIndex(final ByteBuffer entries, final ByteBuffer sortForms) {
+    this.entries = entries;
+    this.sortForms = sortForms;
+    this.size = entries.capacity() / ENTRY_SIZE;
+    this.heaviest = ByteBuffer.allocateDirect(Math.max(2 * size, 1) * 4);
+    for (int position = 0; position < size; position++) {
+      heaviest.putInt((size + position) * 4, position);
+    }
+    for (int node = size - 1; node > 0; node--) {
+      heaviest.putInt(node * 4, heavier(heaviest.getInt(2 * node * 4), heaviest.getInt((2 * node + 1) * 4)));
+    }
+  }
+
+  /**
+   * Compares two sort forms as unsigned bytes.
+   *
+   * @param a the first sort form.
+   * @param b the second sort form.
+   * @return a negative number, zero, or a positive number as the first sort form precedes, equals or follows the second.
+   */
+  public static int compare(final byte[] a, final byte[] b) {
+    final int length = Math.min(a.length, b.length);
+    for (int i = 0; i < length; i++) {
+      final int difference = (a[i] & 0xFF) - (b[i] & 0xFF);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return a.length - b.length;
+  }
+
+  /**
+   * Returns the encoded form of the given sort form.
+   *
+   * @param sortForm the sort form.
+   * @return the encoded form of the given sort form.
+   */
+  public static byte[] encode(final String sortForm) {
+    return sortForm.getBytes(StandardCharsets.UTF_8);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the position of the first entry whose sort form is greater than or equal to the given one.
+   *
+   * @param sortForm the encoded sort form.
+   * @return the position of the first entry not preceding the given sort form, {@link #size()} if there's none.
+   */
+  public int lowerBound(final byte[] sortForm) {
+    return search(sortForm, false);
+  }
+
+  /**
+   * Returns the position of the first entry whose sort form is greater than the given one.
+   *
+   * @param sortForm the encoded sort form.
+   * @return the position of the first entry following the given sort form, {@link #size()} if there's none.
+   */
+  public int upperBound(final byte[] sortForm) {
+    return search(sortForm, true);
+  }
+
+  /**
+   * Returns the position of the first entry whose sort form neither starts with nor precedes the given prefix.
+   * The entries starting with the prefix are the ones from {@link #lowerBound(byte[])} to this position (excluded).
+   *
+   * @param prefix the encoded prefix.
+   * @return the position of the first entry following the ones starting with the given prefix, {@link #size()} if
+   * there's none.
+   */
+  public int prefixUpperBound(final byte[] prefix) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (compareAt(middle, prefix, prefix.length) <= 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns the position of the entry with the highest weight in the given range; the first one, if more entries
+   * have the same weight.
+   *
+   * @param from the first position of the range.
+   * @param to   the position following the range.
+   * @return the position of the heaviest entry of the range, -1 if the range is empty.
+   */
+  public int heaviestIn(final int from, final int to) {
+    int result = -1;
+    for (int left = from + size, right = to + size; left < right; left >>>= 1, right >>>= 1) {
+      if ((left & 1) != 0) {
+        result = heavier(result, heaviest.getInt(left++ * 4));
+      }
+      if ((right & 1) != 0) {
+        result = heavier(result, heaviest.getInt(--right * 4));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the sort form of the entry at the given position.
+   *
+   * @param position the entry position.
+   * @return the encoded sort form of the entry.
+   */
+  public byte[] sortFormAt(final int position) {
+    final byte[] sortForm = new byte[entries.getInt(position * ENTRY_SIZE + 4)];
+    final ByteBuffer source = sortForms.duplicate();
+    source.position(entries.getInt(position * ENTRY_SIZE));
+    source.get(sortForm);
+    return sortForm;
+  }
+
+  public int headingNumberAt(final int position) {
+    return entries.getInt(position * ENTRY_SIZE + 8);
+  }
+
+  public int viewMaskAt(final int position) {
+    return entries.getInt(position * ENTRY_SIZE + 12);
+  }
+
+  public int weightAt(final int position) {
+    return entries.getInt(position * ENTRY_SIZE + 16);
+  }
+
+  /**
+   * Returns the heavier of two entries, the first one in the index if they have the same weight.
+   */
+  private int heavier(final int a, final int b) {
+    if (a < 0 || b < 0) {
+      return Math.max(a, b);
+    }
+    final int comparison = Integer.compare(weightAt(a), weightAt(b));
+    return comparison > 0 || (comparison == 0 && a < b) ? a : b;
+  }
+
+  private int search(final byte[] sortForm, final boolean upper) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      final int comparison = compareAt(middle, sortForm, Integer.MAX_VALUE);
+      if (comparison < 0 || (upper && comparison == 0)) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Compares the first bytes (at most the given number) of the sort form of the entry at the given position with the
+   * given one, without copying it.
+   */
+  private int compareAt(final int position, final byte[] sortForm, final int maxLength) {
+    final int offset = entries.getInt(position * ENTRY_SIZE);
+    final int length = Math.min(entries.getInt(position * ENTRY_SIZE + 4), maxLength);
+    final int common = Math.min(length, sortForm.length);
+    for (int i = 0; i < common; i++) {
+      final int difference = (sortForms.get(offset + i) & 0xFF) - (sortForm[i] & 0xFF);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return length - sortForm.length;
+  }
+
+  /**
+   * Builds an index from entries added in order, spooling them in temporary files which are mapped in memory (and
+   * removed from the file system) once the index is built.
+   * The builder checks the order of the entries: if they come from a database whose collation isn't binary, the
+   * index can't be built.
+   */
+  public static final class Builder implements Closeable {
+    private final File entriesFile;
+    private final File sortFormsFile;
+    private final DataOutputStream entriesOut;
+    private final DataOutputStream sortFormsOut;
+    private byte[] lastSortForm;
+    private int lastHeadingNumber;
+    private int offset;
+    private boolean ordered = true;
+
+    /**
+     * Builds a new builder.
+     *
+     * @throws IOException in case the temporary files can't be created.
+     */
+    public Builder() throws IOException {
+      entriesFile = File.createTempFile("marccat-browse-", ".entries");
+      sortFormsFile = File.createTempFile("marccat-browse-", ".sortforms");
+      entriesFile.deleteOnExit();
+      sortFormsFile.deleteOnExit();
+      entriesOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(entriesFile), 1 << 16));
+      sortFormsOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(sortFormsFile), 1 << 16));
+    }
+
+    /**
+     * Appends an entry.
+     *
+     * @param sortForm      the sort form.
+     * @param headingNumber the heading number.
+     * @param viewMask      the views of the heading, as returned by
+     *                      {@link org.folio.marccat.business.common.View#toViewMask(String)}.
+     * @param weight        the weight of the entry (e.g. the usage count of the heading).
+     * @return false if the entry precedes the last one added: the index can't be built.
+     * @throws IOException in case of I/O failure.
+     */
+    public boolean add(final String sortForm, final int headingNumber, final int viewMask, final int weight)
+      throws IOException {
+      final byte[] encoded = encode(sortForm);
+      if (lastSortForm != null) {
+        final int comparison = compare(lastSortForm, encoded);
+        if (comparison > 0 || (comparison == 0 && lastHeadingNumber > headingNumber)) {
+          ordered = false;
+        }
+      }
+      if (!ordered) {
+        return false;
+      }
+
+      entriesOut.writeInt(offset);
+      entriesOut.writeInt(encoded.length);
+      entriesOut.writeInt(headingNumber);
+      entriesOut.writeInt(viewMask);
+      entriesOut.writeInt(weight);
+      sortFormsOut.write(encoded);
+      offset += encoded.length;
+      lastSortForm = encoded;
+      lastHeadingNumber = headingNumber;
+      return true;
+    }
+
+    /**
+     * Maps the spooled entries in memory.
+     *
+     * @return the index, null if the entries weren't added in order.
+     * @throws IOException in case of I/O failure.
+     */
+    public SortFormIndex build() throws IOException {
+      entriesOut.close();
+      sortFormsOut.close();
+      return ordered ? new SortFormIndex(map(entriesFile), map(sortFormsFile)) : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+      entriesOut.close();
+      sortFormsOut.close();
+      entriesFile.delete();
+      sortFormsFile.delete();
+    }
+
+    private static ByteBuffer map(final File file) throws IOException {
+      try (final RandomAccessFile data = new RandomAccessFile(file, "r");
+           final FileChannel channel = data.getChannel()) {
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      }
+    }
+  }
+}
@@ -0,0 +1,239 @@
+package org.folio.marccat.dao.common;
+
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.Statistics;
+import net.sf.hibernate.cache.Cache;
+import net.sf.hibernate.cache.CacheException;
+import net.sf.hibernate.cache.EhCacheProvider;
+import net.sf.hibernate.cache.Timestamper;
+import org.folio.marccat.config.Global;
+import org.folio.marccat.config.log.Log;
+import org.folio.marccat.config.log.MessageCatalog;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Second level cache provider which keeps tenants apart.
+ * Each tenant has its own session factory (see {@link #TENANT_PROPERTY}), and every region it asks for is created as
+ * a distinct ehcache named "tenant:region". Size and expiration of a region come from the ehcache.xml entry having
+ * the plain region name (e.g. org.folio.marccat.dao.persistence.AUT), or from the default cache if there's no such
+ * entry. A region name may be qualified (e.g. org.folio.marccat.browse#NME_HDG): qualified regions are distinct, but
+ * share the entry of the unqualified name.
+ * Regions live in the JVM and are invalidated only by the writes made through Hibernate in the same JVM: writes
+ * from other instances, or through plain JDBC, aren't seen until the entries expire. For this reason the entries of
+ * the tables written while cataloguing (authorities, headings and the heading queries) live at most
+ * {@link Global#HEADING_CACHE_TTL} seconds, and those regions don't hold anything if
+ * {@link Global#HEADING_CACHE_ENABLED} has been turned off.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public class TenantCacheProvider extends EhCacheProvider {
+  public static final String TENANT_PROPERTY = "marccat.cache.tenant";
+  public static final String SEMANTIC_REGION = "org.folio.marccat.dao.persistence.S_BIB1_SMNTC";
+  public static final String TERM_STATISTICS_REGION = "org.folio.marccat.search.termStatistics";
+  public static final String HEADING_QUERY_REGION = "org.folio.marccat.dao.persistence.headingQueries";
+  public static final char QUALIFIER = '#';
+
+  private static final Log logger = new Log(TenantCacheProvider.class);
+  private static final String SEPARATOR = ":";
+  private static final Set<String> MUTABLE_REGIONS = new HashSet<>(Arrays.asList(
+    "org.folio.marccat.dao.persistence.AUT",
+    "org.folio.marccat.dao.persistence.NME_HDG",
+    "org.folio.marccat.dao.persistence.TTL_HDG",
+    "org.folio.marccat.dao.persistence.SBJCT_HDG",
+    "org.folio.marccat.dao.persistence.NME_TTL_HDG",
+    "org.folio.marccat.dao.persistence.PUBL_HDG",
+    HEADING_QUERY_REGION));
+
+  @Override
+  public Cache buildCache(final String regionName, final Properties properties) throws CacheException {
+    if (!Global.HEADING_CACHE_ENABLED && MUTABLE_REGIONS.contains(regionName)) {
+      return new NoCache();
+    }
+
+    final String tenant = properties.getProperty(TENANT_PROPERTY);
+    if (tenant == null) {
+      return super.buildCache(regionName, properties);
+    }
+
+    try {
+      region(tenant, regionName);
+    } catch (final net.sf.ehcache.CacheException exception) {
+      throw new CacheException(exception);
+    }
+    return super.buildCache(tenant + SEPARATOR + regionName, properties);
+  }
+
+  /**
+   * Returns (creating it if needed) the region with the given name which belongs to the given tenant.
+   * Used by DAOs that cache data read through plain JDBC.
+   *
+   * @param tenant     the tenant identifier.
+   * @param regionName the region name.
+   * @return the tenant region.
+   * @throws net.sf.ehcache.CacheException in case of cache failure.
+   */
+  public static synchronized net.sf.ehcache.Cache region(final String tenant, final String regionName) throws net.sf.ehcache.CacheException {
+    final CacheManager manager = CacheManager.create();
+    final String name = tenant + SEPARATOR + regionName;
+    net.sf.ehcache.Cache cache = manager.getCache(name);
+    if (cache == null) {
+      final String templateName = regionName.indexOf(QUALIFIER) != -1
+        ? regionName.substring(0, regionName.indexOf(QUALIFIER))
+        : regionName;
+      final net.sf.ehcache.Cache template = manager.getCache(templateName);
+      final boolean mutable = MUTABLE_REGIONS.contains(templateName);
+      cache = (template != null)
+        ? new net.sf.ehcache.Cache(
+        name,
+        template.getMaxElementsInMemory(),
+        false,
+        template.isEternal() && !mutable,
+        mutable ? Math.min(template.getTimeToLiveSeconds(), Global.HEADING_CACHE_TTL) : template.getTimeToLiveSeconds(),
+        mutable ? Math.min(template.getTimeToIdleSeconds(), Global.HEADING_CACHE_TTL) : template.getTimeToIdleSeconds())
+        : null;
+      if (cache != null) {
+        manager.addCache(cache);
+      } else {
+        manager.addCache(name);
+        cache = manager.getCache(name);
+      }
+      logger.debug(MessageCatalog._00028_CACHE_REGION_CREATED, name, cache.getMaxElementsInMemory());
+    }
+    return cache;
+  }
+
+  /**
+   * Returns the cached value associated with the given key in the given tenant region.
+   *
+   * @param tenant     the tenant identifier, if null nothing is cached.
+   * @param regionName the region name.
+   * @param key        the key.
+   * @return the cached value, null if there's no such value.
+   */
+  public static Object get(final String tenant, final String regionName, final String key) {
+    if (tenant == null) {
+      return null;
+    }
+    try {
+      final Element element = region(tenant, regionName).get(key);
+      return element != null ? element.getObjectValue() : null;
+    } catch (final Exception exception) {
+      logger.error(MessageCatalog._00010_DATA_ACCESS_FAILURE, exception);
+      return null;
+    }
+  }
+
+  /**
+   * Puts the given value in the given tenant region.
+   *
+   * @param tenant     the tenant identifier, if null nothing is cached.
+   * @param regionName the region name.
+   * @param key        the key.
+   * @param value      the value.
+   */
+  public static void put(final String tenant, final String regionName, final String key, final Object value) {
+    if (tenant == null) {
+      return;
+    }
+    try {
+      region(tenant, regionName).put(new Element(key, value));
+    } catch (final Exception exception) {
+      logger.error(MessageCatalog._00010_DATA_ACCESS_FAILURE, exception);
+    }
+  }
+
+  /**
+   * Removes all values from the given tenant region.
+   *
+   * @param tenant     the tenant identifier, if null nothing is removed.
+   * @param regionName the region name.
+   */
+  public static void clear(final String tenant, final String regionName) {
+    if (tenant == null) {
+      return;
+    }
+    try {
+      region(tenant, regionName).removeAll();
+    } catch (final Exception exception) {
+      logger.error(MessageCatalog._00010_DATA_ACCESS_FAILURE, exception);
+    }
+  }
+
+  /**
+   * Returns the statistics of all regions belonging to the given tenant.
+   *
+   * @param tenant the tenant identifier.
+   * @return the statistics of all regions belonging to the given tenant, by region name.
+   */
+  public static Map<String, Map<String, Long>> statistics(final String tenant) {
+    final Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+    final CacheManager manager = CacheManager.create();
+    final String prefix = tenant + SEPARATOR;
+    Arrays.stream(manager.getCacheNames())
+      .filter(name -> name.startsWith(prefix))
+      .sorted()
+      .forEach(name -> {
+        final net.sf.ehcache.Cache cache = manager.getCache(name);
+        final Statistics statistics = cache.getStatistics();
+        final Map<String, Long> values = new LinkedHashMap<>();
+        values.put("size", statistics.getObjectCount());
+        values.put("maxSize", (long) cache.getMaxElementsInMemory());
+        values.put("hits", statistics.getCacheHits());
+        values.put("misses", statistics.getCacheMisses());
+        result.put(name.substring(prefix.length()), values);
+      });
+    return result;
+  }
+
+  /**
+   * The region of a table which isn't cached: nothing is kept, so every read goes to the database.
+   */
+  private static class NoCache implements Cache {
+    @Override
+    public Object get(final Object key) {
+      return null;
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+    }
+
+    @Override
+    public void remove(final Object key) {
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    @Override
+    public void lock(final Object key) {
+    }
+
+    @Override
+    public void unlock(final Object key) {
+    }
+
+    @Override
+    public long nextTimestamp() {
+      return Timestamper.next();
+    }
+
+    @Override
+    public int getTimeout() {
+      return Timestamper.ONE_MS * 60000;
+    }
+  }
+}
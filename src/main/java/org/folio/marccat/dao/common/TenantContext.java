@@ -0,0 +1,41 @@
+package org.folio.marccat.dao.common;
+
+/**
+ * Binds the tenant of the request being served to the current thread.
+ * The request helpers bind the tenant before handing the storage service to the resource logic; DAO-level caches
+ * use it for keeping tenant data apart.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public final class TenantContext {
+  private static final ThreadLocal<String> CURRENT_TENANT = new ThreadLocal<>();
+
+  private TenantContext() {
+  }
+
+  /**
+   * Binds the given tenant to the current thread.
+   *
+   * @param tenant the tenant associated with the current request.
+   */
+  public static void bind(final String tenant) {
+    CURRENT_TENANT.set(tenant);
+  }
+
+  /**
+   * Removes the tenant binding from the current thread.
+   */
+  public static void release() {
+    CURRENT_TENANT.remove();
+  }
+
+  /**
+   * Returns the tenant bound to the current thread.
+   *
+   * @return the tenant bound to the current thread, null if no tenant is bound.
+   */
+  public static String current() {
+    return CURRENT_TENANT.get();
+  }
+}
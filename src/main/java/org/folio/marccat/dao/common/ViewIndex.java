@@ -0,0 +1,84 @@
+package org.folio.marccat.dao.common;
+
+/**
+ * The per-view partial indexes on the tables whose queries filter rows by view.
+ * The view membership of a row is the n-th character of its view string (usr_vw_ind), which no ordinary index can
+ * serve; a partial index restricted to the rows of view n, instead, is used by every query whose view predicate is
+ * written with the view as a literal (see {@link org.folio.marccat.dao.AbstractDAO#inView(String, int)}).
+ * Indexes are created per view, so that a tenant only pays for the views it actually uses: those listed in
+ * {@link org.folio.marccat.config.Global#INDEXED_VIEWS} are created along with the schema migrations.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public enum ViewIndex {
+  NAME_SORT_FORM("nme_hdg", "nme_hdg_srt_form"),
+  TITLE_SORT_FORM("ttl_hdg", "ttl_hdg_srt_form"),
+  SUBJECT_SORT_FORM("sbjct_hdg", "sbjct_hdg_srt_form"),
+  CLASSIFICATION_SORT_FORM("clstn", "clstn_srt_form"),
+  CONTROL_NUMBER_SORT_FORM("cntl_nbr", "cntl_nbr_srt_form"),
+  PUBLISHER_NAME_SORT_FORM("publ_hdg", "publ_hdg_srt_frm_nme"),
+  PUBLISHER_PLACE_SORT_FORM("publ_hdg", "publ_hdg_srt_frm_plce"),
+  NAME_REFERENCE("nme_ref", "src_nme_hdg_nbr"),
+  TITLE_REFERENCE("ttl_ref", "src_ttl_hdg_nbr"),
+  SUBJECT_REFERENCE("sbjct_ref", "src_sbjct_hdg_nbr"),
+  NAME_TITLE_REFERENCE("nme_ttl_ref", "src_nme_ttl_hdg_nbr"),
+  PUBLISHER_REFERENCE("publ_ref", "src_publ_hdg_nbr"),
+  NAME_ACCESS_POINT("nme_acs_pnt", "bib_itm_nbr"),
+  TITLE_ACCESS_POINT("ttl_acs_pnt", "bib_itm_nbr"),
+  NAME_TITLE_ACCESS_POINT("nme_ttl_acs_pnt", "bib_itm_nbr"),
+  SUBJECT_ACCESS_POINT("sbjct_acs_pnt", "bib_itm_nbr"),
+  CLASSIFICATION_ACCESS_POINT("clstn_itm_acs_pnt", "bib_itm_nbr"),
+  CONTROL_NUMBER_ACCESS_POINT("cntl_nbr_acs_pnt", "bib_itm_nbr"),
+  PUBLISHER_ACCESS_POINT("publ_acs_pnt", "bib_itm_nbr"),
+  NAME_USAGE("nme_acs_pnt", "nme_hdg_nbr, bib_itm_nbr"),
+  TITLE_USAGE("ttl_acs_pnt", "ttl_hdg_nbr, bib_itm_nbr"),
+  NAME_TITLE_USAGE("nme_ttl_acs_pnt", "nme_ttl_hdg_nbr, bib_itm_nbr"),
+  SUBJECT_USAGE("sbjct_acs_pnt", "sbjct_hdg_nbr, bib_itm_nbr"),
+  CLASSIFICATION_USAGE("clstn_itm_acs_pnt", "clstn_key_nbr, bib_itm_nbr"),
+  CONTROL_NUMBER_USAGE("cntl_nbr_acs_pnt", "cntl_key_nbr, bib_itm_nbr");
+
+  /**
+   * The number of views a view string can hold.
+   */
+  public static final int VIEWS = 16;
+
+  private final String table;
+  private final String columns;
+
+  ViewIndex(final String table, final String columns) {
+    this.table = table;
+    this.columns = columns;
+  }
+
+  /**
+   * Returns the name of this index for the given view.
+   *
+   * @param view the view.
+   * @return the name of this index for the given view.
+   */
+  public String nameOf(final int view) {
+    return "vw" + view + "_" + name().toLowerCase();
+  }
+
+  /**
+   * Returns the statement creating this index for the given view.
+   * The index is built concurrently, so it doesn't block the writes on the table, and only if it doesn't exist yet:
+   * the statement can be run again after a failure, or when new tables are added to this list.
+   *
+   * @param view the view.
+   * @return the statement creating this index for the given view.
+   */
+  public String ddlOf(final int view) {
+    return "create index concurrently if not exists " + nameOf(view) + " on " + table + " (" + columns + ")"
+      + " where substr(usr_vw_ind, " + view + ", 1) = '1'";
+  }
+
+  public String getTable() {
+    return table;
+  }
+
+  public String getColumns() {
+    return columns;
+  }
+}
@@ -23,7 +23,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
-import static org.folio.marccat.util.F.deepCopy;
+import static org.folio.marccat.util.ObjectCopier.deepCopy;
 
 public class BibliographicRelationshipTag extends VariableField implements PersistentObjectWithView {
   private static final Log logger = LogFactory.getLog(BibliographicRelationshipTag.class);
@@ -363,7 +363,7 @@ public class BibliographicRelationshipTag extends VariableField implements Persi
 
   public void replaceTargetRelationship(int amicusNumber, int cataloguingView) throws DataAccessException {
     getSourceRelationship().evict();
-    setSourceRelationship((BibliographicRelationship) deepCopy(getSourceRelationship()));
+    setSourceRelationship(deepCopy(getSourceRelationship()));
     getSourceRelationship().markNew();
     setTargetBibItemNumber(amicusNumber);
     buildReciprocalStringText(cataloguingView);
@@ -385,7 +385,7 @@ public class BibliographicRelationshipTag extends VariableField implements Persi
    */
   public void setOriginalTag() {
     originalTag = null;
-    originalTag = (BibliographicRelationshipTag) deepCopy(this);
+    originalTag = deepCopy(this);
   }
 
   /*
@@ -14,6 +14,7 @@ import org.folio.marccat.exception.*;
 import org.folio.marccat.config.GlobalStorage;
 import org.folio.marccat.model.Subfield;
 import org.folio.marccat.shared.Validation;
+import org.folio.marccat.util.MarcXmlWriter;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
@@ -74,6 +75,19 @@ public abstract class CatalogItem implements Serializable {
     return xmlDocument;
   }
 
+  /**
+   * Returns the MarcSlim XML representation of this item.
+   * The record is written directly in a string, without building the DOM document: the output is the same of
+   * serializing {@link #toExternalMarcSlim()} with {@link org.folio.marccat.util.XmlUtils#documentToString(Document)}.
+   *
+   * @return the MarcSlim XML record.
+   */
+  public String toExternalMarcSlimString() {
+    final MarcXmlWriter writer = new MarcXmlWriter().startRecord();
+    tags.forEach(tag -> tag.toExternalMarcSlim(writer));
+    return writer.endRecord();
+  }
+
   @Deprecated
   public void addAllTags(Tag[] tags) {
     for (int i = 0; i < tags.length; i++) {
@@ -281,7 +295,7 @@ public abstract class CatalogItem implements Serializable {
    */
   private LinkedHashMap<Object, TagContainer> populateGroups() throws DataAccessException {
     final LinkedHashMap<Object, TagContainer> ht = new LinkedHashMap();
-    final GroupManager groupManager = new BibliographicGroupManager();
+    final GroupManager groupManager = BibliographicGroupManager.getInstance();
 
     tags.stream().forEach(tag -> {
       final TagGroup group = groupManager.getGroup(tag);
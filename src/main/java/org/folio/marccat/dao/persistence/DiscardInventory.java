@@ -8,6 +8,7 @@
 package org.folio.marccat.dao.persistence;
 
 import net.sf.hibernate.CallbackException;
+import net.sf.hibernate.HibernateException;
 import net.sf.hibernate.Session;
 import org.folio.marccat.business.common.Persistence;
 import org.folio.marccat.business.common.PersistenceState;
@@ -426,10 +427,13 @@ public class DiscardInventory implements Persistence {
   /**
    * special case for next number -- derived from S_INVTRY keyed on main library
    *
+   * @param mainLibrary the main library identifier.
+   * @param session     the current session.
+   * @throws HibernateException in case of data access failure.
    * @since 1.0
    */
-  public void generateNewKey(int mainLibrary) throws DataAccessException {
-    key.setInventoryNumber(daoInventory.getNextNumber(mainLibrary));
+  public void generateNewKey(final int mainLibrary, final Session session) throws HibernateException {
+    key.setInventoryNumber(daoInventory.getNextNumber(mainLibrary, session));
   }
 
   /* (non-Javadoc)
@@ -0,0 +1,113 @@
+package org.folio.marccat.dao.persistence;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * A pending FULL_CACHE rebuild.
+ * There is at most one entry for each record and view: repeated changes to the same record are coalesced by
+ * incrementing the changes counter, while the enqueue timestamp keeps track of the oldest change not yet served.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public class FULL_CACHE_QUEUE implements Serializable {
+  private int itemNumber;
+  private int userView;
+  private int changes;
+  private Date enqueuedAt;
+  private Date claimedUntil;
+  private int attempts;
+
+  /**
+   * Default constructor
+   */
+  public FULL_CACHE_QUEUE() {
+  }
+
+  /**
+   * Convenience constructor
+   *
+   * @param itemNumber the record identifier.
+   * @param userView   the record view.
+   * @param changes    the number of changes coalesced in this entry.
+   * @param enqueuedAt the time of the oldest change not yet served.
+   * @param attempts   the number of times the entry has been claimed since the last change.
+   */
+  public FULL_CACHE_QUEUE(final int itemNumber, final int userView, final int changes, final Date enqueuedAt, final int attempts) {
+    this.itemNumber = itemNumber;
+    this.userView = userView;
+    this.changes = changes;
+    this.enqueuedAt = enqueuedAt;
+    this.attempts = attempts;
+  }
+
+  public int getItemNumber() {
+    return itemNumber;
+  }
+
+  public void setItemNumber(int itemNumber) {
+    this.itemNumber = itemNumber;
+  }
+
+  public int getUserView() {
+    return userView;
+  }
+
+  public void setUserView(int userView) {
+    this.userView = userView;
+  }
+
+  public int getChanges() {
+    return changes;
+  }
+
+  public void setChanges(int changes) {
+    this.changes = changes;
+  }
+
+  public Date getEnqueuedAt() {
+    return enqueuedAt;
+  }
+
+  public void setEnqueuedAt(Date enqueuedAt) {
+    this.enqueuedAt = enqueuedAt;
+  }
+
+  public Date getClaimedUntil() {
+    return claimedUntil;
+  }
+
+  public void setClaimedUntil(Date claimedUntil) {
+    this.claimedUntil = claimedUntil;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public void setAttempts(int attempts) {
+    this.attempts = attempts;
+  }
+
+  @Override
+  public int hashCode() {
+    return itemNumber;
+  }
+
+  @Override
+  public boolean equals(Object arg0) {
+    if (arg0 instanceof FULL_CACHE_QUEUE) {
+      FULL_CACHE_QUEUE c = (FULL_CACHE_QUEUE) arg0;
+      return this.getItemNumber() == c.getItemNumber() &&
+        this.getUserView() == c.getUserView();
+    } else {
+      return false;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "FULL_CACHE_QUEUE(" + getItemNumber() + ", " + getUserView() + ")";
+  }
+}
@@ -0,0 +1,111 @@
+package org.folio.marccat.dao.persistence;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * Checkpoint of a FULL_CACHE rebuild partition.
+ * A partition covers the record identifiers in (partitionStart, partitionEnd]; the last record identifier is the
+ * highest one already rebuilt, so an interrupted rebuild resumes from there.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public class FULL_CACHE_REBUILD implements Serializable {
+  private int userView;
+  private int partitionStart;
+  private int partitionEnd;
+  private int lastItemNumber;
+  private Date updatedAt;
+
+  /**
+   * Default constructor
+   */
+  public FULL_CACHE_REBUILD() {
+  }
+
+  /**
+   * Convenience constructor
+   *
+   * @param userView       the record view.
+   * @param partitionStart the (exclusive) lower bound of the partition.
+   * @param partitionEnd   the (inclusive) upper bound of the partition.
+   * @param lastItemNumber the last record identifier rebuilt.
+   */
+  public FULL_CACHE_REBUILD(final int userView, final int partitionStart, final int partitionEnd, final int lastItemNumber) {
+    this.userView = userView;
+    this.partitionStart = partitionStart;
+    this.partitionEnd = partitionEnd;
+    this.lastItemNumber = lastItemNumber;
+  }
+
+  public int getUserView() {
+    return userView;
+  }
+
+  public void setUserView(int userView) {
+    this.userView = userView;
+  }
+
+  public int getPartitionStart() {
+    return partitionStart;
+  }
+
+  public void setPartitionStart(int partitionStart) {
+    this.partitionStart = partitionStart;
+  }
+
+  public int getPartitionEnd() {
+    return partitionEnd;
+  }
+
+  public void setPartitionEnd(int partitionEnd) {
+    this.partitionEnd = partitionEnd;
+  }
+
+  public int getLastItemNumber() {
+    return lastItemNumber;
+  }
+
+  public void setLastItemNumber(int lastItemNumber) {
+    this.lastItemNumber = lastItemNumber;
+  }
+
+  public Date getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(Date updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  /**
+   * Returns true if all the records of this partition have been rebuilt.
+   *
+   * @return true if all the records of this partition have been rebuilt.
+   */
+  public boolean isCompleted() {
+    return lastItemNumber >= partitionEnd;
+  }
+
+  @Override
+  public int hashCode() {
+    return partitionStart;
+  }
+
+  @Override
+  public boolean equals(Object arg0) {
+    if (arg0 instanceof FULL_CACHE_REBUILD) {
+      FULL_CACHE_REBUILD c = (FULL_CACHE_REBUILD) arg0;
+      return this.getUserView() == c.getUserView() &&
+        this.getPartitionStart() == c.getPartitionStart();
+    } else {
+      return false;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "FULL_CACHE_REBUILD(" + getUserView() + ", " + getPartitionStart() + ", " + getPartitionEnd() + ")";
+  }
+}
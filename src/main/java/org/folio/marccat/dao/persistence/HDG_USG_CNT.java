@@ -0,0 +1,79 @@
+package org.folio.marccat.dao.persistence;
+
+import java.io.Serializable;
+
+/**
+ * Usage counter of a heading in a view: the number of distinct bibliographic records (or name/title headings)
+ * linked to the heading through a given usage table.
+ * Counters are maintained incrementally when access points are added or removed, and periodically reconciled.
+ *
+ * @author cchiama
+ * @since 1.0
+ * @see org.folio.marccat.dao.common.HeadingUsage
+ */
+public class HDG_USG_CNT implements Serializable {
+  private String usage;
+  private int headingNumber;
+  private int userView;
+  private int count;
+
+  /**
+   * Default constructor
+   */
+  public HDG_USG_CNT() {
+  }
+
+  public String getUsage() {
+    return usage;
+  }
+
+  public void setUsage(String usage) {
+    this.usage = usage;
+  }
+
+  public int getHeadingNumber() {
+    return headingNumber;
+  }
+
+  public void setHeadingNumber(int headingNumber) {
+    this.headingNumber = headingNumber;
+  }
+
+  public int getUserView() {
+    return userView;
+  }
+
+  public void setUserView(int userView) {
+    this.userView = userView;
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  public void setCount(int count) {
+    this.count = count;
+  }
+
+  @Override
+  public int hashCode() {
+    return headingNumber;
+  }
+
+  @Override
+  public boolean equals(Object arg0) {
+    if (arg0 instanceof HDG_USG_CNT) {
+      HDG_USG_CNT c = (HDG_USG_CNT) arg0;
+      return this.getHeadingNumber() == c.getHeadingNumber() &&
+        this.getUserView() == c.getUserView() &&
+        this.getUsage().equals(c.getUsage());
+    } else {
+      return false;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "HDG_USG_CNT(" + getUsage() + ", " + getHeadingNumber() + ", " + getUserView() + ")";
+  }
+}
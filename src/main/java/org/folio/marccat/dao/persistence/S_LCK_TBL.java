@@ -8,6 +8,7 @@ import org.folio.marccat.dao.AbstractDAO;
 import org.folio.marccat.exception.DataAccessException;
 
 import java.io.Serializable;
+import java.util.Date;
 
 public class S_LCK_TBL implements Persistence, Serializable {
   static final long serialVersionUID = 1;
@@ -18,6 +19,7 @@ public class S_LCK_TBL implements Persistence, Serializable {
   private String tableType;
   private String dbSession;
   private String userName;
+  private Date leaseExpiry;
 
   public S_LCK_TBL() {
   }
@@ -93,6 +95,14 @@ public class S_LCK_TBL implements Persistence, Serializable {
     this.userName = userName;
   }
 
+  public Date getLeaseExpiry() {
+    return leaseExpiry;
+  }
+
+  public void setLeaseExpiry(Date leaseExpiry) {
+    this.leaseExpiry = leaseExpiry;
+  }
+
   public int hashCode() {
     return getTableKey();
   }
@@ -0,0 +1,119 @@
+package org.folio.marccat.integration;
+
+import org.folio.marccat.config.Global;
+import org.folio.marccat.config.GlobalStorage;
+import org.folio.marccat.config.log.Log;
+import org.folio.marccat.config.log.MessageCatalog;
+import org.folio.marccat.dao.common.BrowseIndex;
+import org.folio.marccat.dao.common.TenantContext;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the browse indexes of the tenants this instance serves, when they are enabled for browsing or for
+ * suggestions (the default): suggestions are ranked by usage only through a browse index.
+ * Every minute it builds the indexes not built yet (new tenants, or indexes discarded because they were found stale)
+ * and rebuilds the ones older than the rebuild interval, which realigns them with the changes made outside this
+ * instance. Indexes whose DAO doesn't support them, or whose sort forms aren't ordered by their binary value in the
+ * database, aren't tried again until the rebuild interval elapses.
+ *
+ * @author cchiama
+ * @since 1.0
+ * @see Global#BROWSE_INDEX_ENABLED
+ * @see Global#SUGGESTION_INDEX_ENABLED
+ * @see Global#BROWSE_INDEX_REBUILD_INTERVAL
+ */
+@Component
+public class BrowseIndexMaintenance {
+  private static final Log logger = new Log(BrowseIndexMaintenance.class);
+  private static final long CHECK_INTERVAL = 60L;
+
+  private final Map<String, Long> lastBuilds = new HashMap<>();
+  private final Set<String> skipped = new HashSet<>();
+  private ScheduledExecutorService maintainer;
+
+  /**
+   * Starts the maintenance, if browse indexes are enabled for browsing or for suggestions.
+   */
+  @PostConstruct
+  public void start() {
+    if (!Global.BROWSE_INDEX_ENABLED && !Global.SUGGESTION_INDEX_ENABLED) {
+      return;
+    }
+
+    maintainer = Executors.newSingleThreadScheduledExecutor(task -> {
+      final Thread thread = new Thread(task, "browse-index-maintenance");
+      thread.setDaemon(true);
+      return thread;
+    });
+    maintainer.scheduleWithFixedDelay(
+      () -> MarccatHelper.datasources().forEach(this::maintain),
+      0,
+      CHECK_INTERVAL,
+      TimeUnit.SECONDS);
+  }
+
+  /**
+   * Stops the maintenance.
+   */
+  @PreDestroy
+  public void stop() {
+    if (maintainer != null) {
+      maintainer.shutdownNow();
+    }
+  }
+
+  /**
+   * Builds the browse indexes of the given tenant which are missing or expired.
+   *
+   * @param tenant     the tenant identifier.
+   * @param datasource the tenant datasource.
+   */
+  private void maintain(final String tenant, final DataSource datasource) {
+    TenantContext.bind(tenant);
+    try (final Connection connection = datasource.getConnection();
+         final StorageService service = new StorageService(SessionFactories.openSession(tenant, connection))) {
+      for (final String indexKey : GlobalStorage.DAO_MAP.keySet()) {
+        final String id = tenant + ":" + indexKey;
+        final Long lastBuild = lastBuilds.get(id);
+        final boolean expired = lastBuild == null
+          || System.currentTimeMillis() - lastBuild >= TimeUnit.SECONDS.toMillis(Global.BROWSE_INDEX_REBUILD_INTERVAL);
+        if (expired || (BrowseIndex.of(indexKey) == null && !skipped.contains(id))) {
+          lastBuilds.put(id, System.currentTimeMillis());
+          build(service, tenant, indexKey, id);
+        }
+      }
+    } catch (final Exception exception) {
+      logger.error(MessageCatalog._00042_BROWSE_INDEX_FAILURE, exception, tenant);
+    } finally {
+      TenantContext.release();
+    }
+  }
+
+  private void build(final StorageService service, final String tenant, final String indexKey, final String id) {
+    if (GlobalStorage.DAO_MAP.get(indexKey).getSortFormProperty() == null) {
+      skipped.add(id);
+      return;
+    }
+
+    final BrowseIndex index = service.rebuildBrowseIndex(indexKey);
+    if (index != null) {
+      skipped.remove(id);
+      logger.info(MessageCatalog._00040_BROWSE_INDEX_BUILT, indexKey, index.size(), tenant);
+    } else {
+      skipped.add(id);
+      logger.info(MessageCatalog._00041_BROWSE_INDEX_UNORDERED, indexKey, tenant);
+    }
+  }
+}
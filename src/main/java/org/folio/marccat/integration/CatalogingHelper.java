@@ -1,6 +1,7 @@
 package org.folio.marccat.integration;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.folio.marccat.dao.common.TenantContext;
 import org.folio.marccat.exception.DataAccessException;
 import org.folio.marccat.exception.SystemInternalFailureException;
 import org.folio.marccat.exception.UnableToCreateOrUpdateEntityException;
@@ -18,7 +19,6 @@ import java.util.function.Function;
 import java.util.stream.StreamSupport;
 
 import static java.util.stream.Collectors.toMap;
-import static org.folio.marccat.config.Global.HCONFIGURATION;
 
 /**
  * Helper functions used within the cataloging module.
@@ -133,15 +133,18 @@ public abstract class CatalogingHelper {
     try {
       final ObjectNode settings = configurator.attributes (tenant, true, configurationSets);
       final DataSource datasource = datasource (tenant, settings);
-      try (final Connection connection = datasource.getConnection ( );
+      TenantContext.bind (tenant);
+      try (final Connection connection = SqlStatistics.instrument (datasource.getConnection ( ));
            final StorageService service =
              new StorageService (
-               HCONFIGURATION.buildSessionFactory ( ).openSession (connection))) {
+               SessionFactories.openSession (tenant, connection))) {
         return adapter.execute (service, configuration (settings));
       } catch (final SQLException exception) {
         throw new DataAccessException (exception);
       } catch (final Throwable exception) {
         throw new SystemInternalFailureException (exception);
+      } finally {
+        TenantContext.release ( );
       }
     } catch (final Throwable throwable) {
       throw new SystemInternalFailureException (throwable);
@@ -0,0 +1,93 @@
+package org.folio.marccat.integration;
+
+import org.folio.marccat.config.Global;
+import org.folio.marccat.config.GlobalStorage;
+import org.folio.marccat.config.log.Log;
+import org.folio.marccat.config.log.MessageCatalog;
+import org.folio.marccat.dao.DAODescriptor;
+import org.folio.marccat.dao.common.CrossReferenceGraph;
+import org.folio.marccat.dao.common.TenantContext;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the cross-reference graphs of the tenants this instance serves, when enabled: one for each reference table
+ * linking the headings of a browse index to each other. Graphs are rebuilt at every interval, which realigns them
+ * with the changes made outside this instance.
+ *
+ * @author cchiama
+ * @since 1.0
+ * @see Global#CROSS_REFERENCE_GRAPH_ENABLED
+ * @see Global#CROSS_REFERENCE_GRAPH_REBUILD_INTERVAL
+ */
+@Component
+public class CrossReferenceGraphMaintenance {
+  private static final Log logger = new Log(CrossReferenceGraphMaintenance.class);
+
+  private ScheduledExecutorService maintainer;
+
+  /**
+   * Starts the maintenance, if cross-reference graphs are enabled.
+   */
+  @PostConstruct
+  public void start() {
+    if (!Global.CROSS_REFERENCE_GRAPH_ENABLED) {
+      return;
+    }
+
+    maintainer = Executors.newSingleThreadScheduledExecutor(task -> {
+      final Thread thread = new Thread(task, "cross-reference-graph-maintenance");
+      thread.setDaemon(true);
+      return thread;
+    });
+    maintainer.scheduleWithFixedDelay(
+      () -> MarccatHelper.datasources().forEach(this::maintain),
+      0,
+      Global.CROSS_REFERENCE_GRAPH_REBUILD_INTERVAL,
+      TimeUnit.SECONDS);
+  }
+
+  /**
+   * Stops the maintenance.
+   */
+  @PreDestroy
+  public void stop() {
+    if (maintainer != null) {
+      maintainer.shutdownNow();
+    }
+  }
+
+  /**
+   * Rebuilds the cross-reference graphs of the given tenant.
+   *
+   * @param tenant     the tenant identifier.
+   * @param datasource the tenant datasource.
+   */
+  private void maintain(final String tenant, final DataSource datasource) {
+    TenantContext.bind(tenant);
+    try (final Connection connection = datasource.getConnection();
+         final StorageService service = new StorageService(SessionFactories.openSession(tenant, connection))) {
+      final Set<Class> built = new HashSet<>();
+      for (final DAODescriptor dao : GlobalStorage.DAO_MAP.values()) {
+        final Class referenceClass = dao.getReferenceClass();
+        if (referenceClass != null && built.add(referenceClass)) {
+          final CrossReferenceGraph graph = service.rebuildCrossReferenceGraph(dao);
+          logger.info(MessageCatalog._00043_CROSS_REFERENCE_GRAPH_BUILT, referenceClass.getSimpleName(), graph.size(), tenant);
+        }
+      }
+    } catch (final Exception exception) {
+      logger.error(MessageCatalog._00044_CROSS_REFERENCE_GRAPH_FAILURE, exception, tenant);
+    } finally {
+      TenantContext.release();
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package org.folio.marccat.integration;
+
+import org.folio.marccat.config.Global;
+import org.folio.marccat.config.log.Log;
+import org.folio.marccat.config.log.MessageCatalog;
+import org.folio.marccat.dao.common.TenantContext;
+import org.folio.marccat.dao.persistence.FULL_CACHE_QUEUE;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background workers which drain the FULL_CACHE maintenance queue.
+ * Saving a record only enqueues the rebuild of its FULL_CACHE entry (and of the entries of its related records); the
+ * workers then rebuild the queued records in batches. Since repeated changes to the same record are coalesced in the
+ * queue, a record which is saved several times (or which is related to many saved records) is rebuilt once.
+ * Each worker serves all the tenants this instance knows about: those which have been served at least once and those
+ * listed in {@link Global#TENANTS}, so that the backlog left by a restart is drained without waiting for a request.
+ * A rebuild which keeps failing is given up after {@link Global#FULL_CACHE_MAX_ATTEMPTS} attempts (see
+ * {@link org.folio.marccat.dao.DAOFullCacheQueue}).
+ *
+ * @author cchiama
+ * @since 1.0
+ * @see Global#FULL_CACHE_ASYNC
+ */
+@Component
+public class FullCacheMaintenance {
+  private static final Log logger = new Log(FullCacheMaintenance.class);
+  private static final Map<String, Counters> COUNTERS = new ConcurrentHashMap<>();
+
+  private final Configuration configurator;
+  private ScheduledExecutorService workers;
+
+  /**
+   * Builds the workers, which look up the datasources of the configured tenants through the given client.
+   *
+   * @param configurator the configuration client.
+   */
+  public FullCacheMaintenance(final Configuration configurator) {
+    this.configurator = configurator;
+  }
+
+  /**
+   * Returns the counters of the FULL_CACHE rebuilds done by this instance for the given tenant.
+   *
+   * @param tenant the tenant identifier.
+   * @return rebuilt, coalesced and failed rebuilds, plus the lag (in milliseconds) of the last rebuild.
+   */
+  public static Map<String, Long> statistics(final String tenant) {
+    final Counters counters = COUNTERS.computeIfAbsent(tenant, k -> new Counters());
+    final Map<String, Long> statistics = new HashMap<>();
+    statistics.put("rebuilt", counters.rebuilt.get());
+    statistics.put("coalesced", counters.coalesced.get());
+    statistics.put("failed", counters.failed.get());
+    statistics.put("lastLag", counters.lastLag.get());
+    return statistics;
+  }
+
+  /**
+   * Starts the workers, if the asynchronous maintenance is enabled.
+   */
+  @PostConstruct
+  public void start() {
+    if (!Global.FULL_CACHE_ASYNC) {
+      return;
+    }
+
+    final AtomicInteger sequence = new AtomicInteger();
+    workers = Executors.newScheduledThreadPool(Global.FULL_CACHE_WORKERS, task -> {
+      final Thread thread = new Thread(task, "full-cache-worker-" + sequence.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    for (int i = 0; i < Global.FULL_CACHE_WORKERS; i++) {
+      workers.scheduleWithFixedDelay(
+        this::drain,
+        Global.FULL_CACHE_POLL_INTERVAL,
+        Global.FULL_CACHE_POLL_INTERVAL,
+        TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Stops the workers. Entries being rebuilt stay in the queue and will be claimed again once their lease expires.
+   */
+  @PreDestroy
+  public void stop() {
+    if (workers != null) {
+      workers.shutdownNow();
+    }
+  }
+
+  /**
+   * Drains the queue of each known tenant.
+   */
+  private void drain() {
+    MarccatHelper.datasources(configurator).forEach(this::drain);
+  }
+
+  /**
+   * Drains the queue of the given tenant, one batch at time, until no more entries can be claimed.
+   *
+   * @param tenant     the tenant identifier.
+   * @param datasource the tenant datasource.
+   */
+  private void drain(final String tenant, final DataSource datasource) {
+    final Counters counters = COUNTERS.computeIfAbsent(tenant, k -> new Counters());
+    TenantContext.bind(tenant);
+    try (final Connection connection = datasource.getConnection();
+         final StorageService service = new StorageService(SessionFactories.openSession(tenant, connection))) {
+      List<FULL_CACHE_QUEUE> batch;
+      do {
+        batch = service.claimFullRecordCacheRebuilds(Global.FULL_CACHE_BATCH_SIZE, Global.FULL_CACHE_LEASE);
+        for (final FULL_CACHE_QUEUE entry : batch) {
+          try {
+            service.rebuildFullRecordCacheTable(entry);
+            counters.rebuilt.incrementAndGet();
+            counters.coalesced.addAndGet(entry.getChanges() - 1);
+            counters.lastLag.set(System.currentTimeMillis() - entry.getEnqueuedAt().getTime());
+          } catch (final Exception exception) {
+            counters.failed.incrementAndGet();
+            logger.error(
+              MessageCatalog._00031_FULL_CACHE_REBUILD_FAILURE,
+              exception,
+              entry.getItemNumber(),
+              entry.getUserView(),
+              tenant,
+              entry.getAttempts(),
+              Global.FULL_CACHE_MAX_ATTEMPTS);
+          }
+        }
+      } while (batch.size() == Global.FULL_CACHE_BATCH_SIZE && !Thread.currentThread().isInterrupted());
+    } catch (final Exception exception) {
+      logger.error(MessageCatalog._00032_FULL_CACHE_QUEUE_FAILURE, exception, tenant);
+    } finally {
+      TenantContext.release();
+    }
+  }
+
+  /**
+   * Rebuild counters of a tenant.
+   */
+  private static class Counters {
+    private final AtomicLong rebuilt = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong lastLag = new AtomicLong();
+  }
+}
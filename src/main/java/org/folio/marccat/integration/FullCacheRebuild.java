@@ -0,0 +1,287 @@
+package org.folio.marccat.integration;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.folio.marccat.config.Global;
+import org.folio.marccat.config.log.Log;
+import org.folio.marccat.config.log.MessageCatalog;
+import org.folio.marccat.dao.common.TenantContext;
+import org.folio.marccat.dao.persistence.FULL_CACHE_REBUILD;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rebuilds the whole FULL_CACHE of a view, e.g. after a change in correlation rules or in the MARCXML output.
+ * The record identifiers are split in ranges (partitions) which are rebuilt in parallel, each worker with its own
+ * connection. Records are assembled in chunks, with one query per tag family, and each chunk is written with a batch
+ * upsert in the same transaction that moves the partition checkpoint forward, so a cancelled or crashed rebuild
+ * resumes where it stopped.
+ * Workers throttle themselves: with a load of 0.5, for instance, each worker sleeps as long as it worked on the
+ * previous chunk.
+ * There is at most one rebuild for each tenant.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public final class FullCacheRebuild {
+  private static final Log logger = new Log(FullCacheRebuild.class);
+  private static final Map<String, FullCacheRebuild> JOBS = new ConcurrentHashMap<>();
+
+  /**
+   * The rebuild states.
+   */
+  public enum State {
+    RUNNING, CANCELLED, COMPLETED, FAILED
+  }
+
+  private final String tenant;
+  private final int view;
+  private final int parallelism;
+  private final double load;
+  private final int partitions;
+  private final Queue<FULL_CACHE_REBUILD> pending;
+  private final AtomicInteger completedPartitions = new AtomicInteger();
+  private final AtomicLong processed = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final long startTime = System.currentTimeMillis();
+  private volatile long endTime;
+  private volatile State state = State.RUNNING;
+
+  private FullCacheRebuild(
+    final String tenant,
+    final int view,
+    final int parallelism,
+    final double load,
+    final List<FULL_CACHE_REBUILD> checkpoints) {
+    this.tenant = tenant;
+    this.view = view;
+    this.parallelism = parallelism;
+    this.load = Math.min(1, Math.max(0.01, load));
+    this.partitions = checkpoints.size();
+    this.pending = new ConcurrentLinkedQueue<>();
+    checkpoints.forEach(checkpoint -> {
+      if (checkpoint.isCompleted()) {
+        completedPartitions.incrementAndGet();
+      } else {
+        pending.add(checkpoint);
+      }
+    });
+  }
+
+  /**
+   * Starts (or resumes) the rebuild of the given view.
+   *
+   * @param tenant      the tenant identifier.
+   * @param view        the record view.
+   * @param parallelism the number of workers (i.e. of connections).
+   * @param load        the fraction of time each worker spends working, in (0, 1].
+   * @param checkpoints the partition checkpoints (see {@link StorageService#planFullRecordCacheRebuild(int, int)}).
+   * @return the rebuild, or the rebuild already running for the given tenant.
+   */
+  public static FullCacheRebuild start(
+    final String tenant,
+    final int view,
+    final int parallelism,
+    final double load,
+    final List<FULL_CACHE_REBUILD> checkpoints) {
+    final FullCacheRebuild job = new FullCacheRebuild(tenant, view, parallelism, load, checkpoints);
+    final FullCacheRebuild current = JOBS.compute(tenant, (key, running) ->
+      running != null && running.state == State.RUNNING ? running : job);
+    if (current == job) {
+      job.run(MarccatHelper.datasources().get(tenant));
+    }
+    return current;
+  }
+
+  /**
+   * Returns the last rebuild started for the given tenant.
+   *
+   * @param tenant the tenant identifier.
+   * @return the last rebuild started for the given tenant, null if no rebuild has been started.
+   */
+  public static FullCacheRebuild of(final String tenant) {
+    return JOBS.get(tenant);
+  }
+
+  /**
+   * Stops the rebuild after the chunks in progress. Checkpoints are kept, so the rebuild can be resumed.
+   */
+  public void cancel() {
+    if (state == State.RUNNING) {
+      state = State.CANCELLED;
+    }
+  }
+
+  private void run(final DataSource datasource) {
+    final CountDownLatch workers = new CountDownLatch(parallelism);
+    for (int i = 0; i < parallelism; i++) {
+      final Thread worker = new Thread(() -> {
+        try {
+          work(datasource);
+        } finally {
+          workers.countDown();
+        }
+      }, "full-cache-rebuild-" + tenant + "-" + i);
+      worker.setDaemon(true);
+      worker.start();
+    }
+
+    final Thread monitor = new Thread(() -> monitor(datasource, workers), "full-cache-rebuild-" + tenant);
+    monitor.setDaemon(true);
+    monitor.start();
+  }
+
+  private void work(final DataSource datasource) {
+    TenantContext.bind(tenant);
+    try (final Connection connection = datasource.getConnection();
+         final StorageService service = new StorageService(SessionFactories.openSession(tenant, connection))) {
+      FULL_CACHE_REBUILD checkpoint;
+      while (state == State.RUNNING && (checkpoint = pending.poll()) != null) {
+        List<Integer> itemNumbers;
+        while (state == State.RUNNING
+          && !(itemNumbers = service.getFullRecordCacheRebuildItems(checkpoint, Global.FULL_CACHE_REBUILD_CHUNK)).isEmpty()) {
+          final long chunkStart = System.nanoTime();
+          final Map<Integer, String> records = assemble(service, itemNumbers);
+          service.writeFullRecordCacheRebuild(checkpoint, records, itemNumbers.get(itemNumbers.size() - 1));
+          processed.addAndGet(itemNumbers.size());
+          throttle(System.nanoTime() - chunkStart);
+        }
+
+        if (state == State.RUNNING) {
+          completedPartitions.incrementAndGet();
+        }
+      }
+    } catch (final InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      state = State.FAILED;
+    } catch (final Exception exception) {
+      logger.error(MessageCatalog._00034_FULL_CACHE_REBUILD_ABORTED, exception, tenant);
+      state = State.FAILED;
+    } finally {
+      TenantContext.release();
+    }
+  }
+
+  /**
+   * Assembles the given records with the batch loader; if the batch fails, records are assembled one by one so that a
+   * single broken record doesn't stop the whole chunk.
+   */
+  private Map<Integer, String> assemble(final StorageService service, final List<Integer> itemNumbers) {
+    Map<Integer, String> records;
+    try {
+      records = service.getFullRecordData(itemNumbers, view);
+    } catch (final Exception batchFailure) {
+      records = new LinkedHashMap<>();
+      for (final int itemNumber : itemNumbers) {
+        try {
+          records.put(itemNumber, service.getFullRecordData(itemNumber, view));
+        } catch (final Exception exception) {
+          logger.error(MessageCatalog._00031_FULL_CACHE_REBUILD_FAILURE, exception, itemNumber, view, tenant);
+        }
+      }
+    }
+    failed.addAndGet(itemNumbers.size() - records.size());
+    return records;
+  }
+
+  private void throttle(final long elapsedNanos) throws InterruptedException {
+    if (load < 1) {
+      TimeUnit.NANOSECONDS.sleep((long) (elapsedNanos * (1 - load) / load));
+    }
+  }
+
+  private void monitor(final DataSource datasource, final CountDownLatch workers) {
+    try {
+      while (!workers.await(Global.FULL_CACHE_REBUILD_REPORT_INTERVAL, TimeUnit.SECONDS)) {
+        logger.info(MessageCatalog._00033_FULL_CACHE_REBUILD_PROGRESS,
+          tenant, view, processed.get(), getThroughput(), completedPartitions.get(), partitions);
+      }
+
+      if (state == State.RUNNING) {
+        TenantContext.bind(tenant);
+        try (final Connection connection = datasource.getConnection();
+             final StorageService service = new StorageService(SessionFactories.openSession(tenant, connection))) {
+          service.completeFullRecordCacheRebuild(view);
+        } finally {
+          TenantContext.release();
+        }
+        state = State.COMPLETED;
+      }
+    } catch (final InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    } catch (final Exception exception) {
+      logger.error(MessageCatalog._00034_FULL_CACHE_REBUILD_ABORTED, exception, tenant);
+      state = State.FAILED;
+    } finally {
+      endTime = System.currentTimeMillis();
+      logger.info(MessageCatalog._00033_FULL_CACHE_REBUILD_PROGRESS,
+        tenant, view, processed.get(), getThroughput(), completedPartitions.get(), partitions);
+    }
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  public int getView() {
+    return view;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public double getLoad() {
+    return load;
+  }
+
+  public int getPartitions() {
+    return partitions;
+  }
+
+  public int getCompletedPartitions() {
+    return completedPartitions.get();
+  }
+
+  public long getProcessed() {
+    return processed.get();
+  }
+
+  public long getFailed() {
+    return failed.get();
+  }
+
+  /**
+   * Returns the elapsed time, in seconds.
+   *
+   * @return the elapsed time, in seconds.
+   */
+  public long getElapsed() {
+    return TimeUnit.MILLISECONDS.toSeconds((endTime > 0 ? endTime : System.currentTimeMillis()) - startTime);
+  }
+
+  /**
+   * Returns the average number of records rebuilt per second.
+   *
+   * @return the average number of records rebuilt per second.
+   */
+  public long getThroughput() {
+    final long elapsed = (endTime > 0 ? endTime : System.currentTimeMillis()) - startTime;
+    return elapsed > 0 ? processed.get() * 1000 / elapsed : 0;
+  }
+
+  @JsonIgnore
+  public String getTenant() {
+    return tenant;
+  }
+}
@@ -0,0 +1,83 @@
+package org.folio.marccat.integration;
+
+import org.folio.marccat.config.Global;
+import org.folio.marccat.config.log.Log;
+import org.folio.marccat.config.log.MessageCatalog;
+import org.folio.marccat.dao.common.HeadingUsage;
+import org.folio.marccat.dao.common.TenantContext;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically rebuilds the heading usage counters from the access point tables.
+ * Counters are maintained incrementally by the sessions of this module; the reconciliation realigns them with the
+ * changes made outside (e.g. bulk loads). Like the lock sweeper, it serves the tenants this instance has already
+ * served; tenants whose counters table doesn't exist yet are skipped.
+ *
+ * @author cchiama
+ * @since 1.0
+ * @see Global#HEADING_USAGE_RECONCILE_INTERVAL
+ */
+@Component
+public class HeadingUsageReconciler {
+  private static final Log logger = new Log(HeadingUsageReconciler.class);
+
+  private ScheduledExecutorService reconciler;
+
+  /**
+   * Starts the reconciler.
+   */
+  @PostConstruct
+  public void start() {
+    reconciler = Executors.newSingleThreadScheduledExecutor(task -> {
+      final Thread thread = new Thread(task, "heading-usage-reconciler");
+      thread.setDaemon(true);
+      return thread;
+    });
+    reconciler.scheduleWithFixedDelay(
+      () -> MarccatHelper.datasources().forEach(this::reconcile),
+      Global.HEADING_USAGE_RECONCILE_INTERVAL,
+      Global.HEADING_USAGE_RECONCILE_INTERVAL,
+      TimeUnit.SECONDS);
+  }
+
+  /**
+   * Stops the reconciler.
+   */
+  @PreDestroy
+  public void stop() {
+    if (reconciler != null) {
+      reconciler.shutdownNow();
+    }
+  }
+
+  /**
+   * Rebuilds the heading usage counters of the given tenant, one usage table at time.
+   *
+   * @param tenant     the tenant identifier.
+   * @param datasource the tenant datasource.
+   */
+  private void reconcile(final String tenant, final DataSource datasource) {
+    TenantContext.bind(tenant);
+    try (final Connection connection = datasource.getConnection();
+         final StorageService service = new StorageService(SessionFactories.openSession(tenant, connection))) {
+      if (!service.hasHeadingUsageCounters()) {
+        return;
+      }
+      for (final HeadingUsage usage : HeadingUsage.values()) {
+        logger.info(MessageCatalog._00038_HEADING_USAGE_RECONCILED, usage, service.reconcileHeadingUsage(usage), tenant);
+      }
+    } catch (final Exception exception) {
+      logger.error(MessageCatalog._00039_HEADING_USAGE_RECONCILE_FAILURE, exception, tenant);
+    } finally {
+      TenantContext.release();
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package org.folio.marccat.integration;
+
+import org.folio.marccat.config.Global;
+import org.folio.marccat.config.log.Log;
+import org.folio.marccat.config.log.MessageCatalog;
+import org.folio.marccat.dao.common.TenantContext;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically removes the record and heading locks whose lease is expired.
+ * Expired locks don't prevent other users from acquiring the lock anyway: the sweeper just keeps S_LCK_TBL small.
+ * Like the FULL_CACHE maintenance, it serves the tenants this instance has already served.
+ *
+ * @author cchiama
+ * @since 1.0
+ * @see Global#LOCK_LEASE
+ */
+@Component
+public class LockSweeper {
+  private static final Log logger = new Log(LockSweeper.class);
+
+  private ScheduledExecutorService sweeper;
+
+  /**
+   * Starts the sweeper.
+   */
+  @PostConstruct
+  public void start() {
+    sweeper = Executors.newSingleThreadScheduledExecutor(task -> {
+      final Thread thread = new Thread(task, "lock-sweeper");
+      thread.setDaemon(true);
+      return thread;
+    });
+    sweeper.scheduleWithFixedDelay(
+      () -> MarccatHelper.datasources().forEach(this::sweep),
+      Global.LOCK_SWEEP_INTERVAL,
+      Global.LOCK_SWEEP_INTERVAL,
+      TimeUnit.SECONDS);
+  }
+
+  /**
+   * Stops the sweeper.
+   */
+  @PreDestroy
+  public void stop() {
+    if (sweeper != null) {
+      sweeper.shutdownNow();
+    }
+  }
+
+  /**
+   * Removes the expired locks of the given tenant.
+   *
+   * @param tenant     the tenant identifier.
+   * @param datasource the tenant datasource.
+   */
+  private void sweep(final String tenant, final DataSource datasource) {
+    TenantContext.bind(tenant);
+    try (final Connection connection = datasource.getConnection();
+         final StorageService service = new StorageService(SessionFactories.openSession(tenant, connection))) {
+      final int removed = service.sweepExpiredLocks();
+      if (removed > 0) {
+        logger.info(MessageCatalog._00036_LOCKS_SWEPT, removed, tenant);
+      }
+    } catch (final Exception exception) {
+      logger.error(MessageCatalog._00037_LOCK_SWEEP_FAILURE, exception, tenant);
+    } finally {
+      TenantContext.release();
+    }
+  }
+}
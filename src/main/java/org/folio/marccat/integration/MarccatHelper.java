@@ -1,6 +1,11 @@
 package org.folio.marccat.integration;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.folio.marccat.config.Global;
+import org.folio.marccat.config.log.Log;
+import org.folio.marccat.config.log.MessageCatalog;
+import org.folio.marccat.dao.SchemaMigrationDAO;
+import org.folio.marccat.dao.common.TenantContext;
 import org.folio.marccat.exception.DataAccessException;
 import org.folio.marccat.exception.SystemInternalFailureException;
 import org.springframework.boot.jdbc.DataSourceBuilder;
@@ -9,10 +14,15 @@ import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
 import java.util.stream.StreamSupport;
 
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
-import static org.folio.marccat.config.Global.HCONFIGURATION;
 
 /**
  * Helper functions used within the marccat module.
@@ -23,8 +33,20 @@ import static org.folio.marccat.config.Global.HCONFIGURATION;
  * @since 1.0
  */
 public abstract class MarccatHelper {
+  private final static Log logger = new Log(MarccatHelper.class);
   private final static Properties DEFAULT_VALUES = new Properties();
-  private final static Map<String, DataSource> DATASOURCES = new HashMap<>();
+  private final static Map<String, DataSource> DATASOURCES = new ConcurrentHashMap<>();
+  private final static Set<String> MIGRATED_TENANTS = ConcurrentHashMap.newKeySet();
+  private final static ExecutorService BATCH_WORKERS = Executors.newFixedThreadPool(Global.SEARCH_BATCH_PARALLELISM, task -> {
+    final Thread thread = new Thread(task, "batch-worker");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final static ExecutorService VIEW_INDEX_BUILDER = Executors.newSingleThreadExecutor(task -> {
+    final Thread thread = new Thread(task, "view-index-builder");
+    thread.setDaemon(true);
+    return thread;
+  });
 
   static {
     try {
@@ -50,6 +72,57 @@ public abstract class MarccatHelper {
     return exec(adapter, tenant, configurator, configurationSets);
   }
 
+  /**
+   * Executes a batch of GET requests for the same tenant, whose configuration is loaded once.
+   * Requests are executed in parallel by a pool of {@link Global#SEARCH_BATCH_PARALLELISM} workers, shared by all
+   * batches: each request binds the tenant to its worker and gets its own connection and session from the tenant
+   * datasource, since a session can't be used by more than one thread. A failing request doesn't stop the others.
+   *
+   * @param adapters          the bridges that carry on the existing logic, one for each request.
+   * @param onFailure         the function producing the result of a failed request, from its position and failure.
+   * @param tenant            the tenant associated with the current request.
+   * @param configurator      the configuration client.
+   * @param configurationSets the requested configuration attributes sets.
+   * @return the results of the requests, in the same order.
+   */
+  public static <T> List<T> doBatch(
+    final List<PieceOfExistingLogicAdapter<T>> adapters,
+    final BiFunction<Integer, Throwable, T> onFailure,
+    final String tenant,
+    final Configuration configurator,
+    final String... configurationSets) {
+    final ObjectNode settings;
+    try {
+      settings = configurator.attributes(tenant, true, configurationSets);
+    } catch (final Throwable throwable) {
+      throw new SystemInternalFailureException(throwable);
+    }
+    final DataSource datasource = datasource(tenant, settings);
+    final Map<String, String> configuration = configuration(settings);
+
+    final SqlStatistics scope = SqlStatistics.current();
+    final List<CompletableFuture<T>> results = new ArrayList<>();
+    for (int i = 0; i < adapters.size(); i++) {
+      final int position = i;
+      results.add(CompletableFuture.supplyAsync(() -> {
+        SqlStatistics.join(scope);
+        TenantContext.bind(tenant);
+        try (final Connection connection = SqlStatistics.instrument(datasource.getConnection());
+             final StorageService service =
+               new StorageService(
+                 SessionFactories.openSession(tenant, connection))) {
+          return adapters.get(position).execute(service, configuration);
+        } catch (final Throwable exception) {
+          return onFailure.apply(position, exception);
+        } finally {
+          TenantContext.release();
+          SqlStatistics.end();
+        }
+      }, BATCH_WORKERS));
+    }
+    return results.stream().map(CompletableFuture::join).collect(toList());
+  }
+
   /**
    * Provides a unified approach (within the marccat module) for wrapping an existing blocking flow.
    *
@@ -64,21 +137,55 @@ public abstract class MarccatHelper {
     try {
       final ObjectNode settings = configurator.attributes(tenant, true, configurationSets);
       final DataSource datasource = datasource(tenant, settings);
-      try (final Connection connection = datasource.getConnection();
+      TenantContext.bind(tenant);
+      try (final Connection connection = SqlStatistics.instrument(datasource.getConnection());
            final StorageService service =
              new StorageService(
-               HCONFIGURATION.buildSessionFactory().openSession(connection))) {
+               SessionFactories.openSession(tenant, connection))) {
         return adapter.execute(service, configuration(settings));
       } catch (final SQLException exception) {
         throw new DataAccessException(exception);
       } catch (final Throwable exception) {
         throw new SystemInternalFailureException(exception);
+      } finally {
+        TenantContext.release();
       }
     } catch (final Throwable throwable) {
       throw new SystemInternalFailureException(throwable);
     }
   }
 
+  /**
+   * Returns the datasources created so far, by tenant.
+   * Background jobs use it for serving the tenants this instance knows about.
+   *
+   * @return the datasources created so far, by tenant.
+   */
+  static Map<String, DataSource> datasources() {
+    return Collections.unmodifiableMap(DATASOURCES);
+  }
+
+  /**
+   * Returns the datasources of the tenants this instance has to serve, by tenant: those served so far and those
+   * listed in {@link Global#TENANTS}, whose datasource is created from their configuration if needed.
+   * Background jobs use it for serving also the tenants which haven't been requested since the last restart.
+   *
+   * @param configurator the configuration client.
+   * @return the datasources of the tenants this instance has to serve, by tenant.
+   */
+  static Map<String, DataSource> datasources(final Configuration configurator) {
+    for (final String tenant : Global.TENANTS) {
+      if (!DATASOURCES.containsKey(tenant)) {
+        try {
+          datasource(tenant, configurator.attributes(tenant, true));
+        } catch (final Exception exception) {
+          logger.error(MessageCatalog._00047_TENANT_CONFIGURATION_FAILURE, exception, tenant);
+        }
+      }
+    }
+    return datasources();
+  }
+
   /**
    * Creates a dedicated configuration for the current service.
    *
@@ -101,7 +208,58 @@ public abstract class MarccatHelper {
    * @return the datasource configuration used within this module.
    */
   private static DataSource datasource(final String tenant, final ObjectNode value) {
-    return DATASOURCES.computeIfAbsent(tenant, k -> newDataSourceInstance(value));
+    final DataSource datasource = DATASOURCES.computeIfAbsent(tenant, k -> newDataSourceInstance(value));
+    migrate(tenant, datasource);
+    return datasource;
+  }
+
+  /**
+   * Applies the schema migrations to the database of the given tenant, the first time it is served.
+   * A failure doesn't stop the request, so that the features which don't need the migrated tables keep working; the
+   * migrations are tried again with the next request.
+   * Once the tenant is migrated, the partial indexes of the views listed in {@link Global#INDEXED_VIEWS} are created
+   * in background, since their build can take long on a large catalog.
+   *
+   * @param tenant     the tenant identifier.
+   * @param datasource the tenant datasource.
+   */
+  private static void migrate(final String tenant, final DataSource datasource) {
+    if (MIGRATED_TENANTS.contains(tenant)) {
+      return;
+    }
+    synchronized (MIGRATED_TENANTS) {
+      if (MIGRATED_TENANTS.contains(tenant)) {
+        return;
+      }
+      try (final Connection connection = datasource.getConnection()) {
+        new SchemaMigrationDAO().migrate(connection);
+        MIGRATED_TENANTS.add(tenant);
+        logger.info(MessageCatalog._00046_SCHEMA_MIGRATED, tenant);
+      } catch (final SQLException exception) {
+        logger.error(MessageCatalog._00048_SCHEMA_MIGRATION_FAILURE, exception, tenant);
+        return;
+      }
+    }
+    VIEW_INDEX_BUILDER.execute(() -> indexViews(tenant, datasource));
+  }
+
+  /**
+   * Creates the partial indexes of the configured views which don't exist yet.
+   * A failure is only logged: the indexes of the failed view are created again at the next restart, or on demand
+   * through the view indexes API.
+   *
+   * @param tenant     the tenant identifier.
+   * @param datasource the tenant datasource.
+   */
+  private static void indexViews(final String tenant, final DataSource datasource) {
+    final SchemaMigrationDAO dao = new SchemaMigrationDAO();
+    for (final int view : Global.INDEXED_VIEWS) {
+      try (final Connection connection = datasource.getConnection()) {
+        logger.info(MessageCatalog._00050_VIEW_INDEXES_CREATED, view, dao.indexView(connection, view).size(), tenant);
+      } catch (final SQLException | RuntimeException exception) {
+        logger.error(MessageCatalog._00051_VIEW_INDEXES_FAILURE, exception, view, tenant);
+      }
+    }
   }
 
   /**
@@ -0,0 +1,77 @@
+package org.folio.marccat.integration;
+
+import net.sf.hibernate.HibernateException;
+import net.sf.hibernate.Session;
+import net.sf.hibernate.SessionFactory;
+import org.folio.marccat.config.log.Log;
+import org.folio.marccat.config.log.MessageCatalog;
+import org.folio.marccat.dao.CompositeInterceptor;
+import org.folio.marccat.dao.CrossReferenceInterceptor;
+import org.folio.marccat.dao.HeadingUsageInterceptor;
+import org.folio.marccat.dao.common.AfterCommit;
+import org.folio.marccat.dao.common.TenantCacheProvider;
+import org.folio.marccat.exception.DataAccessException;
+
+import java.sql.Connection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.folio.marccat.config.Global.HCONFIGURATION;
+
+/**
+ * Per-tenant Hibernate session factories.
+ * A session factory is expensive to build and owns the second level cache, so it is built once per tenant and
+ * reused across requests; sessions are then opened on the connection of each request.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+final class SessionFactories {
+  private static final Log logger = new Log(SessionFactories.class);
+  private static final Map<String, SessionFactory> FACTORIES = new ConcurrentHashMap<>();
+
+  private SessionFactories() {
+  }
+
+  /**
+   * Returns the session factory associated with the given tenant.
+   *
+   * @param tenant the tenant identifier.
+   * @return the session factory associated with the given tenant.
+   */
+  static SessionFactory of(final String tenant) {
+    return FACTORIES.computeIfAbsent(tenant, SessionFactories::newSessionFactory);
+  }
+
+  /**
+   * Opens a session of the given tenant on the given connection.
+   * The session keeps the heading usage counters up to date (see {@link HeadingUsageInterceptor}) and notifies the
+   * cross-reference graphs of the cross-references it writes (see {@link CrossReferenceInterceptor}); its connection
+   * runs the actions enlisted with its transactions once they are committed (see {@link AfterCommit}).
+   *
+   * @param tenant     the tenant identifier.
+   * @param connection the connection.
+   * @return a new session of the given tenant.
+   */
+  static Session openSession(final String tenant, final Connection connection) {
+    final Connection enlistable = AfterCommit.enlistable(connection);
+    return of(tenant).openSession(
+      enlistable,
+      new CompositeInterceptor(new HeadingUsageInterceptor(enlistable), new CrossReferenceInterceptor()));
+  }
+
+  private static SessionFactory newSessionFactory(final String tenant) {
+    synchronized (HCONFIGURATION) {
+      try {
+        HCONFIGURATION.setProperty(TenantCacheProvider.TENANT_PROPERTY, tenant);
+        final SessionFactory factory = HCONFIGURATION.buildSessionFactory();
+        logger.info(MessageCatalog._00029_SESSION_FACTORY_CREATED, tenant);
+        return factory;
+      } catch (final HibernateException exception) {
+        throw new DataAccessException(exception);
+      } finally {
+        HCONFIGURATION.getProperties().remove(TenantCacheProvider.TENANT_PROPERTY);
+      }
+    }
+  }
+}
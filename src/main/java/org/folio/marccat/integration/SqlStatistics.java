@@ -0,0 +1,199 @@
+package org.folio.marccat.integration;
+
+import org.folio.marccat.config.Global;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request SQL statement accounting.
+ * When diagnostics are enabled (see {@link Global#SQL_DIAGNOSTICS_ENABLED}), the connection handed to the
+ * {@link StorageService} is wrapped so that every executed statement, every fetched row and the time spent in the
+ * driver are collected in a thread-bound accumulator which lives for the whole HTTP request.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public final class SqlStatistics {
+  private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+  private int statements;
+  private long rows;
+  private long elapsedNanos;
+
+  private SqlStatistics() {
+  }
+
+  /**
+   * Opens a new accounting scope for the current thread.
+   * Does nothing if diagnostics are disabled.
+   */
+  public static void begin() {
+    if (Global.SQL_DIAGNOSTICS_ENABLED) {
+      CURRENT.set(new SqlStatistics());
+    }
+  }
+
+  /**
+   * Binds the given scope to the current thread, so that the statements executed by a worker on behalf of a request
+   * are accounted in the scope of that request.
+   * Does nothing if the given scope is null (i.e. the request has no scope).
+   *
+   * @param scope the scope of the request the current thread works for.
+   */
+  static void join(final SqlStatistics scope) {
+    if (scope != null) {
+      CURRENT.set(scope);
+    }
+  }
+
+  /**
+   * Closes the accounting scope associated with the current thread.
+   */
+  public static void end() {
+    CURRENT.remove();
+  }
+
+  /**
+   * Returns the statistics collected so far in the current thread.
+   *
+   * @return the statistics collected so far in the current thread, null if no scope is active.
+   */
+  public static SqlStatistics current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Wraps the given connection with a proxy that records statistics in the current scope.
+   * If no scope is active the connection is returned as it is.
+   *
+   * @param connection the connection obtained from the tenant datasource.
+   * @return the (possibly) instrumented connection.
+   */
+  static Connection instrument(final Connection connection) {
+    final SqlStatistics statistics = current();
+    return statistics != null
+      ? proxy(Connection.class, connection, statistics)
+      : connection;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T proxy(final Class<T> type, final T target, final SqlStatistics statistics) {
+    return (T) Proxy.newProxyInstance(
+      type.getClassLoader(),
+      new Class[]{type},
+      new Recorder(target, statistics));
+  }
+
+  private static Class<?> proxyType(final Object value) {
+    if (value instanceof java.sql.CallableStatement) {
+      return java.sql.CallableStatement.class;
+    } else if (value instanceof java.sql.PreparedStatement) {
+      return java.sql.PreparedStatement.class;
+    } else if (value instanceof Statement) {
+      return Statement.class;
+    } else if (value instanceof ResultSet) {
+      return ResultSet.class;
+    }
+    return null;
+  }
+
+  /**
+   * Returns the number of statements executed in this scope.
+   *
+   * @return the number of statements executed in this scope.
+   */
+  public synchronized int getStatements() {
+    return statements;
+  }
+
+  /**
+   * Returns the number of rows fetched in this scope.
+   *
+   * @return the number of rows fetched in this scope.
+   */
+  public synchronized long getRows() {
+    return rows;
+  }
+
+  /**
+   * Returns the time spent within the JDBC driver, in milliseconds.
+   *
+   * @return the time spent within the JDBC driver, in milliseconds.
+   */
+  public synchronized long getElapsedMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+  }
+
+  /**
+   * Returns a Server-Timing header value summarizing this scope.
+   *
+   * @return a Server-Timing header value summarizing this scope.
+   */
+  public synchronized String toServerTiming() {
+    return String.format("db;desc=\"%d statements, %d rows\";dur=%d", statements, rows, getElapsedMillis());
+  }
+
+  // The scope of a request is shared by the workers executing its batches (see MarccatHelper#doBatch).
+  private synchronized void record(final long nanos) {
+    elapsedNanos += nanos;
+  }
+
+  private synchronized void executed() {
+    statements++;
+  }
+
+  private synchronized void fetched() {
+    rows++;
+  }
+
+  /**
+   * Invocation handler which records statement executions and fetched rows.
+   * Statements and result sets created through the wrapped connection are wrapped as well.
+   */
+  private static class Recorder implements InvocationHandler {
+    private final Object target;
+    private final SqlStatistics statistics;
+
+    Recorder(final Object target, final SqlStatistics statistics) {
+      this.target = target;
+      this.statistics = statistics;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+      final String name = method.getName();
+      final boolean execution = target instanceof Statement && name.startsWith("execute");
+      final boolean fetch = target instanceof ResultSet && "next".equals(name);
+      final long start = (execution || fetch) ? System.nanoTime() : 0;
+      final Object result;
+      try {
+        result = method.invoke(target, args);
+      } catch (final InvocationTargetException exception) {
+        throw exception.getCause();
+      } finally {
+        if (execution || fetch) {
+          statistics.record(System.nanoTime() - start);
+        }
+      }
+
+      if (execution) {
+        statistics.executed();
+      } else if (fetch && Boolean.TRUE.equals(result)) {
+        statistics.fetched();
+      }
+
+      final Class<?> type = proxyType(result);
+      return (type != null && method.getReturnType().isAssignableFrom(type))
+        ? proxy((Class<Object>) type, result, statistics)
+        : result;
+    }
+  }
+}
@@ -2,26 +2,38 @@ package org.folio.marccat.integration;
 
 import net.sf.hibernate.HibernateException;
 import net.sf.hibernate.Session;
+import org.folio.marccat.business.cataloguing.authority.AuthorityCatalog;
 import org.folio.marccat.business.cataloguing.bibliographic.BibliographicCatalog;
 import org.folio.marccat.business.cataloguing.bibliographic.BibliographicItem;
 import org.folio.marccat.business.cataloguing.bibliographic.BibliographicTagImpl;
 import org.folio.marccat.business.cataloguing.bibliographic.VariableField;
 import org.folio.marccat.business.cataloguing.common.Browsable;
+import org.folio.marccat.business.cataloguing.common.Catalog;
 import org.folio.marccat.business.cataloguing.common.Tag;
 import org.folio.marccat.business.cataloguing.common.TagImpl;
 import org.folio.marccat.business.codetable.Avp;
 import org.folio.marccat.business.common.View;
+import org.folio.marccat.config.Global;
 import org.folio.marccat.config.GlobalStorage;
 import org.folio.marccat.config.log.Log;
 import org.folio.marccat.config.log.MessageCatalog;
 import org.folio.marccat.dao.*;
 import org.folio.marccat.dao.persistence.*;
+import org.folio.marccat.dao.common.BrowseIndex;
+import org.folio.marccat.dao.common.CrossReferenceExpansion;
+import org.folio.marccat.dao.common.CrossReferenceGraph;
+import org.folio.marccat.dao.common.BrowsePageCache;
+import org.folio.marccat.dao.common.HeadingUsage;
+import org.folio.marccat.dao.common.SearchFacet;
 import org.folio.marccat.exception.DataAccessException;
 import org.folio.marccat.exception.InvalidBrowseIndexException;
 import org.folio.marccat.exception.ModMarccatException;
+import org.folio.marccat.exception.RecordInUseException;
 import org.folio.marccat.exception.RecordNotFoundException;
 import org.folio.marccat.integration.search.Parser;
 import org.folio.marccat.resources.domain.CountDocument;
+import org.folio.marccat.search.SearchCounts;
+import org.folio.marccat.search.SearchExplanation;
 import org.folio.marccat.search.SearchResponse;
 import org.folio.marccat.shared.MapHeading;
 import org.folio.marccat.util.F;
@@ -35,8 +47,10 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static java.util.Collections.emptyList;
@@ -59,6 +73,7 @@ public class StorageService implements Closeable {
 
 
   private final Session session;
+  private Map<String, String> compiledTerms;
 
   /**
    * Builds a new {@link StorageService} with the given session.
@@ -69,6 +84,16 @@ public class StorageService implements Closeable {
     this.session = session;
   }
 
+  /**
+   * Shares the given compiled CCL terms with the other services of a batch: the terms of the queries executed by this
+   * service are compiled once for the whole batch.
+   *
+   * @param compiledTerms the compiled terms, a thread safe map.
+   */
+  public void setCompiledTerms(final Map<String, String> compiledTerms) {
+    this.compiledTerms = compiledTerms;
+  }
+
   /**
    * Returns the skip in filing associated with the given language.
    *
@@ -186,6 +211,264 @@ public class StorageService implements Closeable {
     }
   }
 
+  /**
+   * Claims a batch of pending FULL_CACHE rebuilds.
+   *
+   * @param batchSize    the maximum number of entries to claim.
+   * @param leaseSeconds how long the claimed entries are reserved to the caller, in seconds.
+   * @return the claimed entries, oldest first.
+   */
+  public List<FULL_CACHE_QUEUE> claimFullRecordCacheRebuilds(final int batchSize, final int leaseSeconds) {
+    try {
+      return new DAOFullCacheQueue().claim(session, batchSize, leaseSeconds, Global.FULL_CACHE_MAX_ATTEMPTS);
+    } catch (final HibernateException exception) {
+      throw new DataAccessException(exception);
+    }
+  }
+
+  /**
+   * Rebuilds the FULL_CACHE entry of the given (claimed) queue entry and removes it from the queue.
+   * Related records are not rebuilt: they have their own queue entries. If the record doesn't exist anymore there's
+   * nothing to rebuild, so the entry is simply removed.
+   *
+   * @param entry the claimed queue entry.
+   * @return true if the entry has been removed, false if the record changed again in the meantime.
+   */
+  public boolean rebuildFullRecordCacheTable(final FULL_CACHE_QUEUE entry) {
+    try {
+      final CatalogItem item;
+      try {
+        item = getCatalogItemByKey(entry.getItemNumber(), entry.getUserView());
+      } catch (final RecordNotFoundException exception) {
+        new DAOFullCacheQueue().remove(session, entry);
+        return true;
+      }
+      if (entry.getUserView() == View.AUTHORITY) {
+        new AuthorityCatalogDAO().updateFullRecordCacheTable(session, item);
+      } else {
+        new BibliographicCatalogDAO().updateFullRecordCacheTable(session, item, false);
+      }
+      return new DAOFullCacheQueue().complete(session, entry);
+    } catch (final HibernateException exception) {
+      throw new DataAccessException(exception);
+    }
+  }
+
+  /**
+   * Returns the depth and the lag (in milliseconds) of the FULL_CACHE maintenance queue.
+   *
+   * @return the depth and the lag of the FULL_CACHE maintenance queue.
+   */
+  public Map<String, Long> getFullRecordCacheQueueStatistics() {
+    try {
+      return new DAOFullCacheQueue().statistics(session, Global.FULL_CACHE_MAX_ATTEMPTS);
+    } catch (final HibernateException exception) {
+      throw new DataAccessException(exception);
+    }
+  }
+
+  /**
+   * Returns the checkpoints of the FULL_CACHE rebuild of the given view.
+   * If no rebuild is in progress, the record identifiers are split in the given number of partitions.
+   *
+   * @param view       the record view.
+   * @param partitions the number of partitions of a new rebuild.
+   * @return the checkpoints of the FULL_CACHE rebuild of the given view.
+   */
+  public List<FULL_CACHE_REBUILD> planFullRecordCacheRebuild(final int view, final int partitions) {
+    try {
+      final DAOFullCacheRebuild dao = new DAOFullCacheRebuild();
+      final List<FULL_CACHE_REBUILD> checkpoints = dao.checkpoints(session, view);
+      return checkpoints.isEmpty()
+        ? dao.plan(session, view, partitions)
+        : checkpoints;
+    } catch (final HibernateException exception) {
+      throw new DataAccessException(exception);
+    }
+  }
+
+  /**
+   * Returns the identifiers of the next records to be rebuilt in the given partition.
+   *
+   * @param checkpoint the partition checkpoint.
+   * @param limit      the maximum number of identifiers.
+   * @return the identifiers of the next records to be rebuilt, empty if the partition has been completed.
+   */
+  public List<Integer> getFullRecordCacheRebuildItems(final FULL_CACHE_REBUILD checkpoint, final int limit) {
+    try {
+      return new DAOFullCacheRebuild().nextItemNumbers(session, checkpoint, limit);
+    } catch (final HibernateException exception) {
+      throw new DataAccessException(exception);
+    }
+  }
+
+  /**
+   * Assembles the FULL_CACHE content (i.e. the MARCXML) of the given record.
+   *
+   * @param itemNumber the record identifier.
+   * @param view       the record view.
+   * @return the FULL_CACHE content of the given record.
+   */
+  public String getFullRecordData(final int itemNumber, final int view) {
+    return getCatalogItemByKey(itemNumber, view).toExternalMarcSlimString();
+  }
+
+  /**
+   * Assembles the FULL_CACHE content (i.e. the MARCXML) of the given bibliographic records, loading each tag family of
+   * all the records with a single query.
+   *
+   * @param itemNumbers the record identifiers.
+   * @param view        the record view.
+   * @return the FULL_CACHE content of the given records, by record identifier. Missing records are skipped.
+   */
+  public Map<Integer, String> getFullRecordData(final List<Integer> itemNumbers, final int view) {
+    try {
+      final Map<Integer, String> records = new LinkedHashMap<>();
+      new BibliographicCatalogDAO()
+        .getBibliographicItemsByAmicusNumbers(itemNumbers, view, session)
+        .forEach((itemNumber, item) -> records.put(itemNumber, item.toExternalMarcSlimString()));
+      return records;
+    } catch (final HibernateException exception) {
+      throw new DataAccessException(exception);
+    }
+  }
+
+  /**
+   * Writes a chunk of rebuilt records and moves the partition checkpoint forward.
+   * The session is cleared afterwards, so that a long running rebuild doesn't pile up loaded objects.
+   *
+   * @param checkpoint     the partition checkpoint.
+   * @param records        the record data, by record identifier.
+   * @param lastItemNumber the highest record identifier processed.
+   */
+  public void writeFullRecordCacheRebuild(final FULL_CACHE_REBUILD checkpoint, final Map<Integer, String> records, final int lastItemNumber) {
+    try {
+      new DAOFullCacheRebuild().write(session, checkpoint, records, lastItemNumber);
+      session.clear();
+    } catch (final HibernateException exception) {
+      throw new DataAccessException(exception);
+    }
+  }
+
+  /**
+   * Removes the checkpoints of the FULL_CACHE rebuild of the given view.
+   *
+   * @param view the record view.
+   */
+  public void completeFullRecordCacheRebuild(final int view) {
+    try {
+      new DAOFullCacheRebuild().clear(session, view);
+    } catch (final HibernateException exception) {
+      throw new DataAccessException(exception);
+    }
+  }
+
+  /**
+   * Locks the given records for the given user and front-end session: either all of them are locked or none is.
+   * Locks are leases, renewed each time they are acquired again.
+   *
+   * @param itemNumbers the record identifiers.
+   * @param view        the record view.
+   * @param userName    the user name.
+   * @param uuid        the front-end session identifier.
+   * @throws RecordInUseException in case at least one record is locked by another user.
+   */
+  public void lockRecords(final List<Integer> itemNumbers, final int view, final String userName, final String uuid) {
+    catalogOf(view).lock(itemNumbers, userName, uuid, session);
+  }
+
+  /**
+   * Renews the lease of the given records, locked by the given user and front-end session: either all of them are
+   * renewed or none is. Editors call it periodically, so that the locks of the records being edited don't expire.
+   *
+   * @param itemNumbers the record identifiers.
+   * @param view        the record view.
+   * @param userName    the user name.
+   * @param uuid        the front-end session identifier.
+   * @throws RecordInUseException in case at least one lock is not held by the given user and session anymore.
+   */
+  public void renewRecordLocks(final List<Integer> itemNumbers, final int view, final String userName, final String uuid) {
+    catalogOf(view).renewLocks(itemNumbers, userName, uuid, session);
+  }
+
+  /**
+   * Unlocks the given records. Locks held by other users are left untouched.
+   *
+   * @param itemNumbers the record identifiers.
+   * @param view        the record view.
+   * @param userName    the user name.
+   */
+  public void unlockRecords(final List<Integer> itemNumbers, final int view, final String userName) {
+    catalogOf(view).unlock(itemNumbers, userName, session);
+  }
+
+  /**
+   * Removes the locks whose lease is expired.
+   *
+   * @return the number of removed locks.
+   */
+  public int sweepExpiredLocks() {
+    return new BibliographicCatalogDAO().sweepLocks(session);
+  }
+
+  /**
+   * Returns true if the heading usage counters table exists.
+   *
+   * @return true if the heading usage counters table exists.
+   */
+  public boolean hasHeadingUsageCounters() {
+    try {
+      return new HeadingUsageDAO().isAvailable(session);
+    } catch (final HibernateException exception) {
+      throw new DataAccessException(exception);
+    }
+  }
+
+  /**
+   * Rebuilds the usage counters of the given usage table.
+   *
+   * @param usage the usage table.
+   * @return the number of counters written.
+   */
+  public int reconcileHeadingUsage(final HeadingUsage usage) {
+    try {
+      return new HeadingUsageDAO().reconcile(usage, session);
+    } catch (final HibernateException exception) {
+      throw new DataAccessException(exception);
+    }
+  }
+
+  /**
+   * Creates the partial indexes serving the view predicates of the given view.
+   *
+   * @param view the view.
+   * @return the names of the indexes of the given view.
+   */
+  public List<String> createViewIndexes(final int view) {
+    try {
+      return new ViewIndexDAO().createIndexes(view, session);
+    } catch (final HibernateException exception) {
+      throw new DataAccessException(exception);
+    }
+  }
+
+  /**
+   * Creates the full-text indexes serving the word searches.
+   *
+   * @return the names of the full-text indexes.
+   */
+  public List<String> createFullTextIndexes() {
+    try {
+      return new ViewIndexDAO().createFullTextIndexes(session);
+    } catch (final HibernateException exception) {
+      throw new DataAccessException(exception);
+    }
+  }
+
+  private Catalog catalogOf(final int view) {
+    return view == View.AUTHORITY ? new AuthorityCatalog() : new BibliographicCatalog();
+  }
+
   /**
    * Executes a CCL query using the given data.
    *
@@ -196,23 +479,97 @@ public class StorageService implements Closeable {
    * @return a list of docid matching the input query.
    */
   public List<Integer> executeQuery(final String cclQuery, final int mainLibraryId, final Locale locale, final int searchingView) {
-    final Parser parser = new Parser(locale, mainLibraryId, searchingView, session);
-    try (final Statement sql = stmt(connection());
-         final ResultSet rs = executeQuery(sql, parser.parse(cclQuery))) {
-      final ArrayList<Integer> results = new ArrayList<>();
-      while (rs.next()) {
-        results.add(rs.getInt(1));
-      }
+    return executeQuery(cclQuery, mainLibraryId, locale, searchingView, CrossReferenceExpansion.NONE);
+  }
+
+  /**
+   * Executes a CCL query using the given data, expanding the terms matching a heading through its cross-references.
+   *
+   * @param cclQuery      the CCL query.
+   * @param mainLibraryId the main library identifier.
+   * @param locale        the current locale.
+   * @param searchingView the target search view.
+   * @param expansion     the cross-references the terms are expanded through.
+   * @return a list of docid matching the input query.
+   */
+  public List<Integer> executeQuery(final String cclQuery, final int mainLibraryId, final Locale locale, final int searchingView, final CrossReferenceExpansion expansion) {
+    final Parser parser = new Parser(locale, mainLibraryId, searchingView, session, expansion);
+    parser.setCompiledTerms(compiledTerms);
+    final long start = System.currentTimeMillis();
+    try (final Statement sql = stmt(connection())) {
+      final String query = parser.parse(cclQuery);
+      try (final ResultSet rs = executeQuery(sql, query)) {
+        final ArrayList<Integer> results = new ArrayList<>();
+        while (rs.next()) {
+          results.add(rs.getInt(1));
+        }
 
-      logger.info(MessageCatalog._00023_SE_REQRES, cclQuery, results.size());
+        logger.info(MessageCatalog._00023_SE_REQRES, cclQuery, results.size());
 
-      return results;
+        final long elapsed = System.currentTimeMillis() - start;
+        if (Global.SQL_DIAGNOSTICS_ENABLED && elapsed > Global.SQL_SLOW_QUERY_THRESHOLD) {
+          logger.info(MessageCatalog._00025_SE_SLOW_QUERY, elapsed, cclQuery, query);
+        }
+
+        return results;
+      }
     } catch (final HibernateException | SQLException exception) {
       logger.error(MessageCatalog._00010_DATA_ACCESS_FAILURE, exception);
       return emptyList();
     }
   }
 
+  /**
+   * Counts the documents matching a CCL query, in total and by the given facets, without fetching them.
+   *
+   * @param cclQuery      the CCL query.
+   * @param mainLibraryId the main library identifier.
+   * @param locale        the current locale.
+   * @param searchingView the target search view.
+   * @param expansion     the cross-references the terms are expanded through.
+   * @param facets        the facets the matching documents are counted by.
+   * @return the number of matching documents, in total and for each code of the given facets.
+   */
+  public SearchCounts countQuery(final String cclQuery, final int mainLibraryId, final Locale locale, final int searchingView, final CrossReferenceExpansion expansion, final List<SearchFacet> facets) {
+    final Parser parser = new Parser(locale, mainLibraryId, searchingView, session, expansion);
+    final SearchCounts counts = new SearchCounts(cclQuery, searchingView);
+    try {
+      new SearchCountDAO().count(counts, parser.compile(cclQuery, null), searchingView, facets, session);
+      return counts;
+    } catch (final HibernateException exception) {
+      throw new DataAccessException(exception);
+    }
+  }
+
+  /**
+   * Explains how a CCL query is compiled and executed.
+   * The compiled SQL is not executed, only explained (without ANALYZE), but compiling the query is not free: each term
+   * whose estimated document frequency is not cached yet is counted on the database, up to
+   * {@link Global#TERM_STATISTICS_SAMPLE} documents, and the terms are expanded through the requested cross-references.
+   *
+   * @param cclQuery      the CCL query.
+   * @param mainLibraryId the main library identifier.
+   * @param locale        the current locale.
+   * @param searchingView the target search view.
+   * @param expansion     the cross-references the terms are expanded through.
+   * @return the compiled query plan, the SQL query and its database execution plan.
+   */
+  public SearchExplanation explainQuery(final String cclQuery, final int mainLibraryId, final Locale locale, final int searchingView, final CrossReferenceExpansion expansion) {
+    final Parser parser = new Parser(locale, mainLibraryId, searchingView, session, expansion);
+    final List<String> plan = new ArrayList<>();
+    final String query = parser.parse(cclQuery, plan);
+    try (final Statement sql = stmt(connection());
+         final ResultSet rs = executeQuery(sql, "explain " + query)) {
+      final List<String> databasePlan = new ArrayList<>();
+      while (rs.next()) {
+        databasePlan.add(rs.getString(1));
+      }
+      return new SearchExplanation(cclQuery, plan, query, databasePlan);
+    } catch (final HibernateException | SQLException exception) {
+      throw new DataAccessException(exception);
+    }
+  }
+
   /**
    * Returns a valid database connection associated with this service.
    *
@@ -297,17 +654,28 @@ public class StorageService implements Closeable {
         browseTerm = query.substring(query.indexOf((" "))).trim();
       }
       key = daoIndex.getIndexByAbreviation(index, session, locale(lang));
-      final Class c = GlobalStorage.DAO_CLASS_MAP.get(key);
-      if (c == null) {
+      final DAODescriptor dao = GlobalStorage.DAO_MAP.get(key);
+      if (dao == null) {
         logger.error(MessageCatalog._00119_DAO_CLASS_MAP_NOT_FOUND, key);
         return Collections.emptyList();
       }
-      final DAODescriptor dao = (DAODescriptor) c.newInstance();
       String filter = GlobalStorage.FILTER_MAP.get(key);
       if (dao instanceof ShelfListDAO) {
         filter += " and hdg.mainLibraryNumber = " + mainLibrary;
       }
       browseTerm = dao.calculateSearchTerm(browseTerm, key, session);
+      final BrowsePageCache.Key pageKey =
+        BrowsePageCache.key(dao, key, browseTerm, BrowsePageCache.Direction.FIRST, view, mainLibrary, pageSize, lang);
+      final List<MapHeading> cached = BrowsePageCache.get(pageKey);
+      if (cached != null) {
+        return cached;
+      }
+
+      final List<Descriptor> indexed =
+        getHeadingsByBrowseIndex(dao, key, filter, BrowsePageCache.Direction.FIRST, browseTerm, view, pageSize);
+      if (indexed != null) {
+        return BrowsePageCache.put(pageKey, getMapHeadings(view, lang, indexed, daoCodeTable, dao));
+      }
 
       descriptorsList = dao.getHeadingsBySortform("<", "desc", browseTerm, filter, view, 1, session);
       if (!(dao instanceof PublisherDescriptorDAO)) {
@@ -317,14 +685,11 @@ public class StorageService implements Closeable {
         }
       }
       descriptorsList.addAll(dao.getHeadingsBySortform(">=", "", browseTerm, filter, view, pageSize, session));
-      return getMapHeadings(view, lang, descriptorsList, daoCodeTable, dao);
+      return BrowsePageCache.put(pageKey, getMapHeadings(view, lang, descriptorsList, daoCodeTable, dao));
 
     } catch (final SQLException | HibernateException exception) {
       logger.error(MessageCatalog._00010_DATA_ACCESS_FAILURE, exception);
       throw new DataAccessException(exception);
-    } catch (final IllegalAccessException | InstantiationException exception) {
-      logger.error(MessageCatalog._00010_DATA_ACCESS_FAILURE, exception);
-      throw new InvalidBrowseIndexException(key);
     }
   }
 
@@ -356,29 +721,38 @@ public class StorageService implements Closeable {
       }
 
       key = daoIndex.getIndexByAbreviation(index, session, locale(lang));
-      final Class c = GlobalStorage.DAO_CLASS_MAP.get(key);
-      if (c == null) {
+      final DAODescriptor dao = GlobalStorage.DAO_MAP.get(key);
+      if (dao == null) {
         logger.error(MessageCatalog._00119_DAO_CLASS_MAP_NOT_FOUND, key);
         return Collections.emptyList();
       }
-      final DAODescriptor dao = (DAODescriptor) c.newInstance();
       String filter = GlobalStorage.FILTER_MAP.get(key);
       if (dao instanceof ShelfListDAO) {
         filter = filter + " and hdg.mainLibraryNumber = " + mainLibrary;
       }
       browseTerm = dao.calculateSearchTerm(browseTerm, key, session);
+      final BrowsePageCache.Key pageKey =
+        BrowsePageCache.key(dao, key, browseTerm, BrowsePageCache.Direction.NEXT, view, mainLibrary, pageSize, lang);
+      final List<MapHeading> cached = BrowsePageCache.get(pageKey);
+      if (cached != null) {
+        return cached;
+      }
+
+      final List<Descriptor> indexed =
+        getHeadingsByBrowseIndex(dao, key, filter, BrowsePageCache.Direction.NEXT, browseTerm, view, pageSize);
+      if (indexed != null) {
+        return BrowsePageCache.put(pageKey, getMapHeadings(view, lang, indexed, daoCodeTable, dao));
+      }
+
       if (dao instanceof PublisherDescriptorDAO || dao instanceof NameTitleNameDescriptorDAO)
         operator = ">=";
       descriptorsList = dao.getHeadingsBySortform(operator, "", browseTerm, filter, view, pageSize, session);
-      return getMapHeadings(view, lang, descriptorsList, daoCodeTable, dao);
+      return BrowsePageCache.put(pageKey, getMapHeadings(view, lang, descriptorsList, daoCodeTable, dao));
 
 
     } catch (final HibernateException | SQLException exception) {
       logger.error(MessageCatalog._00010_DATA_ACCESS_FAILURE, exception);
       throw new DataAccessException(exception);
-    } catch (final IllegalAccessException | InstantiationException exception) {
-      logger.error(MessageCatalog._00010_DATA_ACCESS_FAILURE, exception);
-      throw new InvalidBrowseIndexException(key);
     }
   }
 
@@ -410,30 +784,179 @@ public class StorageService implements Closeable {
       }
 
       key = daoIndex.getIndexByAbreviation(index, session, locale(lang));
-      final Class c = GlobalStorage.DAO_CLASS_MAP.get(key);
-      if (c == null) {
+      final DAODescriptor dao = GlobalStorage.DAO_MAP.get(key);
+      if (dao == null) {
         logger.error(MessageCatalog._00119_DAO_CLASS_MAP_NOT_FOUND, key);
         return Collections.emptyList();
       }
-      final DAODescriptor dao = (DAODescriptor) c.newInstance();
       String filter = GlobalStorage.FILTER_MAP.get(key);
       if (dao instanceof ShelfListDAO) {
         filter = filter + " and hdg.mainLibraryNumber = " + mainLibrary;
       }
       browseTerm = dao.calculateSearchTerm(browseTerm, key, session);
+      final BrowsePageCache.Key pageKey =
+        BrowsePageCache.key(dao, key, browseTerm, BrowsePageCache.Direction.PREVIOUS, view, mainLibrary, pageSize, lang);
+      final List<MapHeading> cached = BrowsePageCache.get(pageKey);
+      if (cached != null) {
+        return cached;
+      }
+
+      final List<Descriptor> indexed =
+        getHeadingsByBrowseIndex(dao, key, filter, BrowsePageCache.Direction.PREVIOUS, browseTerm, view, pageSize);
       if (dao instanceof PublisherDescriptorDAO || dao instanceof NameTitleNameDescriptorDAO)
         operator = "<=";
-      descriptorsList = dao.getHeadingsBySortform(operator, "desc", browseTerm, filter, view, pageSize, session);
+      descriptorsList = indexed != null
+        ? indexed
+        : dao.getHeadingsBySortform(operator, "desc", browseTerm, filter, view, pageSize, session);
       List<MapHeading> mapHeading = getMapHeadings(view, lang, descriptorsList, daoCodeTable, dao);
       Collections.reverse(mapHeading);
-      return mapHeading;
+      return BrowsePageCache.put(pageKey, mapHeading);
 
     } catch (final SQLException | HibernateException exception) {
       logger.error(MessageCatalog._00010_DATA_ACCESS_FAILURE, exception);
       throw new DataAccessException(exception);
-    } catch (final IllegalAccessException | InstantiationException exception) {
+    }
+  }
+
+  /**
+   * Returns the headings of a browse page through the browse index of the given heading index, if browse indexes are
+   * enabled for browsing, the index has been built and the DAO browses by it.
+   * Only the headings of the page are read from the database; if some of them is missing (the index is stale, e.g.
+   * headings have been deleted by another instance), the index is discarded until its next rebuild.
+   *
+   * @param dao        the DAO serving the heading index.
+   * @param indexKey   the heading index key.
+   * @param filter     the filter of the heading index.
+   * @param direction  the paging direction.
+   * @param browseTerm the sort form of the browse term.
+   * @param view       the view.
+   * @param pageSize   the page size.
+   * @return the headings of the page (in descending order for the previous page), null if the page has to be read
+   * from the database.
+   * @throws HibernateException in case of data access failure.
+   */
+  private List<Descriptor> getHeadingsByBrowseIndex(
+    final DAODescriptor dao,
+    final String indexKey,
+    final String filter,
+    final BrowsePageCache.Direction direction,
+    final String browseTerm,
+    final int view,
+    final int pageSize) throws HibernateException {
+    final BrowseIndex index = BrowseIndex.of(indexKey);
+    if (!Global.BROWSE_INDEX_ENABLED || index == null || !dao.supportsBrowseIndex()) {
+      return null;
+    }
+
+    final int searchingView = view == View.AUTHORITY ? 1 : view;
+    dao.refreshBrowseIndex(index, filter, session);
+    final List<Descriptor> descriptors =
+      dao.getHeadingsByNumbers(index.page(direction, browseTerm, searchingView, pageSize), searchingView, true, session);
+    if (descriptors == null) {
+      BrowseIndex.discard(indexKey);
+    }
+    return descriptors;
+  }
+
+  /**
+   * Return the headings whose sort form starts with the typed prefix, to be suggested while typing: the most used
+   * first, if the browse index of the heading index has been built, in sort form order otherwise.
+   * Headings aren't isolated in the given view, and only their display text and document count are returned: the
+   * document counts of all the suggestions are read at once.
+   *
+   * @param query the index abbreviation and the typed prefix, as in browse queries (e.g. "NA smith j").
+   * @param view  the view used here as filter criterion
+   * @param limit the maximum number of suggestions
+   * @param lang  the lang used here as filter criterion
+   * @return the suggested headings
+   * @throws DataAccessException in case of data access failure.
+   */
+  public List<MapHeading> getSuggestions(final String query, final int view, final int limit, final String lang) throws DataAccessException {
+    if (query == null || query.indexOf(' ') < 0) {
+      return Collections.emptyList();
+    }
+
+    try {
+      final String index = F.fixedCharPadding(query.substring(0, query.indexOf(' ')), 9).toUpperCase();
+      final String key = new DAOIndexList().getIndexByAbreviation(index, session, locale(lang));
+      final DAODescriptor dao = GlobalStorage.DAO_MAP.get(key);
+      if (dao == null || dao.getSortFormProperty() == null) {
+        logger.error(MessageCatalog._00119_DAO_CLASS_MAP_NOT_FOUND, key);
+        return Collections.emptyList();
+      }
+      final String filter = GlobalStorage.FILTER_MAP.get(key);
+      final String prefix = dao.calculateSearchTerm(query.substring(query.indexOf(' ')).trim(), key, session);
+      final int searchingView = view == View.AUTHORITY ? 1 : view;
+
+      List<Descriptor> descriptors = null;
+      final BrowseIndex browseIndex = BrowseIndex.of(key);
+      if (browseIndex != null) {
+        dao.refreshBrowseIndex(browseIndex, filter, session);
+        descriptors = dao.getHeadingsByNumbers(browseIndex.suggest(prefix, searchingView, limit), searchingView, false, session);
+        if (descriptors == null) {
+          BrowseIndex.discard(key);
+        }
+      }
+      if (descriptors == null) {
+        descriptors = dao.getHeadingsBySortFormPrefix(prefix, filter, searchingView, limit, session);
+      }
+
+      final Map<Integer, Integer> counts = dao.getDocCounts(descriptors, searchingView, session);
+      final List<MapHeading> headings = new ArrayList<>(descriptors.size());
+      for (final Descriptor descriptor : descriptors) {
+        final MapHeading heading = new MapHeading();
+        heading.setHeadingNumber(descriptor.getHeadingNumber());
+        heading.setStringText(descriptor.getDisplayText());
+        heading.setCountDocuments(counts.getOrDefault(descriptor.getHeadingNumber(), 0));
+        headings.add(heading);
+      }
+      return headings;
+    } catch (final SQLException | HibernateException exception) {
       logger.error(MessageCatalog._00010_DATA_ACCESS_FAILURE, exception);
-      throw new InvalidBrowseIndexException(key);
+      throw new DataAccessException(exception);
+    }
+  }
+
+  /**
+   * Rebuilds the graph of the cross-references linking the headings served by the given DAO.
+   *
+   * @param dao the DAO.
+   * @return the new graph, null if the headings served by the DAO have no cross-references.
+   */
+  public CrossReferenceGraph rebuildCrossReferenceGraph(final DAODescriptor dao) {
+    try {
+      final CrossReferenceGraph graph = dao.buildCrossReferenceGraph(session);
+      if (graph != null) {
+        CrossReferenceGraph.install(graph.getReferenceClass(), graph);
+      }
+      return graph;
+    } catch (final HibernateException exception) {
+      throw new DataAccessException(exception);
+    }
+  }
+
+  /**
+   * Rebuilds the browse index of the given heading index.
+   *
+   * @param indexKey the heading index key.
+   * @return the new browse index, null if the heading index doesn't support it or its sort forms aren't ordered by
+   * their binary value.
+   */
+  public BrowseIndex rebuildBrowseIndex(final String indexKey) {
+    final DAODescriptor dao = GlobalStorage.DAO_MAP.get(indexKey);
+    if (dao == null || dao.getSortFormProperty() == null) {
+      return null;
+    }
+    try {
+      final BrowseIndex index = dao.buildBrowseIndex(GlobalStorage.FILTER_MAP.get(indexKey), session);
+      if (index != null) {
+        BrowseIndex.install(indexKey, index);
+      } else {
+        BrowseIndex.discard(indexKey);
+      }
+      return index;
+    } catch (final HibernateException exception) {
+      throw new DataAccessException(exception);
     }
   }
 
@@ -1,13 +1,25 @@
 package org.folio.marccat.integration.search;
 
+import org.folio.marccat.config.Global;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
 /**
  * Boolean expression node.
+ * When enabled (see {@link Global#SEARCH_REORDER_ENABLED}), the operands of a chain of AND nodes are compiled from
+ * the most to the least selective, according to their estimated document frequencies; each operand is intersected
+ * with the documents matched so far or, if these are a few and the operand is much broader, probed for each of them
+ * (so that the broad operand is read through the document number instead of being read as a whole).
  *
  * @author cchiama
  * @author paulm
  * @since 1.0
  */
 public class BooleanExpressionNode implements ExpressionNode {
+  private static final int PROBE_RATIO = 10;
+
   private ExpressionNode left;
   private ExpressionNode right;
   private String op;
@@ -20,16 +32,27 @@ public class BooleanExpressionNode implements ExpressionNode {
   /**
    * Returns the expression (as a string) of this boolean node.
    *
+   * @param plan  the lines describing the compiled query, where this node appends its own; null if not needed.
+   * @param depth the depth of this node in the query.
    * @return the expression (as a string) of this boolean node.
    * @throws CclParserException in case the node cannot be parsed as a valid expression.
    */
-  public String getValue() throws CclParserException {
+  @Override
+  public String getValue(final List<String> plan, final int depth) throws CclParserException {
     try {
+      if (Global.SEARCH_REORDER_ENABLED && isAnd()) {
+        final List<ExpressionNode> operands = new ArrayList<>();
+        collectAndOperands(this, operands);
+        if (operands.stream().noneMatch(BooleanExpressionNode::isType2Index)) {
+          return andChain(operands, plan, depth);
+        }
+      }
+
       if (left instanceof TermExpressionNode && right instanceof TermExpressionNode) {
         TermExpressionNode leftTerm = (TermExpressionNode) left;
         TermExpressionNode rightTerm = (TermExpressionNode) right;
         if (leftTerm.isType2Index() || rightTerm.isType2Index()) {
-          if ("AND".equals(op.toUpperCase())) { // we only handle and operator
+          if (isAnd()) { // we only handle and operator
             if (!rightTerm.isType2Index()) {
               //swap terms so that right is type 2
               TermExpressionNode temp = rightTerm;
@@ -38,18 +61,34 @@ public class BooleanExpressionNode implements ExpressionNode {
             }
             //check that from clauses are compatible
             if (leftTerm.semantic().getFromClause().contains(rightTerm.semantic().getFromClause())) {
-              return "(( " + leftTerm.getValue() + " and " + rightTerm.getInnerJoinValue() + " ))";
+              describe(plan, depth, "AND: inner join");
+              final String value = "(( " + leftTerm.getValue(plan, depth + 1) + " and " + rightTerm.getInnerJoinValue() + " ))";
+              describe(plan, depth + 1, "JOINED TERM (type 2 index)");
+              return value;
             }
           }
         }
       }
 
-      return "(( " + left.getValue() + " ) " + operator(op) + " ( " + right.getValue() + " ))";
+      describe(plan, depth, op.toUpperCase() + ": " + operator(op));
+      return "(( " + left.getValue(plan, depth + 1) + " ) " + operator(op) + " ( " + right.getValue(plan, depth + 1) + " ))";
     } catch (final Exception e) {
       throw new CclParserException("Query parsing error: " + e.getMessage());
     }
   }
 
+  @Override
+  public long getEstimatedCount() throws CclParserException {
+    switch (op.toUpperCase()) {
+      case "OR":
+        return left.getEstimatedCount() + right.getEstimatedCount();
+      case "NOT":
+        return left.getEstimatedCount();
+      default:
+        return Math.min(left.getEstimatedCount(), right.getEstimatedCount());
+    }
+  }
+
   /**
    * Sets the left expression node.
    *
@@ -78,6 +117,68 @@ public class BooleanExpressionNode implements ExpressionNode {
     this.op = operator;
   }
 
+  /**
+   * Compiles the operands of a chain of AND nodes, from the one matching the fewest documents.
+   *
+   * @param operands the operands of the chain.
+   * @param plan     the lines describing the compiled query, null if not needed.
+   * @param depth    the depth of the chain in the query.
+   * @return the expression of the chain.
+   * @throws CclParserException in case an operand cannot be parsed as a valid expression.
+   */
+  private String andChain(final List<ExpressionNode> operands, final List<String> plan, final int depth) throws CclParserException {
+    final List<Long> estimates = new ArrayList<>();
+    for (final ExpressionNode operand : operands) {
+      estimates.add(operand.getEstimatedCount());
+    }
+    final List<Integer> order = new ArrayList<>();
+    for (int i = 0; i < operands.size(); i++) {
+      order.add(i);
+    }
+    order.sort(Comparator.comparing(estimates::get));
+
+    describe(plan, depth, "AND: " + operands.size() + " operands by estimated selectivity");
+    String value = operands.get(order.get(0)).getValue(plan, depth + 1);
+    long matched = estimates.get(order.get(0));
+    for (final int operand : order.subList(1, order.size())) {
+      final long estimate = estimates.get(operand);
+      if (matched <= Global.SEARCH_PROBE_THRESHOLD && estimate >= matched * PROBE_RATIO) {
+        describe(plan, depth + 1, "PROBE (" + matched + " documents matched so far)");
+        value = "select matched.* from ( " + value + " ) matched(doc)"
+          + " cross join lateral (select 1 from ( " + operands.get(operand).getValue(plan, depth + 2) + " ) probed(doc)"
+          + " where probed.doc = matched.doc limit 1) probe";
+      } else {
+        describe(plan, depth + 1, "INTERSECT");
+        value = "(( " + value + " ) intersect ( " + operands.get(operand).getValue(plan, depth + 2) + " ))";
+      }
+      matched = Math.min(matched, estimate);
+    }
+    return value;
+  }
+
+  private boolean isAnd() {
+    return "AND".equals(op.toUpperCase());
+  }
+
+  private static void collectAndOperands(final ExpressionNode node, final List<ExpressionNode> operands) {
+    if (node instanceof BooleanExpressionNode && ((BooleanExpressionNode) node).isAnd()) {
+      collectAndOperands(((BooleanExpressionNode) node).left, operands);
+      collectAndOperands(((BooleanExpressionNode) node).right, operands);
+    } else {
+      operands.add(node);
+    }
+  }
+
+  private static boolean isType2Index(final ExpressionNode node) {
+    return node instanceof TermExpressionNode && ((TermExpressionNode) node).isType2Index();
+  }
+
+  private static void describe(final List<String> plan, final int depth, final String step) {
+    if (plan != null) {
+      plan.add(ExpressionNode.indent(depth) + step);
+    }
+  }
+
   private String operator(final String input) {
     switch (input.toUpperCase()) {
       case "AND":
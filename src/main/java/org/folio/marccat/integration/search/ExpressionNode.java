@@ -1,5 +1,8 @@
 package org.folio.marccat.integration.search;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Search Engine query expression node
  *
@@ -21,7 +24,37 @@ public interface ExpressionNode {
    * @return the value of this expression node.
    * @throws CclParserException in case of parsing failure.
    */
-  String getValue() throws CclParserException;
+  default String getValue() throws CclParserException {
+    return getValue(null, 0);
+  }
+
+  /**
+   * Returns the value of this expression node, describing how it has been compiled.
+   *
+   * @param plan  the lines describing the compiled query, where this node appends its own; null if not needed.
+   * @param depth the depth of this node in the query.
+   * @return the value of this expression node.
+   * @throws CclParserException in case of parsing failure.
+   */
+  String getValue(List<String> plan, int depth) throws CclParserException;
+
+  /**
+   * Returns the estimated number of documents matching this expression node.
+   *
+   * @return the estimated number of documents matching this expression node.
+   * @throws CclParserException in case of parsing failure.
+   */
+  long getEstimatedCount() throws CclParserException;
+
+  /**
+   * Returns the indentation of the plan lines of a node at the given depth.
+   *
+   * @param depth the depth of the node in the query.
+   * @return the indentation of the plan lines of the node.
+   */
+  static String indent(final int depth) {
+    return String.join("", Collections.nCopies(depth, "  "));
+  }
 
   /**
    * Node type list.
@@ -0,0 +1,103 @@
+package org.folio.marccat.integration.search;
+
+import org.folio.marccat.dao.common.FullTextIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Translates word searches into text search queries (tsquery) on the full-text indexes.
+ * The where clause of a word search semantic entry matches the term against a sort form column, with a LIKE
+ * pattern or a contains() predicate; each of these predicates is replaced with a match of the text search vector of
+ * the column against a text search query, provided the column is indexed (see {@link FullTextIndex}).
+ * The matching changes: LIKE matched the term anywhere in the sort form, while the text search query matches whole
+ * words only. A partial word (e.g. "hist" for "history") no longer matches unless the term is right truncated, in
+ * which case only its last word is matched as a prefix; words are matched in the given order, next to each other.
+ * The load test harness compares the two predicates (loadtest FullTextBenchmark).
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+final class FullTextQuery {
+  private static final Pattern LIKE = Pattern.compile("([\\w.]+)\\s+like\\s+'[^']*%s[^']*'", Pattern.CASE_INSENSITIVE);
+  private static final Pattern CONTAINS = Pattern.compile(
+    "contains\\s*\\(\\s*([\\w.]+)\\s*,\\s*'[^']*%s[^']*'\\s*\\)\\s*>\\s*0", Pattern.CASE_INSENSITIVE);
+  private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+  private static final String PLACEHOLDER = "\u0000";
+
+  private FullTextQuery() {
+  }
+
+  /**
+   * Returns the where clause of a word search semantic entry, with the term predicates replaced by text search
+   * matches. The returned clause has a placeholder (%s) for the text search query wherever the given clause had one
+   * for the term.
+   *
+   * @param whereClause the where clause of the semantic entry.
+   * @return the where clause matching the full-text indexes, null if a term predicate can't be replaced.
+   */
+  static String whereClause(final String whereClause) {
+    if (whereClause == null) {
+      return null;
+    }
+
+    final String result = replace(replace(whereClause, LIKE), CONTAINS);
+    return result.contains("%s") ? null : result.replace(PLACEHOLDER, "%s");
+  }
+
+  /**
+   * Returns the text search query matching the words of the given sort form as a phrase.
+   *
+   * @param sortForm the sort form of the term.
+   * @param prefix   true if the last word is right truncated.
+   * @return the text search query, null if the sort form has no words.
+   */
+  static String phrase(final String sortForm, final boolean prefix) {
+    final List<String> words = new ArrayList<>();
+    for (final String word : WORD_SEPARATOR.split(sortForm)) {
+      if (!word.isEmpty()) {
+        words.add(word.toLowerCase());
+      }
+    }
+    if (words.isEmpty()) {
+      return null;
+    }
+    return String.join(" <-> ", words) + (prefix ? ":*" : "");
+  }
+
+  /**
+   * Returns the text search query matching the given phrases with at most the given number of words between them.
+   *
+   * @param left     the left phrase.
+   * @param right    the right phrase.
+   * @param distance the maximum number of words between the phrases.
+   * @param ordered  true if the left phrase has to precede the right one.
+   * @return the text search query.
+   */
+  static String near(final String left, final String right, final int distance, final boolean ordered) {
+    final List<String> alternatives = new ArrayList<>();
+    for (int position = 1; position <= Math.max(distance, 0) + 1; position++) {
+      alternatives.add("(" + left + ") <" + position + "> (" + right + ")");
+      if (!ordered) {
+        alternatives.add("(" + right + ") <" + position + "> (" + left + ")");
+      }
+    }
+    return String.join(" | ", alternatives);
+  }
+
+  private static String replace(final String whereClause, final Pattern predicate) {
+    final Matcher matcher = predicate.matcher(whereClause);
+    final StringBuffer result = new StringBuffer();
+    while (matcher.find()) {
+      final String column = matcher.group(1);
+      final String replacement = FullTextIndex.of(column) == null
+        ? matcher.group()
+        : FullTextIndex.vectorOf(column) + " @@ to_tsquery('" + FullTextIndex.CONFIGURATION + "', '" + PLACEHOLDER + "')";
+      matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+    }
+    matcher.appendTail(result);
+    return result.toString();
+  }
+}
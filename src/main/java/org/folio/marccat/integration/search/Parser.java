@@ -4,12 +4,14 @@ import net.sf.hibernate.Session;
 import org.folio.marccat.config.log.Log;
 import org.folio.marccat.config.log.MessageCatalog;
 import org.folio.marccat.dao.DAOIndexList;
+import org.folio.marccat.dao.common.CrossReferenceExpansion;
 import org.folio.marccat.dao.persistence.IndexList;
 import org.folio.marccat.exception.DataAccessException;
 
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 /**
  * Query Parser.
@@ -25,7 +27,9 @@ public class Parser {
   private final int mainLibraryId;
   private final int searchingView;
   private final Session session;
+  private final CrossReferenceExpansion expansion;
   private final DAOIndexList dao = new DAOIndexList();
+  private Map<String, String> compiledTerms;
   private LinkedList<Token> tokens;
   private Token lookahead;
 
@@ -37,10 +41,33 @@ public class Parser {
    * @param searchingView the current search view.
    */
   public Parser(final Locale locale, final int mainLibraryId, final int searchingView, final Session session) {
+    this(locale, mainLibraryId, searchingView, session, CrossReferenceExpansion.NONE);
+  }
+
+  /**
+   * Builds a new parser with the given data, whose terms are expanded through cross-references.
+   *
+   * @param locale        the current locale.
+   * @param mainLibraryId the main library identifier.
+   * @param searchingView the current search view.
+   * @param expansion     the cross-references the terms matching a heading are expanded through.
+   */
+  public Parser(final Locale locale, final int mainLibraryId, final int searchingView, final Session session, final CrossReferenceExpansion expansion) {
     this.locale = locale;
     this.mainLibraryId = mainLibraryId;
     this.searchingView = searchingView;
     this.session = session;
+    this.expansion = expansion;
+  }
+
+  /**
+   * Shares the given compiled terms with other parsers (e.g. those of the queries of a batch): the terms compiled by
+   * this parser are put in the given map, and those already there aren't compiled again.
+   *
+   * @param compiledTerms the compiled terms, a thread safe map.
+   */
+  public void setCompiledTerms(final Map<String, String> compiledTerms) {
+    this.compiledTerms = compiledTerms;
   }
 
   /**
@@ -51,11 +78,19 @@ public class Parser {
    * @throws CclParserException in case of parsing failure.
    */
   public String parse(final String ccl) throws CclParserException {
-    final Tokenizer tokenizer = new Tokenizer().tokenize(ccl);
-
-    final ExpressionNode n = parse(tokenizer.getTokens());
+    return parse(ccl, null);
+  }
 
-    final String query = "select * from ((" + n.getValue() + ")) foo order by 1 desc";
+  /**
+   * Parses the incoming CCL query, describing how it has been compiled.
+   *
+   * @param ccl  the CCL query.
+   * @param plan the lines describing the compiled query, filled by this method; null if not needed.
+   * @return the parsed string.
+   * @throws CclParserException in case of parsing failure.
+   */
+  public String parse(final String ccl, final List<String> plan) throws CclParserException {
+    final String query = "select * from ((" + compile(ccl, plan) + ")) foo order by 1 desc";
     logger.debug(
       MessageCatalog._00020_SE_QUERY,
       ccl, query);
@@ -63,6 +98,19 @@ public class Parser {
     return query;
   }
 
+  /**
+   * Compiles the incoming CCL query into the (unordered) SQL expression selecting the matching documents.
+   *
+   * @param ccl  the CCL query.
+   * @param plan the lines describing the compiled query, filled by this method; null if not needed.
+   * @return the SQL expression selecting the matching documents.
+   * @throws CclParserException in case of parsing failure.
+   */
+  public String compile(final String ccl, final List<String> plan) throws CclParserException {
+    final Tokenizer tokenizer = new Tokenizer().tokenize(ccl);
+    return parse(tokenizer.getTokens()).getValue(plan, 0);
+  }
+
   /**
    * Parses the a list of tokens.
    *
@@ -118,7 +166,8 @@ public class Parser {
   }
 
   private ExpressionNode searchExpression() throws CclParserException {
-    final TermExpressionNode expr = new TermExpressionNode(session, locale, mainLibraryId, searchingView);
+    final TermExpressionNode expr = new TermExpressionNode(session, locale, mainLibraryId, searchingView, expansion);
+    expr.setCompiledTerms(compiledTerms);
     if (lookahead.token == Tokenizer.TokenType.WORD) {
       if (lookahead.sequence.length() <= 3) {
         IndexList i;
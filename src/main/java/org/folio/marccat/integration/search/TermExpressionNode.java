@@ -1,16 +1,26 @@
 package org.folio.marccat.integration.search;
 
+import net.sf.hibernate.HibernateException;
 import net.sf.hibernate.Session;
+import org.folio.marccat.business.common.View;
 import org.folio.marccat.business.descriptor.SortFormParameters;
+import org.folio.marccat.config.Global;
+import org.folio.marccat.config.GlobalStorage;
 import org.folio.marccat.config.log.Log;
 import org.folio.marccat.config.log.MessageCatalog;
+import org.folio.marccat.dao.DAODescriptor;
 import org.folio.marccat.dao.NameDescriptorDAO;
 import org.folio.marccat.dao.SemanticDAO;
+import org.folio.marccat.dao.TermStatisticsDAO;
+import org.folio.marccat.dao.common.CrossReferenceExpansion;
 import org.folio.marccat.dao.persistence.IndexList;
 import org.folio.marccat.dao.persistence.S_BIB1_SMNTC;
 import org.folio.marccat.exception.DataAccessException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 /**
  * Term expression node.
@@ -28,11 +38,17 @@ public class TermExpressionNode implements ExpressionNode {
   private final int mainLibraryId;
   private final int searchingView;
   private final Session session;
+  private final CrossReferenceExpansion expansion;
   private IndexList index;
   private String relation = "=";
   private String proximityOperator;
   private String right;
   private S_BIB1_SMNTC semantic;
+  private boolean truncated;
+  private boolean fullText;
+  private String value;
+  private Map<String, String> compiledTerms;
+  private long estimatedCount = -1;
 
   /**
    * Builds a new expression node.
@@ -40,20 +56,73 @@ public class TermExpressionNode implements ExpressionNode {
    * @param locale        the current locale.
    * @param mainLibraryId the main library identifier.
    * @param searchingView the current searching view.
+   * @param expansion     the cross-references the term is expanded through, if it matches a heading.
    */
-  TermExpressionNode(final Session session, final Locale locale, final int mainLibraryId, final int searchingView) {
+  TermExpressionNode(final Session session, final Locale locale, final int mainLibraryId, final int searchingView, final CrossReferenceExpansion expansion) {
     this.session = session;
     this.locale = locale;
     this.mainLibraryId = mainLibraryId;
     this.searchingView = searchingView;
+    this.expansion = expansion;
   }
 
   @Override
-  public String getValue() throws CclParserException {
+  public String getValue(final List<String> plan, final int depth) throws CclParserException {
+    if (value == null) {
+      final String key = compiledTermKey();
+      value = key != null ? compiledTerms.get(key) : null;
+      if (value == null) {
+        value = compile();
+        if (key != null) {
+          compiledTerms.put(key, value);
+        }
+      }
+    }
+    if (plan != null) {
+      plan.add(ExpressionNode.indent(depth) + "TERM \"" + term.toString().trim() + "\""
+        + " (use " + index.getUseAttribute() + ", " + semantic().getQueryActionCode() + (fullText ? ", full-text" : "")
+        + ", estimate " + getEstimatedCount() + ")");
+    }
+    return value;
+  }
+
+  @Override
+  public long getEstimatedCount() throws CclParserException {
+    if (estimatedCount < 0) {
+      try {
+        estimatedCount = new TermStatisticsDAO().estimate(getValue(), session);
+      } catch (final HibernateException exception) {
+        logger.error(MessageCatalog._00010_DATA_ACCESS_FAILURE, exception);
+        throw new CclParserException("Unable to estimate the term frequency");
+      }
+    }
+    return estimatedCount;
+  }
+
+  /**
+   * Returns the key of this term among the compiled terms shared by the queries of a batch: the semantic entry and
+   * everything else the compiled term depends on.
+   *
+   * @return the key of this term, null if compiled terms aren't shared.
+   */
+  private String compiledTermKey() {
+    if (compiledTerms == null) {
+      return null;
+    }
+    try {
+      final S_BIB1_SMNTC entry = semantic();
+      return entry == null ? null : entry + "|" + entry.getRecordTypeCode() + "|" + term + "|" + truncated + "|"
+        + relation + "|" + proximityOperator + "|" + right + "|" + searchingView + "|" + mainLibraryId + "|" + expansion;
+    } catch (final DataAccessException exception) {
+      return null;
+    }
+  }
+
+  private String compile() throws CclParserException {
     // get semantic entry based on index and term syntax
     try {
       String s = prepareTerm();
-      if (proximityOperator != null) {
+      if (proximityOperator != null && !fullText) {
         int startOfTerm = s.indexOf('\'') + 1;
         if (startOfTerm > 0) {
           int endOfTerm = s.indexOf('\'', startOfTerm) - 1;
@@ -63,16 +132,9 @@ public class TermExpressionNode implements ExpressionNode {
             oldTerm = oldTerm.substring(0, posWithin - 1);
             endOfTerm = startOfTerm + posWithin - 1;
           }
-          final String ordered = String.valueOf(proximityOperator.startsWith("N")).toUpperCase();
+          final String ordered = String.valueOf(isOrderedProximity()).toUpperCase();
 
-          int distance = 5;
-          try {
-            distance = Integer.parseInt(proximityOperator.substring(1));
-          } catch (Exception e) {
-            // do nothing take default distance value
-          }
-
-          String newText = String.format("NEAR ((%s,{%s}), %d, %s) ", oldTerm, getRight(), distance, ordered);
+          String newText = String.format("NEAR ((%s,{%s}), %d, %s) ", oldTerm, getRight(), proximityDistance(), ordered);
           s = s.substring(0, startOfTerm) + newText + s.substring(endOfTerm + 1);
         }
       }
@@ -113,31 +175,125 @@ public class TermExpressionNode implements ExpressionNode {
           .replace('\u0002', '%')
           .replace('\u0003', '_');
 
-      switch (semantic().getQueryActionCode()) {
-        case "T":
-        case "W":
-          return String.format(semantic().getWhereClause(), sf);
-        case "TT":
-        case "WW":
-          return String.format(semantic().getWhereClause(), sf, sf);
-        case "TTT":
-          return String.format(semantic().getWhereClause(), sf, sf, sf);
-        case "TTTT":
-          return String.format(semantic().getWhereClause(), sf, sf, sf, sf);
-        case "TTTTTTT":
-          return String.format(semantic().getWhereClause(), sf, sf, sf, sf, sf, sf, sf);
-        case "TO":
-          return String.format(semantic().getWhereClause(), sf, mainLibraryId);
-        case "TTO":
-          return String.format(semantic().getWhereClause(), sf, sf, mainLibraryId);
-        default:
-          return null;
+      final List<String> sortForms = new ArrayList<>();
+      sortForms.add(sf);
+      sortForms.addAll(expandedSortForms(sortFormP));
+
+      List<String> clauses = fullTextClauses(sortForms, sortFormP);
+      fullText = clauses != null;
+      if (!fullText) {
+        clauses = new ArrayList<>();
+        for (final String sortForm : sortForms) {
+          clauses.add(whereClause(semantic().getWhereClause(), sortForm));
+        }
       }
+      return clauses.size() == 1 ? clauses.get(0) : "(" + String.join(" OR ", clauses) + ")";
     } catch (final Exception e) {
       throw new CclParserException("Invalid term found in query");
     }
   }
 
+  /**
+   * Returns the where clauses matching the given sort forms through the full-text indexes, if enabled and the term
+   * is a word search on indexed sort forms, without wildcards other than right truncation.
+   *
+   * @param sortForms the sort forms of the term and of the headings it is expanded to.
+   * @param sortFormP the sort form parameters of the semantic entry.
+   * @return the where clauses, null if the term can't be matched through the full-text indexes.
+   */
+  private List<String> fullTextClauses(final List<String> sortForms, final SortFormParameters sortFormP) throws Exception {
+    final String code = semantic().getQueryActionCode();
+    if (!Global.FULL_TEXT_SEARCH_ENABLED
+      || !("W".equals(code) || "WW".equals(code))
+      || term.indexOf("?") >= 0
+      || term.indexOf("#") >= 0) {
+      return null;
+    }
+
+    final String whereClause = FullTextQuery.whereClause(semantic().getWhereClause());
+    if (whereClause == null) {
+      return null;
+    }
+
+    String right = null;
+    if (proximityOperator != null) {
+      right = FullTextQuery.phrase(new NameDescriptorDAO().calculateSortForm(getRight(), sortFormP, session), false);
+      if (right == null) {
+        return null;
+      }
+    }
+
+    final List<String> result = new ArrayList<>();
+    for (final String sortForm : sortForms) {
+      String query = FullTextQuery.phrase(sortForm, truncated);
+      if (query == null) {
+        return null;
+      }
+      if (right != null) {
+        query = FullTextQuery.near(query, right, proximityDistance(), isOrderedProximity());
+      }
+      result.add(whereClause(whereClause, query));
+    }
+    return result;
+  }
+
+  private String whereClause(final String template, final String sf) {
+    switch (semantic().getQueryActionCode()) {
+      case "T":
+      case "W":
+        return String.format(template, sf);
+      case "TT":
+      case "WW":
+        return String.format(template, sf, sf);
+      case "TTT":
+        return String.format(template, sf, sf, sf);
+      case "TTTT":
+        return String.format(template, sf, sf, sf, sf);
+      case "TTTTTTT":
+        return String.format(template, sf, sf, sf, sf, sf, sf, sf);
+      case "TO":
+        return String.format(template, sf, mainLibraryId);
+      case "TTO":
+        return String.format(template, sf, sf, mainLibraryId);
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Returns the sort forms of the headings the term is expanded to, if it's an exact term of a heading index which
+   * matches a heading and the parser expands terms through cross-references.
+   *
+   * @param sortFormP the sort form parameters of the semantic entry.
+   * @return the sort forms of the headings the term is expanded to, empty if it isn't expanded.
+   */
+  private List<String> expandedSortForms(final SortFormParameters sortFormP) throws Exception {
+    final List<String> result = new ArrayList<>();
+    if (expansion == CrossReferenceExpansion.NONE
+      || truncated
+      || proximityOperator != null
+      || !"=".equals(relation)
+      || term.indexOf("?") >= 0
+      || term.indexOf("#") >= 0) {
+      return result;
+    }
+
+    final String key = "" + index.getKey().getKeyNumber() + index.getKey().getTypeCode().trim();
+    final DAODescriptor dao = GlobalStorage.DAO_MAP.get(key);
+    if (dao == null) {
+      return result;
+    }
+    for (final String stringText : dao.getExpandedStringTexts(
+      dao.calculateSearchTerm(term.toString(), key, session),
+      GlobalStorage.FILTER_MAP.get(key),
+      searchingView > View.ANY ? searchingView : View.ANY,
+      expansion,
+      session)) {
+      result.add(new NameDescriptorDAO().calculateSortForm(stringText, sortFormP, session).replace("'", "''"));
+    }
+    return result;
+  }
+
   /**
    * Returns the searching view associated with this node.
    *
@@ -147,6 +303,19 @@ public class TermExpressionNode implements ExpressionNode {
     return searchingView;
   }
 
+  private boolean isOrderedProximity() {
+    return proximityOperator.startsWith("N");
+  }
+
+  private int proximityDistance() {
+    try {
+      return Integer.parseInt(proximityOperator.substring(1));
+    } catch (Exception e) {
+      // take default distance value
+      return 5;
+    }
+  }
+
   void setProximityOperator(String proximityOperator) {
     this.proximityOperator = proximityOperator;
   }
@@ -271,6 +440,7 @@ public class TermExpressionNode implements ExpressionNode {
     int result = 100;
     if (term.lastIndexOf("?") == term.length() - 1) {
       term.deleteCharAt(term.length() - 1);
+      truncated = true;
       return 1; // right truncation
     }
 
@@ -301,6 +471,10 @@ public class TermExpressionNode implements ExpressionNode {
     this.index = index;
   }
 
+  void setCompiledTerms(final Map<String, String> compiledTerms) {
+    this.compiledTerms = compiledTerms;
+  }
+
   boolean isType2Index() {
     S_BIB1_SMNTC semantic;
     try {
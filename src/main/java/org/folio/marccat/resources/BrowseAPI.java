@@ -119,6 +119,31 @@ public class BrowseAPI extends BaseResource {
     }, tenant, configurator);
   }
 
+  @ApiOperation(value = "Returns the headings starting with a typed prefix, the most used first")
+  @ApiResponses(value = {
+    @ApiResponse(code = 200, message = "Method successfully returned the suggested headings."),
+    @ApiResponse(code = 400, message = "Bad Request"),
+    @ApiResponse(code = 414, message = "Request-URI Too Long"),
+    @ApiResponse(code = 500, message = "System internal failure occurred.")
+  })
+  @GetMapping("/suggestions")
+  public HeadingDecoratorCollection getSuggestions(
+    @RequestParam final String query,
+    @RequestParam final int view,
+    @RequestParam(defaultValue = "10") final int limit,
+    @RequestParam final String lang,
+    @RequestHeader(Global.OKAPI_TENANT_HEADER_NAME) final String tenant) {
+    return doGet((storageService, configuration) -> {
+      final HeadingDecoratorCollection container = new HeadingDecoratorCollection();
+      container.setHeadings(
+        storageService
+          .getSuggestions(query, view, Math.max(1, Math.min(limit, Global.MAX_SUGGESTIONS)), lang)
+          .stream()
+          .map(toHeading)
+          .collect(toList()));
+      return container;
+    }, tenant, configurator);
+  }
 
   @ApiOperation(value = "Returns all headings associated with a tag")
   @ApiResponses(value = {
@@ -0,0 +1,40 @@
+package org.folio.marccat.resources;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.folio.marccat.ModMarccat;
+import org.folio.marccat.config.Global;
+import org.folio.marccat.dao.common.TenantCacheProvider;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Second level cache statistics RESTful APIs.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+@RestController
+@Api(value = "marccat-api", description = "Cache statistics resource API")
+@RequestMapping(value = ModMarccat.BASE_URI, produces = "application/json")
+public class CacheStatisticsAPI extends BaseResource {
+
+  /**
+   * Returns size, hits and misses of each cache region of the requesting tenant.
+   *
+   * @param tenant the requesting tenant.
+   * @return the statistics of each cache region, by region name.
+   */
+  @ApiOperation(value = "Returns the second level cache statistics of the requesting tenant.")
+  @ApiResponses(value = {
+    @ApiResponse(code = 200, message = "Method successfully returned the cache statistics."),
+    @ApiResponse(code = 500, message = "System internal failure occurred.")
+  })
+  @GetMapping("/cache-statistics")
+  public Map<String, Map<String, Long>> getCacheStatistics(@RequestHeader(Global.OKAPI_TENANT_HEADER_NAME) final String tenant) {
+    return TenantCacheProvider.statistics(tenant);
+  }
+}
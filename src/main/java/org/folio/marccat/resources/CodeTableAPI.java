@@ -0,0 +1,37 @@
+package org.folio.marccat.resources;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.folio.marccat.ModMarccat;
+import org.folio.marccat.config.Global;
+import org.folio.marccat.dao.common.CodeTableRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Code tables RESTful APIs.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+@RestController
+@Api(value = "marccat-api", description = "Code tables resource API")
+@RequestMapping(value = ModMarccat.BASE_URI, produces = "application/json")
+public class CodeTableAPI extends BaseResource {
+
+  /**
+   * Discards the in-memory code tables of the requesting tenant, so that they will be reloaded on next access.
+   */
+  @ApiOperation(value = "Reloads the code tables of the requesting tenant.")
+  @ApiResponses(value = {
+    @ApiResponse(code = 204, message = "Code tables have been discarded and will be reloaded on demand."),
+    @ApiResponse(code = 500, message = "System internal failure occurred.")
+  })
+  @PostMapping("/code-tables/refresh")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public void refresh(@RequestHeader(Global.OKAPI_TENANT_HEADER_NAME) final String tenant) {
+    CodeTableRegistry.refresh(tenant);
+  }
+}
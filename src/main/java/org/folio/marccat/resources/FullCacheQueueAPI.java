@@ -0,0 +1,48 @@
+package org.folio.marccat.resources;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.folio.marccat.ModMarccat;
+import org.folio.marccat.config.Global;
+import org.folio.marccat.integration.FullCacheMaintenance;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.folio.marccat.integration.MarccatHelper.doGet;
+
+/**
+ * FULL_CACHE maintenance queue RESTful APIs.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+@RestController
+@Api(value = "marccat-api", description = "FULL_CACHE maintenance queue resource API")
+@RequestMapping(value = ModMarccat.BASE_URI, produces = "application/json")
+public class FullCacheQueueAPI extends BaseResource {
+
+  /**
+   * Returns the depth and the lag of the FULL_CACHE maintenance queue of the requesting tenant, together with the
+   * rebuild counters of this instance.
+   *
+   * @param tenant the requesting tenant.
+   * @return the queue metrics.
+   */
+  @ApiOperation(value = "Returns the FULL_CACHE maintenance queue metrics of the requesting tenant.")
+  @ApiResponses(value = {
+    @ApiResponse(code = 200, message = "Method successfully returned the queue metrics."),
+    @ApiResponse(code = 500, message = "System internal failure occurred.")
+  })
+  @GetMapping("/full-cache-queue")
+  public Map<String, Long> getQueueStatistics(@RequestHeader(Global.OKAPI_TENANT_HEADER_NAME) final String tenant) {
+    return doGet((storageService, configuration) -> {
+      final Map<String, Long> statistics = new HashMap<>(storageService.getFullRecordCacheQueueStatistics());
+      statistics.putAll(FullCacheMaintenance.statistics(tenant));
+      return statistics;
+    }, tenant, configurator);
+  }
+}
@@ -0,0 +1,98 @@
+package org.folio.marccat.resources;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.folio.marccat.ModMarccat;
+import org.folio.marccat.config.Global;
+import org.folio.marccat.integration.FullCacheRebuild;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import static org.folio.marccat.integration.MarccatHelper.doGet;
+
+/**
+ * FULL_CACHE rebuild RESTful APIs.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+@RestController
+@Api(value = "marccat-api", description = "FULL_CACHE rebuild resource API")
+@RequestMapping(value = ModMarccat.BASE_URI, produces = "application/json")
+public class FullCacheRebuildAPI extends BaseResource {
+
+  /**
+   * Starts (or resumes, if a previous one has been interrupted) the FULL_CACHE rebuild of the given view.
+   *
+   * @param view        the record view.
+   * @param parallelism the number of workers.
+   * @param partitions  the number of partitions the record identifiers are split in.
+   * @param load        the fraction of time each worker keeps its connection busy.
+   * @param tenant      the requesting tenant.
+   * @return the rebuild status.
+   */
+  @ApiOperation(value = "Starts or resumes the FULL_CACHE rebuild of the given view.")
+  @ApiResponses(value = {
+    @ApiResponse(code = 202, message = "The rebuild has been started (or it was already running)."),
+    @ApiResponse(code = 500, message = "System internal failure occurred.")
+  })
+  @PostMapping("/full-cache/rebuild")
+  public ResponseEntity<FullCacheRebuild> start(
+    @RequestParam final int view,
+    @RequestParam(defaultValue = "4") final int parallelism,
+    @RequestParam(defaultValue = "64") final int partitions,
+    @RequestParam(defaultValue = "0.5") final double load,
+    @RequestHeader(Global.OKAPI_TENANT_HEADER_NAME) final String tenant) {
+    final FullCacheRebuild rebuild = doGet((storageService, configuration) ->
+      FullCacheRebuild.start(
+        tenant,
+        view,
+        Math.max(1, parallelism),
+        load,
+        storageService.planFullRecordCacheRebuild(view, Math.max(1, partitions))), tenant, configurator);
+    return new ResponseEntity<>(rebuild, HttpStatus.ACCEPTED);
+  }
+
+  /**
+   * Returns the status of the last FULL_CACHE rebuild of the requesting tenant.
+   *
+   * @param tenant the requesting tenant.
+   * @return the status of the last FULL_CACHE rebuild.
+   */
+  @ApiOperation(value = "Returns the status of the last FULL_CACHE rebuild.")
+  @ApiResponses(value = {
+    @ApiResponse(code = 200, message = "Method successfully returned the rebuild status."),
+    @ApiResponse(code = 404, message = "No rebuild has been started.")
+  })
+  @GetMapping("/full-cache/rebuild")
+  public ResponseEntity<FullCacheRebuild> status(@RequestHeader(Global.OKAPI_TENANT_HEADER_NAME) final String tenant) {
+    final FullCacheRebuild rebuild = FullCacheRebuild.of(tenant);
+    return rebuild != null
+      ? new ResponseEntity<>(rebuild, HttpStatus.OK)
+      : new ResponseEntity<>(HttpStatus.NOT_FOUND);
+  }
+
+  /**
+   * Cancels the running FULL_CACHE rebuild of the requesting tenant. Checkpoints are kept.
+   *
+   * @param tenant the requesting tenant.
+   * @return the rebuild status.
+   */
+  @ApiOperation(value = "Cancels the running FULL_CACHE rebuild; it can be resumed later.")
+  @ApiResponses(value = {
+    @ApiResponse(code = 200, message = "The rebuild has been cancelled."),
+    @ApiResponse(code = 404, message = "No rebuild has been started.")
+  })
+  @DeleteMapping("/full-cache/rebuild")
+  public ResponseEntity<FullCacheRebuild> cancel(@RequestHeader(Global.OKAPI_TENANT_HEADER_NAME) final String tenant) {
+    final FullCacheRebuild rebuild = FullCacheRebuild.of(tenant);
+    if (rebuild == null) {
+      return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+    rebuild.cancel();
+    return new ResponseEntity<>(rebuild, HttpStatus.OK);
+  }
+}
@@ -0,0 +1,122 @@
+package org.folio.marccat.resources;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.folio.marccat.ModMarccat;
+import org.folio.marccat.config.Global;
+import org.folio.marccat.exception.RecordInUseException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+import static org.folio.marccat.integration.MarccatHelper.doGet;
+
+/**
+ * Record locks RESTful APIs.
+ * Locks are leases which expire after {@link Global#LOCK_LEASE} seconds: editors renew them periodically while the
+ * records are being edited.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+@RestController
+@Api(value = "marccat-api", description = "Record locks resource API")
+@RequestMapping(value = ModMarccat.BASE_URI, produces = "application/json")
+public class RecordLockAPI extends BaseResource {
+
+  /**
+   * Locks the given records for the given user and front-end session: either all of them are locked or none is.
+   *
+   * @param ids      the record identifiers.
+   * @param view     the record view.
+   * @param userName the user name.
+   * @param uuid     the front-end session identifier.
+   * @param tenant   the requesting tenant.
+   * @return 200 if the records have been locked, 409 if at least one record is locked by another user.
+   */
+  @ApiOperation(value = "Locks the given records.")
+  @ApiResponses(value = {
+    @ApiResponse(code = 200, message = "The records have been locked."),
+    @ApiResponse(code = 409, message = "At least one record is locked by another user."),
+    @ApiResponse(code = 500, message = "System internal failure occurred.")
+  })
+  @PostMapping("/record-locks")
+  public ResponseEntity<Void> lock(
+    @RequestParam final List<Integer> ids,
+    @RequestParam final int view,
+    @RequestParam final String userName,
+    @RequestParam final String uuid,
+    @RequestHeader(Global.OKAPI_TENANT_HEADER_NAME) final String tenant) {
+    return doGet((storageService, configuration) -> {
+      try {
+        storageService.lockRecords(ids, view, userName, uuid);
+        return new ResponseEntity<Void>(HttpStatus.OK);
+      } catch (final RecordInUseException exception) {
+        return new ResponseEntity<Void>(HttpStatus.CONFLICT);
+      }
+    }, tenant, configurator);
+  }
+
+  /**
+   * Renews the lease of the given records, locked by the given user and front-end session.
+   *
+   * @param ids      the record identifiers.
+   * @param view     the record view.
+   * @param userName the user name.
+   * @param uuid     the front-end session identifier.
+   * @param tenant   the requesting tenant.
+   * @return 200 if the leases have been renewed, 409 if at least one lock is not held by the given session anymore.
+   */
+  @ApiOperation(value = "Renews the lease of the given record locks.")
+  @ApiResponses(value = {
+    @ApiResponse(code = 200, message = "The leases have been renewed."),
+    @ApiResponse(code = 409, message = "At least one lock is not held by the given user and session anymore."),
+    @ApiResponse(code = 500, message = "System internal failure occurred.")
+  })
+  @PutMapping("/record-locks")
+  public ResponseEntity<Void> renew(
+    @RequestParam final List<Integer> ids,
+    @RequestParam final int view,
+    @RequestParam final String userName,
+    @RequestParam final String uuid,
+    @RequestHeader(Global.OKAPI_TENANT_HEADER_NAME) final String tenant) {
+    return doGet((storageService, configuration) -> {
+      try {
+        storageService.renewRecordLocks(ids, view, userName, uuid);
+        return new ResponseEntity<Void>(HttpStatus.OK);
+      } catch (final RecordInUseException exception) {
+        return new ResponseEntity<Void>(HttpStatus.CONFLICT);
+      }
+    }, tenant, configurator);
+  }
+
+  /**
+   * Unlocks the given records. Locks held by other users are left untouched.
+   *
+   * @param ids      the record identifiers.
+   * @param view     the record view.
+   * @param userName the user name.
+   * @param tenant   the requesting tenant.
+   * @return 204.
+   */
+  @ApiOperation(value = "Unlocks the given records.")
+  @ApiResponses(value = {
+    @ApiResponse(code = 204, message = "The records have been unlocked."),
+    @ApiResponse(code = 500, message = "System internal failure occurred.")
+  })
+  @DeleteMapping("/record-locks")
+  public ResponseEntity<Void> unlock(
+    @RequestParam final List<Integer> ids,
+    @RequestParam final int view,
+    @RequestParam final String userName,
+    @RequestHeader(Global.OKAPI_TENANT_HEADER_NAME) final String tenant) {
+    return doGet((storageService, configuration) -> {
+      storageService.unlockRecords(ids, view, userName);
+      return new ResponseEntity<Void>(HttpStatus.NO_CONTENT);
+    }, tenant, configurator);
+  }
+}
@@ -5,14 +5,30 @@ import io.swagger.annotations.Api;
 import org.folio.marccat.ModMarccat;
 import org.folio.marccat.business.common.View;
 import org.folio.marccat.config.Global;
+import org.folio.marccat.config.log.MessageCatalog;
+import org.folio.marccat.dao.common.CrossReferenceExpansion;
+import org.folio.marccat.dao.common.SearchFacet;
+import org.folio.marccat.integration.PieceOfExistingLogicAdapter;
+import org.folio.marccat.resources.domain.SearchQuery;
+import org.folio.marccat.search.SearchCounts;
 import org.folio.marccat.search.SearchEngineFactory;
+import org.folio.marccat.search.SearchExplanation;
+import org.folio.marccat.search.SearchQueryResult;
 import org.folio.marccat.search.SearchResponse;
 import org.folio.marccat.search.engine.SearchEngine;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import static java.util.Arrays.stream;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.folio.marccat.integration.MarccatHelper.doBatch;
 import static org.folio.marccat.integration.MarccatHelper.doGet;
 import static org.folio.marccat.util.F.locale;
 
@@ -38,7 +54,8 @@ public class SearchAPI extends BaseResource {
     @RequestParam(name = "ml", defaultValue = "170") final int mainLibraryId,
     @RequestParam(name = "dpo", defaultValue = "1") final int databasePreferenceOrder,
     @RequestParam(name = "sortBy", required = false) final String[] sortAttributes,
-    @RequestParam(name = "sortOrder", required = false) final String[] sortOrders) {
+    @RequestParam(name = "sortOrder", required = false) final String[] sortOrders,
+    @RequestParam(name = "expand", defaultValue = "NONE") final CrossReferenceExpansion expansion) {
     return doGet((storageService, configuration) -> {
       final SearchEngine searchEngine =
         SearchEngineFactory.create(
@@ -48,8 +65,8 @@ public class SearchAPI extends BaseResource {
           storageService);
       SearchResponse response = searchEngine.fetchRecords(
         (sortAttributes != null && sortOrders != null && sortAttributes.length == sortOrders.length)
-          ? searchEngine.sort(searchEngine.expertSearch(q, locale(lang), view), sortAttributes, sortOrders)
-          : searchEngine.expertSearch(q, locale(lang), view),
+          ? searchEngine.sort(searchEngine.expertSearch(q, locale(lang), view, expansion), sortAttributes, sortOrders)
+          : searchEngine.expertSearch(q, locale(lang), view, expansion),
         "F",
         from,
         to);
@@ -63,6 +80,92 @@ public class SearchAPI extends BaseResource {
   }
 
 
+  @GetMapping("/search/count")
+  public ResponseEntity<SearchCounts> count(
+    @RequestParam final String lang,
+    @RequestHeader(Global.OKAPI_TENANT_HEADER_NAME) final String tenant,
+    @RequestParam("q") final String q,
+    @RequestParam(name = "view", defaultValue = View.DEFAULT_BIBLIOGRAPHIC_VIEW_AS_STRING) final int view,
+    @RequestParam(name = "ml", defaultValue = "170") final int mainLibraryId,
+    @RequestParam(name = "facets", required = false) final SearchFacet[] facets,
+    @RequestParam(name = "expand", defaultValue = "NONE") final CrossReferenceExpansion expansion) {
+    final List<SearchFacet> requested = facets == null ? emptyList() : stream(facets).distinct().collect(toList());
+    if (!requested.isEmpty() && view < 1) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+    return new ResponseEntity<>(
+      doGet((storageService, configuration) ->
+        storageService.countQuery(q, mainLibraryId, locale(lang), view, expansion, requested), tenant, configurator),
+      HttpStatus.OK);
+  }
+
+  @PostMapping("/search/batch")
+  public ResponseEntity<List<SearchQueryResult>> batch(
+    @RequestParam final String lang,
+    @RequestHeader(Global.OKAPI_TENANT_HEADER_NAME) final String tenant,
+    @RequestParam(name = "ml", defaultValue = "170") final int mainLibraryId,
+    @RequestParam(name = "dpo", defaultValue = "1") final int databasePreferenceOrder,
+    @RequestParam(name = "expand", defaultValue = "NONE") final CrossReferenceExpansion expansion,
+    @RequestBody final List<SearchQuery> queries) {
+    if (queries == null || queries.isEmpty() || queries.size() > Global.SEARCH_BATCH_MAX_QUERIES
+      || queries.stream().anyMatch(query -> query == null || query.getQuery() == null)) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+
+    final Map<String, String> compiledTerms = new ConcurrentHashMap<>();
+    final List<PieceOfExistingLogicAdapter<SearchQueryResult>> adapters = queries.stream()
+      .map(query -> (PieceOfExistingLogicAdapter<SearchQueryResult>) (storageService, configuration) -> {
+        storageService.setCompiledTerms(compiledTerms);
+        final SearchEngine searchEngine =
+          SearchEngineFactory.create(
+            SearchEngineFactory.EngineType.LIGHTWEIGHT,
+            mainLibraryId,
+            databasePreferenceOrder,
+            storageService);
+        final int view = query.getView() == null ? View.DEFAULT_BIBLIOGRAPHIC_VIEW : query.getView();
+        return SearchQueryResult.ok(
+          query.getQuery(),
+          searchEngine.fetchRecords(
+            searchEngine.expertSearch(query.getQuery(), locale(lang), view, expansion),
+            "F",
+            query.getFrom() == null ? 1 : query.getFrom(),
+            query.getTo() == null ? 10 : query.getTo()));
+      })
+      .collect(toList());
+
+    return new ResponseEntity<>(
+      doBatch(adapters, (position, exception) -> {
+        final String query = queries.get(position).getQuery();
+        logger.error(MessageCatalog._00045_SEARCH_BATCH_QUERY_FAILURE, exception, position + 1, query);
+        return SearchQueryResult.failed(query);
+      }, tenant, configurator),
+      HttpStatus.OK);
+  }
+
+  /**
+   * Explains how the given CCL query is compiled and executed: the search is not run, but compiling it runs a capped
+   * count query for each term whose estimated document frequency is not cached yet.
+   *
+   * @param lang          the language code.
+   * @param tenant        the requesting tenant.
+   * @param q             the CCL query.
+   * @param view          the target search view.
+   * @param mainLibraryId the main library identifier.
+   * @param expansion     the cross-references the terms are expanded through.
+   * @return the compiled query plan, the SQL query and its database execution plan.
+   */
+  @GetMapping("/search/explain")
+  public SearchExplanation explain(
+    @RequestParam final String lang,
+    @RequestHeader(Global.OKAPI_TENANT_HEADER_NAME) final String tenant,
+    @RequestParam("q") final String q,
+    @RequestParam(name = "view", defaultValue = View.DEFAULT_BIBLIOGRAPHIC_VIEW_AS_STRING) final int view,
+    @RequestParam(name = "ml", defaultValue = "170") final int mainLibraryId,
+    @RequestParam(name = "expand", defaultValue = "NONE") final CrossReferenceExpansion expansion) {
+    return doGet((storageService, configuration) ->
+      storageService.explainQuery(q, mainLibraryId, locale(lang), view, expansion), tenant, configurator);
+  }
+
   @GetMapping("/mergedSearch")
   public List<SearchResponse> mergedSearch(
     @RequestParam final String lang,
@@ -0,0 +1,42 @@
+package org.folio.marccat.resources;
+
+import org.folio.marccat.integration.SqlStatistics;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds a Server-Timing header with the SQL statistics collected while serving the current request.
+ * The header is added only when SQL diagnostics are enabled.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+  private static final String SERVER_TIMING_HEADER_NAME = "Server-Timing";
+
+  @Override
+  public boolean supports(final MethodParameter returnType, final Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(
+    final Object body,
+    final MethodParameter returnType,
+    final MediaType selectedContentType,
+    final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+    final ServerHttpRequest request,
+    final ServerHttpResponse response) {
+    final SqlStatistics statistics = SqlStatistics.current();
+    if (statistics != null) {
+      response.getHeaders().add(SERVER_TIMING_HEADER_NAME, statistics.toServerTiming());
+    }
+    return body;
+  }
+}
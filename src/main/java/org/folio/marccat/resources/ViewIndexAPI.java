@@ -0,0 +1,75 @@
+package org.folio.marccat.resources;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.folio.marccat.ModMarccat;
+import org.folio.marccat.config.Global;
+import org.folio.marccat.dao.common.ViewIndex;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+import static org.folio.marccat.integration.MarccatHelper.doGet;
+
+/**
+ * View and full-text indexes RESTful APIs.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+@RestController
+@Api(value = "marccat-api", description = "View indexes resource API")
+@RequestMapping(value = ModMarccat.BASE_URI, produces = "application/json")
+public class ViewIndexAPI extends BaseResource {
+
+  /**
+   * Creates the partial indexes of the given view, on the tables of the requesting tenant.
+   * The indexes of the views listed in marccat.viewIndexes.views are created when the tenant is first served: this is
+   * needed only for the other views in use. Calling it again only creates the missing indexes.
+   *
+   * @param view   the view.
+   * @param tenant the requesting tenant.
+   * @return the names of the indexes of the given view.
+   */
+  @ApiOperation(value = "Creates the partial indexes serving the queries on the given view.")
+  @ApiResponses(value = {
+    @ApiResponse(code = 200, message = "The indexes of the view exist."),
+    @ApiResponse(code = 400, message = "Bad Input: the view can't be indexed."),
+    @ApiResponse(code = 500, message = "System internal failure occurred.")
+  })
+  @PostMapping("/view-indexes")
+  public ResponseEntity<List<String>> createViewIndexes(
+    @RequestParam final int view,
+    @RequestHeader(Global.OKAPI_TENANT_HEADER_NAME) final String tenant) {
+    if (view < 1 || view > ViewIndex.VIEWS) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+    return new ResponseEntity<>(
+      doGet((storageService, configuration) -> storageService.createViewIndexes(view), tenant, configurator),
+      HttpStatus.OK);
+  }
+
+  /**
+   * Creates the full-text indexes serving the word searches, on the tables of the requesting tenant.
+   * Calling it again only creates the missing indexes.
+   *
+   * @param tenant the requesting tenant.
+   * @return the names of the full-text indexes.
+   */
+  @ApiOperation(value = "Creates the full-text indexes serving the word searches.")
+  @ApiResponses(value = {
+    @ApiResponse(code = 200, message = "The full-text indexes exist."),
+    @ApiResponse(code = 500, message = "System internal failure occurred.")
+  })
+  @PostMapping("/full-text-indexes")
+  public ResponseEntity<List<String>> createFullTextIndexes(
+    @RequestHeader(Global.OKAPI_TENANT_HEADER_NAME) final String tenant) {
+    return new ResponseEntity<>(
+      doGet((storageService, configuration) -> storageService.createFullTextIndexes(), tenant, configurator),
+      HttpStatus.OK);
+  }
+}
@@ -0,0 +1,56 @@
+package org.folio.marccat.search;
+
+import org.folio.marccat.dao.common.SearchFacet;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The number of documents matching a CCL query, in total and for each code of the requested facets.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public class SearchCounts {
+  private final String query;
+  private final int view;
+  private long total;
+  private final Map<SearchFacet, Map<String, Long>> facets = new LinkedHashMap<>();
+
+  /**
+   * Builds a new {@link SearchCounts} with the given data.
+   *
+   * @param query the CCL query.
+   * @param view  the searching view.
+   */
+  public SearchCounts(final String query, final int view) {
+    this.query = query;
+    this.view = view;
+  }
+
+  public String getQuery() {
+    return query;
+  }
+
+  public int getView() {
+    return view;
+  }
+
+  public long getTotal() {
+    return total;
+  }
+
+  public void setTotal(final long total) {
+    this.total = total;
+  }
+
+  /**
+   * Returns the number of matching documents by code, for each requested facet.
+   * Documents with no code for a facet aren't counted in that facet.
+   *
+   * @return the number of matching documents by code, for each requested facet.
+   */
+  public Map<SearchFacet, Map<String, Long>> getFacets() {
+    return facets;
+  }
+}
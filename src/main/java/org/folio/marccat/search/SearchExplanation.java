@@ -0,0 +1,48 @@
+package org.folio.marccat.search;
+
+import java.util.List;
+
+/**
+ * How a CCL query is compiled and executed: the compiled query plan, with the estimated document frequencies of the
+ * terms and the strategy used to combine them, the resulting SQL and the database execution plan of that SQL.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public class SearchExplanation {
+  private final String query;
+  private final List<String> plan;
+  private final String sql;
+  private final List<String> databasePlan;
+
+  /**
+   * Builds a new {@link SearchExplanation} with the given data.
+   *
+   * @param query        the CCL query.
+   * @param plan         the lines describing the compiled query.
+   * @param sql          the SQL the query has been compiled to.
+   * @param databasePlan the database execution plan of the SQL.
+   */
+  public SearchExplanation(final String query, final List<String> plan, final String sql, final List<String> databasePlan) {
+    this.query = query;
+    this.plan = plan;
+    this.sql = sql;
+    this.databasePlan = databasePlan;
+  }
+
+  public String getQuery() {
+    return query;
+  }
+
+  public List<String> getPlan() {
+    return plan;
+  }
+
+  public String getSql() {
+    return sql;
+  }
+
+  public List<String> getDatabasePlan() {
+    return databasePlan;
+  }
+}
@@ -0,0 +1,74 @@
+package org.folio.marccat.search;
+
+/**
+ * The outcome of one query of a search batch: the records found or, if the query failed, a generic error code.
+ * The details of a failure are logged on the server only, since they may contain the SQL sent to the database.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public class SearchQueryResult {
+  /**
+   * The status of the queries executed successfully.
+   */
+  public static final String OK = "OK";
+
+  /**
+   * The status of the queries that failed.
+   */
+  public static final String FAILED = "FAILED";
+
+  /**
+   * The error code of the queries that failed.
+   */
+  public static final String SEARCH_FAILED = "SEARCH_FAILED";
+
+  private final String query;
+  private final String status;
+  private final String message;
+  private final SearchResponse response;
+
+  private SearchQueryResult(final String query, final String status, final String message, final SearchResponse response) {
+    this.query = query;
+    this.status = status;
+    this.message = message;
+    this.response = response;
+  }
+
+  /**
+   * Builds the result of a query executed successfully.
+   *
+   * @param query    the CCL query.
+   * @param response the records found.
+   * @return the result of the query.
+   */
+  public static SearchQueryResult ok(final String query, final SearchResponse response) {
+    return new SearchQueryResult(query, OK, null, response);
+  }
+
+  /**
+   * Builds the result of a query that failed.
+   *
+   * @param query the CCL query.
+   * @return the result of the query.
+   */
+  public static SearchQueryResult failed(final String query) {
+    return new SearchQueryResult(query, FAILED, SEARCH_FAILED, null);
+  }
+
+  public String getQuery() {
+    return query;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public SearchResponse getResponse() {
+    return response;
+  }
+}
@@ -6,25 +6,19 @@ import org.folio.marccat.exception.XmlDocumentException;
 import org.folio.marccat.exception.XmlParserConfigurationException;
 import org.folio.marccat.exception.XslTransformerConfigurationException;
 import org.folio.marccat.exception.XslTransformerException;
+import org.folio.marccat.util.Stylesheets;
 import org.folio.marccat.util.XmlUtils;
 import org.w3c.dom.Document;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
-import javax.xml.transform.stream.StreamSource;
-import java.io.IOException;
 import java.io.StringWriter;
 import java.net.URL;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
 
 /**
@@ -91,39 +85,19 @@ public abstract class AbstractRecord implements Record {
     URL stylesheet,
     Map xsltParameters) throws XmlParserConfigurationException,
     XslTransformerConfigurationException, XslTransformerException {
-    Document xmlStyledDocument = null;
-
     try {
-      // load the transformer using JAXP
-      TransformerFactory factory = TransformerFactory.newInstance();
-      Transformer transformer = factory.newTransformer(new StreamSource(
-        stylesheet.getFile()));
-
-      // First set some parameters if there are any
+      final Transformer transformer = Stylesheets.transformer(stylesheet);
       if (xsltParameters != null) {
-        Iterator iterator = xsltParameters.entrySet().iterator();
-        while (iterator.hasNext()) {
-          Map.Entry entry = (Map.Entry) iterator.next();
-          transformer.setParameter(entry.getKey().toString(), entry
-            .getValue().toString());
+        for (final Object parameter : xsltParameters.entrySet()) {
+          final Map.Entry entry = (Map.Entry) parameter;
+          transformer.setParameter(entry.getKey().toString(), entry.getValue().toString());
         }
       }
 
-      // now lets style the given document
-      DOMSource source = new DOMSource(this
-        .toXmlDocument(elementSetName));
-      DocumentBuilderFactory documentBuilderFactory =
-        DocumentBuilderFactory.newInstance();
-      DocumentBuilder documentBuilder = null;
-      try {
-        documentBuilder = documentBuilderFactory.newDocumentBuilder();
-        xmlStyledDocument = documentBuilder.newDocument();
-        DOMResult result = new DOMResult(xmlStyledDocument);
-        transformer.transform(source, result);
-      } catch (ParserConfigurationException parserConfigurationException) {
-        logger.error("", parserConfigurationException);
-        throw new XmlParserConfigurationException(parserConfigurationException);
-      }
+      // the transformer creates the result document
+      final DOMResult result = new DOMResult();
+      transformer.transform(new DOMSource(this.toXmlDocument(elementSetName)), result);
+      return (Document) result.getNode();
     } catch (TransformerConfigurationException transformerConfigurationException) {
       logger.error(transformerConfigurationException.getMessage());
       throw new XslTransformerConfigurationException(
@@ -132,8 +106,6 @@ public abstract class AbstractRecord implements Record {
       logger.error(transformerException.getMessage());
       throw new XslTransformerException(transformerException);
     }
-
-    return xmlStyledDocument;
   }
 
   public String toStyledDocument(String elementSetName, String stylesheet,
@@ -148,34 +120,18 @@ public abstract class AbstractRecord implements Record {
   public String toStyledDocument(String elementSetName, URL stylesheet,
                                  Map xsltParameters) throws XmlDocumentException,
     XslTransformerConfigurationException, XslTransformerException {
-    String styledDocument = new String();
     try {
-      // load the transformer using JAXP
-      TransformerFactory factory = TransformerFactory.newInstance();
-      Transformer transformer = factory.newTransformer(new StreamSource(
-        stylesheet.openStream()));
-
-      // First set some parameters if there are any
+      final Transformer transformer = Stylesheets.transformer(stylesheet);
       if (xsltParameters != null) {
-        Iterator iterator = xsltParameters.entrySet().iterator();
-        while (iterator.hasNext()) {
-          Map.Entry entry = (Map.Entry) iterator.next();
-//CAMMILLETTI inizio
-//					transformer.setParameter(entry.getKey().toString(), entry.getValue().toString());
+        for (final Object parameter : xsltParameters.entrySet()) {
+          final Map.Entry entry = (Map.Entry) parameter;
           transformer.setParameter(entry.getKey().toString(), entry.getValue());
-//CAMMILLETTI fine
         }
       }
 
-      // now lets style the given document
-      DOMSource source = new DOMSource(this
-        .toXmlDocument(elementSetName));
-      StringWriter buffer = new StringWriter();
-      StreamResult result = new StreamResult(buffer);
-      transformer.transform(source, result);
-
-      // return the transformed document
-      styledDocument = buffer.toString();
+      final StringWriter buffer = new StringWriter();
+      transformer.transform(new DOMSource(this.toXmlDocument(elementSetName)), new StreamResult(buffer));
+      return buffer.toString();
     } catch (TransformerConfigurationException transformerConfigurationException) {
       logger.error(transformerConfigurationException.getMessage());
       throw new XslTransformerConfigurationException(
@@ -183,12 +139,7 @@ public abstract class AbstractRecord implements Record {
     } catch (TransformerException transformerException) {
       logger.error(transformerException.getMessage());
       throw new XslTransformerException(transformerException);
-    } catch (IOException e) {
-      // TODO Auto-generated catch block
-      e.printStackTrace();
     }
-
-    return styledDocument;
   }
 
   public String getCclQuery() {
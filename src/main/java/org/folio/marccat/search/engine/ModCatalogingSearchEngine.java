@@ -2,6 +2,7 @@ package org.folio.marccat.search.engine;
 
 import org.folio.marccat.business.common.View;
 import org.folio.marccat.config.Global;
+import org.folio.marccat.dao.common.CrossReferenceExpansion;
 import org.folio.marccat.dao.persistence.CatalogItem;
 import org.folio.marccat.exception.ModMarccatException;
 import org.folio.marccat.exception.RecordNotFoundException;
@@ -52,6 +53,11 @@ public abstract class ModCatalogingSearchEngine implements SearchEngine {
 
   @Override
   public SearchResponse expertSearch(final String cclQuery, final Locale locale, final int searchingView) throws ModMarccatException {
+    return expertSearch(cclQuery, locale, searchingView, CrossReferenceExpansion.NONE);
+  }
+
+  @Override
+  public SearchResponse expertSearch(final String cclQuery, final Locale locale, final int searchingView, final CrossReferenceExpansion expansion) throws ModMarccatException {
     return new SearchResponse(
       searchingView,
       cclQuery,
@@ -59,7 +65,8 @@ public abstract class ModCatalogingSearchEngine implements SearchEngine {
         cclQuery,
         mainLibraryId,
         locale,
-        searchingView)
+        searchingView,
+        expansion)
         .stream()
         .mapToInt(Integer::intValue).toArray());
   }
@@ -1,5 +1,6 @@
 package org.folio.marccat.search.engine;
 
+import org.folio.marccat.dao.common.CrossReferenceExpansion;
 import org.folio.marccat.exception.ModMarccatException;
 import org.folio.marccat.integration.StorageService;
 import org.folio.marccat.search.SearchResponse;
@@ -26,6 +27,18 @@ public interface SearchEngine {
    */
   SearchResponse expertSearch(String cclQuery, Locale locale, int searchingView) throws ModMarccatException;
 
+  /**
+   * Expert search interface contract, with the terms matching a heading expanded through its cross-references.
+   *
+   * @param cclQuery      the input CCL query.
+   * @param locale        the current locale.
+   * @param searchingView the searching view associated with the current query execution.
+   * @param expansion     the cross-references the terms are expanded through.
+   * @return a search response (containing only the docids)
+   * @throws ModMarccatException in case of a search subsystem failure.
+   */
+  SearchResponse expertSearch(String cclQuery, Locale locale, int searchingView, CrossReferenceExpansion expansion) throws ModMarccatException;
+
   /**
    * Fetches the records on a preexistent search response.
    * This is the second phase of a search, where collected docids are fetched in order to retrieve the
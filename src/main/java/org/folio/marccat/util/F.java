@@ -121,6 +121,8 @@ public abstract class F {
    * make more sense to have copy(...) re-throw the exception.
    * <p>
    * A later version of this class includes some minor optimizations.
+   * Model objects (tags, descriptors...) should be copied with {@link ObjectCopier#deepCopy(Object)}, which gives the
+   * same result without the serialization round trip.
    *
    * @return a copy of the object, or null if the object cannot be serialized.
    */
@@ -0,0 +1,202 @@
+package org.folio.marccat.util;
+
+import org.folio.marccat.model.Subfield;
+
+import java.util.List;
+
+/**
+ * Streaming MARCXML writer.
+ * Writes a record directly in a character buffer, without building a DOM tree: the output is the same produced by
+ * serializing the equivalent DOM document with {@link XmlUtils#documentToString(org.w3c.dom.Document)}, that is,
+ * the same XML declaration, no indentation, attributes in alphabetical order, empty elements closed with "/&gt;" and
+ * the same character escaping.
+ * <p>
+ * Usage:
+ * <pre>
+ *   new MarcXmlWriter().startRecord().leader("...").controlField("001", "...").dataField(...).endRecord();
+ * </pre>
+ * A writer instance is not thread-safe and it writes one record only.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public final class MarcXmlWriter {
+  public static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
+
+  private static final int DEFAULT_CAPACITY = 4096;
+
+  private final StringBuilder buffer;
+  private boolean recordOpen;
+
+  /**
+   * Builds a new writer with the default buffer capacity.
+   */
+  public MarcXmlWriter() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Builds a new writer with the given buffer capacity.
+   *
+   * @param capacity the initial capacity of the buffer, in characters.
+   */
+  public MarcXmlWriter(final int capacity) {
+    this.buffer = new StringBuilder(capacity);
+  }
+
+  /**
+   * Writes the XML declaration and opens the record element.
+   *
+   * @return this writer.
+   */
+  public MarcXmlWriter startRecord() {
+    buffer.append(XML_DECLARATION).append("<record");
+    recordOpen = true;
+    return this;
+  }
+
+  /**
+   * Writes the leader.
+   *
+   * @param value the leader value.
+   * @return this writer.
+   */
+  public MarcXmlWriter leader(final String value) {
+    closeRecordStartTag();
+    buffer.append("<leader");
+    return text("leader", value);
+  }
+
+  /**
+   * Writes a control field.
+   *
+   * @param tag   the MARC tag.
+   * @param value the field value.
+   * @return this writer.
+   */
+  public MarcXmlWriter controlField(final String tag, final String value) {
+    closeRecordStartTag();
+    buffer.append("<controlfield");
+    attribute("tag", tag);
+    return text("controlfield", value);
+  }
+
+  /**
+   * Writes a data field.
+   *
+   * @param tag       the MARC tag.
+   * @param ind1      the first indicator.
+   * @param ind2      the second indicator.
+   * @param subfields the field subfields.
+   * @return this writer.
+   */
+  public MarcXmlWriter dataField(final String tag, final char ind1, final char ind2, final List<Subfield> subfields) {
+    closeRecordStartTag();
+    buffer.append("<datafield");
+    attribute("ind1", String.valueOf(ind1));
+    attribute("ind2", String.valueOf(ind2));
+    attribute("tag", tag);
+    if (subfields == null || subfields.isEmpty()) {
+      buffer.append("/>");
+      return this;
+    }
+
+    buffer.append('>');
+    for (final Subfield subfield : subfields) {
+      buffer.append("<subfield");
+      attribute("code", subfield.getCode());
+      text("subfield", subfield.getContent());
+    }
+    buffer.append("</datafield>");
+    return this;
+  }
+
+  /**
+   * Closes the record element and returns the whole record.
+   *
+   * @return the MARCXML record.
+   */
+  public String endRecord() {
+    if (recordOpen) {
+      buffer.append("/>");
+      recordOpen = false;
+    } else {
+      buffer.append("</record>");
+    }
+    return buffer.toString();
+  }
+
+  private void closeRecordStartTag() {
+    if (recordOpen) {
+      buffer.append('>');
+      recordOpen = false;
+    }
+  }
+
+  private void attribute(final String name, final String value) {
+    buffer.append(' ').append(name).append("=\"");
+    escape(value, true);
+    buffer.append('"');
+  }
+
+  private MarcXmlWriter text(final String element, final String value) {
+    if (value == null || value.isEmpty()) {
+      buffer.append("/>");
+    } else {
+      buffer.append('>');
+      escape(value, false);
+      buffer.append("</").append(element).append('>');
+    }
+    return this;
+  }
+
+  /**
+   * Escapes the given value like the JDK identity transformer does: markup characters become entities and control
+   * characters and supplementary characters become character references. Text nodes keep tabs and line feeds, and
+   * escape the C1 range too.
+   */
+  private void escape(final String value, final boolean attribute) {
+    if (value == null) {
+      return;
+    }
+
+    for (int i = 0; i < value.length(); i++) {
+      final char ch = value.charAt(i);
+      switch (ch) {
+        case '&':
+          buffer.append("&amp;");
+          break;
+        case '<':
+          buffer.append("&lt;");
+          break;
+        case '>':
+          buffer.append("&gt;");
+          break;
+        case '"':
+          buffer.append(attribute ? "&quot;" : "\"");
+          break;
+        case '\t':
+        case '\n':
+          if (attribute) {
+            characterReference(ch);
+          } else {
+            buffer.append(ch);
+          }
+          break;
+        default:
+          if (ch < 0x20 || (!attribute && ch >= 0x7F && ch <= 0x9F)) {
+            characterReference(ch);
+          } else if (Character.isHighSurrogate(ch) && i + 1 < value.length()
+            && Character.isLowSurrogate(value.charAt(i + 1))) {
+            characterReference(Character.toCodePoint(ch, value.charAt(++i)));
+          } else {
+            buffer.append(ch);
+          }
+      }
+    }
+  }
+
+  private void characterReference(final int codePoint) {
+    buffer.append("&#").append(codePoint).append(';');
+  }
+}
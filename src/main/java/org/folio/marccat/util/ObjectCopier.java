@@ -0,0 +1,277 @@
+package org.folio.marccat.util;
+
+import org.folio.marccat.config.log.Log;
+import org.folio.marccat.config.log.MessageCatalog;
+import org.springframework.objenesis.ObjenesisSerializer;
+import org.springframework.objenesis.instantiator.ObjectInstantiator;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deep copy of the persistent objects (tags, descriptors, relationships...), without going through Java serialization.
+ * The copy is the same produced by {@link F#deepCopy(Object)}:
+ * <ul>
+ * <li>instances are created like the deserialization does, that is, without running the constructors of
+ * serializable classes, and all their (non static) fields are copied;</li>
+ * <li>shared references and cycles are preserved;</li>
+ * <li>immutable values (strings, numbers, enums...) are shared instead of being copied.</li>
+ * </ul>
+ * The field layout of each class is computed once. Graphs containing objects which are not part of this
+ * application model (apart from the common collections, arrays and dates) are copied with {@link F#deepCopy(Object)}:
+ * each unsupported type is logged the first time it is met, and fallbacks are counted (see {@link #fallbacks()}).
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public final class ObjectCopier {
+  private static final Log logger = new Log(ObjectCopier.class);
+  private static final String MODEL_PACKAGE = "org.folio.marccat.";
+  private static final AtomicLong FALLBACKS = new AtomicLong();
+  private static final Set<Class<?>> UNSUPPORTED_TYPES = ConcurrentHashMap.newKeySet();
+  private static final ObjenesisSerializer INSTANTIATORS = new ObjenesisSerializer();
+
+  private static final ClassValue<Layout> LAYOUTS = new ClassValue<Layout>() {
+    @Override
+    protected Layout computeValue(final Class<?> type) {
+      return Layout.of(type);
+    }
+  };
+
+  private final Map<Object, Object> copies = new IdentityHashMap<>();
+
+  private ObjectCopier() {
+  }
+
+  /**
+   * Returns a deep copy of the given object.
+   *
+   * @param original the object to copy.
+   * @param <T>      the object type.
+   * @return a deep copy of the given object, null if the object cannot be copied.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T deepCopy(final T original) {
+    try {
+      return (T) new ObjectCopier().copy(original);
+    } catch (final UnsupportedTypeException exception) {
+      FALLBACKS.incrementAndGet();
+      if (UNSUPPORTED_TYPES.add(exception.type)) {
+        logger.info(MessageCatalog._00049_DEEP_COPY_FALLBACK, exception.type.getName());
+      }
+      return (T) F.deepCopy(original);
+    }
+  }
+
+  /**
+   * Returns the number of copies delegated to {@link F#deepCopy(Object)} since the application started.
+   *
+   * @return the number of copies delegated to {@link F#deepCopy(Object)}.
+   */
+  public static long fallbacks() {
+    return FALLBACKS.get();
+  }
+
+  private Object copy(final Object value) {
+    if (value == null) {
+      return null;
+    }
+
+    final Class<?> type = value.getClass();
+    if (isImmutable(type)) {
+      return value;
+    }
+
+    final Object existing = copies.get(value);
+    if (existing != null) {
+      return existing;
+    }
+
+    if (type.isArray()) {
+      return copyArray(value, type);
+    }
+
+    if (value instanceof Date) {
+      return register(value, ((Date) value).clone());
+    }
+
+    if (type == ArrayList.class) {
+      return copyElements((Collection<?>) value, register(value, new ArrayList<>(((Collection<?>) value).size())));
+    }
+    if (type == LinkedList.class) {
+      return copyElements((Collection<?>) value, register(value, new LinkedList<>()));
+    }
+    if (type == HashSet.class) {
+      return copyElements((Collection<?>) value, register(value, new HashSet<>()));
+    }
+    if (type == LinkedHashSet.class) {
+      return copyElements((Collection<?>) value, register(value, new LinkedHashSet<>()));
+    }
+    if (type == HashMap.class) {
+      return copyEntries((Map<?, ?>) value, register(value, new HashMap<>()));
+    }
+    if (type == LinkedHashMap.class) {
+      return copyEntries((Map<?, ?>) value, register(value, new LinkedHashMap<>()));
+    }
+
+    final Layout layout = LAYOUTS.get(type);
+    if (layout == null) {
+      throw new UnsupportedTypeException(type);
+    }
+    return copyFields(value, layout);
+  }
+
+  private Object copyArray(final Object value, final Class<?> type) {
+    final int length = Array.getLength(value);
+    if (type.getComponentType().isPrimitive()) {
+      final Object copy = Array.newInstance(type.getComponentType(), length);
+      System.arraycopy(value, 0, copy, 0, length);
+      return register(value, copy);
+    }
+
+    final Object[] elements = (Object[]) value;
+    final Object[] copy = register(value, (Object[]) Array.newInstance(type.getComponentType(), length));
+    for (int i = 0; i < length; i++) {
+      copy[i] = copy(elements[i]);
+    }
+    return copy;
+  }
+
+  private Collection<Object> copyElements(final Collection<?> source, final Collection<Object> target) {
+    for (final Object element : source) {
+      target.add(copy(element));
+    }
+    return target;
+  }
+
+  private Map<Object, Object> copyEntries(final Map<?, ?> source, final Map<Object, Object> target) {
+    for (final Map.Entry<?, ?> entry : source.entrySet()) {
+      target.put(copy(entry.getKey()), copy(entry.getValue()));
+    }
+    return target;
+  }
+
+  private Object copyFields(final Object value, final Layout layout) {
+    final Object copy = register(value, layout.instantiator.newInstance());
+    try {
+      for (final Field field : layout.fields) {
+        final Class<?> fieldType = field.getType();
+        if (!fieldType.isPrimitive()) {
+          field.set(copy, copy(field.get(value)));
+        } else if (fieldType == int.class) {
+          field.setInt(copy, field.getInt(value));
+        } else if (fieldType == short.class) {
+          field.setShort(copy, field.getShort(value));
+        } else if (fieldType == char.class) {
+          field.setChar(copy, field.getChar(value));
+        } else if (fieldType == boolean.class) {
+          field.setBoolean(copy, field.getBoolean(value));
+        } else if (fieldType == long.class) {
+          field.setLong(copy, field.getLong(value));
+        } else if (fieldType == byte.class) {
+          field.setByte(copy, field.getByte(value));
+        } else if (fieldType == float.class) {
+          field.setFloat(copy, field.getFloat(value));
+        } else {
+          field.setDouble(copy, field.getDouble(value));
+        }
+      }
+    } catch (final IllegalAccessException exception) {
+      throw new UnsupportedTypeException(value.getClass());
+    }
+    return copy;
+  }
+
+  private <T> T register(final Object original, final T copy) {
+    copies.put(original, copy);
+    return copy;
+  }
+
+  private static boolean isImmutable(final Class<?> type) {
+    return type == String.class
+      || type == Integer.class
+      || type == Short.class
+      || type == Character.class
+      || type == Boolean.class
+      || type == Long.class
+      || type == Byte.class
+      || type == Float.class
+      || type == Double.class
+      || type == BigDecimal.class
+      || type == BigInteger.class
+      || type == Locale.class
+      || type == UUID.class
+      || type == Class.class
+      || type.isEnum()
+      || (type.getSuperclass() != null && type.getSuperclass().isEnum())
+      || type.getName().startsWith("java.time.");
+  }
+
+  /**
+   * The way instances of a model class are created and copied.
+   */
+  private static final class Layout {
+    private final ObjectInstantiator<?> instantiator;
+    private final Field[] fields;
+
+    private Layout(final ObjectInstantiator<?> instantiator, final Field[] fields) {
+      this.instantiator = instantiator;
+      this.fields = fields;
+    }
+
+    /**
+     * Collects the fields the serialization would write, i.e. the non static, non transient fields of the
+     * serializable classes in the hierarchy of the given type. Returns null for types outside the model.
+     */
+    private static Layout of(final Class<?> type) {
+      if (!type.getName().startsWith(MODEL_PACKAGE) || type.getName().contains("$$")
+        || !Serializable.class.isAssignableFrom(type)) {
+        return null;
+      }
+
+      final List<Field> fields = new ArrayList<>();
+      for (Class<?> current = type; current != null && Serializable.class.isAssignableFrom(current);
+           current = current.getSuperclass()) {
+        for (final Field field : current.getDeclaredFields()) {
+          if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+            field.setAccessible(true);
+            fields.add(field);
+          }
+        }
+      }
+      return new Layout(INSTANTIATORS.getInstantiatorOf(type), fields.toArray(new Field[0]));
+    }
+  }
+
+  /**
+   * Raised when the object graph contains an object this copier doesn't know how to copy.
+   */
+  private static final class UnsupportedTypeException extends RuntimeException {
+    private final Class<?> type;
+
+    private UnsupportedTypeException(final Class<?> type) {
+      super(null, null, false, false);
+      this.type = type;
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package org.folio.marccat.util;
+
+import org.folio.marccat.config.log.Log;
+import org.folio.marccat.config.log.MessageCatalog;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of compiled XSLT stylesheets.
+ * Each stylesheet is compiled once in a (thread-safe) {@link Templates} instance, shared by all threads; each thread
+ * then keeps its own {@link Transformer} for each stylesheet, which is reset before being handed out again.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public final class Stylesheets {
+  private static final Log logger = new Log(Stylesheets.class);
+
+  private static final Map<String, Templates> TEMPLATES = new ConcurrentHashMap<>();
+  private static final ThreadLocal<Map<String, Transformer>> TRANSFORMERS = ThreadLocal.withInitial(HashMap::new);
+
+  private Stylesheets() {
+  }
+
+  /**
+   * Returns a transformer for the given stylesheet, without parameters.
+   * The transformer belongs to the calling thread and it must not be shared with other threads.
+   *
+   * @param stylesheet the stylesheet location.
+   * @return a transformer for the given stylesheet.
+   * @throws TransformerConfigurationException in case the stylesheet cannot be loaded or compiled.
+   */
+  public static Transformer transformer(final URL stylesheet) throws TransformerConfigurationException {
+    final String key = stylesheet.toExternalForm();
+    final Map<String, Transformer> transformers = TRANSFORMERS.get();
+    Transformer transformer = transformers.get(key);
+    if (transformer == null) {
+      transformer = templates(stylesheet).newTransformer();
+      transformers.put(key, transformer);
+    } else {
+      transformer.reset();
+    }
+    return transformer;
+  }
+
+  /**
+   * Returns the compiled form of the given stylesheet.
+   *
+   * @param stylesheet the stylesheet location.
+   * @return the compiled form of the given stylesheet.
+   * @throws TransformerConfigurationException in case the stylesheet cannot be loaded or compiled.
+   */
+  public static Templates templates(final URL stylesheet) throws TransformerConfigurationException {
+    final String key = stylesheet.toExternalForm();
+    final Templates templates = TEMPLATES.get(key);
+    if (templates != null) {
+      return templates;
+    }
+
+    final Templates compiled = compile(stylesheet);
+    final Templates previous = TEMPLATES.putIfAbsent(key, compiled);
+    return previous != null ? previous : compiled;
+  }
+
+  private static Templates compile(final URL stylesheet) throws TransformerConfigurationException {
+    try (final InputStream stream = stylesheet.openStream()) {
+      final Templates templates =
+        TransformerFactory.newInstance().newTemplates(new StreamSource(stream, stylesheet.toExternalForm()));
+      logger.debug(MessageCatalog._00035_STYLESHEET_COMPILED, stylesheet);
+      return templates;
+    } catch (final IOException exception) {
+      throw new TransformerConfigurationException(exception);
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package org.folio.marccat.util;
+
+import org.folio.marccat.model.Subfield;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the {@link MarcXmlWriter} output is the same produced by serializing the equivalent DOM document with
+ * {@link XmlUtils#documentToString(Document)}, which is what the FULL_CACHE table contained before.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public class MarcXmlWriterTest {
+
+  @Test
+  public void plainRecord() throws Exception {
+    assertSameAsDom(
+      leader("00714cam a2200205 a 4500"),
+      controlField("001", "12883376"),
+      controlField("008", "020805s2002    nyu    j      000 1 eng  "),
+      dataField("100", '1', ' ', new Subfield("a", "Sandburg, Carl,"), new Subfield("d", "1878-1967.")),
+      dataField("245", '1', '0', new Subfield("a", "Arithmetic /"), new Subfield("c", "Carl Sandburg.")));
+  }
+
+  @Test
+  public void markupCharacters() throws Exception {
+    assertSameAsDom(
+      controlField("001", "a&b<c>d\"e'f"),
+      dataField("245", '1', '0', new Subfield("a", "Tom & Jerry <\"the movie\"> 'remastered'")),
+      dataField("500", '"', '&', new Subfield("&", "code & indicators")));
+  }
+
+  @Test
+  public void whitespaceAndControlCharacters() throws Exception {
+    assertSameAsDom(
+      controlField("005", "tab\there\nand\rthere"),
+      dataField("500", ' ', ' ', new Subfield("a", "bell\u0007 escape\u001b delimiter\u001f")),
+      dataField("\t\n", ' ', ' ', new Subfield("\u001f", "attribute whitespace")),
+      dataField("505", ' ', ' ', new Subfield("a", "c1\u0080\u0085\u009f del\u007f nbsp\u00a0")));
+  }
+
+  @Test
+  public void nonAsciiCharacters() throws Exception {
+    assertSameAsDom(
+      dataField("245", '1', '0',
+        new Subfield("a", "Citt\u00e0, Stra\u00dfe, \u0395\u03bb\u03bb\u03b7\u03bd\u03b9\u03ba\u03ac, \u65e5\u672c\u8a9e"),
+        new Subfield("b", "combining e\u0301 and supplementary \ud834\udd1e \ud83d\ude00")));
+  }
+
+  @Test
+  public void emptyValues() throws Exception {
+    assertSameAsDom(
+      leader(""),
+      controlField("001", ""),
+      dataField("500", ' ', ' ', new Subfield("a", "")),
+      dataField("520", ' ', ' '));
+  }
+
+  @Test
+  public void emptyRecord() throws Exception {
+    assertSameAsDom();
+  }
+
+  private static void assertSameAsDom(final Field... fields) throws Exception {
+    assertEquals(dom(Arrays.asList(fields)), streaming(Arrays.asList(fields)));
+  }
+
+  private static Field leader(final String value) {
+    return new Field("leader", null, ' ', ' ', value, null);
+  }
+
+  private static Field controlField(final String tag, final String value) {
+    return new Field("controlfield", tag, ' ', ' ', value, null);
+  }
+
+  private static Field dataField(final String tag, final char ind1, final char ind2, final Subfield... subfields) {
+    return new Field("datafield", tag, ind1, ind2, null, subfields.length == 0 ? Collections.emptyList() : Arrays.asList(subfields));
+  }
+
+  /**
+   * Same steps of CatalogItem#toExternalMarcSlim followed by XmlUtils#documentToString.
+   */
+  private static String dom(final List<Field> fields) throws Exception {
+    final Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+    final Element record = document.createElement("record");
+    for (final Field field : fields) {
+      final Element element = document.createElement(field.name);
+      if (field.subfields == null) {
+        if (field.tag != null) {
+          element.setAttribute("tag", field.tag);
+        }
+        element.appendChild(document.createTextNode(field.value));
+      } else {
+        element.setAttribute("tag", field.tag);
+        element.setAttribute("ind1", String.valueOf(field.ind1));
+        element.setAttribute("ind2", String.valueOf(field.ind2));
+        for (final Subfield subfield : field.subfields) {
+          final Element subfieldElement = document.createElement("subfield");
+          subfieldElement.setAttribute("code", subfield.getCode());
+          subfieldElement.appendChild(document.createTextNode(subfield.getContent()));
+          element.appendChild(subfieldElement);
+        }
+      }
+      record.appendChild(element);
+    }
+    document.appendChild(record);
+    return XmlUtils.documentToString(document);
+  }
+
+  /**
+   * Same steps of CatalogItem#toExternalMarcSlimString.
+   */
+  private static String streaming(final List<Field> fields) {
+    final MarcXmlWriter writer = new MarcXmlWriter().startRecord();
+    for (final Field field : fields) {
+      if (field.subfields != null) {
+        writer.dataField(field.tag, field.ind1, field.ind2, field.subfields);
+      } else if (field.tag != null) {
+        writer.controlField(field.tag, field.value);
+      } else {
+        writer.leader(field.value);
+      }
+    }
+    return writer.endRecord();
+  }
+
+  /**
+   * A leader, control field or data field of a test record.
+   */
+  private static final class Field {
+    private final String name;
+    private final String tag;
+    private final char ind1;
+    private final char ind2;
+    private final String value;
+    private final List<Subfield> subfields;
+
+    private Field(
+      final String name,
+      final String tag,
+      final char ind1,
+      final char ind2,
+      final String value,
+      final List<Subfield> subfields) {
+      this.name = name;
+      this.tag = tag;
+      this.ind1 = ind1;
+      this.ind2 = ind2;
+      this.value = value;
+      this.subfields = subfields;
+    }
+  }
+}
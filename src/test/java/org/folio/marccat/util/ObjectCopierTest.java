@@ -0,0 +1,324 @@
+package org.folio.marccat.util;
+
+import org.folio.marccat.business.cataloguing.bibliographic.PublisherTag;
+import org.folio.marccat.business.common.PersistenceState;
+import org.folio.marccat.dao.persistence.BIB_ITM;
+import org.folio.marccat.dao.persistence.BibliographicNote;
+import org.folio.marccat.dao.persistence.BibliographicNoteOverflow;
+import org.folio.marccat.dao.persistence.BibliographicNoteTag;
+import org.folio.marccat.dao.persistence.BibliographicRelationship;
+import org.folio.marccat.dao.persistence.BibliographicRelationshipTag;
+import org.folio.marccat.dao.persistence.NME_HDG;
+import org.folio.marccat.dao.persistence.NameAccessPoint;
+import org.folio.marccat.dao.persistence.PUBL_HDG;
+import org.folio.marccat.dao.persistence.PublisherAccessPoint;
+import org.junit.Test;
+import org.springframework.objenesis.ObjenesisStd;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that {@link ObjectCopier#deepCopy(Object)} produces the same copy of {@link F#deepCopy(Object)}, field by
+ * field, on the objects copied by the tag editing paths and by the view isolation, and that the copy shares no
+ * mutable object with the original.
+ *
+ * @author cchiama
+ * @since 1.0
+ */
+public class ObjectCopierTest {
+  private static final String VIEW = "1000000000000000";
+
+  @Test
+  public void nameAccessPoint() {
+    final NME_HDG heading = new NME_HDG();
+    heading.setHeadingNumber(1);
+    heading.setStringText("\u001faSandburg, Carl,\u001fd1878-1967.");
+    heading.setUserViewString(VIEW);
+
+    final NameAccessPoint accessPoint = new NameAccessPoint(12883376);
+    accessPoint.setDescriptor(heading);
+    accessPoint.setUserViewString(VIEW);
+
+    assertSameCopy(accessPoint);
+  }
+
+  @Test
+  public void bibliographicItem() {
+    final BIB_ITM item = new BIB_ITM();
+    item.setAmicusNumber(12883376);
+    item.setUserViewString(VIEW);
+    item.setCountryStringText("nyu");
+    item.setItemDateFirstPublication("2002");
+
+    assertSameCopy(item);
+  }
+
+  @Test
+  public void bibliographicNote() {
+    final BibliographicNote note = new BibliographicNote(12883376);
+    note.setNoteNbr(3);
+    note.setUserViewString(VIEW);
+    note.setStringText(new StringText("\u001faIncludes index."));
+
+    final List<BibliographicNoteOverflow> overflows = new ArrayList<>();
+    for (int i = 1; i <= 2; i++) {
+      final BibliographicNoteOverflow overflow = new BibliographicNoteOverflow();
+      overflow.setBibItemNumber(12883376);
+      overflow.setNoteNbr(3);
+      overflow.setNoteOverflowNumber(i);
+      overflow.setStringText("\u001faoverflow " + i);
+      overflow.setUserViewString(VIEW);
+      overflows.add(overflow);
+    }
+    note.setOverflowList(overflows);
+
+    assertSameCopy(note);
+  }
+
+  @Test
+  public void bibliographicNoteTag() {
+    final BibliographicNoteTag tag = new BibliographicNoteTag();
+    tag.setStringText(new StringText("\u001faIncludes index.\u001fbSee also the appendix."));
+
+    assertSameCopy(tag);
+  }
+
+  @Test
+  public void bibliographicRelationshipTag() {
+    final BibliographicRelationship source = new BibliographicRelationship(12883376);
+    source.setTargetBibItemNumber(12883377);
+    source.setUserViewString(VIEW);
+    source.setStringText(new StringText("\u001faSource relationship"));
+
+    final BibliographicRelationship target = new BibliographicRelationship(12883377);
+    target.setTargetBibItemNumber(12883376);
+    target.setUserViewString(VIEW);
+    target.setStringText(new StringText("\u001faTarget relationship"));
+
+    // the default constructor reads the defaults from a resource bundle which is not available anymore
+    final BibliographicRelationshipTag tag = new ObjenesisStd().newInstance(BibliographicRelationshipTag.class);
+    tag.setSourceRelationship(source);
+    tag.setTargetRelationship(target);
+    tag.setReciprocalStringText(new StringText("\u001faReciprocal"));
+    tag.setPersistenceState(new PersistenceState());
+    tag.setOriginalTag();
+
+    assertSameCopy(tag);
+  }
+
+  @Test
+  public void publisherTag() {
+    final PUBL_HDG heading = new PUBL_HDG();
+    heading.setHeadingNumber(7);
+    heading.setNameStringText("\u001fbPenguin");
+    heading.setPlaceStringText("\u001faNew York");
+    heading.setUserViewString(VIEW);
+
+    final PublisherTag tag = new PublisherTag(12883376, 1);
+    ((PublisherAccessPoint) tag.getAccessPoints().get(0)).setDescriptor(heading);
+    tag.addNewAccessPoint();
+    ((PublisherAccessPoint) tag.getAccessPoints().get(1)).setDescriptor(heading);
+
+    final PublisherTag copy = assertSameCopy(tag);
+    assertSame(
+      ((PublisherAccessPoint) copy.getAccessPoints().get(0)).getDescriptor(),
+      ((PublisherAccessPoint) copy.getAccessPoints().get(1)).getDescriptor());
+  }
+
+  @Test
+  public void sharedReferencesAndCycles() {
+    final NME_HDG heading = new NME_HDG();
+    heading.setStringText("\u001faShared");
+    final NameAccessPoint first = new NameAccessPoint(1);
+    first.setDescriptor(heading);
+    final NameAccessPoint second = new NameAccessPoint(2);
+    second.setDescriptor(heading);
+
+    final Object[] cycle = new Object[3];
+    cycle[0] = first;
+    cycle[1] = second;
+    cycle[2] = cycle;
+
+    final Object[] copy = assertSameCopy(cycle);
+    assertSame(copy, copy[2]);
+    assertSame(((NameAccessPoint) copy[0]).getDescriptor(), ((NameAccessPoint) copy[1]).getDescriptor());
+  }
+
+  @Test
+  public void commonCollectionsAndValues() {
+    final List<Object> values = new ArrayList<>(Arrays.asList(
+      "text", 1, 2L, 'c', true, new BigDecimal("1.5"), new Date(0), new int[]{1, 2, 3}, new StringText("\u001faone")));
+
+    assertSameCopy(values);
+  }
+
+  @Test
+  public void fallbackIsCounted() {
+    final long fallbacks = ObjectCopier.fallbacks();
+    final List<Object> unmodifiable = Collections.unmodifiableList(new ArrayList<>(Collections.singletonList("a")));
+
+    assertEquals(unmodifiable, ObjectCopier.deepCopy(unmodifiable));
+    assertEquals(fallbacks + 1, ObjectCopier.fallbacks());
+  }
+
+  /**
+   * Copies the given object with both copiers and checks that the two copies are the same, field by field, and that
+   * no mutable object of the original is reachable from the copy.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> T assertSameCopy(final T original) {
+    final T serialized = (T) F.deepCopy(original);
+    final long fallbacks = ObjectCopier.fallbacks();
+    final T copy = ObjectCopier.deepCopy(original);
+
+    assertNotNull(copy);
+    assertEquals("the copy has been delegated to serialization", fallbacks, ObjectCopier.fallbacks());
+    assertNotSame(original, copy);
+    assertSameGraph(serialized, copy, new IdentityHashMap<>(), "");
+    assertNoAliasing(original, copy);
+    return copy;
+  }
+
+  /**
+   * Compares two object graphs field by field: maps and collections are compared element by element, not through
+   * their equals method, and shared references in the expected graph must be shared in the actual graph too.
+   */
+  private static void assertSameGraph(final Object expected, final Object actual, final Map<Object, Object> visited, final String path) {
+    if (expected == null || actual == null) {
+      assertSame(path, expected, actual);
+      return;
+    }
+    assertSame(path, expected.getClass(), actual.getClass());
+
+    final Class<?> type = expected.getClass();
+    if (isValue(type)) {
+      assertEquals(path, expected, actual);
+      return;
+    }
+    if (visited.containsKey(expected)) {
+      assertSame(path + " (shared reference)", visited.get(expected), actual);
+      return;
+    }
+    visited.put(expected, actual);
+
+    if (type.isArray()) {
+      assertEquals(path + ".length", Array.getLength(expected), Array.getLength(actual));
+      for (int i = 0; i < Array.getLength(expected); i++) {
+        assertSameGraph(Array.get(expected, i), Array.get(actual, i), visited, path + "[" + i + "]");
+      }
+    } else if (expected instanceof Collection) {
+      assertSameElements(((Collection<?>) expected).iterator(), ((Collection<?>) actual).iterator(), visited, path);
+    } else if (expected instanceof Map) {
+      assertSameElements(((Map<?, ?>) expected).keySet().iterator(), ((Map<?, ?>) actual).keySet().iterator(), visited, path + ".keys");
+      assertSameElements(((Map<?, ?>) expected).values().iterator(), ((Map<?, ?>) actual).values().iterator(), visited, path + ".values");
+    } else if (expected instanceof Date) {
+      assertEquals(path, expected, actual);
+    } else {
+      for (final Field field : fields(type)) {
+        try {
+          assertSameGraph(field.get(expected), field.get(actual), visited, path + "." + field.getName());
+        } catch (final IllegalAccessException exception) {
+          fail(exception.getMessage());
+        }
+      }
+    }
+  }
+
+  private static void assertSameElements(final Iterator<?> expected, final Iterator<?> actual, final Map<Object, Object> visited, final String path) {
+    int i = 0;
+    while (expected.hasNext()) {
+      assertTrue(path + " has less elements than expected", actual.hasNext());
+      assertSameGraph(expected.next(), actual.next(), visited, path + "[" + i++ + "]");
+    }
+    assertTrue(path + " has more elements than expected", !actual.hasNext());
+  }
+
+  /**
+   * Checks that none of the mutable objects reachable from the copy is reachable from the original.
+   */
+  private static void assertNoAliasing(final Object original, final Object copy) {
+    final Set<Object> originals = Collections.newSetFromMap(new IdentityHashMap<>());
+    reachable(original, originals);
+    final Set<Object> copies = Collections.newSetFromMap(new IdentityHashMap<>());
+    reachable(copy, copies);
+    for (final Object object : copies) {
+      assertTrue(object.getClass().getName() + " is shared with the original", !originals.contains(object));
+    }
+  }
+
+  private static void reachable(final Object value, final Set<Object> objects) {
+    if (value == null || isValue(value.getClass()) || !objects.add(value)) {
+      return;
+    }
+
+    final Class<?> type = value.getClass();
+    if (type.isArray()) {
+      if (!type.getComponentType().isPrimitive()) {
+        for (final Object element : (Object[]) value) {
+          reachable(element, objects);
+        }
+      }
+    } else if (value instanceof Collection) {
+      ((Collection<?>) value).forEach(element -> reachable(element, objects));
+    } else if (value instanceof Map) {
+      ((Map<?, ?>) value).forEach((key, element) -> {
+        reachable(key, objects);
+        reachable(element, objects);
+      });
+    } else if (type.getName().startsWith("org.folio.marccat.")) {
+      for (final Field field : fields(type)) {
+        try {
+          reachable(field.get(value), objects);
+        } catch (final IllegalAccessException exception) {
+          fail(exception.getMessage());
+        }
+      }
+    }
+  }
+
+  private static List<Field> fields(final Class<?> type) {
+    final List<Field> fields = new ArrayList<>();
+    for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+      for (final Field field : current.getDeclaredFields()) {
+        if (!Modifier.isStatic(field.getModifiers())) {
+          field.setAccessible(true);
+          fields.add(field);
+        }
+      }
+    }
+    return fields;
+  }
+
+  /**
+   * Immutable values, which both copiers share instead of copying.
+   */
+  private static boolean isValue(final Class<?> type) {
+    return type == String.class
+      || type == Class.class
+      || Number.class.isAssignableFrom(type) && type.getName().startsWith("java.")
+      || type == Character.class
+      || type == Boolean.class
+      || type.isEnum()
+      || (type.getSuperclass() != null && type.getSuperclass().isEnum());
+  }
+}